@@ -23,6 +23,7 @@
 package com.selfxdsd.api;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Banca Nationala a Romaniei (Romanian National Bank).
@@ -40,4 +41,18 @@ public interface Bnr {
      */
     BigDecimal euroToRon();
 
+    /**
+     * Get the EUR to RON exchange rate which was valid at the given date
+     * (the latest one published on or before it). Implementations which
+     * keep older rates should override this; by default, we return the
+     * latest rate.
+     * @param date Date (e.g. of an Invoice or Payment).
+     * @return BigDecimal, in the same format as {@link #euroToRon()}.
+     * @throws IllegalStateException If the rate of that date cannot
+     *  be found.
+     */
+    default BigDecimal euroToRon(final LocalDate date) {
+        return this.euroToRon();
+    }
+
 }
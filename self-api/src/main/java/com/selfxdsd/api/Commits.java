@@ -22,6 +22,8 @@
  */
 package com.selfxdsd.api;
 
+import javax.json.JsonObject;
+
 /**
  * Commits in a Repo.
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -37,6 +39,15 @@ public interface Commits extends Iterable<Commit> {
      */
     Commit getCommit(final String ref);
 
+    /**
+     * Commit as received in a push webhook. The payload already holds
+     * most of the Commit's data, so nothing is fetched from the
+     * provider's API unless a missing field is asked for.
+     * @param commit Commit JSON from the push payload.
+     * @return Commit.
+     */
+    Commit received(final JsonObject commit);
+
     /**
      * Get the latest Commit (the newest one).
      * @return Commit.
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Invoice emitted by the Contributor to the Project.
@@ -35,6 +38,33 @@ public interface Invoice {
         final BigDecimal contributorCommission
     );
 
+    /**
+     * Register more Tasks on this Invoice, at once.
+     * @param tasks Tasks to be registered.
+     * @param projectCommission Commission taken from the Project, per Task.
+     * @param contributorCommission Commission taken from the Contributor,
+     *  per Task.
+     * @return InvoicedTasks, in the order of the given Tasks (null for the
+     *  Tasks which could not be registered).
+     */
+    default List<InvoicedTask> registerAll(
+        final List<Task> tasks,
+        final Function<Task, BigDecimal> projectCommission,
+        final Function<Task, BigDecimal> contributorCommission
+    ) {
+        final List<InvoicedTask> registered = new ArrayList<>();
+        for(final Task task : tasks) {
+            registered.add(
+                this.register(
+                    task,
+                    projectCommission.apply(task),
+                    contributorCommission.apply(task)
+                )
+            );
+        }
+        return registered;
+    }
+
     /**
      * The contract.
      * @return Contract
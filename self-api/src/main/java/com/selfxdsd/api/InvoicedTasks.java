@@ -23,6 +23,9 @@
 package com.selfxdsd.api;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Tasks that have been finished and added to an Invoice.
@@ -54,4 +57,36 @@ public interface InvoicedTasks extends Iterable<InvoicedTask> {
         final BigDecimal projectCommission,
         final BigDecimal contributorCommission
     );
+
+    /**
+     * Register more finished Tasks to an Invoice, at once. Implementations
+     * backed by a database should override this and write all the rows
+     * in a single batch.
+     * @param invoice Invoice.
+     * @param finished Tasks to be registered.
+     * @param projectCommission Project commission of each Task.
+     * @param contributorCommission Contributor commission of each Task.
+     * @return InvoicedTasks, in the order of the given Tasks. The list has
+     *  the same size as the given one, with null on the positions of the
+     *  Tasks which could not be registered.
+     */
+    default List<InvoicedTask> registerAll(
+        final Invoice invoice,
+        final List<Task> finished,
+        final Function<Task, BigDecimal> projectCommission,
+        final Function<Task, BigDecimal> contributorCommission
+    ) {
+        final List<InvoicedTask> registered = new ArrayList<>();
+        for(final Task task : finished) {
+            registered.add(
+                this.register(
+                    invoice,
+                    task,
+                    projectCommission.apply(task),
+                    contributorCommission.apply(task)
+                )
+            );
+        }
+        return registered;
+    }
 }
@@ -23,6 +23,7 @@
 package com.selfxdsd.api;
 
 import javax.json.JsonObject;
+import java.util.List;
 
 /**
  * Issues in a repository.
@@ -68,4 +69,16 @@ public interface Issues extends Iterable<Issue> {
      * @return Issues.
      */
     Issues search(final String text, final String... labels);
+
+    /**
+     * Fetch many Issues at once, in as few requests as the Provider allows,
+     * instead of one request per Issue. The returned Issues give the
+     * fetched Issues from getById(...) without calling the Provider again.
+     * By default, nothing is fetched in advance.
+     * @param issueIds IDs of the Issues.
+     * @return Issues.
+     */
+    default Issues prefetch(final List<String> issueIds) {
+        return this;
+    }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Keywords looked up in a text with one pass over it (Aho-Corasick).
+ * The automaton is built once, when the Language is loaded, and is
+ * only read afterwards, so it can be shared between threads.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class Keywords {
+
+    /**
+     * Transitions of each state, by character. State 0 is the root.
+     */
+    private final List<Map<Character, Integer>> transitions;
+
+    /**
+     * Failure link of each state: the state of the longest proper suffix
+     * which is also a prefix of some keyword.
+     */
+    private final List<Integer> failures;
+
+    /**
+     * Keywords which end in each state.
+     */
+    private final List<Set<String>> outputs;
+
+    /**
+     * Ctor.
+     * @param keywords Keywords to look up, they should not be empty.
+     */
+    Keywords(final Collection<String> keywords) {
+        this.transitions = new ArrayList<>();
+        this.failures = new ArrayList<>();
+        this.outputs = new ArrayList<>();
+        this.state();
+        for(final String keyword : keywords) {
+            int current = 0;
+            for(final char character : keyword.toCharArray()) {
+                Integer next = this.transitions.get(current).get(character);
+                if(next == null) {
+                    next = this.state();
+                    this.transitions.get(current).put(character, next);
+                }
+                current = next;
+            }
+            this.outputs.get(current).add(keyword);
+        }
+        this.link();
+    }
+
+    /**
+     * The keywords found in the given text.
+     * @param text Text.
+     * @return Set of keywords.
+     */
+    Set<String> found(final String text) {
+        final Set<String> found = new HashSet<>();
+        int current = 0;
+        for(final char character : text.toCharArray()) {
+            Integer next = this.transitions.get(current).get(character);
+            while(next == null && current != 0) {
+                current = this.failures.get(current);
+                next = this.transitions.get(current).get(character);
+            }
+            if(next == null) {
+                current = 0;
+            } else {
+                current = next;
+            }
+            found.addAll(this.outputs.get(current));
+        }
+        return found;
+    }
+
+    /**
+     * Add a new, empty state.
+     * @return Index of the state.
+     */
+    private int state() {
+        this.transitions.add(new HashMap<>());
+        this.failures.add(0);
+        this.outputs.add(new HashSet<>());
+        return this.transitions.size() - 1;
+    }
+
+    /**
+     * Compute the failure links, breadth-first, and merge the outputs
+     * of each state with the outputs of its failure state.
+     */
+    private void link() {
+        final Queue<Integer> queue = new ArrayDeque<>(
+            this.transitions.get(0).values()
+        );
+        while(!queue.isEmpty()) {
+            final int parent = queue.poll();
+            for(final Map.Entry<Character, Integer> edge
+                : this.transitions.get(parent).entrySet()) {
+                final int child = edge.getValue();
+                int fallback = this.failures.get(parent);
+                Integer target = this.transitions.get(fallback)
+                    .get(edge.getKey());
+                while(target == null && fallback != 0) {
+                    fallback = this.failures.get(fallback);
+                    target = this.transitions.get(fallback)
+                        .get(edge.getKey());
+                }
+                if(target == null || target == child) {
+                    target = 0;
+                }
+                this.failures.set(child, target);
+                this.outputs.get(child).addAll(this.outputs.get(target));
+                queue.add(child);
+            }
+        }
+    }
+}
@@ -26,8 +26,13 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +54,22 @@ public abstract class Language {
      */
     private final Properties responses = new Properties();
 
+    /**
+     * The commands, compiled: category and keywords, in the order
+     * they are checked.
+     */
+    private final List<Map.Entry<String, Set<String>>> compiled;
+
+    /**
+     * All the keywords of all the commands, looked up in one pass.
+     */
+    private final Keywords keywords;
+
+    /**
+     * Replies read from classpath links, so they are read only once.
+     */
+    private final Map<String, String> linked = new ConcurrentHashMap<>();
+
     /**
      * Constructor. These two files should be in self-pm, so we don't have
      * to release and rebuild self-core every time we want to add a new command
@@ -75,6 +96,24 @@ public abstract class Language {
                 ex
             );
         }
+        this.compiled = new ArrayList<>();
+        final Set<String> all = new HashSet<>();
+        for(final Object key : this.commands.keySet()) {
+            final String keyString = (String) key;
+            final Set<String> words = new HashSet<>();
+            for(final String word : this.commands
+                .getProperty(keyString, "")
+                .split("\\^")) {
+                if(!word.trim().isEmpty()) {
+                    words.add(word.trim());
+                }
+            }
+            this.compiled.add(
+                Map.entry(keyString.split("\\.")[0], words)
+            );
+            all.addAll(words);
+        }
+        this.keywords = new Keywords(all);
     }
 
     /**
@@ -83,20 +122,10 @@ public abstract class Language {
      * @return String category.
      */
     public final String categorize(final String command) {
-        Set<Object> keys = this.commands.keySet();
-        for(final Object key : keys) {
-            String keyString = (String) key;
-            String[] words = this.commands
-                .getProperty(keyString, "")
-                .split("\\^");
-            boolean match = true;
-            for(final String word : words) {
-                if(!command.contains(word.trim())) {
-                    match = false;
-                }
-            }
-            if(match) {
-                return keyString.split("\\.")[0];
+        final Set<String> found = this.keywords.found(command);
+        for(final Map.Entry<String, Set<String>> entry : this.compiled) {
+            if(found.containsAll(entry.getValue())) {
+                return entry.getKey();
             }
         }
         return "confused";
@@ -108,7 +137,15 @@ public abstract class Language {
      * @return String reply or null if nothing is found.
      */
     public final String reply(final String key) {
-        return followPossibleLink(this.responses.getProperty(key));
+        String reply = this.linked.get(key);
+        if(reply == null) {
+            final String property = this.responses.getProperty(key);
+            reply = this.followPossibleLink(property);
+            if(reply != null && !reply.equals(property)) {
+                this.linked.put(key, reply);
+            }
+        }
+        return reply;
     }
 
     /**
@@ -22,6 +22,9 @@
  */
 package com.selfxdsd.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Tasks managed by Self.
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -68,6 +71,20 @@ public interface Tasks extends Iterable<Task> {
      */
     Task unassign(Task task);
 
+    /**
+     * Unassign more Tasks at once. Implementations backed by a database
+     * should override this and update all the Tasks in a single batch.
+     * @param tasks Tasks to be unassigned.
+     * @return The unassigned Tasks, in the given order.
+     */
+    default List<Task> unassignAll(final List<Task> tasks) {
+        final List<Task> unassigned = new ArrayList<>();
+        for(final Task task : tasks) {
+            unassigned.add(this.unassign(task));
+        }
+        return unassigned;
+    }
+
     /**
      * Updates estimation for a Task.
      * @param task Task to be updated.
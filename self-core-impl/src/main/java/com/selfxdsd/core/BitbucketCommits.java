@@ -123,6 +123,22 @@ final class BitbucketCommits implements Commits {
         return commit;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Bitbucket's push payload holds the same Commit JSON as the API,
+     * so nothing has to be fetched.
+     */
+    @Override
+    public Commit received(final JsonObject commit) {
+        return new BitbucketCommit(
+            this.createCommitUri(commit.getString("hash")),
+            commit,
+            this.storage,
+            this.resources
+        );
+    }
+
     @Override
     public Commit latest() {
         final Resource resource = this.resources
@@ -0,0 +1,308 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.SetupIntent;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentMethodListParams;
+import com.stripe.param.SetupIntentCreateParams;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * StripeGateway which caches the Customers (Wallets) and the Connect
+ * Accounts (PayoutMethods) by ID, for a few minutes. Use it only to read
+ * the BillingInfo of Projects and Contributors, which is needed again and
+ * again when listing Invoices or exporting their PDFs. Anything which
+ * depends on the state of an Account (e.g. whether it can receive
+ * payments) should read it from Stripe directly.<br><br>
+ *
+ * A new Account is not cached when created, since it is not active until
+ * the Contributor finishes the onboarding.<br><br>
+ *
+ * The cache is bounded (the oldest objects are evicted first) and it is
+ * shared by all the instances, unless one is given in the ctor. The
+ * objects are cached by API key and ID, so gateways using different
+ * Stripe keys never see each other's objects. A deleted Customer or
+ * Account is removed from the cache right away. Customers and Accounts
+ * are not updated through this gateway, they change in Stripe (e.g. the
+ * Contributor edits their Connect Account), so whoever is notified about
+ * that (e.g. the customer.updated or account.updated Stripe webhooks)
+ * should call {@link #invalidate(String)}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedStripe implements StripeGateway {
+
+    /**
+     * Original gateway.
+     */
+    private final StripeGateway origin;
+
+    /**
+     * Stripe API key of the origin.
+     */
+    private final String key;
+
+    /**
+     * Cached Stripe objects.
+     */
+    private final Cache cache;
+
+    /**
+     * Ctor.
+     * @param key Stripe API key of the origin.
+     * @param origin Original gateway.
+     */
+    public CachedStripe(final String key, final StripeGateway origin) {
+        this(key, origin, Cache.SHARED);
+    }
+
+    /**
+     * Ctor.
+     * @param key Stripe API key of the origin.
+     * @param origin Original gateway.
+     * @param cache Cached Stripe objects.
+     */
+    CachedStripe(
+        final String key,
+        final StripeGateway origin,
+        final Cache cache
+    ) {
+        this.key = key;
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public Customer createCustomer(final CustomerCreateParams params)
+        throws StripeException {
+        final Customer customer = this.origin.createCustomer(params);
+        this.cache.put(this.cached(customer.getId()), customer);
+        return customer;
+    }
+
+    @Override
+    public Customer customer(final String identifier)
+        throws StripeException {
+        final Customer customer;
+        final Object cached = this.cache.get(this.cached(identifier));
+        if(cached instanceof Customer) {
+            customer = (Customer) cached;
+        } else {
+            customer = this.origin.customer(identifier);
+            this.cache.put(this.cached(identifier), customer);
+        }
+        return customer;
+    }
+
+    @Override
+    public Customer deleteCustomer(final String identifier)
+        throws StripeException {
+        this.invalidate(identifier);
+        return this.origin.deleteCustomer(identifier);
+    }
+
+    @Override
+    public SetupIntent createSetupIntent(
+        final SetupIntentCreateParams params
+    ) throws StripeException {
+        return this.origin.createSetupIntent(params);
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(
+        final PaymentIntentCreateParams params,
+        final String idempotencyKey
+    ) throws StripeException {
+        return this.origin.createPaymentIntent(params, idempotencyKey);
+    }
+
+    @Override
+    public PaymentIntent cancelPaymentIntent(final PaymentIntent intent)
+        throws StripeException {
+        return this.origin.cancelPaymentIntent(intent);
+    }
+
+    @Override
+    public Iterable<PaymentMethod> paymentMethods(
+        final PaymentMethodListParams params
+    ) throws StripeException {
+        return this.origin.paymentMethods(params);
+    }
+
+    @Override
+    public PaymentMethod detachPaymentMethod(final String identifier)
+        throws StripeException {
+        return this.origin.detachPaymentMethod(identifier);
+    }
+
+    @Override
+    public Account createAccount(final AccountCreateParams params)
+        throws StripeException {
+        return this.origin.createAccount(params);
+    }
+
+    @Override
+    public Account account(final String identifier) throws StripeException {
+        final Account account;
+        final Object cached = this.cache.get(this.cached(identifier));
+        if(cached instanceof Account) {
+            account = (Account) cached;
+        } else {
+            account = this.origin.account(identifier);
+            this.cache.put(this.cached(identifier), account);
+        }
+        return account;
+    }
+
+    @Override
+    public Account deleteAccount(final String identifier)
+        throws StripeException {
+        this.invalidate(identifier);
+        return this.origin.deleteAccount(identifier);
+    }
+
+    /**
+     * Remove a Customer or an Account from the cache, so it is read from
+     * Stripe the next time.
+     * @param identifier ID of the Customer or Account.
+     */
+    public void invalidate(final String identifier) {
+        this.cache.remove(this.cached(identifier));
+    }
+
+    /**
+     * Key of a Stripe object in the cache.
+     * @param identifier ID of the Customer or Account.
+     * @return String.
+     */
+    private String cached(final String identifier) {
+        return this.key + "/" + identifier;
+    }
+
+    /**
+     * Stripe objects by ID, each kept for a limited time.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.99
+     */
+    static final class Cache {
+
+        /**
+         * The Cache shared by everyone.
+         */
+        static final Cache SHARED = new Cache(
+            Duration.ofMinutes(10), 1024, Instant::now
+        );
+
+        /**
+         * How long an object is kept.
+         */
+        private final Duration ttl;
+
+        /**
+         * Current time.
+         */
+        private final Supplier<Instant> now;
+
+        /**
+         * Objects by ID, with the moment they expire.
+         */
+        private final Map<String, Map.Entry<Object, Instant>> objects;
+
+        /**
+         * Ctor.
+         * @param ttl How long an object is kept.
+         * @param max Maximum number of objects.
+         * @param now Current time.
+         */
+        Cache(
+            final Duration ttl,
+            final int max,
+            final Supplier<Instant> now
+        ) {
+            this.ttl = ttl;
+            this.now = now;
+            this.objects = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(
+                    final Map.Entry<String, Map.Entry<Object, Instant>> eldest
+                ) {
+                    return this.size() > max;
+                }
+            };
+        }
+
+        /**
+         * Get an object which has not expired yet.
+         * @param identifier ID.
+         * @return Object or null if it is missing or expired.
+         */
+        synchronized Object get(final String identifier) {
+            Object found = null;
+            final Map.Entry<Object, Instant> cached = this.objects.get(
+                identifier
+            );
+            if(cached != null) {
+                if(cached.getValue().isAfter(this.now.get())) {
+                    found = cached.getKey();
+                } else {
+                    this.objects.remove(identifier);
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Put an object.
+         * @param identifier ID.
+         * @param object Object.
+         */
+        synchronized void put(final String identifier, final Object object) {
+            this.objects.put(
+                identifier, Map.entry(object, this.now.get().plus(this.ttl))
+            );
+        }
+
+        /**
+         * Remove an object.
+         * @param identifier ID.
+         */
+        synchronized void remove(final String identifier) {
+            this.objects.remove(identifier);
+        }
+    }
+}
@@ -23,16 +23,27 @@
 package com.selfxdsd.core;
 
 import com.selfxdsd.api.Invitation;
+import com.selfxdsd.api.Label;
 import com.selfxdsd.api.Labels;
 import com.selfxdsd.api.Repo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.json.JsonObject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * After accepting a repo Invitation, the PM should create some
- * labels in the Repo (estimation, roles etc).
+ * labels in the Repo (estimation, roles etc). The Repo's labels are
+ * listed once and only the missing ones are created, at the same time.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.80
@@ -66,12 +77,27 @@ final class CreateRepoLabels implements Invitation {
      */
     private final Invitation origin;
 
+    /**
+     * Executor of the label creations.
+     */
+    private final Executor executor;
+
     /**
      * Ctor.
      * @param origin Original Invitation.
      */
     CreateRepoLabels(final Invitation origin) {
+        this(origin, new ThreadPerTask("create-repo-label"));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Invitation.
+     * @param executor Executor of the label creations.
+     */
+    CreateRepoLabels(final Invitation origin, final Executor executor) {
         this.origin = origin;
+        this.executor = executor;
     }
 
     @Override
@@ -93,13 +119,34 @@ final class CreateRepoLabels implements Invitation {
     public void accept() {
         this.origin.accept();
         LOG.debug("Creating Repo Labels...");
+        final long start = System.currentTimeMillis();
         try {
             final Labels labels = this.origin.repo().labels();
-            labels.add(ESTIMATIONS);
-            labels.add(ROLES);
-            LOG.debug("Repo labels created.");
-        } catch (final IllegalStateException ex) {
-            LOG.error("Caught ISE while creating repo labels", ex);
+            final Set<String> existing = new HashSet<>();
+            for(final Label label : labels) {
+                existing.add(label.name().toLowerCase(Locale.ROOT));
+            }
+            final List<CompletableFuture<Void>> created = new ArrayList<>();
+            Stream.concat(Stream.of(ESTIMATIONS), Stream.of(ROLES))
+                .filter(
+                    name -> !existing.contains(name.toLowerCase(Locale.ROOT))
+                ).forEach(
+                    name -> created.add(
+                        CompletableFuture.runAsync(
+                            () -> labels.add(name), this.executor
+                        )
+                    )
+                );
+            CompletableFuture.allOf(
+                created.toArray(new CompletableFuture[0])
+            ).join();
+            LOG.debug(
+                created.size() + " Repo labels created in "
+                + (System.currentTimeMillis() - start) + "ms, "
+                + existing.size() + " labels already existed."
+            );
+        } catch (final IllegalStateException | CompletionException ex) {
+            LOG.error("Caught exception while creating repo labels", ex);
         }
     }
 }
@@ -22,47 +22,181 @@
  */
 package com.selfxdsd.core;
 
+import com.selfxdsd.api.CachedResource;
 import com.selfxdsd.api.Comment;
 import com.selfxdsd.api.Comments;
+import com.selfxdsd.api.storage.JsonStorage;
 
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
+import javax.json.JsonString;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Comments decorator which makes sure a comment is not posted
- * if it already exists.
+ * if it already exists.<br><br>
+ *
+ * Instead of listing all the comments before each post, it keeps an index
+ * of the posted comments in the JsonStorage: only the hashes of their
+ * bodies (case-insensitive) and the time when the index was built. The
+ * comments are listed to build the index, if it does not exist or is older
+ * than its TTL; until then, it is updated with each post. This way,
+ * a comment deleted on the Provider can be posted again, at the latest
+ * after the TTL. The index carries the ETag of the comments' listing,
+ * as it was cached when the index was built.<br><br>
+ *
+ * Comments posted by someone else after the index was built are not seen.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.8
  */
 final class DoNotRepeat implements Comments {
 
+    /**
+     * How long an index is trusted, by default.
+     */
+    static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
     /**
      * Original comments.
      */
     private final Comments origin;
 
     /**
-     * Ctor.
+     * URI of the comments.
+     */
+    private final URI comments;
+
+    /**
+     * URI of the index, in the JsonStorage.
+     */
+    private final URI index;
+
+    /**
+     * Storage of the index.
+     */
+    private final JsonStorage storage;
+
+    /**
+     * How long an index is trusted, before listing the comments again.
+     */
+    private final Duration ttl;
+
+    /**
+     * Clock.
+     */
+    private final Supplier<Instant> now;
+
+    /**
+     * Ctor. The index is kept in memory, only as long as this instance.
      * @param origin Original comments.
      */
     DoNotRepeat(final Comments origin) {
+        this(
+            origin,
+            URI.create("self:comments"),
+            new JsonStorage.InMemory()
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original comments.
+     * @param comments URI of the comments, the index is kept next to it.
+     * @param storage Storage of the index.
+     */
+    DoNotRepeat(
+        final Comments origin,
+        final URI comments,
+        final JsonStorage storage
+    ) {
+        this(origin, comments, storage, DEFAULT_TTL, Instant::now);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original comments.
+     * @param comments URI of the comments, the index is kept next to it.
+     * @param storage Storage of the index.
+     * @param ttl How long an index is trusted.
+     * @param now Clock.
+     */
+    DoNotRepeat(
+        final Comments origin,
+        final URI comments,
+        final JsonStorage storage,
+        final Duration ttl,
+        final Supplier<Instant> now
+    ) {
         this.origin = origin;
+        this.comments = comments;
+        this.index = URI.create(comments.toString() + "#posted");
+        this.storage = storage;
+        this.ttl = ttl;
+        this.now = now;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * If the comment is found in the index, it is not read again from the
+     * Provider: the returned Comment only has the given body.
+     */
     @Override
     public Comment post(final String body) {
-        Comment posted = null;
-        for(final Comment comment : this.origin) {
-            if(comment.body().equalsIgnoreCase(body)) {
-                posted = comment;
-                break;
+        final String hash = DoNotRepeat.hash(body);
+        final CachedResource cached = this.storage.getResource(this.index);
+        Comment comment = null;
+        final Set<String> hashes = new LinkedHashSet<>();
+        final boolean expired = this.expired(cached);
+        final long built;
+        final String etag;
+        if(expired) {
+            for(final Comment existing : this.origin) {
+                final String key = DoNotRepeat.hash(existing.body());
+                hashes.add(key);
+                if(comment == null && key.equals(hash)) {
+                    comment = existing;
+                }
             }
+            built = this.now.get().getEpochSecond();
+            etag = this.listingEtag();
+        } else {
+            final JsonObject index = cached.asJsonObject();
+            for(final JsonString key
+                : index.getJsonArray("hashes").getValuesAs(JsonString.class)) {
+                hashes.add(key.getString());
+            }
+            if(hashes.contains(hash)) {
+                comment = this.origin.received(
+                    Json.createObjectBuilder().add("body", body).build()
+                );
+            }
+            built = index.getJsonNumber("built").longValue();
+            etag = cached.etag();
         }
-        if(posted == null) {
-            posted = this.origin.post(body);
+        if(comment == null) {
+            comment = this.origin.post(body);
+            hashes.add(hash);
+            this.store(cached, built, hashes, etag);
+        } else if(expired) {
+            this.store(cached, built, hashes, etag);
         }
-        return posted;
+        return comment;
     }
 
     @Override
@@ -74,4 +208,103 @@ final class DoNotRepeat implements Comments {
     public Iterator<Comment> iterator() {
         return this.origin.iterator();
     }
+
+    /**
+     * Is the index missing or older than its TTL?
+     * @param cached Index as it was read from the storage, null if
+     *  it was not there.
+     * @return True if the comments have to be listed again.
+     */
+    private boolean expired(final CachedResource cached) {
+        final boolean expired;
+        if(cached == null) {
+            expired = true;
+        } else {
+            final JsonObject index = cached.asJsonObject();
+            expired = !index.containsKey("built")
+                || !index.containsKey("hashes")
+                || !Instant.ofEpochSecond(
+                    index.getJsonNumber("built").longValue()
+                ).plus(this.ttl).isAfter(this.now.get());
+        }
+        return expired;
+    }
+
+    /**
+     * ETag of the comments' listing, as it was cached while listing them.
+     * @return ETag or null, if the listing is not cached.
+     */
+    private String listingEtag() {
+        final CachedResource listing = this.storage.getResource(
+            this.comments
+        );
+        final String etag;
+        if(listing == null) {
+            etag = null;
+        } else {
+            etag = listing.etag();
+        }
+        return etag;
+    }
+
+    /**
+     * Save the index.
+     * @param cached Index as it was read from the storage, null if
+     *  it was not there.
+     * @param built When the index was built, in epoch seconds.
+     * @param hashes Hashes of the posted comments.
+     * @param etag ETag of the comments' listing, null if there was none,
+     *  in which case the index is tagged with the time it was built.
+     */
+    private void store(
+        final CachedResource cached,
+        final long built,
+        final Set<String> hashes,
+        final String etag
+    ) {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        hashes.forEach(array::add);
+        final String body = Json.createObjectBuilder()
+            .add("built", built)
+            .add("hashes", array)
+            .build()
+            .toString();
+        final String tag;
+        if(etag == null) {
+            tag = "W/\"" + built + "\"";
+        } else {
+            tag = etag;
+        }
+        final JsonResources.JsonResponse resource =
+            new JsonResources.JsonResponse(
+                HttpURLConnection.HTTP_OK,
+                body,
+                Map.of("ETag", List.of(tag))
+            );
+        if(cached == null) {
+            this.storage.storeResource(this.index, resource);
+        } else {
+            this.storage.updateResource(this.index, resource);
+        }
+    }
+
+    /**
+     * Hash of a comment's body, ignoring the case.
+     * @param body Comment's body.
+     * @return Hex SHA-256 hash.
+     */
+    private static String hash(final String body) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                body.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)
+            );
+            final StringBuilder hex = new StringBuilder();
+            for(final byte part : digest) {
+                hex.append(String.format("%02x", part));
+            }
+            return hex.toString();
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
 }
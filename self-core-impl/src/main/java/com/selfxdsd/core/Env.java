@@ -96,4 +96,9 @@ public final class Env {
      */
     public static final String PDD_PRIVATE_KEY = "self_pdd_privatekey";
 
+    /**
+     * Read Github Issues with the GraphQL API ("true" or "false").
+     */
+    public static final String GITHUB_GRAPHQL = "self_github_graphql";
+
 }
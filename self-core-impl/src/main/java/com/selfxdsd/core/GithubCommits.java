@@ -126,6 +126,28 @@ final class GithubCommits implements Commits {
         return commit;
     }
 
+    @Override
+    public Commit received(final JsonObject commit) {
+        final String sha = commit.getString("id");
+        final URI commitUri = URI.create(
+            this.commitsUri.toString() + "/" + sha
+        );
+        return new PushedCommit(
+            commit,
+            sha,
+            () -> {
+                final JsonObject author = commit.getJsonObject("author");
+                String username = null;
+                if(author != null) {
+                    username = author.getString("username", null);
+                }
+                return username;
+            },
+            () -> new GithubCommitComments(commitUri, this.resources),
+            () -> this.getCommit(sha)
+        );
+    }
+
     @Override
     public Commit latest() {
         final Resource resource = this.resources.get(this.commitsUri);
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * Github's GraphQL API.
+ * <br/>
+ * See <a href="https://docs.github.com/en/graphql">documentation</a>.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class GithubGraphql {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        GithubGraphql.class
+    );
+
+    /**
+     * Fields of an Issue or Pull Request which GithubIssue reads.
+     */
+    static final String ISSUE_FIELDS = "id number url state body "
+        + "author { login } assignees(first: 10) { nodes { login } } "
+        + "labels(first: 100) { nodes { name color } }";
+
+    /**
+     * GraphQL endpoint.
+     */
+    private final URI endpoint;
+
+    /**
+     * Github's JSON Resources.
+     */
+    private final JsonResources resources;
+
+    /**
+     * Ctor.
+     * @param uri Any URI of Github's REST API, the GraphQL endpoint is
+     *  on the same host.
+     * @param resources Github's JSON Resources.
+     */
+    GithubGraphql(final URI uri, final JsonResources resources) {
+        this.endpoint = URI.create(
+            uri.getScheme() + "://" + uri.getRawAuthority() + "/graphql"
+        );
+        this.resources = resources;
+    }
+
+    /**
+     * Send a query or a mutation.
+     * @param query Query or mutation.
+     * @param variables Variables of the query.
+     * @return The response, with the data and the errors, if any. If the
+     *  request fails, the response is an empty JsonObject.
+     */
+    JsonObject send(final String query, final JsonObject variables) {
+        LOG.debug("Sending GraphQL request to [" + this.endpoint + "].");
+        final Resource resource = this.resources.post(
+            this.endpoint,
+            Json.createObjectBuilder()
+                .add("query", query)
+                .add("variables", variables)
+                .build()
+        );
+        final JsonObject response;
+        if(resource.statusCode() == HttpURLConnection.HTTP_OK) {
+            response = resource.asJsonObject();
+            if(response.get("errors") instanceof JsonArray) {
+                LOG.warn(
+                    "GraphQL request returned errors: "
+                    + response.get("errors")
+                );
+            }
+        } else {
+            LOG.error(
+                "GraphQL request returned status: " + resource.statusCode()
+                + ". Was expecting 200 OK!"
+            );
+            response = JsonValue.EMPTY_JSON_OBJECT;
+        }
+        return response;
+    }
+
+    /**
+     * Data of a response.
+     * @param response Response.
+     * @param field Top field of the data.
+     * @return The field, or null if it is missing.
+     */
+    static JsonObject data(final JsonObject response, final String field) {
+        JsonObject found = null;
+        final JsonValue data = response.get("data");
+        if(data instanceof JsonObject) {
+            final JsonValue value = ((JsonObject) data).get(field);
+            if(value instanceof JsonObject) {
+                found = (JsonObject) value;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Shape an Issue or Pull Request from the GraphQL API like the JSON of
+     * the REST API, as far as GithubIssue reads it.
+     * @param issuesUri URI of the repo's Issues, in the REST API.
+     * @param node Issue or Pull Request with the {@link #ISSUE_FIELDS}.
+     * @return JsonObject.
+     */
+    static JsonObject restShaped(final URI issuesUri, final JsonObject node) {
+        final int number = node.getInt("number");
+        final JsonObjectBuilder issue = Json.createObjectBuilder()
+            .add("node_id", node.getString("id", ""))
+            .add("number", number)
+            .add("url", issuesUri.toString() + "/" + number)
+            .add("html_url", node.getString("url"))
+            .add("body", node.getString("body", ""));
+        if("OPEN".equalsIgnoreCase(node.getString("state"))) {
+            issue.add("state", "open");
+        } else {
+            issue.add("state", "closed");
+        }
+        issue.add("user", GithubGraphql.user(node.get("author")));
+        final JsonArray assignees = node.getJsonObject("assignees")
+            .getJsonArray("nodes");
+        if(assignees.isEmpty()) {
+            issue.add("assignee", JsonValue.NULL);
+        } else {
+            issue.add("assignee", GithubGraphql.user(assignees.get(0)));
+        }
+        final JsonArrayBuilder users = Json.createArrayBuilder();
+        for(final JsonValue assignee : assignees) {
+            users.add(GithubGraphql.user(assignee));
+        }
+        issue.add("assignees", users);
+        issue.add(
+            "labels",
+            node.getJsonObject("labels").getJsonArray("nodes")
+        );
+        if("PullRequest".equals(node.getString("__typename", ""))) {
+            issue.add("pull_request", Json.createObjectBuilder());
+        }
+        return issue.build();
+    }
+
+    /**
+     * Shape a comment from the GraphQL API like the JSON of the REST API,
+     * as far as GithubComment reads it.
+     * @param node Comment with the fields databaseId, author and body.
+     * @return JsonObject.
+     */
+    static JsonObject restShapedComment(final JsonObject node) {
+        return Json.createObjectBuilder()
+            .add("id", node.getInt("databaseId"))
+            .add("user", GithubGraphql.user(node.get("author")))
+            .add("body", node.getString("body", ""))
+            .build();
+    }
+
+    /**
+     * Shape an author or assignee from the GraphQL API like a user of the
+     * REST API. Deleted users are shown as "ghost", like in the REST API.
+     * @param actor Actor with the login field, or null.
+     * @return JsonObject.
+     */
+    private static JsonObject user(final JsonValue actor) {
+        final String login;
+        if(actor instanceof JsonObject) {
+            login = ((JsonObject) actor).getString("login");
+        } else {
+            login = "ghost";
+        }
+        return Json.createObjectBuilder().add("login", login).build();
+    }
+}
@@ -0,0 +1,528 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Comment;
+import com.selfxdsd.api.Comments;
+import com.selfxdsd.api.Estimation;
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Label;
+import com.selfxdsd.api.Labels;
+import com.selfxdsd.api.storage.Storage;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * An Issue in a Github repository, read with one GraphQL query: its
+ * fields, its labels and its last 100 comments. The role, the estimation
+ * and the comments check of {@link DoNotRepeat} don't need any more
+ * requests.<br><br>
+ *
+ * Changes are still made with the REST API, after which the Issue is
+ * queried again, when it is next read. Use {@link #mutations()} to send
+ * several changes in one request.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class GithubGraphqlIssue
+    implements Issue, LabeledAssignment, IssueAttributes.Source {
+
+    /**
+     * Comments of an Issue or Pull Request.
+     */
+    private static final String EXTRA_FIELDS = "comments(last: 100) "
+        + "{ nodes { databaseId author { login } body } }";
+
+    /**
+     * Query of an Issue or Pull Request.
+     */
+    private static final String QUERY = "query($owner: String!, "
+        + "$name: String!, $number: Int!) { "
+        + "repository(owner: $owner, name: $name) { "
+        + "issueOrPullRequest(number: $number) { __typename "
+        + "... on Issue { " + GithubGraphql.ISSUE_FIELDS + " "
+        + EXTRA_FIELDS + " } "
+        + "... on PullRequest { " + GithubGraphql.ISSUE_FIELDS + " "
+        + EXTRA_FIELDS + " } } } }";
+
+    /**
+     * Issue base uri.
+     */
+    private final URI issueUri;
+
+    /**
+     * The Issue as read with GraphQL.
+     */
+    private final Snapshot snapshot;
+
+    /**
+     * The Issue in the REST API.
+     */
+    private final GithubIssue origin;
+
+    /**
+     * Github's JSON Resources.
+     */
+    private final JsonResources resources;
+
+    /**
+     * Ctor.
+     * @param issueUri Issue URI, in the REST API.
+     * @param storage Self's Storage.
+     * @param resources Github's JSON Resources.
+     */
+    GithubGraphqlIssue(
+        final URI issueUri,
+        final Storage storage,
+        final JsonResources resources
+    ) {
+        this(issueUri, new Snapshot(issueUri, resources), storage, resources);
+    }
+
+    /**
+     * Ctor.
+     * @param issueUri Issue URI, in the REST API.
+     * @param json Issue as received from Github's REST API.
+     * @param storage Self's Storage.
+     * @param resources Github's JSON Resources.
+     */
+    GithubGraphqlIssue(
+        final URI issueUri,
+        final JsonObject json,
+        final Storage storage,
+        final JsonResources resources
+    ) {
+        this(
+            issueUri,
+            new Snapshot(issueUri, resources),
+            () -> json,
+            storage,
+            resources
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param issueUri Issue URI, in the REST API.
+     * @param snapshot The Issue as read with GraphQL.
+     * @param storage Self's Storage.
+     * @param resources Github's JSON Resources.
+     */
+    private GithubGraphqlIssue(
+        final URI issueUri,
+        final Snapshot snapshot,
+        final Storage storage,
+        final JsonResources resources
+    ) {
+        this(issueUri, snapshot, snapshot::rest, storage, resources);
+    }
+
+    /**
+     * Ctor.
+     * @param issueUri Issue URI, in the REST API.
+     * @param snapshot The Issue as read with GraphQL.
+     * @param json Issue JSON, shaped like in the REST API.
+     * @param storage Self's Storage.
+     * @param resources Github's JSON Resources.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private GithubGraphqlIssue(
+        final URI issueUri,
+        final Snapshot snapshot,
+        final Supplier<JsonObject> json,
+        final Storage storage,
+        final JsonResources resources
+    ) {
+        this.issueUri = issueUri;
+        this.snapshot = snapshot;
+        this.origin = new GithubIssue(issueUri, json, storage, resources);
+        this.resources = resources;
+    }
+
+    @Override
+    public String issueId() {
+        return this.origin.issueId();
+    }
+
+    @Override
+    public String provider() {
+        return this.origin.provider();
+    }
+
+    @Override
+    public String role() {
+        return new LabelsRole(() -> this.snapshot.attributes(this))
+            .asString();
+    }
+
+    @Override
+    public String repoFullName() {
+        return this.origin.repoFullName();
+    }
+
+    @Override
+    public String author() {
+        return this.origin.author();
+    }
+
+    @Override
+    public String body() {
+        return this.origin.body();
+    }
+
+    @Override
+    public String assignee() {
+        return this.origin.assignee();
+    }
+
+    @Override
+    public boolean assign(final String username) {
+        final boolean assigned = this.origin.assign(username);
+        this.snapshot.reset();
+        return assigned;
+    }
+
+    @Override
+    public boolean unassign(final String username) {
+        final boolean unassigned = this.origin.unassign(username);
+        this.snapshot.reset();
+        return unassigned;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Not with GraphQL: the mutations need the node ids of the user and of
+     * the label first, so they would take more than one request. We send
+     * the REST PATCH of {@link GithubIssue} instead.
+     */
+    @Override
+    public int assignAndLabel(final String username, final String label) {
+        final int done = this.origin.assignAndLabel(username, label);
+        this.snapshot.reset();
+        return done;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Same as {@link #assignAndLabel(String, String)}, with the REST PATCH.
+     */
+    @Override
+    public int unassignAndUnlabel(
+        final String username,
+        final String label
+    ) {
+        final int done = this.origin.unassignAndUnlabel(username, label);
+        this.snapshot.reset();
+        return done;
+    }
+
+    @Override
+    public JsonObject json() {
+        return this.origin.json();
+    }
+
+    @Override
+    public Comments comments() {
+        return new DoNotRepeat(
+            new SnapshotComments(
+                this.snapshot,
+                new GithubIssueComments(this.issueUri, this.resources)
+            )
+        );
+    }
+
+    @Override
+    public void close() {
+        this.origin.close();
+        this.snapshot.reset();
+    }
+
+    @Override
+    public void reopen() {
+        this.origin.reopen();
+        this.snapshot.reset();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.origin.isClosed();
+    }
+
+    @Override
+    public boolean isPullRequest() {
+        return this.origin.isPullRequest();
+    }
+
+    @Override
+    public Estimation estimation() {
+        return new LabelsEstimation(() -> this.snapshot.attributes(this));
+    }
+
+    @Override
+    public IssueAttributes attributes() {
+        return this.snapshot.attributes(this);
+    }
+
+    @Override
+    public Labels labels() {
+        return new SnapshotLabels(this.snapshot, this.origin.labels());
+    }
+
+    /**
+     * Changes to this Issue, to be sent together in one request.
+     * @return GithubIssueMutations.
+     */
+    GithubIssueMutations mutations() {
+        final String[] parts = this.issueUri.getRawPath().split("/");
+        return new GithubIssueMutations(
+            new GithubGraphql(this.issueUri, this.resources),
+            parts[2],
+            parts[3],
+            () -> this.snapshot.get().getString("id"),
+            this.origin.labels(),
+            this.snapshot::reset
+        );
+    }
+
+    /**
+     * An Issue as read with GraphQL, once, until it is reset.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Issue URI, in the REST API.
+         */
+        private final URI issueUri;
+
+        /**
+         * Github's GraphQL API.
+         */
+        private final GithubGraphql graphql;
+
+        /**
+         * The Issue or Pull Request node.
+         */
+        private JsonObject node;
+
+        /**
+         * The Issue shaped like in the REST API.
+         */
+        private JsonObject rest;
+
+        /**
+         * What the labels say about the Issue.
+         */
+        private IssueAttributes attributes;
+
+        /**
+         * Ctor.
+         * @param issueUri Issue URI, in the REST API.
+         * @param resources Github's JSON Resources.
+         */
+        Snapshot(final URI issueUri, final JsonResources resources) {
+            this.issueUri = issueUri;
+            this.graphql = new GithubGraphql(issueUri, resources);
+        }
+
+        /**
+         * The Issue or Pull Request node.
+         * @return JsonObject.
+         */
+        JsonObject get() {
+            if(this.node == null) {
+                final String[] parts = this.issueUri.getRawPath().split("/");
+                final JsonObject repository = GithubGraphql.data(
+                    this.graphql.send(
+                        QUERY,
+                        Json.createObjectBuilder()
+                            .add("owner", parts[2])
+                            .add("name", parts[3])
+                            .add("number", Integer.parseInt(parts[5]))
+                            .build()
+                    ),
+                    "repository"
+                );
+                if(repository == null || !(repository.get(
+                    "issueOrPullRequest"
+                ) instanceof JsonObject)) {
+                    throw new IllegalStateException(
+                        "Could not get the issue ["
+                        + this.issueUri.toString() + "] with GraphQL."
+                    );
+                }
+                this.node = repository.getJsonObject("issueOrPullRequest");
+            }
+            return this.node;
+        }
+
+        /**
+         * The Issue shaped like in the REST API.
+         * @return JsonObject.
+         */
+        JsonObject rest() {
+            if(this.rest == null) {
+                final String uri = this.issueUri.toString();
+                this.rest = GithubGraphql.restShaped(
+                    URI.create(uri.substring(0, uri.lastIndexOf('/'))),
+                    this.get()
+                );
+            }
+            return this.rest;
+        }
+
+        /**
+         * What the labels say about the Issue, read once per snapshot.
+         * @param issue The Issue, reading its labels from this snapshot.
+         * @return IssueAttributes.
+         */
+        IssueAttributes attributes(final Issue issue) {
+            if(this.attributes == null) {
+                this.attributes = new IssueAttributes(issue);
+            }
+            return this.attributes;
+        }
+
+        /**
+         * The Issue changed, read it again when it is needed.
+         */
+        void reset() {
+            this.node = null;
+            this.rest = null;
+            this.attributes = null;
+        }
+    }
+
+    /**
+     * Labels of the Issue, read from the snapshot. Changes go to the
+     * REST API.
+     */
+    private static final class SnapshotLabels implements Labels {
+
+        /**
+         * The Issue as read with GraphQL.
+         */
+        private final Snapshot snapshot;
+
+        /**
+         * Labels in the REST API.
+         */
+        private final Labels origin;
+
+        /**
+         * Ctor.
+         * @param snapshot The Issue as read with GraphQL.
+         * @param origin Labels in the REST API.
+         */
+        SnapshotLabels(final Snapshot snapshot, final Labels origin) {
+            this.snapshot = snapshot;
+            this.origin = origin;
+        }
+
+        @Override
+        public boolean add(final String... names) {
+            final boolean added = this.origin.add(names);
+            this.snapshot.reset();
+            return added;
+        }
+
+        @Override
+        public boolean remove(final String name) {
+            final boolean removed = this.origin.remove(name);
+            this.snapshot.reset();
+            return removed;
+        }
+
+        @Override
+        public Iterator<Label> iterator() {
+            final List<Label> labels = new ArrayList<>();
+            for(final JsonValue label : this.snapshot.get()
+                .getJsonObject("labels").getJsonArray("nodes")) {
+                labels.add(new GithubLabel((JsonObject) label));
+            }
+            return labels.iterator();
+        }
+    }
+
+    /**
+     * Comments of the Issue, read from the snapshot. New comments go to
+     * the REST API.
+     */
+    private static final class SnapshotComments implements Comments {
+
+        /**
+         * The Issue as read with GraphQL.
+         */
+        private final Snapshot snapshot;
+
+        /**
+         * Comments in the REST API.
+         */
+        private final Comments origin;
+
+        /**
+         * Ctor.
+         * @param snapshot The Issue as read with GraphQL.
+         * @param origin Comments in the REST API.
+         */
+        SnapshotComments(final Snapshot snapshot, final Comments origin) {
+            this.snapshot = snapshot;
+            this.origin = origin;
+        }
+
+        @Override
+        public Comment post(final String body) {
+            final Comment posted = this.origin.post(body);
+            this.snapshot.reset();
+            return posted;
+        }
+
+        @Override
+        public Comment received(final JsonObject comment) {
+            return this.origin.received(comment);
+        }
+
+        @Override
+        public Iterator<Comment> iterator() {
+            final List<Comment> comments = new ArrayList<>();
+            for(final JsonValue comment : this.snapshot.get()
+                .getJsonObject("comments").getJsonArray("nodes")) {
+                comments.add(
+                    new GithubComment(
+                        GithubGraphql.restShapedComment((JsonObject) comment)
+                    )
+                );
+            }
+            return comments.iterator();
+        }
+    }
+}
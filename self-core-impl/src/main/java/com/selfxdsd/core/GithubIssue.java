@@ -28,6 +28,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
 import java.net.HttpURLConnection;
@@ -40,7 +42,8 @@ import java.util.function.Supplier;
  * @version $Id$
  * @since 0.0.1
  */
-final class GithubIssue implements Issue {
+final class GithubIssue
+    implements Issue, LabeledAssignment, IssueAttributes.Source {
 
     /**
      * Logger.
@@ -69,6 +72,18 @@ final class GithubIssue implements Issue {
      */
     private final JsonResources resources;
 
+    /**
+     * What the labels say about this Issue, read once, until the labels
+     * change.
+     */
+    private final IssueAttributes.Memoized attributes;
+
+    /**
+     * Did the labels change since the JSON was read? If so, the labels
+     * embedded in the JSON are stale.
+     */
+    private volatile boolean relabeled;
+
     /**
      * Ctor.
      * @param issueUri Issue URI.
@@ -131,6 +146,7 @@ final class GithubIssue implements Issue {
         this.json = json;
         this.storage = storage;
         this.resources = resources;
+        this.attributes = IssueAttributes.memoized(this);
     }
 
     @Override
@@ -145,7 +161,7 @@ final class GithubIssue implements Issue {
 
     @Override
     public String role() {
-        return new LabelsRole(this).asString();
+        return new LabelsRole(this.attributes).asString();
     }
 
     @Override
@@ -238,6 +254,59 @@ final class GithubIssue implements Issue {
         return unassigned;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Github's issue PATCH replaces the assignees and the labels, so we send
+     * the current ones, read from the Issue's JSON, plus the new ones. If
+     * the JSON does not contain them, nothing is done.
+     */
+    @Override
+    public int assignAndLabel(final String username, final String label) {
+        final int done;
+        final JsonObject issue = this.json.get();
+        if(issue.get("assignees") instanceof JsonArray
+            && issue.get("labels") instanceof JsonArray) {
+            done = this.patchAssignment(
+                username,
+                this.names(issue.getJsonArray("assignees"), "login", username)
+                    .add(username),
+                this.names(issue.getJsonArray("labels"), "name", label)
+                    .add(label)
+            );
+        } else {
+            done = LabeledAssignment.NOTHING;
+        }
+        return done;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Github's issue PATCH replaces the assignees and the labels, so we send
+     * the current ones, read from the Issue's JSON, minus the given ones. If
+     * the JSON does not contain them, nothing is done.
+     */
+    @Override
+    public int unassignAndUnlabel(
+        final String username,
+        final String label
+    ) {
+        final int done;
+        final JsonObject issue = this.json.get();
+        if(issue.get("assignees") instanceof JsonArray
+            && issue.get("labels") instanceof JsonArray) {
+            done = this.patchAssignment(
+                username,
+                this.names(issue.getJsonArray("assignees"), "login", username),
+                this.names(issue.getJsonArray("labels"), "name", label)
+            );
+        } else {
+            done = LabeledAssignment.NOTHING;
+        }
+        return done;
+    }
+
     @Override
     public JsonObject json() {
         return this.json.get();
@@ -246,7 +315,9 @@ final class GithubIssue implements Issue {
     @Override
     public Comments comments() {
         return new DoNotRepeat(
-            new GithubIssueComments(this.issueUri, this.resources)
+            new GithubIssueComments(this.issueUri, this.resources),
+            URI.create(this.issueUri + "/comments"),
+            this.storage.jsonStorage()
         );
     }
 
@@ -311,14 +382,108 @@ final class GithubIssue implements Issue {
 
     @Override
     public Estimation estimation() {
-        return new LabelsEstimation(this);
+        return new LabelsEstimation(this.attributes);
     }
 
     @Override
     public Labels labels() {
         return new GithubIssueLabels(
             URI.create(this.issueUri.toString() + "/labels"),
-            this.resources
+            this.resources,
+            this::labeledJson,
+            this::relabeled
+        );
+    }
+
+    @Override
+    public IssueAttributes attributes() {
+        return this.attributes.get();
+    }
+
+    /**
+     * The Issue's JSON, for reading its labels: empty if the labels changed
+     * since it was read, so they are read from the API instead.
+     * @return JsonObject.
+     */
+    private JsonObject labeledJson() {
+        final JsonObject issue;
+        if(this.relabeled) {
+            issue = JsonValue.EMPTY_JSON_OBJECT;
+        } else {
+            issue = this.json.get();
+        }
+        return issue;
+    }
+
+    /**
+     * The labels of this Issue changed: the ones in its JSON and the
+     * attributes read from them are stale.
+     */
+    private void relabeled() {
+        this.relabeled = true;
+        this.attributes.reset();
+    }
+
+    /**
+     * PATCH the Issue with the given assignees and labels. It is one
+     * request, so either both are updated or none.
+     * @param username User being (un)assigned, for logging.
+     * @param assignees All the assignees the Issue should have.
+     * @param labels All the labels the Issue should have.
+     * @return {@link LabeledAssignment#DONE} if the Issue was updated,
+     *  {@link LabeledAssignment#NOTHING} otherwise.
+     */
+    private int patchAssignment(
+        final String username,
+        final JsonArrayBuilder assignees,
+        final JsonArrayBuilder labels
+    ) {
+        final int patched;
+        LOG.debug(
+            "Updating assignees and labels of Issue ["
+            + this.issueUri.toString() + "] for user " + username + "..."
+        );
+        final Resource resource = this.resources.patch(
+            this.issueUri,
+            Json.createObjectBuilder()
+                .add("assignees", assignees)
+                .add("labels", labels)
+                .build()
         );
+        if (resource.statusCode() == HttpURLConnection.HTTP_OK) {
+            LOG.debug("Assignees and labels updated successfully!");
+            this.relabeled();
+            patched = LabeledAssignment.DONE;
+        } else {
+            LOG.debug(
+                "Problem while updating assignees and labels. "
+                + "Expected 200 OK, but got " + resource.statusCode()
+            );
+            patched = LabeledAssignment.NOTHING;
+        }
+        return patched;
+    }
+
+    /**
+     * Names from an array of JSON objects (e.g. logins of assignees or
+     * names of labels), except the given one.
+     * @param array Array of JSON objects.
+     * @param key Key of the name in each object.
+     * @param except Name to leave out (case-insensitive).
+     * @return JsonArrayBuilder with the names.
+     */
+    private JsonArrayBuilder names(
+        final JsonArray array,
+        final String key,
+        final String except
+    ) {
+        final JsonArrayBuilder names = Json.createArrayBuilder();
+        for(final JsonValue value : array) {
+            final String name = value.asJsonObject().getString(key, "");
+            if(!name.isEmpty() && !name.equalsIgnoreCase(except)) {
+                names.add(name);
+            }
+        }
+        return names;
     }
 }
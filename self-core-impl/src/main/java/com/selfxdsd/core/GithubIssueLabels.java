@@ -29,12 +29,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.json.Json;
+import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
+import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -62,14 +65,59 @@ final class GithubIssueLabels implements Labels {
      */
     private final JsonResources resources;
 
+    /**
+     * The Issue's JSON, which may already hold its labels.
+     */
+    private final Supplier<JsonObject> issue;
+
+    /**
+     * Called after the labels were added or removed.
+     */
+    private final Runnable changed;
+
     /**
      * Ctor.
      * @param uri Issue Labels URI.
      * @param resources Resources.
      */
     GithubIssueLabels(final URI uri, final JsonResources resources) {
+        this(uri, resources, () -> JsonValue.EMPTY_JSON_OBJECT);
+    }
+
+    /**
+     * Ctor.
+     * @param uri Issue Labels URI.
+     * @param resources Resources.
+     * @param issue The Issue's JSON. If it holds the labels, they are
+     *  iterated from it, without calling the API.
+     */
+    GithubIssueLabels(
+        final URI uri,
+        final JsonResources resources,
+        final Supplier<JsonObject> issue
+    ) {
+        this(uri, resources, issue, () -> { });
+    }
+
+    /**
+     * Ctor.
+     * @param uri Issue Labels URI.
+     * @param resources Resources.
+     * @param issue The Issue's JSON. If it holds the labels, they are
+     *  iterated from it, without calling the API.
+     * @param changed Called after labels were added or removed, so the
+     *  Issue can stop using the labels in its JSON.
+     */
+    GithubIssueLabels(
+        final URI uri,
+        final JsonResources resources,
+        final Supplier<JsonObject> issue,
+        final Runnable changed
+    ) {
         this.resources = resources;
         this.uri = uri;
+        this.issue = issue;
+        this.changed = changed;
     }
 
     @Override
@@ -91,6 +139,7 @@ final class GithubIssueLabels implements Labels {
             .add("labels", labels.build())
             .build()
         );
+        this.changed.run();
         return resource.statusCode() == HttpURLConnection.HTTP_OK;
     }
 
@@ -102,6 +151,7 @@ final class GithubIssueLabels implements Labels {
             labelUri,
             Json.createObjectBuilder().build()
         );
+        this.changed.run();
         final int status = resource.statusCode();
         final boolean result;
         if(status == HttpURLConnection.HTTP_OK) {
@@ -121,16 +171,24 @@ final class GithubIssueLabels implements Labels {
 
     @Override
     public Iterator<Label> iterator() {
-        final Resource resource = this.resources.get(this.uri);
+        final JsonArray embedded = this.issue.get().getJsonArray("labels");
         final List<Label> labels;
-        if (resource.statusCode() == HttpURLConnection.HTTP_OK) {
-            labels = resource.asJsonArray()
-                .stream()
+        if(embedded != null) {
+            labels = embedded.stream()
                 .map(JsonObject.class::cast)
                 .map(GithubLabel::new)
                 .collect(Collectors.toList());
         } else {
-            labels = List.of();
+            final Resource resource = this.resources.get(this.uri);
+            if (resource.statusCode() == HttpURLConnection.HTTP_OK) {
+                labels = resource.asJsonArray()
+                    .stream()
+                    .map(JsonObject.class::cast)
+                    .map(GithubLabel::new)
+                    .collect(Collectors.toList());
+            } else {
+                labels = List.of();
+            }
         }
         return labels.iterator();
     }
@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Labels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Changes to a Github Issue which are sent together, in one GraphQL
+ * mutation, instead of one REST call each: assigning, labeling and
+ * commenting.<br><br>
+ *
+ * GraphQL works with node ids, so the ids of the assignees and of the
+ * labels are read first, with one query. Labels which don't exist in the
+ * repository yet are added with the REST API, which creates them.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class GithubIssueMutations {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        GithubIssueMutations.class
+    );
+
+    /**
+     * Github's GraphQL API.
+     */
+    private final GithubGraphql graphql;
+
+    /**
+     * Owner of the repository.
+     */
+    private final String owner;
+
+    /**
+     * Name of the repository.
+     */
+    private final String name;
+
+    /**
+     * Node id of the Issue.
+     */
+    private final Supplier<String> subject;
+
+    /**
+     * Labels of the Issue, in the REST API.
+     */
+    private final Labels labels;
+
+    /**
+     * Called after the mutations were sent.
+     */
+    private final Runnable applied;
+
+    /**
+     * Usernames to assign.
+     */
+    private final List<String> assignees;
+
+    /**
+     * Names of the labels to add.
+     */
+    private final List<String> labelNames;
+
+    /**
+     * Comments to post.
+     */
+    private final List<String> comments;
+
+    /**
+     * Ctor.
+     * @param graphql Github's GraphQL API.
+     * @param owner Owner of the repository.
+     * @param name Name of the repository.
+     * @param subject Node id of the Issue.
+     * @param labels Labels of the Issue, in the REST API.
+     * @param applied Called after the mutations were sent.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    GithubIssueMutations(
+        final GithubGraphql graphql,
+        final String owner,
+        final String name,
+        final Supplier<String> subject,
+        final Labels labels,
+        final Runnable applied
+    ) {
+        this.graphql = graphql;
+        this.owner = owner;
+        this.name = name;
+        this.subject = subject;
+        this.labels = labels;
+        this.applied = applied;
+        this.assignees = new ArrayList<>();
+        this.labelNames = new ArrayList<>();
+        this.comments = new ArrayList<>();
+    }
+
+    /**
+     * Assign a user to the Issue.
+     * @param username Username.
+     * @return This mutations.
+     */
+    GithubIssueMutations assign(final String username) {
+        this.assignees.add(username);
+        return this;
+    }
+
+    /**
+     * Add labels to the Issue.
+     * @param names Names of the labels.
+     * @return This mutations.
+     */
+    GithubIssueMutations label(final String... names) {
+        this.labelNames.addAll(Arrays.asList(names));
+        return this;
+    }
+
+    /**
+     * Post a comment on the Issue.
+     * @param body Body of the comment.
+     * @return This mutations.
+     */
+    GithubIssueMutations comment(final String body) {
+        this.comments.add(body);
+        return this;
+    }
+
+    /**
+     * Send all the mutations.
+     * @return True if all of them were applied, false otherwise.
+     */
+    boolean apply() {
+        boolean result = true;
+        final JsonObjectBuilder variables = Json.createObjectBuilder()
+            .add("subject", this.subject.get());
+        final StringBuilder declarations = new StringBuilder("$subject: ID!");
+        final StringBuilder mutations = new StringBuilder();
+        if(!this.assignees.isEmpty() || !this.labelNames.isEmpty()) {
+            final JsonObject ids = this.graphql.send(
+                this.idsQuery(), this.idsVariables()
+            );
+            final JsonArrayBuilder assigneeIds = Json.createArrayBuilder();
+            for(int idx = 0; idx < this.assignees.size(); ++idx) {
+                final JsonObject user = GithubGraphql.data(ids, "u" + idx);
+                if(user == null) {
+                    LOG.error(
+                        "Could not find the id of user @"
+                        + this.assignees.get(idx) + "."
+                    );
+                    result = false;
+                } else {
+                    assigneeIds.add(user.getString("id"));
+                }
+            }
+            final JsonArray assigneeIdsArray = assigneeIds.build();
+            if(!assigneeIdsArray.isEmpty()) {
+                declarations.append(", $assignees: [ID!]!");
+                variables.add("assignees", assigneeIdsArray);
+                mutations.append(
+                    "assigned: addAssigneesToAssignable(input: "
+                    + "{assignableId: $subject, assigneeIds: $assignees}) "
+                    + "{ clientMutationId } "
+                );
+            }
+            final JsonArray labelIds = this.labelIds(ids);
+            if(!labelIds.isEmpty()) {
+                declarations.append(", $labels: [ID!]!");
+                variables.add("labels", labelIds);
+                mutations.append(
+                    "labeled: addLabelsToLabelable(input: "
+                    + "{labelableId: $subject, labelIds: $labels}) "
+                    + "{ clientMutationId } "
+                );
+            }
+            result = result && this.addMissingLabels(ids);
+        }
+        for(int idx = 0; idx < this.comments.size(); ++idx) {
+            declarations.append(", $c").append(idx).append(": String!");
+            variables.add("c" + idx, this.comments.get(idx));
+            mutations.append('c').append(idx)
+                .append(": addComment(input: {subjectId: $subject, body: $c")
+                .append(idx).append("}) { clientMutationId } ");
+        }
+        if(mutations.length() > 0) {
+            final JsonObject response = this.graphql.send(
+                "mutation(" + declarations + ") { " + mutations + "}",
+                variables.build()
+            );
+            result = result && response.get("data") instanceof JsonObject
+                && !(response.get("errors") instanceof JsonArray);
+        }
+        this.applied.run();
+        return result;
+    }
+
+    /**
+     * Query for the ids of the assignees and of the repository's labels.
+     * @return String.
+     */
+    private String idsQuery() {
+        final StringBuilder declarations = new StringBuilder(
+            "$owner: String!, $name: String!"
+        );
+        final StringBuilder users = new StringBuilder();
+        for(int idx = 0; idx < this.assignees.size(); ++idx) {
+            declarations.append(", $u").append(idx).append(": String!");
+            users.append('u').append(idx).append(": user(login: $u")
+                .append(idx).append(") { id } ");
+        }
+        return "query(" + declarations + ") { "
+            + "repository(owner: $owner, name: $name) { "
+            + "labels(first: 100) { nodes { id name } } } "
+            + users + "}";
+    }
+
+    /**
+     * Variables of the ids query.
+     * @return JsonObject.
+     */
+    private JsonObject idsVariables() {
+        final JsonObjectBuilder variables = Json.createObjectBuilder()
+            .add("owner", this.owner)
+            .add("name", this.name);
+        for(int idx = 0; idx < this.assignees.size(); ++idx) {
+            variables.add("u" + idx, this.assignees.get(idx));
+        }
+        return variables.build();
+    }
+
+    /**
+     * Ids of the labels to add, which exist in the repository.
+     * @param ids Response of the ids query.
+     * @return JsonArray.
+     */
+    private JsonArray labelIds(final JsonObject ids) {
+        final Map<String, String> existing = GithubIssueMutations.existing(
+            ids
+        );
+        final JsonArrayBuilder labelIds = Json.createArrayBuilder();
+        for(final String label : this.labelNames) {
+            final String labelId = existing.get(label.toLowerCase(Locale.ROOT));
+            if(labelId != null) {
+                labelIds.add(labelId);
+            }
+        }
+        return labelIds.build();
+    }
+
+    /**
+     * Add the labels which don't exist in the repository, with the REST
+     * API.
+     * @param ids Response of the ids query.
+     * @return True if they were added or there are none, false otherwise.
+     */
+    private boolean addMissingLabels(final JsonObject ids) {
+        final Map<String, String> existing = GithubIssueMutations.existing(
+            ids
+        );
+        final List<String> missing = new ArrayList<>();
+        for(final String label : this.labelNames) {
+            if(!existing.containsKey(label.toLowerCase(Locale.ROOT))) {
+                missing.add(label);
+            }
+        }
+        boolean added = true;
+        if(!missing.isEmpty()) {
+            added = this.labels.add(missing.toArray(new String[0]));
+        }
+        return added;
+    }
+
+    /**
+     * Ids of the repository's labels, by lowercase name.
+     * @param ids Response of the ids query.
+     * @return Map.
+     */
+    private static Map<String, String> existing(final JsonObject ids) {
+        final Map<String, String> existing = new HashMap<>();
+        final JsonObject repository = GithubGraphql.data(ids, "repository");
+        if(repository != null) {
+            for(final JsonValue label : repository.getJsonObject("labels")
+                .getJsonArray("nodes")) {
+                final JsonObject json = (JsonObject) label;
+                existing.put(
+                    json.getString("name").toLowerCase(Locale.ROOT),
+                    json.getString("id")
+                );
+            }
+        }
+        return existing;
+    }
+}
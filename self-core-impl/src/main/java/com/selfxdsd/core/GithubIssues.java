@@ -36,8 +36,10 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Issues in a Github repository.
@@ -55,6 +57,11 @@ final class GithubIssues implements Issues {
         GithubIssues.class
     );
 
+    /**
+     * How many Issues to prefetch with one GraphQL query.
+     */
+    private static final int PREFETCH = 50;
+
     /**
      * Github repo Issues base uri.
      */
@@ -76,7 +83,13 @@ final class GithubIssues implements Issues {
     private final Storage storage;
 
     /**
-     * Ctor.
+     * Read the Issues with the GraphQL API?
+     */
+    private final boolean graphql;
+
+    /**
+     * Ctor. The Issues are read with the GraphQL API if the env variable
+     * {@link Env#GITHUB_GRAPHQL} is "true".
      *
      * @param resources Github's JSON Resources.
      * @param issuesUri Issues base URI.
@@ -88,38 +101,72 @@ final class GithubIssues implements Issues {
         final URI issuesUri,
         final Repo repo,
         final Storage storage
+    ) {
+        this(
+            resources,
+            issuesUri,
+            repo,
+            storage,
+            Boolean.parseBoolean(System.getenv(Env.GITHUB_GRAPHQL))
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param resources Github's JSON Resources.
+     * @param issuesUri Issues base URI.
+     * @param repo Parent Repo.
+     * @param storage Storage.
+     * @param graphql Read the Issues with the GraphQL API?
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    GithubIssues(
+        final JsonResources resources,
+        final URI issuesUri,
+        final Repo repo,
+        final Storage storage,
+        final boolean graphql
     ) {
         this.resources = resources;
         this.issuesUri = issuesUri;
         this.repo = repo;
         this.storage = storage;
+        this.graphql = graphql;
     }
 
     @Override
     public Issue getById(final String issueId) {
-        return new WithContributorLabel(
-            new GithubIssue(
-                URI.create(
-                    this.issuesUri.toString() + "/" + issueId
-                ),
-                this.storage,
-                this.resources
-            )
+        final URI issueUri = URI.create(
+            this.issuesUri.toString() + "/" + issueId
         );
+        final Issue issue;
+        if(this.graphql) {
+            issue = new GithubGraphqlIssue(
+                issueUri, this.storage, this.resources
+            );
+        } else {
+            issue = new GithubIssue(issueUri, this.storage, this.resources);
+        }
+        return new WithContributorLabel(issue);
     }
 
     @Override
     public Issue received(final JsonObject issue) {
-        return new WithContributorLabel(
-            new GithubIssue(
-                URI.create(
-                    this.issuesUri.toString() + "/" + issue.getInt("number")
-                ),
-                () -> issue,
-                this.storage,
-                this.resources
-            )
+        final URI issueUri = URI.create(
+            this.issuesUri.toString() + "/" + issue.getInt("number")
         );
+        final Issue received;
+        if(this.graphql) {
+            received = new GithubGraphqlIssue(
+                issueUri, issue, this.storage, this.resources
+            );
+        } else {
+            received = new GithubIssue(
+                issueUri, () -> issue, this.storage, this.resources
+            );
+        }
+        return new WithContributorLabel(received);
     }
 
     /**
@@ -231,6 +278,62 @@ final class GithubIssues implements Issues {
         return new FoundIssues(this, found);
     }
 
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * The Issues are fetched 50 at a time, with one GraphQL query,
+     * and shaped like the JSON of Github's REST API. If a query fails,
+     * its Issues will be fetched one by one.
+     */
+    @Override
+    public Issues prefetch(final List<String> issueIds) {
+        final String[] uriParts = this.issuesUri.getRawPath().split("/");
+        final GithubGraphql graphql = new GithubGraphql(
+            this.issuesUri, this.resources
+        );
+        final List<String> numbers = new ArrayList<>();
+        for(final String issueId : issueIds) {
+            if(issueId.matches("\\d+")) {
+                numbers.add(issueId);
+            }
+        }
+        final Map<String, Issue> fetched = new HashMap<>();
+        for(int idx = 0; idx < numbers.size(); idx += PREFETCH) {
+            final JsonObject repository = GithubGraphql.data(
+                graphql.send(
+                    GithubIssues.query(
+                        numbers.subList(
+                            idx, Math.min(idx + PREFETCH, numbers.size())
+                        )
+                    ),
+                    Json.createObjectBuilder()
+                        .add("owner", uriParts[2])
+                        .add("name", uriParts[3])
+                        .build()
+                ),
+                "repository"
+            );
+            if(repository == null) {
+                LOG.error(
+                    "Prefetching returned no data. The Issues will be "
+                    + "fetched one by one..."
+                );
+            } else {
+                for(final JsonValue node : repository.values()) {
+                    if(node instanceof JsonObject) {
+                        final Issue issue = this.received(
+                            GithubGraphql.restShaped(
+                                this.issuesUri, (JsonObject) node
+                            )
+                        );
+                        fetched.put(issue.issueId(), issue);
+                    }
+                }
+            }
+        }
+        return new PrefetchedIssues(this, fetched);
+    }
+
     @Override
     public Iterator<Issue> iterator() {
         throw new IllegalStateException(
@@ -238,4 +341,26 @@ final class GithubIssues implements Issues {
         );
     }
 
+    /**
+     * GraphQL query for some Issues or Pull Requests of a repository,
+     * given by the variables owner and name.
+     * @param numbers Numbers of the Issues or Pull Requests.
+     * @return String.
+     */
+    private static String query(final List<String> numbers) {
+        final StringBuilder query = new StringBuilder(
+            "query($owner: String!, $name: String!) { "
+            + "repository(owner: $owner, name: $name) { "
+        );
+        for(final String number : numbers) {
+            query.append('i').append(number)
+                .append(": issueOrPullRequest(number: ").append(number)
+                .append(") { __typename ")
+                .append("... on Issue { ")
+                .append(GithubGraphql.ISSUE_FIELDS).append(" } ")
+                .append("... on PullRequest { ")
+                .append(GithubGraphql.ISSUE_FIELDS).append(" } } ");
+        }
+        return query.append("} }").toString();
+    }
 }
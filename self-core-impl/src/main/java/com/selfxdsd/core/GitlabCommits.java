@@ -22,6 +22,7 @@
  */
 package com.selfxdsd.core;
 
+import com.selfxdsd.api.Collaborator;
 import com.selfxdsd.api.Collaborators;
 import com.selfxdsd.api.Commit;
 import com.selfxdsd.api.Commits;
@@ -135,6 +136,48 @@ final class GitlabCommits implements Commits {
         return commit;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * GitLab's push payload doesn't have the author's username, only the
+     * name, which is matched against the Collaborators, like in
+     * GitlabCommit.
+     */
+    @Override
+    public Commit received(final JsonObject commit) {
+        final String sha = commit.getString("id");
+        final URI commitUri = URI.create(
+            this.commitsUri.toString() + "/" + sha
+        );
+        return new PushedCommit(
+            commit,
+            sha,
+            () -> {
+                final JsonObject author = commit.getJsonObject("author");
+                String username = null;
+                if(author != null && author.containsKey("name")) {
+                    username = "";
+                    final String name = author.getString("name");
+                    for(final Collaborator collab : this.collaborators) {
+                        if(name.equalsIgnoreCase(collab.name())) {
+                            username = collab.username();
+                            break;
+                        }
+                    }
+                }
+                return username;
+            },
+            () -> new GitlabCommit(
+                commitUri,
+                commit,
+                this.collaborators,
+                this.storage,
+                this.resources
+            ).comments(),
+            () -> this.getCommit(sha)
+        );
+    }
+
     @Override
     public Commit latest() {
         final Resource resource = this.resources.get(this.commitsUri);
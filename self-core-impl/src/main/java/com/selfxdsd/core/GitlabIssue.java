@@ -32,6 +32,7 @@ import javax.json.JsonObject;
 import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.function.Supplier;
 
 /**
  * An Issue in a Gitlab repository.
@@ -46,7 +47,8 @@ import java.net.URI;
  * @version $Id$
  * @since 0.0.38
  */
-final class GitlabIssue implements Issue {
+final class GitlabIssue
+    implements Issue, LabeledAssignment, IssueAttributes.Source {
 
     /**
      * Logger.
@@ -75,6 +77,11 @@ final class GitlabIssue implements Issue {
      */
     private final JsonResources resources;
 
+    /**
+     * What the labels say about this Issue, read once.
+     */
+    private final Supplier<IssueAttributes> attributes;
+
     /**
      * Ctor.
      * @param issueUri Issues base URI.
@@ -92,6 +99,7 @@ final class GitlabIssue implements Issue {
         this.json = json;
         this.storage = storage;
         this.resources = resources;
+        this.attributes = IssueAttributes.memoized(this);
     }
 
     @Override
@@ -106,7 +114,7 @@ final class GitlabIssue implements Issue {
 
     @Override
     public String role() {
-        return new LabelsRole(this).asString();
+        return new LabelsRole(this.attributes).asString();
     }
 
     @Override
@@ -215,6 +223,55 @@ final class GitlabIssue implements Issue {
         return unassigned;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Gitlab's Edit Issue endpoint accepts both the assignee_ids and the
+     * add_labels, so we do it with one PUT. If the label does not exist
+     * in the Project, Gitlab creates it.
+     */
+    @Override
+    public int assignAndLabel(final String username, final String label) {
+        LOG.debug(
+            "Assigning user " + username + " and adding label " + label
+            + " to Issue [" + this.issueUri + "]..."
+        );
+        int done = LabeledAssignment.NOTHING;
+        final Integer userId = this.findUserId(username);
+        if(userId != null) {
+            done = this.putAssignment(
+                Json.createObjectBuilder()
+                    .add("assignee_ids", Json.createArrayBuilder().add(userId))
+                    .add("add_labels", label)
+                    .build()
+            );
+        }
+        return done;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Same as {@link #unassign(String)}, all the assignees are removed, and
+     * the label is removed with the same PUT, via remove_labels.
+     */
+    @Override
+    public int unassignAndUnlabel(
+        final String username,
+        final String label
+    ) {
+        LOG.debug(
+            "Removing assignees and label " + label
+            + " from Gitlab Issue [" + this.issueUri + "]..."
+        );
+        return this.putAssignment(
+            Json.createObjectBuilder()
+                .add("assignee_ids", "")
+                .add("remove_labels", label)
+                .build()
+        );
+    }
+
     @Override
     public JsonObject json() {
         return this.json;
@@ -229,10 +286,12 @@ final class GitlabIssue implements Issue {
      */
     @Override
     public Comments comments() {
-        return new DoNotRepeat(new GitlabIssueComments(
-            URI.create(this.issueUri + "/notes"),
-            this.resources
-        ));
+        final URI notes = URI.create(this.issueUri + "/notes");
+        return new DoNotRepeat(
+            new GitlabIssueComments(notes, this.resources),
+            notes,
+            this.storage.jsonStorage()
+        );
     }
 
     /**
@@ -306,7 +365,12 @@ final class GitlabIssue implements Issue {
 
     @Override
     public Estimation estimation() {
-        return new LabelsEstimation(this);
+        return new LabelsEstimation(this.attributes);
+    }
+
+    @Override
+    public IssueAttributes attributes() {
+        return this.attributes.get();
     }
 
     @Override
@@ -318,6 +382,27 @@ final class GitlabIssue implements Issue {
         );
     }
 
+    /**
+     * Edit the assignees and labels of this Issue.
+     * @param body Body of the Edit Issue request.
+     * @return DONE if the Issue was edited, NOTHING otherwise.
+     */
+    private int putAssignment(final JsonObject body) {
+        final int edited;
+        final Resource resource = this.resources.put(this.issueUri, body);
+        if (resource.statusCode() == HttpURLConnection.HTTP_OK) {
+            LOG.debug("Assignees and labels edited successfully!");
+            edited = LabeledAssignment.DONE;
+        } else {
+            LOG.debug(
+                "Problem while editing assignees and labels. "
+                + "Expected 200 OK, but got " + resource.statusCode()
+            );
+            edited = LabeledAssignment.NOTHING;
+        }
+        return edited;
+    }
+
     /**
      * Find user id by searching it in projects/repo members.
      * @param username Username to query.
@@ -40,8 +40,10 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +61,11 @@ final class GitlabIssues implements Issues {
         GitlabIssues.class
     );
 
+    /**
+     * How many Issues to prefetch with one request.
+     */
+    private static final int PREFETCH = 100;
+
     /**
      * Gitlab repo Issues base uri.
      */
@@ -262,6 +269,49 @@ final class GitlabIssues implements Issues {
         return new FoundIssues(this, found);
     }
 
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * The Issues are listed 100 at a time, filtered by their iids.
+     * If a listing fails, its Issues will be fetched one by one.
+     */
+    @Override
+    public Issues prefetch(final List<String> issueIds) {
+        final Map<String, Issue> fetched = new HashMap<>();
+        for(int idx = 0; idx < issueIds.size(); idx += PREFETCH) {
+            final StringBuilder listPath = new StringBuilder(
+                this.issuesUri.toString()
+            );
+            listPath.append("?per_page=").append(PREFETCH);
+            for(final String issueId : issueIds.subList(
+                idx, Math.min(idx + PREFETCH, issueIds.size())
+            )) {
+                listPath.append("&iids%5B%5D=").append(
+                    URLEncoder.encode(issueId, StandardCharsets.UTF_8)
+                );
+            }
+            final URI list = URI.create(listPath.toString());
+            LOG.debug("Prefetching Gitlab Issues from: " + list);
+            final Resource resource = this.resources.get(list);
+            if(resource.statusCode() == HttpURLConnection.HTTP_OK) {
+                for(final JsonValue issue : resource.asJsonArray()) {
+                    final JsonObject json = (JsonObject) issue;
+                    fetched.put(
+                        String.valueOf(json.getInt("iid")),
+                        this.received(json)
+                    );
+                }
+            } else {
+                LOG.error(
+                    "Prefetching returned status: " + resource.statusCode()
+                    + ". Was expecting 200 OK! The Issues will be fetched "
+                    + "one by one..."
+                );
+            }
+        }
+        return new PrefetchedIssues(this, fetched);
+    }
+
     @Override
     public Iterator<Issue> iterator() {
         throw new IllegalStateException(
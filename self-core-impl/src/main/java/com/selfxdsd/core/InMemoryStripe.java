@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.SetupIntent;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentMethodListParams;
+import com.stripe.param.SetupIntentCreateParams;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local, in-memory Stripe, for tests and for running Self without
+ * a Stripe account. Every payment succeeds and every Connect Account
+ * can receive payments. It keeps Customers, Accounts and payments (by
+ * idempotency key) in memory, so it can be shared between threads.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class InMemoryStripe implements StripeGateway {
+
+    /**
+     * Customers, by ID.
+     */
+    private final Map<String, Customer> customers;
+
+    /**
+     * Connect Accounts, by ID.
+     */
+    private final Map<String, Account> accounts;
+
+    /**
+     * PaymentIntents, by idempotency key.
+     */
+    private final Map<String, PaymentIntent> payments;
+
+    /**
+     * Sequence for the generated IDs.
+     */
+    private final AtomicLong ids;
+
+    /**
+     * Ctor.
+     */
+    public InMemoryStripe() {
+        this.customers = new ConcurrentHashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.payments = new ConcurrentHashMap<>();
+        this.ids = new AtomicLong();
+    }
+
+    @Override
+    public Customer createCustomer(final CustomerCreateParams params) {
+        final Customer customer = new Customer();
+        customer.setId(this.nextId("cus"));
+        customer.setName(params.getName());
+        customer.setEmail(params.getEmail());
+        customer.setMetadata(params.getMetadata());
+        customer.setDescription(params.getDescription());
+        this.customers.put(customer.getId(), customer);
+        return customer;
+    }
+
+    @Override
+    public Customer customer(final String identifier) {
+        final Customer customer = this.customers.get(identifier);
+        if(customer == null) {
+            throw new IllegalStateException(
+                "[IN_MEMORY_STRIPE] Customer " + identifier + " not found."
+            );
+        }
+        return customer;
+    }
+
+    @Override
+    public Customer deleteCustomer(final String identifier) {
+        final Customer customer = this.customer(identifier);
+        this.customers.remove(identifier);
+        customer.setDeleted(Boolean.TRUE);
+        return customer;
+    }
+
+    @Override
+    public SetupIntent createSetupIntent(
+        final SetupIntentCreateParams params
+    ) {
+        final SetupIntent intent = new SetupIntent();
+        intent.setId(this.nextId("seti"));
+        intent.setCustomer(params.getCustomer());
+        intent.setStatus("requires_payment_method");
+        return intent;
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(
+        final PaymentIntentCreateParams params,
+        final String idempotencyKey
+    ) {
+        return this.payments.computeIfAbsent(
+            idempotencyKey,
+            key -> {
+                final PaymentIntent intent = new PaymentIntent();
+                intent.setId(this.nextId("pi"));
+                intent.setAmount(params.getAmount());
+                intent.setCurrency(params.getCurrency());
+                intent.setCustomer(params.getCustomer());
+                intent.setCreated(Instant.now().getEpochSecond());
+                intent.setStatus("succeeded");
+                return intent;
+            }
+        );
+    }
+
+    @Override
+    public PaymentIntent cancelPaymentIntent(final PaymentIntent intent) {
+        intent.setStatus("canceled");
+        return intent;
+    }
+
+    @Override
+    public Iterable<PaymentMethod> paymentMethods(
+        final PaymentMethodListParams params
+    ) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public PaymentMethod detachPaymentMethod(final String identifier) {
+        final PaymentMethod method = new PaymentMethod();
+        method.setId(identifier);
+        return method;
+    }
+
+    @Override
+    public Account createAccount(final AccountCreateParams params) {
+        final Account.Capabilities capabilities = new Account.Capabilities();
+        capabilities.setTransfers("active");
+        capabilities.setCardPayments("active");
+        final Account account = new Account();
+        account.setId(this.nextId("acct"));
+        account.setEmail(params.getEmail());
+        account.setCountry(params.getCountry());
+        account.setMetadata(params.getMetadata());
+        account.setCapabilities(capabilities);
+        this.accounts.put(account.getId(), account);
+        return account;
+    }
+
+    @Override
+    public Account account(final String identifier) {
+        final Account account = this.accounts.get(identifier);
+        if(account == null) {
+            throw new IllegalStateException(
+                "[IN_MEMORY_STRIPE] Account " + identifier + " not found."
+            );
+        }
+        return account;
+    }
+
+    @Override
+    public Account deleteAccount(final String identifier) {
+        final Account account = this.account(identifier);
+        this.accounts.remove(identifier);
+        account.setDeleted(Boolean.TRUE);
+        return account;
+    }
+
+    /**
+     * Generate the next ID.
+     * @param prefix Prefix of the ID, as Stripe does it (e.g. cus, pi).
+     * @return ID.
+     */
+    private String nextId(final String prefix) {
+        return prefix + "_local" + this.ids.incrementAndGet();
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Estimation;
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Label;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What the labels of an Issue say about it: role, estimation, whether
+ * it is a no-task and who are the contributors labeled on it. The labels
+ * are read once, when the snapshot is built, and nothing is read
+ * afterwards.<br><br>
+ *
+ * Each Issue keeps one snapshot (see {@link #memoized(Issue)}), shared by
+ * its role, its estimation and the Steps which look at its labels (see
+ * {@link #of(Issue)}). The Issue resets it when its labels change.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IssueAttributes {
+
+    /**
+     * Estimation label, e.g. "60 min".
+     */
+    private static final Pattern ESTIMATION = Pattern.compile(
+        "^([1-9][0-9]{0,5})[ ]*(minutes|min|m)$",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Role labels.
+     */
+    private static final Set<String> ROLES = Set.of(
+        Contract.Roles.DEV,
+        Contract.Roles.REV,
+        Contract.Roles.QA,
+        Contract.Roles.PO,
+        Contract.Roles.ARCH
+    );
+
+    /**
+     * Label of the Issues which should not become Tasks.
+     */
+    private static final String NO_TASK = "no-task";
+
+    /**
+     * Maximum estimation allowed.
+     */
+    private static final int MAX_ESTIMATION = 360;
+
+    /**
+     * Minimum estimation allowed.
+     */
+    private static final int MIN_ESTIMATION = 15;
+
+    /**
+     * Is the Issue a Pull Request?
+     */
+    private final boolean pullRequest;
+
+    /**
+     * Names of the labels, lowercase.
+     */
+    private final Set<String> names;
+
+    /**
+     * First role label, null if there is none.
+     */
+    private final String role;
+
+    /**
+     * Biggest estimation label, 0 if there is none.
+     */
+    private final int minutes;
+
+    /**
+     * Usernames from the contributor labels (e.g. "@mihai").
+     */
+    private final List<String> contributors;
+
+    /**
+     * Ctor.
+     * @param issue Issue, its labels are read once.
+     */
+    public IssueAttributes(final Issue issue) {
+        this(issue.labels(), issue.isPullRequest());
+    }
+
+    /**
+     * Ctor.
+     * @param labels Labels of the Issue, read once.
+     * @param pullRequest Is the Issue a Pull Request?
+     */
+    public IssueAttributes(
+        final Iterable<Label> labels,
+        final boolean pullRequest
+    ) {
+        this.pullRequest = pullRequest;
+        final Set<String> all = new HashSet<>();
+        final List<String> usernames = new ArrayList<>();
+        String first = null;
+        int biggest = 0;
+        for(final Label label : labels) {
+            final String name = label.name().trim();
+            all.add(name.toLowerCase(Locale.ROOT));
+            final String upper = name.toUpperCase(Locale.ROOT);
+            if(first == null && ROLES.contains(upper)) {
+                first = upper;
+            }
+            final Matcher match = ESTIMATION.matcher(name);
+            if(match.find()) {
+                biggest = Math.max(biggest, Integer.parseInt(match.group(1)));
+            }
+            if(name.startsWith("@") && name.length() > 1) {
+                usernames.add(name.substring(1));
+            }
+        }
+        this.names = Collections.unmodifiableSet(all);
+        this.role = first;
+        this.minutes = biggest;
+        this.contributors = Collections.unmodifiableList(usernames);
+    }
+
+    /**
+     * The attributes of an Issue. If the Issue keeps its own snapshot,
+     * that one is returned, so the labels are not read again; otherwise,
+     * the labels are read now.
+     * @param issue Issue.
+     * @return IssueAttributes.
+     */
+    public static IssueAttributes of(final Issue issue) {
+        final IssueAttributes attributes;
+        if(issue instanceof Source) {
+            attributes = ((Source) issue).attributes();
+        } else {
+            attributes = new IssueAttributes(issue);
+        }
+        return attributes;
+    }
+
+    /**
+     * The attributes of an Issue, read when they are first needed and
+     * kept until they are reset.
+     * @param issue Issue.
+     * @return Memoized snapshot.
+     */
+    static Memoized memoized(final Issue issue) {
+        return new Memoized(issue);
+    }
+
+    /**
+     * The role, from the first role label. Without one, Pull Requests
+     * are for reviewers and Issues are for developers.
+     * @return Role.
+     */
+    public String role() {
+        final String result;
+        if(this.role != null) {
+            result = this.role;
+        } else if(this.pullRequest) {
+            result = Contract.Roles.REV;
+        } else {
+            result = Contract.Roles.DEV;
+        }
+        return result;
+    }
+
+    /**
+     * The estimation, from the biggest estimation label, kept between
+     * 15 and 360 minutes. Without one, Pull Requests take 30 minutes
+     * and Issues take 60.
+     * @return Estimation.
+     */
+    public Estimation estimation() {
+        final int result;
+        if(this.minutes == 0) {
+            if(this.pullRequest) {
+                result = 30;
+            } else {
+                result = 60;
+            }
+        } else if(this.minutes > MAX_ESTIMATION) {
+            result = MAX_ESTIMATION;
+        } else if(this.minutes < MIN_ESTIMATION) {
+            result = MIN_ESTIMATION;
+        } else {
+            result = this.minutes;
+        }
+        return () -> result;
+    }
+
+    /**
+     * Is the Issue labeled "no-task"?
+     * @return True or false.
+     */
+    public boolean noTask() {
+        return this.hasLabel(NO_TASK);
+    }
+
+    /**
+     * Usernames of the contributors labeled on the Issue (e.g. "@mihai").
+     * @return List of usernames, without the "@".
+     */
+    public List<String> contributors() {
+        return this.contributors;
+    }
+
+    /**
+     * Does the Issue have the given label? Case is ignored.
+     * @param name Name of the label.
+     * @return True or false.
+     */
+    public boolean hasLabel(final String name) {
+        return this.names.contains(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Issue which keeps its own snapshot of IssueAttributes.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.99
+     */
+    interface Source {
+
+        /**
+         * The snapshot of this Issue's attributes.
+         * @return IssueAttributes.
+         */
+        IssueAttributes attributes();
+    }
+
+    /**
+     * Snapshot of an Issue's attributes, built when first needed and
+     * kept until it is reset (e.g. after the Issue's labels changed).
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.99
+     */
+    static final class Memoized implements Supplier<IssueAttributes> {
+
+        /**
+         * The Issue.
+         */
+        private final Issue issue;
+
+        /**
+         * The snapshot, null if it is not built yet.
+         */
+        private IssueAttributes attributes;
+
+        /**
+         * Ctor.
+         * @param issue The Issue.
+         */
+        Memoized(final Issue issue) {
+            this.issue = issue;
+        }
+
+        @Override
+        public synchronized IssueAttributes get() {
+            if(this.attributes == null) {
+                this.attributes = new IssueAttributes(this.issue);
+            }
+            return this.attributes;
+        }
+
+        /**
+         * Forget the snapshot, it is built again when next needed.
+         */
+        synchronized void reset() {
+            this.attributes = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+/**
+ * Issue which can be assigned and labeled (or unassigned and unlabeled)
+ * with one request, where the provider's API allows it. Used by
+ * {@link WithContributorLabel}, which falls back to the separate requests
+ * for the steps which were not done.<br><br>
+ *
+ * The result says what was done, so the fallback never repeats a step:
+ * {@link #NOTHING}, {@link #ASSIGNMENT} (only the user was assigned or
+ * unassigned) or {@link #DONE}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+interface LabeledAssignment {
+
+    /**
+     * Nothing was done.
+     */
+    int NOTHING = 0;
+
+    /**
+     * The user was assigned (unassigned), but the label was not added
+     * (removed).
+     */
+    int ASSIGNMENT = 1;
+
+    /**
+     * The user was assigned (unassigned) and the label was added (removed).
+     */
+    int DONE = 2;
+
+    /**
+     * Assign the given user and add the given label, in one request.
+     * @param username Username of the assignee.
+     * @param label Label to add.
+     * @return NOTHING, ASSIGNMENT or DONE.
+     */
+    int assignAndLabel(final String username, final String label);
+
+    /**
+     * Unassign the given user and remove the given label, in one request.
+     * @param username Username of the assignee.
+     * @param label Label to remove.
+     * @return NOTHING, ASSIGNMENT or DONE.
+     */
+    int unassignAndUnlabel(final String username, final String label);
+}
@@ -24,10 +24,8 @@ package com.selfxdsd.core;
 
 import com.selfxdsd.api.Estimation;
 import com.selfxdsd.api.Issue;
-import com.selfxdsd.api.Label;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 /**
  * Estimation of an Issue/PR read from its labels.<br><br>
@@ -44,59 +42,29 @@ import java.util.regex.Pattern;
 final class LabelsEstimation implements Estimation {
 
     /**
-     * Label regex.
-     * @checkstyle LineLength (5 lines)
+     * Attributes of the Issue being estimated.
      */
-    private static final String ESTIMATION = "^([1-9][0-9]{0,5})[ ]*(minutes|min|m)$";
+    private final Supplier<IssueAttributes> attributes;
 
     /**
-     * Maximum estimation allowed.
-     */
-    private static final int MAX_ESTIMATION = 360;
-
-    /**
-     * Minimum estimation allowed.
-     */
-    private static final int MIN_ESTIMATION = 15;
-
-
-    /**
-     * Issue being estimated.
+     * Ctor.
+     * @param issue Issue being estimated.
      */
-    private final Issue issue;
+    LabelsEstimation(final Issue issue) {
+        this(IssueAttributes.memoized(issue));
+    }
 
     /**
      * Ctor.
-     * @param issue Estimated issue.
+     * @param attributes Attributes of the Issue being estimated, shared
+     *  with the Issue's other readers.
      */
-    LabelsEstimation(final Issue issue) {
-        this.issue = issue;
+    LabelsEstimation(final Supplier<IssueAttributes> attributes) {
+        this.attributes = attributes;
     }
 
     @Override
     public int minutes() {
-        int minutes = 0;
-        final Pattern reg = Pattern.compile(
-            ESTIMATION,
-            Pattern.CASE_INSENSITIVE
-        );
-        for(final Label label : this.issue.labels()) {
-            final Matcher match = reg.matcher(label.name());
-            if(match.find()) {
-                minutes = Math.max(minutes, Integer.valueOf(match.group(1)));
-            }
-        }
-        if(minutes == 0) {
-            if(this.issue.isPullRequest()) {
-                minutes = 30;
-            } else {
-                minutes = 60;
-            }
-        } else if(minutes > MAX_ESTIMATION) {
-            minutes = MAX_ESTIMATION;
-        } else if(minutes < MIN_ESTIMATION) {
-            minutes = MIN_ESTIMATION;
-        }
-        return minutes;
+        return this.attributes.get().estimation().minutes();
     }
 }
@@ -22,11 +22,10 @@
  */
 package com.selfxdsd.core;
 
-import com.selfxdsd.api.Contract;
 import com.selfxdsd.api.Issue;
-import com.selfxdsd.api.Label;
 import com.selfxdsd.api.Role;
-import java.util.List;
+
+import java.util.function.Supplier;
 
 /**
  * Role required for an Issue/PR read from its labels.<br><br>
@@ -43,42 +42,29 @@ import java.util.List;
 final class LabelsRole implements Role {
 
     /**
-     * Issue for which we read the role.
+     * Attributes of the Issue for which we read the role.
      */
-    private final Issue issue;
+    private final Supplier<IssueAttributes> attributes;
 
     /**
      * Ctor.
      * @param issue Issue for which we read the role.
      */
     LabelsRole(final Issue issue) {
-        this.issue = issue;
+        this(IssueAttributes.memoized(issue));
+    }
+
+    /**
+     * Ctor.
+     * @param attributes Attributes of the Issue for which we read the
+     *  role, shared with the Issue's other readers.
+     */
+    LabelsRole(final Supplier<IssueAttributes> attributes) {
+        this.attributes = attributes;
     }
 
     @Override
     public String asString() {
-        final List<String> roles = List.of(
-            Contract.Roles.DEV,
-            Contract.Roles.REV,
-            Contract.Roles.QA,
-            Contract.Roles.PO,
-            Contract.Roles.ARCH
-        );
-        String role = null;
-        for(final Label label : this.issue.labels()) {
-            final String name = label.name().trim().toUpperCase();
-            if(roles.contains(name)) {
-                role = name;
-                break;
-            }
-        }
-        if(role == null) {
-            if(this.issue.isPullRequest()) {
-                role = Contract.Roles.REV;
-            } else {
-                role = Contract.Roles.DEV;
-            }
-        }
-        return role;
+        return this.attributes.get().role();
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Issues;
+
+import javax.json.JsonObject;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issues fetched in advance, in bulk. The Issues which were not fetched
+ * are taken from the original Issues, one by one.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class PrefetchedIssues implements Issues {
+
+    /**
+     * Original Issues.
+     */
+    private final Issues original;
+
+    /**
+     * Fetched Issues, by ID.
+     */
+    private final Map<String, Issue> fetched;
+
+    /**
+     * Ctor.
+     * @param original Original Issues.
+     * @param fetched Fetched Issues, by ID.
+     */
+    PrefetchedIssues(
+        final Issues original,
+        final Map<String, Issue> fetched
+    ) {
+        this.original = original;
+        this.fetched = new HashMap<>();
+        this.fetched.putAll(fetched);
+    }
+
+    @Override
+    public Issue getById(final String issueId) {
+        Issue issue = this.fetched.get(issueId);
+        if(issue == null) {
+            issue = this.original.getById(issueId);
+        }
+        return issue;
+    }
+
+    @Override
+    public Issue received(final JsonObject issue) {
+        return this.original.received(issue);
+    }
+
+    @Override
+    public Issue open(
+        final String title,
+        final String body,
+        final String... labels
+    ) {
+        return this.original.open(title, body, labels);
+    }
+
+    @Override
+    public Issues search(
+        final String text,
+        final String... labels
+    ) {
+        return this.original.search(text, labels);
+    }
+
+    @Override
+    public Issues prefetch(final List<String> issueIds) {
+        return this.original.prefetch(issueIds);
+    }
+
+    @Override
+    public Iterator<Issue> iterator() {
+        return this.fetched.values().iterator();
+    }
+}
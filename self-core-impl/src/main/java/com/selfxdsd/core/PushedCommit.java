@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Comments;
+import com.selfxdsd.api.Commit;
+
+import javax.json.JsonObject;
+import java.util.function.Supplier;
+
+/**
+ * Commit received in a push webhook. The SHA, the author and the
+ * comments are known without asking the provider's API. The Commit
+ * is fetched, once, only if its full JSON is needed or if the author
+ * is missing from the payload.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class PushedCommit implements Commit {
+
+    /**
+     * Commit JSON from the push payload.
+     */
+    private final JsonObject pushed;
+
+    /**
+     * The Commit's SHA.
+     */
+    private final String sha;
+
+    /**
+     * Author's username from the payload, null if it's missing.
+     */
+    private final Supplier<String> author;
+
+    /**
+     * The Commit's comments.
+     */
+    private final Supplier<Comments> comments;
+
+    /**
+     * Fetches the Commit from the provider's API.
+     */
+    private final Supplier<Commit> fetch;
+
+    /**
+     * The fetched Commit.
+     */
+    private Commit fetched;
+
+    /**
+     * Ctor.
+     * @param pushed Commit JSON from the push payload.
+     * @param sha The Commit's SHA.
+     * @param author Author's username from the payload, null if missing.
+     * @param comments The Commit's comments.
+     * @param fetch Fetches the Commit from the provider's API.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    PushedCommit(
+        final JsonObject pushed,
+        final String sha,
+        final Supplier<String> author,
+        final Supplier<Comments> comments,
+        final Supplier<Commit> fetch
+    ) {
+        this.pushed = pushed;
+        this.sha = sha;
+        this.author = author;
+        this.comments = comments;
+        this.fetch = fetch;
+    }
+
+    @Override
+    public Comments comments() {
+        return this.comments.get();
+    }
+
+    @Override
+    public String author() {
+        String username = this.author.get();
+        if(username == null) {
+            final Commit commit = this.fetched();
+            if(commit == null) {
+                username = "";
+            } else {
+                username = commit.author();
+            }
+        }
+        return username;
+    }
+
+    @Override
+    public String shaRef() {
+        return this.sha;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The push payload holds a different JSON, so the Commit is fetched.
+     * If it cannot be found anymore, the pushed JSON is returned.
+     */
+    @Override
+    public JsonObject json() {
+        final Commit commit = this.fetched();
+        final JsonObject json;
+        if(commit == null) {
+            json = this.pushed;
+        } else {
+            json = commit.json();
+        }
+        return json;
+    }
+
+    /**
+     * The Commit, fetched from the provider's API the first time
+     * it is needed.
+     * @return Commit or null if it's not found.
+     */
+    private synchronized Commit fetched() {
+        if(this.fetched == null) {
+            this.fetched = this.fetch.get();
+        }
+        return this.fetched;
+    }
+}
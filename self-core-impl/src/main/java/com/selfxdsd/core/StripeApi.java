@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.SetupIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.PaymentIntentCancelParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentMethodDetachParams;
+import com.stripe.param.PaymentMethodListParams;
+import com.stripe.param.SetupIntentCreateParams;
+
+/**
+ * Stripe's API. The API key is sent with each request, through
+ * RequestOptions, instead of setting the global Stripe.apiKey.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class StripeApi implements StripeGateway {
+
+    /**
+     * Stripe API token.
+     */
+    private final String apiToken;
+
+    /**
+     * Ctor.
+     * @param apiToken Stripe API token.
+     */
+    public StripeApi(final String apiToken) {
+        this.apiToken = apiToken;
+    }
+
+    @Override
+    public Customer createCustomer(final CustomerCreateParams params)
+        throws StripeException {
+        return Customer.create(params, this.options());
+    }
+
+    @Override
+    public Customer customer(final String identifier)
+        throws StripeException {
+        return Customer.retrieve(identifier, this.options());
+    }
+
+    @Override
+    public Customer deleteCustomer(final String identifier)
+        throws StripeException {
+        final RequestOptions options = this.options();
+        return Customer.retrieve(identifier, options).delete(options);
+    }
+
+    @Override
+    public SetupIntent createSetupIntent(
+        final SetupIntentCreateParams params
+    ) throws StripeException {
+        return SetupIntent.create(params, this.options());
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(
+        final PaymentIntentCreateParams params,
+        final String idempotencyKey
+    ) throws StripeException {
+        return PaymentIntent.create(
+            params,
+            this.options().toBuilder().setIdempotencyKey(idempotencyKey).build()
+        );
+    }
+
+    @Override
+    public PaymentIntent cancelPaymentIntent(final PaymentIntent intent)
+        throws StripeException {
+        return intent.cancel(
+            PaymentIntentCancelParams.builder().build(),
+            this.options()
+        );
+    }
+
+    @Override
+    public Iterable<PaymentMethod> paymentMethods(
+        final PaymentMethodListParams params
+    ) throws StripeException {
+        return PaymentMethod.list(params, this.options())
+            .autoPagingIterable();
+    }
+
+    @Override
+    public PaymentMethod detachPaymentMethod(final String identifier)
+        throws StripeException {
+        final RequestOptions options = this.options();
+        return PaymentMethod.retrieve(identifier, options).detach(
+            PaymentMethodDetachParams.builder().build(),
+            options
+        );
+    }
+
+    @Override
+    public Account createAccount(final AccountCreateParams params)
+        throws StripeException {
+        return Account.create(params, this.options());
+    }
+
+    @Override
+    public Account account(final String identifier) throws StripeException {
+        return Account.retrieve(identifier, this.options());
+    }
+
+    @Override
+    public Account deleteAccount(final String identifier)
+        throws StripeException {
+        final RequestOptions options = this.options();
+        return Account.retrieve(identifier, options).delete(options);
+    }
+
+    /**
+     * Options for one request, carrying the API key.
+     * @return RequestOptions.
+     */
+    private RequestOptions options() {
+        if(this.apiToken == null || this.apiToken.trim().isEmpty()) {
+            throw new IllegalStateException(
+                "[STRIPE] Please specify the "
+                + Env.STRIPE_API_TOKEN
+                + " Environment Variable!"
+            );
+        }
+        return RequestOptions.builder().setApiKey(this.apiToken).build();
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentMethod;
+import com.stripe.model.SetupIntent;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PaymentMethodListParams;
+import com.stripe.param.SetupIntentCreateParams;
+
+/**
+ * The Stripe calls made by Self. Implementations should not rely on
+ * global state (such as the static Stripe.apiKey), so the same gateway
+ * can be used from more threads at once.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public interface StripeGateway {
+
+    /**
+     * Create a Customer (a Project's Wallet).
+     * @param params Customer params.
+     * @return Created Customer.
+     * @throws StripeException If something goes wrong.
+     */
+    Customer createCustomer(final CustomerCreateParams params)
+        throws StripeException;
+
+    /**
+     * Fetch a Customer.
+     * @param identifier Customer ID.
+     * @return Customer.
+     * @throws StripeException If something goes wrong.
+     */
+    Customer customer(final String identifier) throws StripeException;
+
+    /**
+     * Delete a Customer.
+     * @param identifier Customer ID.
+     * @return Deleted Customer.
+     * @throws StripeException If something goes wrong.
+     */
+    Customer deleteCustomer(final String identifier) throws StripeException;
+
+    /**
+     * Create a SetupIntent, for adding a new card to a Customer.
+     * @param params SetupIntent params.
+     * @return Created SetupIntent.
+     * @throws StripeException If something goes wrong.
+     */
+    SetupIntent createSetupIntent(final SetupIntentCreateParams params)
+        throws StripeException;
+
+    /**
+     * Create (and, depending on the params, confirm) a PaymentIntent.
+     * Stripe will not make a second payment if called again with the same
+     * idempotency key (e.g. after a timeout), it will return the first
+     * PaymentIntent instead.
+     * @param params PaymentIntent params.
+     * @param idempotencyKey Idempotency key.
+     * @return Created PaymentIntent.
+     * @throws StripeException If something goes wrong.
+     */
+    PaymentIntent createPaymentIntent(
+        final PaymentIntentCreateParams params,
+        final String idempotencyKey
+    ) throws StripeException;
+
+    /**
+     * Cancel a PaymentIntent.
+     * @param intent PaymentIntent to cancel.
+     * @return Cancelled PaymentIntent.
+     * @throws StripeException If something goes wrong.
+     */
+    PaymentIntent cancelPaymentIntent(final PaymentIntent intent)
+        throws StripeException;
+
+    /**
+     * List PaymentMethods (all pages).
+     * @param params List params.
+     * @return Iterable of PaymentMethod.
+     * @throws StripeException If something goes wrong.
+     */
+    Iterable<PaymentMethod> paymentMethods(
+        final PaymentMethodListParams params
+    ) throws StripeException;
+
+    /**
+     * Detach a PaymentMethod from its Customer.
+     * @param identifier PaymentMethod ID.
+     * @return Detached PaymentMethod.
+     * @throws StripeException If something goes wrong.
+     */
+    PaymentMethod detachPaymentMethod(final String identifier)
+        throws StripeException;
+
+    /**
+     * Create a Connect Account (a Contributor's PayoutMethod).
+     * @param params Account params.
+     * @return Created Account.
+     * @throws StripeException If something goes wrong.
+     */
+    Account createAccount(final AccountCreateParams params)
+        throws StripeException;
+
+    /**
+     * Fetch a Connect Account.
+     * @param identifier Account ID.
+     * @return Account.
+     * @throws StripeException If something goes wrong.
+     */
+    Account account(final String identifier) throws StripeException;
+
+    /**
+     * Delete a Connect Account.
+     * @param identifier Account ID.
+     * @return Deleted Account.
+     * @throws StripeException If something goes wrong.
+     */
+    Account deleteAccount(final String identifier) throws StripeException;
+}
@@ -38,7 +38,8 @@ import javax.json.JsonObject;
  * @version $Id$
  * @since 0.0.34
  */
-final class WithContributorLabel implements Issue {
+final class WithContributorLabel
+    implements Issue, IssueAttributes.Source {
 
     /**
      * Logger.
@@ -95,12 +96,32 @@ final class WithContributorLabel implements Issue {
         return this.decorated.assignee();
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * If the Issue can do it, it is assigned and labeled with one request.
+     * Otherwise, or for the steps which that request did not do, it is
+     * assigned and then labeled.
+     */
     @Override
     public boolean assign(final String username) {
-        final boolean assigned = this.decorated.assign(username);
-        if(assigned) {
+        final String label = "@" + username;
+        int done = LabeledAssignment.NOTHING;
+        if(this.decorated instanceof LabeledAssignment) {
+            LOG.debug("Assigning @" + username + " and adding label... ");
+            done = ((LabeledAssignment) this.decorated).assignAndLabel(
+                username, label
+            );
+        }
+        final boolean assigned;
+        if(done == LabeledAssignment.NOTHING) {
+            assigned = this.decorated.assign(username);
+        } else {
+            assigned = true;
+        }
+        if(assigned && done != LabeledAssignment.DONE) {
             LOG.debug("Adding label @" + username + "... ");
-            boolean labeled = this.labels().add("@" + username);
+            boolean labeled = this.labels().add(label);
             if(labeled) {
                 LOG.debug("Label added.");
             } else {
@@ -110,12 +131,31 @@ final class WithContributorLabel implements Issue {
         return assigned;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * If the Issue can do it, it is unassigned and unlabeled with one
+     * request. Otherwise, or for the steps which that request did not do,
+     * it is unassigned and then unlabeled.
+     */
     @Override
     public boolean unassign(final String username) {
-        final boolean unassigned = this.decorated.unassign(username);
-        if(unassigned) {
+        final String label = "@" + username;
+        int done = LabeledAssignment.NOTHING;
+        if(this.decorated instanceof LabeledAssignment) {
+            LOG.debug("Unassigning @" + username + " and removing label... ");
+            done = ((LabeledAssignment) this.decorated)
+                .unassignAndUnlabel(username, label);
+        }
+        final boolean unassigned;
+        if(done == LabeledAssignment.NOTHING) {
+            unassigned = this.decorated.unassign(username);
+        } else {
+            unassigned = true;
+        }
+        if(unassigned && done != LabeledAssignment.DONE) {
             LOG.debug("Removing label @" + username + "... ");
-            boolean removed = this.labels().remove("@" + username);
+            boolean removed = this.labels().remove(label);
             if(removed) {
                 LOG.debug("Label removed.");
             } else {
@@ -160,6 +200,11 @@ final class WithContributorLabel implements Issue {
         return this.decorated.estimation();
     }
 
+    @Override
+    public IssueAttributes attributes() {
+        return IssueAttributes.of(this.decorated);
+    }
+
     @Override
     public Labels labels() {
         return this.decorated.labels();
@@ -2,7 +2,7 @@ package com.selfxdsd.core.contracts.invoices;
 
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
-import com.selfxdsd.core.projects.XmlBnr;
+import com.selfxdsd.core.projects.CachedBnr;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
@@ -16,7 +16,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -177,6 +179,42 @@ public final class StoredInvoice implements Invoice {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * All the Tasks are checked first and then registered with one call
+     * to the Storage, instead of one call per Task.
+     */
+    @Override
+    public List<InvoicedTask> registerAll(
+        final List<Task> tasks,
+        final Function<Task, BigDecimal> projectCommission,
+        final Function<Task, BigDecimal> contributorCommission
+    ) {
+        for(final Task task : tasks) {
+            final Contract.Id taskContract = new Contract.Id(
+                task.project().repoFullName(),
+                task.assignee().username(),
+                task.project().provider(),
+                task.role()
+            );
+            if(!this.contract.contractId().equals(taskContract)) {
+                throw new IllegalArgumentException(
+                    "Task #" + task.issueId()
+                    + " does not belong to this Invoice!"
+                );
+            }
+        }
+        if(this.isPaid()) {
+            throw new IllegalStateException(
+                "Invoice is already paid, can't add new Tasks to it!"
+            );
+        }
+        return this.storage.invoicedTasks().registerAll(
+            this, tasks, projectCommission, contributorCommission
+        );
+    }
+
     @Override
     public Contract contract() {
         return this.contract;
@@ -422,7 +460,7 @@ public final class StoredInvoice implements Invoice {
         if(!this.eurToRon.equals(BigDecimal.valueOf(0))) {
             eurToRon = this.eurToRon;
         } else {
-            eurToRon = new XmlBnr().euroToRon();
+            eurToRon = CachedBnr.shared().euroToRon();
         }
         return eurToRon;
     }
@@ -25,7 +25,7 @@ package com.selfxdsd.core.contributors;
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.Env;
-import com.stripe.Stripe;
+import com.selfxdsd.core.StripeApi;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Account;
 import com.stripe.param.AccountCreateParams;
@@ -174,9 +174,8 @@ public final class StoredContributor implements Contributor {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
-            final Account account = Account.create(
+            final Account account = new StripeApi(apiToken).createAccount(
                 this.accountParams(billingInfo)
             );
             return methods.register(
@@ -26,9 +26,11 @@ import com.selfxdsd.api.BillingInfo;
 import com.selfxdsd.api.Contributor;
 import com.selfxdsd.api.PayoutMethod;
 import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.CachedStripe;
 import com.selfxdsd.core.Env;
+import com.selfxdsd.core.StripeApi;
+import com.selfxdsd.core.StripeGateway;
 import com.selfxdsd.core.projects.AccountBillingInfo;
-import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Account;
 
@@ -36,6 +38,7 @@ import javax.json.Json;
 import javax.json.JsonObject;
 import java.io.StringReader;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -67,7 +70,15 @@ public final class StripePayoutMethod implements PayoutMethod {
     private final Supplier<Account> connectedAccount;
 
     /**
-     * Ctor.
+     * Stripe Connected Account supplier, for the BillingInfo only.
+     * It may give a cached Account.
+     */
+    private final Supplier<Account> billingAccount;
+
+    /**
+     * Ctor. The Connect Account is read fresh from Stripe for checking
+     * whether it can receive payments; only the BillingInfo is read
+     * through {@link CachedStripe}.
      * @param contributor Contributor owner.
      * @param identifier Identifier.
      * @param storage Storage.
@@ -81,40 +92,12 @@ public final class StripePayoutMethod implements PayoutMethod {
             contributor,
             identifier,
             storage,
-            new Supplier<>() {
-
-                /**
-                 * Cached account.
-                 */
-                private Account account;
-
-                @Override
-                public Account get() {
-                    if(this.account == null) {
-                        final String tkn = System.getenv(Env.STRIPE_API_TOKEN);
-                        if(tkn == null || tkn.trim().isEmpty()) {
-                            throw new IllegalStateException(
-                                "[StripePayoutMethod] Please specify the "
-                                    + Env.STRIPE_API_TOKEN
-                                    + " Environment Variable!"
-                            );
-                        }
-                        Stripe.apiKey = tkn;
-                        try {
-                            this.account = Account.retrieve(identifier);
-                        } catch (final StripeException ex) {
-                            throw new IllegalStateException(
-                                "Stripe threw an exception when trying to fetch"
-                                + " the Stripe Connect Account of Contributor "
-                                + contributor.username() + "/"
-                                + contributor.provider() + ". ",
-                                ex
-                            );
-                        }
-                    }
-                    return this.account;
-                }
-            }
+            StripePayoutMethod.account(contributor, identifier, StripeApi::new),
+            StripePayoutMethod.account(
+                contributor,
+                identifier,
+                token -> new CachedStripe(token, new StripeApi(token))
+            )
         );
     }
 
@@ -131,11 +114,34 @@ public final class StripePayoutMethod implements PayoutMethod {
         final String identifier,
         final Storage storage,
         final Supplier<Account> connectedAccount
+    ) {
+        this(
+            contributor, identifier, storage,
+            connectedAccount, connectedAccount
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param contributor Contributor owner.
+     * @param identifier Identifier.
+     * @param storage Storage.
+     * @param connectedAccount Stripe Connected Account, up to date.
+     * @param billingAccount Stripe Connected Account, used only for the
+     *  BillingInfo, so it may be cached.
+     */
+    StripePayoutMethod(
+        final Contributor contributor,
+        final String identifier,
+        final Storage storage,
+        final Supplier<Account> connectedAccount,
+        final Supplier<Account> billingAccount
     ) {
         this.contributor = contributor;
         this.identifier = identifier;
         this.storage = storage;
         this.connectedAccount = connectedAccount;
+        this.billingAccount = billingAccount;
     }
 
     @Override
@@ -155,7 +161,7 @@ public final class StripePayoutMethod implements PayoutMethod {
 
     @Override
     public BillingInfo billingInfo() {
-        return new AccountBillingInfo(this.connectedAccount.get());
+        return new AccountBillingInfo(this.billingAccount.get());
     }
 
     @Override
@@ -197,9 +203,9 @@ public final class StripePayoutMethod implements PayoutMethod {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
-            Account.retrieve(this.identifier).delete();
+            new CachedStripe(apiToken, new StripeApi(apiToken))
+                .deleteAccount(this.identifier);
             return this.storage.payoutMethods().remove(this);
         } catch (final StripeException ex) {
             throw new IllegalStateException(
@@ -229,4 +235,52 @@ public final class StripePayoutMethod implements PayoutMethod {
         return this.contributor.equals(other.contributor())
             && this.identifier.equalsIgnoreCase(other.identifier());
     }
+
+    /**
+     * Supplier which reads the Connect Account from Stripe the first time
+     * it is called and then remembers it.
+     * @param contributor Contributor owner.
+     * @param identifier ID of the Account.
+     * @param gateway StripeGateway, built from the API token.
+     * @return Supplier of Account.
+     */
+    private static Supplier<Account> account(
+        final Contributor contributor,
+        final String identifier,
+        final Function<String, StripeGateway> gateway
+    ) {
+        return new Supplier<>() {
+
+            /**
+             * Cached account.
+             */
+            private Account account;
+
+            @Override
+            public Account get() {
+                if(this.account == null) {
+                    final String tkn = System.getenv(Env.STRIPE_API_TOKEN);
+                    if(tkn == null || tkn.trim().isEmpty()) {
+                        throw new IllegalStateException(
+                            "[StripePayoutMethod] Please specify the "
+                                + Env.STRIPE_API_TOKEN
+                                + " Environment Variable!"
+                        );
+                    }
+                    try {
+                        this.account = gateway.apply(tkn).account(identifier);
+                    } catch (final StripeException ex) {
+                        throw new IllegalStateException(
+                            "Stripe threw an exception when trying to fetch"
+                            + " the Stripe Connect Account of Contributor "
+                            + contributor.username() + "/"
+                            + contributor.provider() + ". ",
+                            ex
+                        );
+                    }
+                }
+                return this.account;
+            }
+        };
+    }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.pm.Conversation;
+import com.selfxdsd.api.pm.Step;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conversation which dispatches the Event to the Conversation registered
+ * for its type, with one lookup, instead of asking a chain of
+ * Conversations one by one. Events of an unknown type go to the fallback
+ * Conversation.<br><br>
+ *
+ * It is immutable and keeps no state about the Events, so it can be
+ * built once and shared:
+ * <pre>
+ *     new CommandDispatch(new Confused())
+ *         .with(Event.Type.HELLO, new Hello(new Confused()))
+ *         .with(Event.Type.STATUS, new Status(new Confused()));
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CommandDispatch implements Conversation {
+
+    /**
+     * Conversations, by the Event type they handle.
+     */
+    private final Map<String, Conversation> conversations;
+
+    /**
+     * Conversation for the Events of an unknown type.
+     */
+    private final Conversation fallback;
+
+    /**
+     * Ctor.
+     * @param fallback Conversation for the Events of an unknown type.
+     */
+    public CommandDispatch(final Conversation fallback) {
+        this(new HashMap<>(), fallback);
+    }
+
+    /**
+     * Ctor.
+     * @param conversations Conversations, by the Event type they handle.
+     * @param fallback Conversation for the Events of an unknown type.
+     */
+    private CommandDispatch(
+        final Map<String, Conversation> conversations,
+        final Conversation fallback
+    ) {
+        this.conversations = conversations;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Register a Conversation. It only receives the Events of the given
+     * type, so the Conversation it would pass other Events to is never
+     * used.
+     * @param type Event type.
+     * @param conversation Conversation handling it.
+     * @return New CommandDispatch, with the Conversation registered.
+     */
+    public CommandDispatch with(
+        final String type,
+        final Conversation conversation
+    ) {
+        final Map<String, Conversation> registered = new HashMap<>(
+            this.conversations
+        );
+        registered.put(type, conversation);
+        return new CommandDispatch(registered, this.fallback);
+    }
+
+    @Override
+    public Step start(final Event event) {
+        return this.conversations.getOrDefault(
+            event.type(), this.fallback
+        ).start(event);
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.pm.Intermediary;
+import com.selfxdsd.api.pm.Step;
+import com.selfxdsd.core.ThreadPerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Step which performs some independent Steps at the same time and, after
+ * all of them finished, moves on to the next Step. The time each Step took
+ * is logged.<br><br>
+ *
+ * If any of the Steps fails, its exception is thrown after all of them
+ * finished, and the next Step is not performed, same as it would be in a
+ * chain of Steps.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class Concurrently extends Intermediary {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        Concurrently.class
+    );
+
+    /**
+     * Executor of the Steps.
+     */
+    private final Executor executor;
+
+    /**
+     * Steps to perform at the same time.
+     */
+    private final List<Step> steps;
+
+    /**
+     * Ctor.
+     * @param next The next step to perform.
+     * @param steps Steps to perform at the same time.
+     */
+    public Concurrently(final Step next, final Step... steps) {
+        this(next, new ThreadPerTask("concurrent-step"), steps);
+    }
+
+    /**
+     * Ctor.
+     * @param next The next step to perform.
+     * @param executor Executor of the Steps.
+     * @param steps Steps to perform at the same time.
+     */
+    public Concurrently(
+        final Step next,
+        final Executor executor,
+        final Step... steps
+    ) {
+        super(next);
+        this.executor = executor;
+        this.steps = Arrays.asList(steps);
+    }
+
+    @Override
+    public void perform(final Event event) {
+        final long start = System.currentTimeMillis();
+        final List<CompletableFuture<Void>> running = new ArrayList<>();
+        for(final Step step : this.steps) {
+            running.add(
+                CompletableFuture.runAsync(
+                    () -> this.timed(step, event), this.executor
+                )
+            );
+        }
+        try {
+            CompletableFuture.allOf(
+                running.toArray(new CompletableFuture[0])
+            ).join();
+        } catch (final CompletionException ex) {
+            LOG.error(
+                "A Step failed after " + (System.currentTimeMillis() - start)
+                + "ms, will not move on.", ex.getCause()
+            );
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+        LOG.debug(
+            this.steps.size() + " Steps performed in "
+            + (System.currentTimeMillis() - start) + "ms."
+        );
+        this.next().perform(event);
+    }
+
+    /**
+     * Perform the Step and log the time it took.
+     * @param step Step.
+     * @param event Event.
+     */
+    private void timed(final Step step, final Event event) {
+        final long start = System.currentTimeMillis();
+        try {
+            step.perform(event);
+        } finally {
+            LOG.debug(
+                "Step " + step.getClass().getSimpleName() + " took "
+                + (System.currentTimeMillis() - start) + "ms."
+            );
+        }
+    }
+}
@@ -24,10 +24,10 @@ package com.selfxdsd.core.managers;
 
 import com.selfxdsd.api.Event;
 import com.selfxdsd.api.Issue;
-import com.selfxdsd.api.Label;
 import com.selfxdsd.api.Project;
 import com.selfxdsd.api.pm.PreconditionCheck;
 import com.selfxdsd.api.pm.Step;
+import com.selfxdsd.core.IssueAttributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,14 +76,7 @@ public final class IssueHasLabel extends PreconditionCheck {
             + " at " + project.provider() + " has the label ["
             + this.label + "]..."
         );
-        boolean hasLabel = false;
-        for(final Label label : issue.labels()) {
-            if(this.label.equalsIgnoreCase(label.name())) {
-                hasLabel = true;
-                break;
-            }
-        }
-        if(hasLabel) {
+        if(IssueAttributes.of(issue).hasLabel(this.label)) {
             LOG.debug(
                 "Issue #" + issue.issueId()
                 + " from Project " + project.repoFullName()
@@ -28,6 +28,9 @@ import com.selfxdsd.api.pm.Step;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.Github;
 import com.selfxdsd.core.Gitlab;
+import com.selfxdsd.core.tasks.Deadlines;
+import com.selfxdsd.core.tasks.DirtyTasks;
+import com.selfxdsd.core.tasks.TaskId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +39,16 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -59,6 +71,22 @@ public final class StoredProjectManager implements ProjectManager {
         StoredProjectManager.class
     );
 
+    /**
+     * The conversation the PM has through comments. It keeps no state,
+     * so it is built once and shared.
+     */
+    private static final Conversation CONVERSATION = new IgnoreBots(
+        new Understand(
+            new CommandDispatch(new Confused())
+                .with(Event.Type.COMMANDS, new Commands(new Confused()))
+                .with(Event.Type.HELLO, new Hello(new Confused()))
+                .with(Event.Type.STATUS, new Status(new Confused()))
+                .with(Event.Type.RESIGN, new Resign(new Confused()))
+                .with(Event.Type.DEREGISTER, new Deregister(new Confused()))
+                .with(Event.Type.REGISTER, new Register(new Confused()))
+        )
+    );
+
     /**
      * This PMs id.
      */
@@ -106,7 +134,26 @@ public final class StoredProjectManager implements ProjectManager {
     private final Supplier<LocalDateTime> dateTimeSupplier;
 
     /**
-     * Constructor.
+     * Tasks changed since the last sweep.
+     */
+    private final DirtyTasks dirtyTasks;
+
+    /**
+     * Deadlines and reminders of the assigned Tasks, used when the
+     * sweep doesn't bring its own.
+     */
+    private final Deadlines deadlines;
+
+    /**
+     * This PM's Provider, built when it is first needed.
+     */
+    private Provider built;
+
+    /**
+     * Constructor. The PM tracks the changed Tasks with the
+     * {@link DirtyTasks} shared with the webhook events.
+     * The deadlines come with the Events of the {@link SweepScheduler},
+     * which outlives the PM; other Events use the PM's own.
      * @param id PM's id.
      * @param userId PM's user ID.
      * @param username PM's username.
@@ -135,7 +182,49 @@ public final class StoredProjectManager implements ProjectManager {
             projectPercentage,
             contributorPercentage,
             storage,
-            LocalDateTime::now);
+            DirtyTasks.shared(),
+            new Deadlines());
+    }
+
+    /**
+     * Constructor. Once a Project is primed, the assigned Tasks sweep will
+     * only visit the Tasks which changed since the last sweep and those with
+     * a deadline or a reminder due.
+     * @param id PM's id.
+     * @param userId PM's user ID.
+     * @param username PM's username.
+     * @param provider The provider's name (Gitlab, Github etc).
+     * @param accessToken API Access token.
+     * @param projectPercentage Project commission percentage.
+     * @param contributorPercentage Contributor commission percentage.
+     * @param storage Self's storage.
+     * @param dirtyTasks Tasks changed since the last sweep.
+     * @param deadlines Deadlines and reminders of the assigned Tasks.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    public StoredProjectManager(
+        final int id,
+        final String userId,
+        final String username,
+        final String provider,
+        final String accessToken,
+        final double projectPercentage,
+        final double contributorPercentage,
+        final Storage storage,
+        final DirtyTasks dirtyTasks,
+        final Deadlines deadlines
+    ) {
+        this(id,
+            userId,
+            username,
+            provider,
+            accessToken,
+            projectPercentage,
+            contributorPercentage,
+            storage,
+            LocalDateTime::now,
+            dirtyTasks,
+            deadlines);
     }
 
     /**
@@ -161,6 +250,47 @@ public final class StoredProjectManager implements ProjectManager {
         final double contributorPercentage,
         final Storage storage,
         final Supplier<LocalDateTime> dateTimeSupplier
+    ) {
+        this(id,
+            userId,
+            username,
+            provider,
+            accessToken,
+            projectPercentage,
+            contributorPercentage,
+            storage,
+            dateTimeSupplier,
+            new DirtyTasks.All(),
+            new Deadlines());
+    }
+
+    /**
+     * Constructor.
+     * @param id PM's id.
+     * @param userId PM's user ID.
+     * @param username PM's username.
+     * @param provider The provider's name (Gitlab, Github etc).
+     * @param accessToken API Access token.
+     * @param projectPercentage Project commission percentage.
+     * @param contributorPercentage Contributor commission percentage.
+     * @param storage Self's storage.
+     * @param dateTimeSupplier Current date time. Used in testing deadlines.
+     * @param dirtyTasks Tasks changed since the last sweep.
+     * @param deadlines Deadlines and reminders of the assigned Tasks.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    StoredProjectManager(
+        final int id,
+        final String userId,
+        final String username,
+        final String provider,
+        final String accessToken,
+        final double projectPercentage,
+        final double contributorPercentage,
+        final Storage storage,
+        final Supplier<LocalDateTime> dateTimeSupplier,
+        final DirtyTasks dirtyTasks,
+        final Deadlines deadlines
     ) {
         this.id = id;
         this.userId = userId;
@@ -171,6 +301,8 @@ public final class StoredProjectManager implements ProjectManager {
         this.contributorPercentage = contributorPercentage;
         this.storage = storage;
         this.dateTimeSupplier = dateTimeSupplier;
+        this.dirtyTasks = dirtyTasks;
+        this.deadlines = deadlines;
     }
 
     @Override
@@ -188,15 +320,25 @@ public final class StoredProjectManager implements ProjectManager {
         return this.username;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The Provider (and its JsonResources) is built once per PM object and
+     * reused for all the calls made while resolving an Event. A PM read
+     * again from Storage, e.g. with a new access token, builds its own.
+     */
     @Override
-    public Provider provider() {
-        final Provider provider;
-        if (this.provider.equalsIgnoreCase(Provider.Names.GITHUB)) {
-            provider = new Github(new PmUser(this), this.storage);
-        } else {
-            provider = new Gitlab(new PmUser(this), this.storage);
+    public synchronized Provider provider() {
+        if(this.built == null) {
+            final Provider provider;
+            if (this.provider.equalsIgnoreCase(Provider.Names.GITHUB)) {
+                provider = new Github(new PmUser(this), this.storage);
+            } else {
+                provider = new Gitlab(new PmUser(this), this.storage);
+            }
+            this.built = provider.withToken(this.accessToken);
         }
-        return provider.withToken(this.accessToken);
+        return this.built;
     }
 
     @Override
@@ -253,19 +395,18 @@ public final class StoredProjectManager implements ProjectManager {
 
     @Override
     public void newProject(final Event event) {
-        final Step steps = new InvitePm(
-            new EnableRepoIssues(
-                new SetupWebhook(
-                    lastly -> {
-                        final Project project = event.project();
-                        LOG.debug(
-                            "Finished setting up project "
-                            + project.repoFullName() + " at "
-                            + project.provider()
-                        );
-                    }
-                )
-            )
+        final Step steps = new Concurrently(
+            lastly -> {
+                final Project project = event.project();
+                LOG.debug(
+                    "Finished setting up project "
+                    + project.repoFullName() + " at "
+                    + project.provider()
+                );
+            },
+            new InvitePm(invited -> { }),
+            new EnableRepoIssues(enabled -> { }),
+            new SetupWebhook(hooked -> { })
         );
         steps.perform(event);
     }
@@ -397,82 +538,130 @@ public final class StoredProjectManager implements ProjectManager {
             + project.repoFullName() + " at " + project.provider()
         );
         final Tasks projectTasks = project.tasks();
+        final List<Task> unassigned = new ArrayList<>();
         for(final Task task : projectTasks.unassigned()) {
-            try {
-                final Issue issue = task.issue();
-                if (issue.isClosed()) {
-                    LOG.debug("Issue associated with task #" + issue.issueId()
-                        + " is closed. Removing task...");
-                    projectTasks.remove(task);
-                    continue;
-                }
-                final String issueAssignee = issue.assignee();
-                if (issueAssignee != null) {
-                    final Contract contract = project.contracts().findById(
-                        new Contract.Id(
-                            project.repoFullName(),
-                            issueAssignee,
-                            project.provider(),
-                            task.role()
-                        )
+            unassigned.add(task);
+        }
+        final Function<Task, Issue> issues = this.prefetchIssues(
+            project, unassigned
+        );
+        final Object elections = new Object();
+        new Sweep(this.id).run(
+            unassigned,
+            StoredProjectManager::issueKey,
+            task -> this.unassignedTask(
+                project, projectTasks, task, issues, elections
+            ),
+            (task, exception) -> LOG.error(
+                "Problem while checking the UNASSIGNED Task #"
+                + task.issueId() + " of Project " + project.repoFullName()
+                + " at " + project.provider() + ". Ignoring and moving on.",
+                exception
+            )
+        );
+        LOG.debug(
+            "Finished checking the unassigned tasks of project "
+            + project.repoFullName() + " at " + project.provider()
+        );
+    }
+
+    /**
+     * Check one unassigned Task: remove it if its Issue is closed, assign
+     * it otherwise.
+     * @param project Project.
+     * @param projectTasks Tasks of the Project.
+     * @param task Unassigned Task.
+     * @param issues Gives the Issue of each Task.
+     * @param elections Lock for electing and assigning, so concurrent
+     *  elections see each other's assignments.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private void unassignedTask(
+        final Project project,
+        final Tasks projectTasks,
+        final Task task,
+        final Function<Task, Issue> issues,
+        final Object elections
+    ) {
+        final Issue issue = issues.apply(task);
+        if (issue.isClosed()) {
+            LOG.debug("Issue associated with task #" + issue.issueId()
+                + " is closed. Removing task...");
+            projectTasks.remove(task);
+        } else {
+            final String issueAssignee = issue.assignee();
+            if (issueAssignee != null) {
+                final Contract contract = project.contracts().findById(
+                    new Contract.Id(
+                        project.repoFullName(),
+                        issueAssignee,
+                        project.provider(),
+                        task.role()
+                    )
+                );
+                if (contract == null) {
+                    LOG.debug("Unassigning @" + issueAssignee
+                        + " from issue #" + issue.issueId()
+                        + ". They are not contributor for project "
+                        + project.repoFullName() + " at "
+                        + project.provider() + ". "
                     );
-                    if (contract == null) {
-                        LOG.debug("Unassigning @" + issueAssignee
-                            + " from issue #" + issue.issueId()
-                            + ". They are not contributor for project "
-                            + project.repoFullName() + " at "
-                            + project.provider() + ". "
-                        );
-                        if (issue.unassign(issueAssignee)) {
-                            LOG.debug("Electing new assignee for task #"
-                                + issue.issueId());
-                            Contributor elected = project.contributors()
-                                .elect(task);
-                            this.assignTask(project, task, issue, elected);
-                        } else {
-                            LOG.debug("Could not unassign @" + issueAssignee
-                                + " from issue #" + issue.issueId()
-                                + ". New election aborted.");
-                        }
-                    } else {
+                    if (issue.unassign(issueAssignee)) {
+                        LOG.debug("Electing new assignee for task #"
+                            + issue.issueId());
                         this.assignTask(
-                            project, task, issue, contract.contributor()
+                            project, task, issue,
+                            () -> project.contributors().elect(task),
+                            elections
                         );
+                    } else {
+                        LOG.debug("Could not unassign @" + issueAssignee
+                            + " from issue #" + issue.issueId()
+                            + ". New election aborted.");
                     }
                 } else {
-                    LOG.debug("Electing assignee for task #" + issue.issueId());
-                    final Contributor elected = project.contributors()
-                        .elect(task);
-                    this.assignTask(project, task, issue, elected);
+                    this.assignTask(
+                        project, task, issue, contract::contributor, elections
+                    );
                 }
-                //@checkstyle IllegalCatch (2 lines)
-            } catch (final RuntimeException exception) {
-                LOG.error(
-                    "Problem while checking the UNASSIGNED Task #"
-                    + task.issueId() + " of Project " + project.repoFullName()
-                    + " at " + project.provider() + ". Ignoring and moving on.",
-                    exception
+            } else {
+                LOG.debug("Electing assignee for task #" + issue.issueId());
+                this.assignTask(
+                    project, task, issue,
+                    () -> project.contributors().elect(task),
+                    elections
                 );
             }
         }
-        LOG.debug(
-            "Finished checking the unassigned tasks of project "
-            + project.repoFullName() + " at " + project.provider()
-        );
     }
 
     /**
      * Assigns Project's Task to a Contributor. Contributor might be null from
-     * election.
+     * election, in which case we leave a comment. The election and the
+     * assignment in Storage happen under the given lock; the calls to the
+     * provider do not.
      * @param project Project.
-     * @param task Task.
-     * @param issue Issue.
-     * @param contributor Contributor, might be null.
+     * @param task Task to be assigned.
+     * @param issue Task's issue.
+     * @param election Gives the Contributor, which might be null.
+     * @param elections Lock for electing and assigning.
+     * @checkstyle ParameterNumber (10 lines)
      */
     private void assignTask(final Project project,
                             final Task task,
                             final Issue issue,
-                            final Contributor contributor) {
+                            final Supplier<Contributor> election,
+                            final Object elections) {
+        final Contributor contributor;
+        final Task assigned;
+        synchronized (elections) {
+            contributor = election.get();
+            if (contributor == null) {
+                assigned = null;
+            } else {
+                assigned = task.assign(contributor);
+            }
+        }
         if (contributor == null) {
             LOG.debug("Couldn't find any assignee, posting comment...");
             issue.comments().post(
@@ -485,7 +674,6 @@ public final class StoredProjectManager implements ProjectManager {
             LOG.debug("Comment for noAssigneeFound posted.");
         } else {
             LOG.debug("Elected @" + contributor.username() + ".");
-            final Task assigned = task.assign(contributor);
             issue.assign(contributor.username());
             final String reply;
             if(issue.isPullRequest()) {
@@ -511,6 +699,20 @@ public final class StoredProjectManager implements ProjectManager {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br>
+     * Once all the Tasks have been visited, the closed ones are grouped
+     * per Contract and registered on the active Invoice in one batch;
+     * Tasks with missed deadlines are unassigned in one batch as well.
+     * The comments are posted afterwards, per Issue.
+     * <br>
+     * Once the Project is primed by a full sweep, only the Tasks which
+     * changed since their last visit, or whose deadline or reminder is due,
+     * are visited. The deadlines are read again from Storage before each
+     * such sweep, so Tasks assigned by another process or before a restart
+     * are not missed.
+     */
     @Override
     public void assignedTasks(final Event event) {
         final Project project = event.project();
@@ -518,95 +720,93 @@ public final class StoredProjectManager implements ProjectManager {
             "Checking the assigned tasks of project "
             + project.repoFullName() + " at " + project.provider()
         );
-        for(final Task task : project.tasks()) {
-            final Contributor assignee = task.assignee();
-            if(assignee != null) {
-                try {
-                    final Issue issue = task.issue();
-                    if (issue.isClosed()) {
-                        LOG.debug(
-                            "Task #" + issue.issueId()
-                                + " of Contributor " + assignee.username()
-                                + " is closed. Invoicing... "
-                        );
-                        final BigDecimal value = task.value();
-                        final InvoicedTask invoiced = task.contract()
-                            .invoices()
-                            .active()
-                            .register(
-                                task,
-                                this.projectCommission(value),
-                                this.contributorCommission(value)
-                            );
-                        if (invoiced != null) {
-                            issue.comments().post(
-                                String.format(
-                                    project.language().reply(
-                                        "taskInvoiced.comment"
-                                    ),
-                                    assignee.username()
-                                )
-                            );
-                            if (issue.assignee() != null) {
-                                issue.unassign(issue.assignee());
-                            }
-                            LOG.debug(
-                                "Task #" + issue.issueId() + " successfully"
-                                    + " invoiced and taken out of scope."
-                            );
-                        }
-                    } else {
-                        final LocalDateTime now = this.dateTimeSupplier.get();
-                        final LocalDateTime deadline = task.deadline();
-                        if (now.until(deadline, ChronoUnit.MINUTES) < 0) {
-                            task.resignations()
-                                .register(task, Resignations.Reason.DEADLINE);
-                            task.unassign();
-                            if (issue.assignee() != null) {
-                                issue.unassign(issue.assignee());
-                            }
-                            issue.comments().post(
-                                String.format(
-                                    project.language().reply(
-                                        "taskDeadlineMissed.comment"
-                                    ),
-                                    assignee.username(),
-                                    task.deadline()
-                                )
-                            );
-                        } else {
-                            final int time = Period.between(
-                                task.assignmentDate().toLocalDate(),
-                                task.deadline().toLocalDate()
-                            ).getDays();
-                            final int left = Period.between(
-                                now.toLocalDate(),
-                                task.deadline().toLocalDate()
-                            ).getDays();
-                            if (left <= time / 2) {
-                                issue.comments().post(
-                                    String.format(
-                                        project.language().reply(
-                                            "taskDeadlineReminder.comment"
-                                        ),
-                                        assignee.username(),
-                                        task.deadline()
-                                    )
-                                );
-                            }
-                        }
-                    }
-                    //@checkstyle IllegalCatch (2 lines)
-                } catch (final RuntimeException ex) {
-                    LOG.error(
-                        "Problem while checking the ASSIGNED Task #"
-                        + task.issueId() + " of Project "
-                        + project.repoFullName() + " at " + project.provider()
-                        + ". Ignoring and moving on.",
-                        ex
-                    );
+        final LocalDateTime start = this.dateTimeSupplier.get();
+        final Deadlines deadlines = this.deadlines(event);
+        final boolean primed = this.dirtyTasks.primed(project)
+            && deadlines.primed(project);
+        final List<Task> assigned;
+        if(primed) {
+            assigned = this.changedOrDue(project, start, deadlines);
+        } else {
+            assigned = new ArrayList<>();
+            for(final Task task : project.tasks()) {
+                if(task.assignee() != null) {
+                    assigned.add(task);
+                }
+            }
+        }
+        LOG.debug("Visiting " + assigned.size() + " assigned tasks.");
+        final List<Task> closed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Map<Task, Contract> contracts = Collections.synchronizedMap(
+            new IdentityHashMap<>()
+        );
+        final List<Task> missed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Map<Task, Issue> issues = Collections.synchronizedMap(
+            new IdentityHashMap<>()
+        );
+        final Function<Task, Issue> prefetched = this.prefetchIssues(
+            project, assigned
+        );
+        final Sweep sweep = new Sweep(this.id);
+        sweep.run(
+            assigned,
+            StoredProjectManager::issueKey,
+            task -> {
+                issues.put(task, prefetched.apply(task));
+                this.assignedTask(
+                    project, task, closed, contracts, missed, issues,
+                    deadlines
+                );
+                this.dirtyTasks.visited(new TaskId(project, task), start);
+            },
+            (task, ex) -> {
+                LOG.error(
+                    "Problem while checking the ASSIGNED Task #"
+                    + task.issueId() + " of Project "
+                    + project.repoFullName() + " at " + project.provider()
+                    + ". Ignoring and moving on.",
+                    ex
+                );
+                this.dirtyTasks.mark(new TaskId(project, task));
+            }
+        );
+        final Map<Contract.Id, Contract> invoiced = new LinkedHashMap<>();
+        final Map<Contract.Id, List<Task>> batches = new LinkedHashMap<>();
+        for(final Task task : closed) {
+            final Contract contract = contracts.get(task);
+            invoiced.putIfAbsent(contract.contractId(), contract);
+            batches.computeIfAbsent(
+                contract.contractId(), id -> new ArrayList<>()
+            ).add(task);
+        }
+        sweep.run(
+            invoiced.values(),
+            contract -> String.valueOf(contract.contractId()),
+            contract -> this.invoiceClosedTasks(
+                project, contract, batches.get(contract.contractId()), issues,
+                deadlines
+            ),
+            (contract, ex) -> {
+                LOG.error(
+                    "Problem while invoicing the closed Tasks of Contract "
+                    + contract.contractId() + ". Ignoring and moving on.",
+                    ex
+                );
+                for(final Task task : batches.get(contract.contractId())) {
+                    this.dirtyTasks.mark(new TaskId(project, task));
                 }
             }
+        );
+        this.unassignMissedDeadlines(
+            project, sweep, missed, issues, deadlines
+        );
+        if(!primed) {
+            deadlines.prime(project);
+            this.dirtyTasks.prime(project, start);
         }
         LOG.debug(
             "Finished checking the assigned tasks of project "
@@ -614,6 +814,357 @@ public final class StoredProjectManager implements ProjectManager {
         );
     }
 
+    /**
+     * Check one assigned Task. If its Issue is closed, the Task is put
+     * aside for invoicing; if its deadline is missed, the Task is put aside
+     * for unassignment; if its deadline is close, the assignee is reminded.
+     * It is called concurrently, so the given collections have to be
+     * thread-safe.
+     * @param project Project.
+     * @param task Assigned Task.
+     * @param closed Closed Tasks.
+     * @param contracts Contract of each closed Task.
+     * @param missed Tasks with missed deadlines.
+     * @param issues Issue of each Task.
+     * @param deadlines Deadlines of the assigned Tasks.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private void assignedTask(
+        final Project project,
+        final Task task,
+        final List<Task> closed,
+        final Map<Task, Contract> contracts,
+        final List<Task> missed,
+        final Map<Task, Issue> issues,
+        final Deadlines deadlines
+    ) {
+        final Contributor assignee = task.assignee();
+        final Issue issue = issues.get(task);
+        if (issue.isClosed()) {
+            LOG.debug(
+                "Task #" + issue.issueId()
+                    + " of Contributor " + assignee.username()
+                    + " is closed. Will be invoiced... "
+            );
+            contracts.put(task, task.contract());
+            closed.add(task);
+        } else {
+            final LocalDateTime now = this.dateTimeSupplier.get();
+            final LocalDateTime deadline = task.deadline();
+            if (now.until(deadline, ChronoUnit.MINUTES) < 0) {
+                task.resignations()
+                    .register(task, Resignations.Reason.DEADLINE);
+                missed.add(task);
+            } else {
+                deadlines.schedule(new TaskId(project, task), task, now);
+                final int time = Period.between(
+                    task.assignmentDate().toLocalDate(),
+                    task.deadline().toLocalDate()
+                ).getDays();
+                final int left = Period.between(
+                    now.toLocalDate(),
+                    task.deadline().toLocalDate()
+                ).getDays();
+                if (left <= time / 2) {
+                    issue.comments().post(
+                        String.format(
+                            project.language().reply(
+                                "taskDeadlineReminder.comment"
+                            ),
+                            assignee.username(),
+                            task.deadline()
+                        )
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Register the closed Tasks of a Contract on its active Invoice, in one
+     * batch, then let each Issue know that it has been invoiced. The Tasks
+     * which could not be registered are marked as changed, so the next
+     * sweep tries again.
+     * @param project Project.
+     * @param contract Contract of the Tasks.
+     * @param tasks Closed Tasks.
+     * @param issues Issue of each Task.
+     * @param deadlines Deadlines of the assigned Tasks.
+     */
+    private void invoiceClosedTasks(
+        final Project project,
+        final Contract contract,
+        final List<Task> tasks,
+        final Map<Task, Issue> issues,
+        final Deadlines deadlines
+    ) {
+        final List<InvoicedTask> invoiced = contract
+            .invoices()
+            .active()
+            .registerAll(
+                tasks,
+                task -> this.projectCommission(task.value()),
+                task -> this.contributorCommission(task.value())
+            );
+        for(int idx = 0; idx < invoiced.size(); ++idx) {
+            final Task task = tasks.get(idx);
+            if(invoiced.get(idx) == null) {
+                this.dirtyTasks.mark(new TaskId(project, task));
+            } else {
+                deadlines.cancel(new TaskId(project, task));
+                this.taskInvoiced(project, task, issues.get(task));
+            }
+        }
+    }
+
+    /**
+     * Let the Issue know that its Task has been invoiced and take it out
+     * of scope.
+     * @param project Project.
+     * @param task Invoiced Task.
+     * @param issue Issue of the Task.
+     */
+    private void taskInvoiced(
+        final Project project,
+        final Task task,
+        final Issue issue
+    ) {
+        try {
+            issue.comments().post(
+                String.format(
+                    project.language().reply("taskInvoiced.comment"),
+                    task.assignee().username()
+                )
+            );
+            if (issue.assignee() != null) {
+                issue.unassign(issue.assignee());
+            }
+            LOG.debug(
+                "Task #" + issue.issueId() + " successfully"
+                + " invoiced and taken out of scope."
+            );
+            //@checkstyle IllegalCatch (2 lines)
+        } catch (final RuntimeException ex) {
+            LOG.error(
+                "Problem while closing the invoiced Task #"
+                + task.issueId() + " of Project "
+                + project.repoFullName() + " at " + project.provider()
+                + ". Ignoring and moving on.",
+                ex
+            );
+        }
+    }
+
+    /**
+     * Unassign the Tasks with missed deadlines, in one batch, then let each
+     * Issue know about it.
+     * @param project Project.
+     * @param sweep Sweep for the calls to the provider.
+     * @param missed Tasks with missed deadlines.
+     * @param issues Issue of each Task.
+     * @param deadlines Deadlines of the assigned Tasks.
+     */
+    private void unassignMissedDeadlines(
+        final Project project,
+        final Sweep sweep,
+        final List<Task> missed,
+        final Map<Task, Issue> issues,
+        final Deadlines deadlines
+    ) {
+        if(!missed.isEmpty()) {
+            boolean unassigned;
+            try {
+                project.tasks().unassignAll(new ArrayList<>(missed));
+                unassigned = true;
+                //@checkstyle IllegalCatch (2 lines)
+            } catch (final RuntimeException ex) {
+                LOG.error(
+                    "Problem while unassigning the Tasks with missed "
+                    + "deadlines of Project " + project.repoFullName()
+                    + " at " + project.provider() + ".",
+                    ex
+                );
+                unassigned = false;
+            }
+            for(final Task task : missed) {
+                final TaskId taskId = new TaskId(project, task);
+                if(unassigned) {
+                    deadlines.cancel(taskId);
+                } else {
+                    this.dirtyTasks.mark(taskId);
+                }
+            }
+            if(unassigned) {
+                sweep.run(
+                    new ArrayList<>(missed),
+                    StoredProjectManager::issueKey,
+                    task -> this.deadlineMissed(
+                        project, task, issues.get(task)
+                    ),
+                    (task, ex) -> LOG.error(
+                        "Problem while closing the ASSIGNED Task #"
+                        + task.issueId() + " with missed deadline, of Project "
+                        + project.repoFullName() + " at " + project.provider()
+                        + ". Ignoring and moving on.",
+                        ex
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Take the unassigned Task's Issue away from the Contributor who
+     * missed the deadline and let them know.
+     * @param project Project.
+     * @param task Unassigned Task.
+     * @param issue Issue of the Task.
+     */
+    private void deadlineMissed(
+        final Project project,
+        final Task task,
+        final Issue issue
+    ) {
+        if (issue.assignee() != null) {
+            issue.unassign(issue.assignee());
+        }
+        issue.comments().post(
+            String.format(
+                project.language().reply("taskDeadlineMissed.comment"),
+                task.assignee().username(),
+                task.deadline()
+            )
+        );
+    }
+
+    /**
+     * Assigned Tasks of a primed Project which changed since their last
+     * visit or whose deadline or reminder is due. The assigned Tasks are
+     * read from Storage once: their deadlines are scheduled (those already
+     * scheduled stay as they are) and the Tasks to visit are taken from
+     * them. Tasks which are not assigned anymore are dropped.
+     * @param project Primed Project.
+     * @param start Start of the sweep.
+     * @param deadlines Deadlines of the assigned Tasks.
+     * @return Tasks to visit.
+     */
+    private List<Task> changedOrDue(
+        final Project project,
+        final LocalDateTime start,
+        final Deadlines deadlines
+    ) {
+        final Map<TaskId, Task> stored = new LinkedHashMap<>();
+        for(final Task task : project.tasks()) {
+            if(task.assignee() != null) {
+                final TaskId taskId = new TaskId(project, task);
+                stored.put(taskId, task);
+                deadlines.schedule(taskId, task, task.assignmentDate());
+            }
+        }
+        final Set<TaskId> ids = new LinkedHashSet<>(
+            this.dirtyTasks.changed(project)
+        );
+        ids.addAll(deadlines.due(project, start));
+        final List<Task> assigned = new ArrayList<>();
+        for(final TaskId taskId : ids) {
+            final Task task = stored.get(taskId);
+            if(task == null) {
+                deadlines.cancel(taskId);
+                this.dirtyTasks.visited(taskId, start);
+            } else {
+                assigned.add(task);
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Deadlines for the given Event: those brought by the Event (e.g. from
+     * the {@link SweepScheduler} which triggered it), or the PM's own.
+     * @param event Event.
+     * @return Deadlines.
+     */
+    private Deadlines deadlines(final Event event) {
+        Deadlines deadlines = null;
+        if(event instanceof Deadlines.Carrier) {
+            deadlines = ((Deadlines.Carrier) event).deadlines();
+        }
+        if(deadlines == null) {
+            deadlines = this.deadlines;
+        }
+        return deadlines;
+    }
+
+    /**
+     * Fetch the Issues of some Tasks in bulk, instead of asking the Provider
+     * for each Issue separately. The Issues which the Provider cannot give
+     * in bulk will be fetched one by one, as before.
+     * @param project Project of the Tasks.
+     * @param tasks Tasks.
+     * @return Function giving the Issue of each Task.
+     */
+    private Function<Task, Issue> prefetchIssues(
+        final Project project,
+        final List<Task> tasks
+    ) {
+        Function<Task, Issue> issues = Task::issue;
+        if(!tasks.isEmpty()) {
+            try {
+                final List<String> issueIds = new ArrayList<>();
+                final List<String> pullRequestIds = new ArrayList<>();
+                for(final Task task : tasks) {
+                    if(task.isPullRequest()) {
+                        pullRequestIds.add(task.issueId());
+                    } else {
+                        issueIds.add(task.issueId());
+                    }
+                }
+                final String repoFullName = project.repoFullName();
+                final Repo repo = project.projectManager().provider().repo(
+                    repoFullName.substring(0, repoFullName.indexOf("/")),
+                    repoFullName.substring(repoFullName.indexOf("/") + 1)
+                );
+                final Issues prefetched = repo.issues().prefetch(issueIds);
+                final Issues pullRequests = repo.pullRequests()
+                    .prefetch(pullRequestIds);
+                issues = task -> {
+                    final Issue issue;
+                    if(task.isPullRequest()) {
+                        issue = pullRequests.getById(task.issueId());
+                    } else {
+                        issue = prefetched.getById(task.issueId());
+                    }
+                    return issue;
+                };
+                //@checkstyle IllegalCatch (2 lines)
+            } catch (final RuntimeException ex) {
+                LOG.error(
+                    "Problem while prefetching the Issues of Project "
+                    + project.repoFullName() + " at " + project.provider()
+                    + ". They will be fetched one by one.",
+                    ex
+                );
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Key of a Task's Issue, so the work on the same Issue is done in order.
+     * Issues and Pull Requests are numbered separately on some providers.
+     * @param task Task.
+     * @return String.
+     */
+    private static String issueKey(final Task task) {
+        final String kind;
+        if(task.isPullRequest()) {
+            kind = "pr";
+        } else {
+            kind = "issue";
+        }
+        return kind + "#" + task.issueId();
+    }
+
     @Override
     public void comment(final Event event) {
         final Comment comment = event.comment();
@@ -625,24 +1176,7 @@ public final class StoredProjectManager implements ProjectManager {
                 "Received comment [" + comment.body()
                 + "] from @" + comment.author() + ". Starting conversation..."
             );
-            final Conversation conversation = new IgnoreBots(
-                new Understand(
-                    new Commands(
-                        new Hello(
-                            new Status(
-                                new Resign(
-                                    new Deregister(
-                                        new Register(
-                                            new Confused()
-                                        )
-                                    )
-                                )
-                            )
-                        )
-                    )
-                )
-            );
-            final Step steps = conversation.start(event);
+            final Step steps = CONVERSATION.start(event);
             LOG.debug("Executing steps...");
             steps.perform(event);
             LOG.debug("Conversation ended.");
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs the per-Task work of a PM's sweep concurrently.<br><br>
+ *
+ * Items with the same key (e.g. the same Issue) are handled one after
+ * the other, in the order they came in; items with different keys are
+ * handled in parallel. The number of items in progress at any time is
+ * capped per PM, across all the sweeps of that PM, so we don't hit the
+ * provider's rate limits with one PM's access token. There is one cap
+ * per PM id and there are only a few PMs, so the caps are never
+ * evicted.<br><br>
+ *
+ * A failing item doesn't stop the sweep: the failure is reported and
+ * the item is returned, at the end, among the failed ones.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class Sweep {
+
+    /**
+     * Default number of items in progress, per PM.
+     */
+    static final int DEFAULT_CAP = 8;
+
+    /**
+     * Permits per PM id, shared by all the sweeps.
+     */
+    private static final Map<Integer, Semaphore> PERMITS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Threads shared by all the sweeps. Their number is bounded by
+     * the permits.
+     */
+    private static final ExecutorService THREADS =
+        Executors.newCachedThreadPool(
+            work -> {
+                final Thread thread = new Thread(work, "self-sweep");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+
+    /**
+     * Permits of this sweep's PM.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Executor running the work.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param manager Id of the PM.
+     */
+    Sweep(final int manager) {
+        this(manager, DEFAULT_CAP, THREADS);
+    }
+
+    /**
+     * Ctor. The cap is set by the first Sweep of the PM.
+     * @param manager Id of the PM.
+     * @param cap Maximum items in progress for this PM.
+     * @param executor Executor running the work.
+     */
+    Sweep(final int manager, final int cap, final Executor executor) {
+        this.permits = PERMITS.computeIfAbsent(
+            manager, key -> new Semaphore(cap, true)
+        );
+        this.executor = executor;
+    }
+
+    /**
+     * Handle the given items and wait until all of them are done.
+     * @param items Items to handle.
+     * @param key Key of each item; items with the same key are handled
+     *  in order.
+     * @param work Work to perform on each item.
+     * @param failure What to do with the failure of an item.
+     * @param <T> Type of the items.
+     * @return Items which failed.
+     */
+    <T> List<T> run(
+        final Iterable<T> items,
+        final Function<T, String> key,
+        final Consumer<T> work,
+        final BiConsumer<T, RuntimeException> failure
+    ) {
+        final Map<String, List<T>> stripes = new LinkedHashMap<>();
+        for(final T item : items) {
+            stripes.computeIfAbsent(
+                key.apply(item), k -> new ArrayList<>()
+            ).add(item);
+        }
+        final List<T> failed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final CountDownLatch done = new CountDownLatch(stripes.size());
+        for(final List<T> stripe : stripes.values()) {
+            this.permits.acquireUninterruptibly();
+            final Runnable task = () -> {
+                try {
+                    for(final T item : stripe) {
+                        Sweep.handle(item, work, failure, failed);
+                    }
+                } finally {
+                    this.permits.release();
+                    done.countDown();
+                }
+            };
+            try {
+                this.executor.execute(task);
+            } catch (final RejectedExecutionException ex) {
+                task.run();
+            }
+        }
+        try {
+            done.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                "Interrupted while waiting for the sweep to finish.", ex
+            );
+        }
+        return failed;
+    }
+
+    /**
+     * Handle one item.
+     * @param item Item.
+     * @param work Work to perform on it.
+     * @param failure What to do if it fails.
+     * @param failed Failed items.
+     * @param <T> Type of the item.
+     */
+    private static <T> void handle(
+        final T item,
+        final Consumer<T> work,
+        final BiConsumer<T, RuntimeException> failure,
+        final List<T> failed
+    ) {
+        try {
+            work.accept(item);
+            //@checkstyle IllegalCatch (2 lines)
+        } catch (final RuntimeException ex) {
+            failed.add(item);
+            failure.accept(item, ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.Deadlines;
+
+/**
+ * Event triggering a sweep (assigned or unassigned Tasks) of a Project.
+ * It has no Issue, Comment or Commit (they are null), but it brings the
+ * Deadlines kept by the sweeps, which outlive the PMs.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class SweepEvent implements Event, Deadlines.Carrier {
+
+    /**
+     * Type of the sweep.
+     */
+    private final String type;
+
+    /**
+     * Project to sweep.
+     */
+    private final Project project;
+
+    /**
+     * Deadlines and reminders of the assigned Tasks.
+     */
+    private final Deadlines deadlines;
+
+    /**
+     * Ctor.
+     * @param type Type of the sweep, Event.Type.ASSIGNED_TASKS or
+     *  Event.Type.UNASSIGNED_TASKS.
+     * @param project Project to sweep.
+     * @param deadlines Deadlines and reminders of the assigned Tasks.
+     */
+    SweepEvent(
+        final String type,
+        final Project project,
+        final Deadlines deadlines
+    ) {
+        this.type = type;
+        this.project = project;
+        this.deadlines = deadlines;
+    }
+
+    @Override
+    public String type() {
+        return this.type;
+    }
+
+    @Override
+    public Issue issue() {
+        return null;
+    }
+
+    @Override
+    public Comment comment() {
+        return null;
+    }
+
+    @Override
+    public Commit commit() {
+        return null;
+    }
+
+    @Override
+    public String repoNewName() {
+        return null;
+    }
+
+    @Override
+    public Project project() {
+        return this.project;
+    }
+
+    @Override
+    public Deadlines deadlines() {
+        return this.deadlines;
+    }
+}
@@ -0,0 +1,425 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.ProjectManagers;
+import com.selfxdsd.core.tasks.Deadlines;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sweeps (unassigned, then assigned Tasks) all the Projects of all the
+ * ProjectManagers, in cycles.<br><br>
+ *
+ * Each PM has its own queue of Projects. The Projects are taken from the
+ * queues in turns (round-robin), and at most a few Projects of the same PM
+ * are swept at the same time, so the PMs share the threads fairly and
+ * no PM eats up its rate limit with a single cycle.<br><br>
+ *
+ * A cycle has a time budget: once it is spent, no more Projects are
+ * started. The ones already started get one more budget to finish;
+ * those still running afterwards are cancelled (interrupted), so one
+ * hung Project cannot stall the whole cycle. The Projects left in the
+ * queues are swept first, in the next cycle, so one huge repo cannot
+ * starve the others. The queues are reloaded at the start of each
+ * cycle, so the leftovers are fresh and the Projects which are not
+ * assigned to the PM anymore are dropped.<br><br>
+ *
+ * The scheduler keeps the {@link Deadlines} of the assigned Tasks and
+ * gives them to the PMs with each sweep, since the PMs themselves are
+ * read again from Storage every cycle.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class SweepScheduler {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        SweepScheduler.class
+    );
+
+    /**
+     * Default number of threads.
+     */
+    private static final int DEFAULT_THREADS = 4;
+
+    /**
+     * Default number of Projects swept at once, per PM.
+     */
+    private static final int DEFAULT_PER_MANAGER = 2;
+
+    /**
+     * All the PMs.
+     */
+    private final ProjectManagers managers;
+
+    /**
+     * Time budget of a cycle.
+     */
+    private final Duration budget;
+
+    /**
+     * Number of threads.
+     */
+    private final int threads;
+
+    /**
+     * Number of Projects swept at once, per PM.
+     */
+    private final int perManager;
+
+    /**
+     * Current date and time.
+     */
+    private final Supplier<LocalDateTime> now;
+
+    /**
+     * Projects waiting to be swept, per PM id.
+     */
+    private final Map<Integer, Deque<Project>> queues;
+
+    /**
+     * PM ids, in the order their queues are visited.
+     */
+    private final List<Integer> order;
+
+    /**
+     * Position of the next PM to visit.
+     */
+    private int cursor;
+
+    /**
+     * Lock guarding the queues.
+     */
+    private final Object lock;
+
+    /**
+     * Deadlines and reminders of the assigned Tasks.
+     */
+    private final Deadlines deadlines;
+
+    /**
+     * Ctor.
+     * @param managers All the PMs.
+     * @param budget Time budget of a cycle.
+     */
+    public SweepScheduler(
+        final ProjectManagers managers,
+        final Duration budget
+    ) {
+        this(
+            managers,
+            budget,
+            DEFAULT_THREADS,
+            DEFAULT_PER_MANAGER,
+            LocalDateTime::now
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param managers All the PMs.
+     * @param budget Time budget of a cycle.
+     * @param threads Number of threads.
+     * @param perManager Number of Projects swept at once, per PM.
+     * @param now Current date and time.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    SweepScheduler(
+        final ProjectManagers managers,
+        final Duration budget,
+        final int threads,
+        final int perManager,
+        final Supplier<LocalDateTime> now
+    ) {
+        this.managers = managers;
+        this.budget = budget;
+        this.threads = threads;
+        this.perManager = perManager;
+        this.now = now;
+        this.queues = new HashMap<>();
+        this.order = new ArrayList<>();
+        this.lock = new Object();
+        this.deadlines = new Deadlines();
+    }
+
+    /**
+     * Run a sweep cycle and wait for it to finish.
+     * @return Number of Projects swept in this cycle.
+     */
+    public int cycle() {
+        this.refill();
+        final LocalDateTime deadline = this.now.get().plus(this.budget);
+        final Map<Integer, Integer> running = new HashMap<>();
+        final AtomicInteger swept = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            this.threads
+        );
+        for(int idx = 0; idx < this.threads; ++idx) {
+            pool.execute(
+                () -> {
+                    Map.Entry<Integer, Project> next = this.next(
+                        deadline, running
+                    );
+                    while(next != null) {
+                        try {
+                            this.sweep(next.getValue());
+                            swept.incrementAndGet();
+                        } finally {
+                            this.done(next.getKey(), running);
+                        }
+                        next = this.next(deadline, running);
+                    }
+                }
+            );
+        }
+        pool.shutdown();
+        try {
+            final long grace = Math.max(
+                0, this.now.get().until(deadline, ChronoUnit.MILLIS)
+            ) + this.budget.toMillis();
+            if(!pool.awaitTermination(grace, TimeUnit.MILLISECONDS)) {
+                LOG.warn(
+                    "Sweep cycle is over its budget, cancelling the "
+                    + "Projects which are still being swept."
+                );
+                pool.shutdownNow();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        LOG.debug(
+            "Sweep cycle finished: " + swept.get() + " Projects swept, "
+            + this.pending() + " left for the next cycle."
+        );
+        return swept.get();
+    }
+
+    /**
+     * Number of Projects waiting to be swept.
+     * @return Integer.
+     */
+    public int pending() {
+        synchronized (this.lock) {
+            int pending = 0;
+            for(final Deque<Project> queue : this.queues.values()) {
+                pending = pending + queue.size();
+            }
+            return pending;
+        }
+    }
+
+    /**
+     * Reload the queues with the PMs' Projects, read again from Storage.
+     * A queue still holding Projects from the previous cycle keeps only
+     * those, in the same order, replaced by their fresh copies; the ones
+     * which are not assigned to the PM anymore are dropped. An empty
+     * queue gets all the PM's Projects. Queues of PMs which are gone are
+     * dropped.
+     */
+    private void refill() {
+        final Map<Integer, List<Project>> current = new LinkedHashMap<>();
+        for(final ProjectManager manager : this.managers) {
+            final List<Project> projects = new ArrayList<>();
+            for(final Project project : manager.projects()) {
+                projects.add(project);
+            }
+            current.put(manager.id(), projects);
+        }
+        synchronized (this.lock) {
+            this.queues.keySet().retainAll(current.keySet());
+            this.order.retainAll(current.keySet());
+            for(final Map.Entry<Integer, List<Project>> entry
+                : current.entrySet()) {
+                final Deque<Project> queue = this.queues.computeIfAbsent(
+                    entry.getKey(),
+                    id -> {
+                        this.order.add(id);
+                        return new ArrayDeque<>();
+                    }
+                );
+                final Map<String, Project> fresh = new HashMap<>();
+                for(final Project project : entry.getValue()) {
+                    fresh.put(SweepScheduler.key(project), project);
+                }
+                final List<Project> left = new ArrayList<>();
+                for(final Project project : queue) {
+                    final Project reloaded = fresh.get(
+                        SweepScheduler.key(project)
+                    );
+                    if(reloaded != null) {
+                        left.add(reloaded);
+                    }
+                }
+                queue.clear();
+                if(left.isEmpty()) {
+                    queue.addAll(entry.getValue());
+                } else {
+                    queue.addAll(left);
+                }
+            }
+        }
+    }
+
+    /**
+     * Key of a Project, to find its fresh copy.
+     * @param project Project.
+     * @return String.
+     */
+    private static String key(final Project project) {
+        return project.provider() + ":" + project.repoFullName();
+    }
+
+    /**
+     * Next Project to sweep, waiting if all the PMs with Projects left
+     * are busy.
+     * @param deadline When the cycle's budget is spent.
+     * @param running Projects being swept, per PM id.
+     * @return PM id and Project, or null if the budget is spent or there
+     *  is nothing left to sweep.
+     */
+    private Map.Entry<Integer, Project> next(
+        final LocalDateTime deadline,
+        final Map<Integer, Integer> running
+    ) {
+        synchronized (this.lock) {
+            Map.Entry<Integer, Project> next = null;
+            long left = this.now.get().until(deadline, ChronoUnit.MILLIS);
+            while(next == null && left > 0 && this.hasWork()) {
+                next = this.pick(running);
+                if(next == null) {
+                    try {
+                        this.lock.wait(left);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        left = 0;
+                    }
+                    left = Math.min(
+                        left,
+                        this.now.get().until(deadline, ChronoUnit.MILLIS)
+                    );
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Take the next Project in turn, from a PM which is not at its cap.
+     * Must be called while holding the lock.
+     * @param running Projects being swept, per PM id.
+     * @return PM id and Project, or null if all the PMs are busy.
+     */
+    private Map.Entry<Integer, Project> pick(
+        final Map<Integer, Integer> running
+    ) {
+        Map.Entry<Integer, Project> picked = null;
+        final int size = this.order.size();
+        for(int idx = 0; idx < size && picked == null; ++idx) {
+            final int position = (this.cursor + idx) % size;
+            final Integer id = this.order.get(position);
+            final Deque<Project> queue = this.queues.get(id);
+            final int busy = running.getOrDefault(id, 0);
+            if(!queue.isEmpty() && busy < this.perManager) {
+                running.put(id, busy + 1);
+                picked = Map.entry(id, queue.poll());
+                this.cursor = (position + 1) % size;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Is there any Project left in the queues?
+     * Must be called while holding the lock.
+     * @return True or false.
+     */
+    private boolean hasWork() {
+        boolean work = false;
+        for(final Deque<Project> queue : this.queues.values()) {
+            work = work || !queue.isEmpty();
+        }
+        return work;
+    }
+
+    /**
+     * A Project of the given PM has been swept.
+     * @param id PM id.
+     * @param running Projects being swept, per PM id.
+     */
+    private void done(final Integer id, final Map<Integer, Integer> running) {
+        synchronized (this.lock) {
+            running.merge(id, -1, Integer::sum);
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Sweep the unassigned and then the assigned Tasks of a Project.
+     * @param project Project.
+     */
+    private void sweep(final Project project) {
+        try {
+            project.resolve(
+                new SweepEvent(
+                    Event.Type.UNASSIGNED_TASKS, project, this.deadlines
+                )
+            );
+            project.resolve(
+                new SweepEvent(
+                    Event.Type.ASSIGNED_TASKS, project, this.deadlines
+                )
+            );
+            //@checkstyle IllegalCatch (2 lines)
+        } catch (final RuntimeException ex) {
+            LOG.error(
+                "Problem while sweeping Project " + project.repoFullName()
+                + " at " + project.provider() + ". Ignoring and moving on.",
+                ex
+            );
+        }
+    }
+}
@@ -28,7 +28,9 @@ import com.selfxdsd.api.pm.Step;
 
 /**
  * Conversation where the PM tries to understand the
- * received command.
+ * received command. It categorizes the comment once and passes the
+ * Event further with the command as its type, which is what the
+ * {@link CommandDispatch} dispatches on.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.20
@@ -52,39 +54,66 @@ public final class Understand implements Conversation {
     public Step start(final Event event) {
         final Language language = event.project().language();
         final Comment comment = event.comment();
-        final String commandType = language.categorize(comment.body());
         return this.next.start(
-            new Event() {
-                @Override
-                public String type() {
-                    return commandType;
-                }
+            new Understood(event, language.categorize(comment.body()))
+        );
+    }
 
-                @Override
-                public Issue issue() {
-                    return event.issue();
-                }
+    /**
+     * The received Event, seen as the command it was categorized as. The
+     * next Conversations and their Steps read the command from its type,
+     * so the comment is categorized only once.
+     */
+    private static final class Understood implements Event {
 
-                @Override
-                public Comment comment() {
-                    return event.comment();
-                }
+        /**
+         * Received Event.
+         */
+        private final Event event;
 
-                @Override
-                public Commit commit() {
-                    return event.commit();
-                }
+        /**
+         * Type of the command.
+         */
+        private final String command;
 
-                @Override
-                public String repoNewName() {
-                    return event.repoNewName();
-                }
+        /**
+         * Ctor.
+         * @param event Received Event.
+         * @param command Type of the command.
+         */
+        Understood(final Event event, final String command) {
+            this.event = event;
+            this.command = command;
+        }
 
-                @Override
-                public Project project() {
-                    return event.project();
-                }
-            }
-        );
+        @Override
+        public String type() {
+            return this.command;
+        }
+
+        @Override
+        public Issue issue() {
+            return this.event.issue();
+        }
+
+        @Override
+        public Comment comment() {
+            return this.event.comment();
+        }
+
+        @Override
+        public Commit commit() {
+            return this.event.commit();
+        }
+
+        @Override
+        public String repoNewName() {
+            return this.event.repoNewName();
+        }
+
+        @Override
+        public Project project() {
+            return this.event.project();
+        }
     }
 }
@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Payment;
+import com.selfxdsd.api.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pays a batch of Invoices. Invoices of different Projects are paid at the
+ * same time, but the Invoices of the same Project are paid one after the
+ * other, since each payment changes the cash limit of the Project's
+ * Wallet.<br><br>
+ *
+ * Each Invoice goes through the pre-checks and, if the payment fails, the
+ * failed Payment is registered, same as when paying a single Invoice. A
+ * failure never stops the batch.<br><br>
+ *
+ * If the thread waiting for the batch is interrupted, the payments in
+ * progress are finished, but no other Invoice is paid, and the returned
+ * Summary is marked as {@link Summary#interrupted()}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class BatchPayments {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        BatchPayments.class
+    );
+
+    /**
+     * Default number of threads.
+     */
+    private static final int DEFAULT_THREADS = 8;
+
+    /**
+     * Number of threads.
+     */
+    private final int threads;
+
+    /**
+     * Ctor.
+     */
+    public BatchPayments() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * Ctor.
+     * @param threads Number of threads (Projects paid at the same time).
+     */
+    public BatchPayments(final int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Pay the given Invoices and wait for all the payments to finish.
+     * @param invoices Invoices to pay.
+     * @return Summary of the payments. If it is interrupted, not all the
+     *  Invoices were paid.
+     */
+    public Summary pay(final Iterable<Invoice> invoices) {
+        final long start = System.nanoTime();
+        final Map<Project, List<Invoice>> byProject = new LinkedHashMap<>();
+        for(final Invoice invoice : invoices) {
+            byProject.computeIfAbsent(
+                invoice.contract().project(),
+                project -> new ArrayList<>()
+            ).add(invoice);
+        }
+        final Deque<Map.Entry<Project, List<Invoice>>> queue =
+            new ArrayDeque<>(byProject.entrySet());
+        final Summary summary = new Summary();
+        final int size = Math.max(1, Math.min(this.threads, queue.size()));
+        final ExecutorService pool = Executors.newFixedThreadPool(size);
+        for(int idx = 0; idx < size; ++idx) {
+            pool.execute(
+                () -> {
+                    Map.Entry<Project, List<Invoice>> next = next(queue);
+                    while(next != null
+                        && !Thread.currentThread().isInterrupted()) {
+                        this.paySerially(
+                            next.getKey(), next.getValue(), summary
+                        );
+                        next = next(queue);
+                    }
+                }
+            );
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+            summary.interrupt();
+            LOG.warn(
+                "[BATCH_PAYMENTS] Interrupted, the remaining Invoices"
+                + " will not be paid."
+            );
+        }
+        summary.finished(Duration.ofNanos(System.nanoTime() - start));
+        LOG.info(
+            "[BATCH_PAYMENTS] " + byProject.size() + " Projects, " + summary
+        );
+        return summary;
+    }
+
+    /**
+     * Pay the Invoices of a Project, one after the other. The Wallet is
+     * read again before each payment, so its cash limit is up to date.
+     * We stop if the thread is interrupted (the batch was interrupted).
+     * @param project Project.
+     * @param invoices Invoices of the Project.
+     * @param summary Summary to update.
+     */
+    private void paySerially(
+        final Project project,
+        final List<Invoice> invoices,
+        final Summary summary
+    ) {
+        for(final Invoice invoice : invoices) {
+            if(Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            final long start = System.nanoTime();
+            try {
+                final Payment payment = new RegisterUnsuccessfulPayments(
+                    new PreCheckPayments(project.wallet())
+                ).pay(invoice);
+                summary.register(payment.status());
+            //@checkstyle IllegalCatch (2 lines)
+            } catch (final RuntimeException ex) {
+                LOG.error(
+                    "[BATCH_PAYMENTS] Could not pay Invoice #"
+                    + invoice.invoiceId() + " of Project "
+                    + project.repoFullName() + ".",
+                    ex
+                );
+                summary.register(Payment.Status.ERROR);
+            }
+            LOG.debug(
+                "[BATCH_PAYMENTS] Invoice #" + invoice.invoiceId() + " took "
+                + Duration.ofNanos(System.nanoTime() - start).toMillis()
+                + "ms."
+            );
+        }
+    }
+
+    /**
+     * Take the next Project (with its Invoices) to pay.
+     * @param queue Queue of Projects.
+     * @return Project and its Invoices or null if the queue is empty.
+     */
+    private static Map.Entry<Project, List<Invoice>> next(
+        final Deque<Map.Entry<Project, List<Invoice>>> queue
+    ) {
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    /**
+     * Summary of a batch of payments.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.99
+     */
+    public static final class Summary {
+
+        /**
+         * Successful payments.
+         */
+        private final AtomicInteger successful;
+
+        /**
+         * Failed payments (e.g. card declined, not enough cash).
+         */
+        private final AtomicInteger failed;
+
+        /**
+         * Payments which errored (e.g. Stripe could not be reached).
+         */
+        private final AtomicInteger errored;
+
+        /**
+         * How long the batch took.
+         */
+        private volatile Duration duration;
+
+        /**
+         * Was the batch interrupted?
+         */
+        private volatile boolean interrupted;
+
+        /**
+         * Ctor.
+         */
+        Summary() {
+            this.successful = new AtomicInteger();
+            this.failed = new AtomicInteger();
+            this.errored = new AtomicInteger();
+            this.duration = Duration.ZERO;
+        }
+
+        /**
+         * Number of successful payments.
+         * @return Integer.
+         */
+        public int successful() {
+            return this.successful.get();
+        }
+
+        /**
+         * Number of failed payments.
+         * @return Integer.
+         */
+        public int failed() {
+            return this.failed.get();
+        }
+
+        /**
+         * Number of payments which errored.
+         * @return Integer.
+         */
+        public int errored() {
+            return this.errored.get();
+        }
+
+        /**
+         * Was the batch interrupted before all the Invoices were paid?
+         * If so, the counts only cover the Invoices paid until then.
+         * @return True or false.
+         */
+        public boolean interrupted() {
+            return this.interrupted;
+        }
+
+        /**
+         * How long the batch took.
+         * @return Duration.
+         */
+        public Duration duration() {
+            return this.duration;
+        }
+
+        /**
+         * Payments made per second.
+         * @return Double.
+         */
+        public double throughput() {
+            final double throughput;
+            final long nanos = this.duration.toNanos();
+            if(nanos > 0) {
+                throughput = (double) this.total()
+                    * Duration.ofSeconds(1).toNanos() / nanos;
+            } else {
+                throughput = this.total();
+            }
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder summary = new StringBuilder()
+                .append(this.total()).append(" Invoices in ")
+                .append(this.duration.toMillis()).append("ms (")
+                .append(String.format("%.2f", this.throughput()))
+                .append("/s): ")
+                .append(this.successful()).append(" successful, ")
+                .append(this.failed()).append(" failed, ")
+                .append(this.errored()).append(" errored.");
+            if(this.interrupted) {
+                summary.append(" Interrupted before paying all Invoices.");
+            }
+            return summary.toString();
+        }
+
+        /**
+         * Register a payment.
+         * @param status Status of the Payment.
+         */
+        void register(final String status) {
+            if(Payment.Status.SUCCESSFUL.equals(status)) {
+                this.successful.incrementAndGet();
+            } else if(Payment.Status.FAILED.equals(status)) {
+                this.failed.incrementAndGet();
+            } else {
+                this.errored.incrementAndGet();
+            }
+        }
+
+        /**
+         * The batch was interrupted.
+         */
+        void interrupt() {
+            this.interrupted = true;
+        }
+
+        /**
+         * The batch finished.
+         * @param took How long the batch took.
+         */
+        void finished(final Duration took) {
+            this.duration = took;
+        }
+
+        /**
+         * Total number of payments.
+         * @return Integer.
+         */
+        private int total() {
+            return this.successful() + this.failed() + this.errored();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Bnr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * BNR's EUR-RON exchange rate, refreshed once a day in the background, so
+ * payments and invoices don't wait for bnr.ro once the rate is read.<br><br>
+ *
+ * BNR publishes the rate of the day around 13:00, Romanian time. We read
+ * it when we start and then every day at 13:15, Romanian time.<br><br>
+ *
+ * We keep the rates read since this instance was started, one per refresh,
+ * by the date they were published for. For a date before the first of
+ * them, we read the rates of that date's year (and of the year before, if
+ * the date comes before the year's first rate) from BNR. If the rate of a
+ * date is still not known, we throw an exception, unless we could not read
+ * any rate at all (see below).<br><br>
+ *
+ * If the rate is needed before the first refresh is done, it is read once,
+ * blocking the caller. Only if that fails too, we return
+ * {@link XmlBnr#FALLBACK_EXCHANGE_RATE}, same as XmlBnr does when BNR's API
+ * is not available.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedBnr implements Bnr, AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        CachedBnr.class
+    );
+
+    /**
+     * BNR's time zone.
+     */
+    private static final ZoneId ROMANIA = ZoneId.of("Europe/Bucharest");
+
+    /**
+     * When we read the rate each day, a little after BNR publishes it.
+     */
+    private static final LocalTime PUBLISHED = LocalTime.of(13, 15);
+
+    /**
+     * Fetches the latest rate and the date it was published for.
+     */
+    private final Supplier<Map.Entry<LocalDate, BigDecimal>> fetch;
+
+    /**
+     * Fetches the rates published in a year, by date.
+     */
+    private final IntFunction<? extends Map<LocalDate, BigDecimal>> yearly;
+
+    /**
+     * Rates read so far, by date.
+     */
+    private final NavigableMap<LocalDate, BigDecimal> history;
+
+    /**
+     * Years whose rates were read. Guarded by the history.
+     */
+    private final Set<Integer> years;
+
+    /**
+     * Timer of the refreshes.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Clock.
+     */
+    private final Clock clock;
+
+    /**
+     * Did we already read the rate while blocking a caller?
+     */
+    private boolean blocked;
+
+    /**
+     * Ctor. Reads the rates from BNR's API, starting right away.
+     */
+    public CachedBnr() {
+        this(
+            new XmlBnr()::rate,
+            new XmlBnr()::rates,
+            Executors.newSingleThreadScheduledExecutor(
+                task -> {
+                    final Thread thread = new Thread(task, "bnr-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            ),
+            Clock.system(ROMANIA)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param fetch Fetches the latest rate and the date it was
+     *  published for.
+     * @param yearly Fetches the rates published in a year, by date.
+     * @param timer Timer of the refreshes.
+     * @param clock Clock.
+     */
+    CachedBnr(
+        final Supplier<Map.Entry<LocalDate, BigDecimal>> fetch,
+        final IntFunction<? extends Map<LocalDate, BigDecimal>> yearly,
+        final ScheduledExecutorService timer,
+        final Clock clock
+    ) {
+        this.fetch = fetch;
+        this.yearly = yearly;
+        this.history = new ConcurrentSkipListMap<>();
+        this.years = new HashSet<>();
+        this.timer = timer;
+        this.clock = clock;
+        this.timer.execute(this::refresh);
+        this.scheduleNext();
+    }
+
+    /**
+     * The CachedBnr shared by everyone. It is started the first time
+     * it is needed.
+     * @return Bnr.
+     */
+    public static Bnr shared() {
+        return SharedHolder.SHARED;
+    }
+
+    @Override
+    public BigDecimal euroToRon() {
+        final Map.Entry<LocalDate, BigDecimal> latest = this.rates()
+            .lastEntry();
+        final BigDecimal rate;
+        if(latest == null) {
+            LOG.warn(
+                "[BNR] EUR-RON could not be read, returning "
+                + XmlBnr.FALLBACK_EXCHANGE_RATE + " as default."
+            );
+            rate = BigDecimal.valueOf(XmlBnr.FALLBACK_EXCHANGE_RATE);
+        } else {
+            rate = latest.getValue();
+        }
+        return rate;
+    }
+
+    @Override
+    public BigDecimal euroToRon(final LocalDate date) {
+        final Map.Entry<LocalDate, BigDecimal> valid = this.rates()
+            .floorEntry(date);
+        final BigDecimal rate;
+        if(valid == null) {
+            rate = this.published(date);
+        } else {
+            rate = valid.getValue();
+        }
+        return rate;
+    }
+
+    @Override
+    public void close() {
+        this.timer.shutdownNow();
+    }
+
+    /**
+     * Read the latest rate and add it to the history. If it fails, we
+     * keep the rates we have and try again at the next refresh.
+     */
+    void refresh() {
+        try {
+            final Map.Entry<LocalDate, BigDecimal> latest = this.fetch.get();
+            this.history.put(latest.getKey(), latest.getValue());
+            LOG.debug(
+                "[BNR] EUR-RON for " + latest.getKey() + " is "
+                + latest.getValue() + "."
+            );
+            //@checkstyle IllegalCatch (2 lines)
+        } catch (final RuntimeException ex) {
+            LOG.error("[BNR] Could not refresh EUR-RON exchange rate.", ex);
+        }
+    }
+
+    /**
+     * Refresh and schedule the next refresh.
+     */
+    private void daily() {
+        this.refresh();
+        this.scheduleNext();
+    }
+
+    /**
+     * Schedule the next refresh, at the next 13:15 in Romania. It is
+     * scheduled each time, not at a fixed rate, so it stays at 13:15
+     * when the clocks change.
+     */
+    private void scheduleNext() {
+        final ZonedDateTime now = ZonedDateTime.now(
+            this.clock.withZone(ROMANIA)
+        );
+        ZonedDateTime next = now.with(PUBLISHED);
+        if(!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        try {
+            this.timer.schedule(
+                this::daily,
+                Duration.between(now, next).toMillis(),
+                TimeUnit.MILLISECONDS
+            );
+        } catch (final RejectedExecutionException ex) {
+            LOG.debug("[BNR] Refreshes stopped.");
+        }
+    }
+
+    /**
+     * The rate of a date before the ones we have. We read the rates of
+     * that date's year and, if it comes before the first of them, of the
+     * year before. If we have no rates at all (BNR is down), we return the
+     * fallback rate, like {@link #euroToRon()} does.
+     * @param date Date.
+     * @return Rate.
+     * @throws IllegalStateException If the rate of that date is not known.
+     */
+    private BigDecimal published(final LocalDate date) {
+        synchronized (this.history) {
+            Map.Entry<LocalDate, BigDecimal> valid = null;
+            int year = date.getYear();
+            while(valid == null && year >= date.getYear() - 1) {
+                this.readYear(year);
+                valid = this.history.floorEntry(date);
+                year = year - 1;
+            }
+            final BigDecimal rate;
+            if(valid != null) {
+                rate = valid.getValue();
+            } else if(this.history.isEmpty()) {
+                rate = this.euroToRon();
+            } else {
+                throw new IllegalStateException(
+                    "[BNR] EUR-RON for " + date + " is not known."
+                );
+            }
+            return rate;
+        }
+    }
+
+    /**
+     * Add the rates of a year to the history, if they were not read
+     * already. If it fails, we try again the next time they are needed.
+     * @param year Year.
+     */
+    private void readYear(final int year) {
+        if(!this.years.contains(year)) {
+            try {
+                LOG.debug("[BNR] Reading EUR-RON rates of " + year + ".");
+                this.history.putAll(this.yearly.apply(year));
+                this.years.add(year);
+                //@checkstyle IllegalCatch (2 lines)
+            } catch (final RuntimeException ex) {
+                LOG.error(
+                    "[BNR] Could not read EUR-RON rates of " + year + ".", ex
+                );
+            }
+        }
+    }
+
+    /**
+     * The rates read so far. If there are none yet, the rate is read
+     * right away, but only once: after that, we wait for the refreshes.
+     * @return Rates, by date.
+     */
+    private NavigableMap<LocalDate, BigDecimal> rates() {
+        if(this.history.isEmpty()) {
+            synchronized (this.history) {
+                if(this.history.isEmpty() && !this.blocked) {
+                    this.blocked = true;
+                    LOG.debug("[BNR] EUR-RON not read yet, reading it now.");
+                    this.refresh();
+                }
+            }
+        }
+        return this.history;
+    }
+
+    /**
+     * Holds the shared CachedBnr, started when the holder is first used.
+     */
+    private static final class SharedHolder {
+
+        /**
+         * Shared CachedBnr.
+         */
+        private static final Bnr SHARED = new CachedBnr();
+    }
+}
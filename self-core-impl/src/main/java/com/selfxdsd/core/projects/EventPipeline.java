@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves webhook Events asynchronously, so whoever delivers them
+ * (self-pm, self-todos) can acknowledge the webhook right away, instead
+ * of waiting for the whole chain of Steps to run.<br><br>
+ *
+ * The Events are spread over a few stripes, by Project. Each stripe has
+ * one thread and a bounded queue, so the Events of a Project are resolved
+ * one by one, in the order they were submitted, while the Events of
+ * different Projects are resolved in parallel.<br><br>
+ *
+ * If a stripe's queue is full, the submitter waits a little for room
+ * (backpressure). If there is still no room, the Event is rejected and
+ * the submitter decides what to do with it (e.g. answer with 503, so the
+ * webhook is delivered again later).
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class EventPipeline implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        EventPipeline.class
+    );
+
+    /**
+     * Default number of stripes.
+     */
+    private static final int DEFAULT_STRIPES = 4;
+
+    /**
+     * Default capacity of a stripe's queue.
+     */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Default time to wait for room in a full queue.
+     */
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(1);
+
+    /**
+     * The stripes, each with one thread and a bounded queue.
+     */
+    private final List<ThreadPoolExecutor> stripes;
+
+    /**
+     * Time to wait for room in a full queue.
+     */
+    private final Duration wait;
+
+    /**
+     * Number of accepted Events.
+     */
+    private final AtomicLong accepted;
+
+    /**
+     * Number of rejected Events.
+     */
+    private final AtomicLong rejected;
+
+    /**
+     * Number of Events which failed to resolve.
+     */
+    private final AtomicLong failed;
+
+    /**
+     * Ctor.
+     */
+    public EventPipeline() {
+        this(DEFAULT_STRIPES, DEFAULT_CAPACITY, DEFAULT_WAIT);
+    }
+
+    /**
+     * Ctor.
+     * @param stripes Number of stripes (threads).
+     * @param capacity Capacity of each stripe's queue.
+     * @param wait Time to wait for room in a full queue.
+     */
+    public EventPipeline(
+        final int stripes,
+        final int capacity,
+        final Duration wait
+    ) {
+        this.wait = wait;
+        this.accepted = new AtomicLong();
+        this.rejected = new AtomicLong();
+        this.failed = new AtomicLong();
+        final List<ThreadPoolExecutor> all = new ArrayList<>();
+        for(int idx = 0; idx < stripes; ++idx) {
+            final String name = "self-events-" + idx;
+            all.add(
+                new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity),
+                    task -> {
+                        final Thread thread = new Thread(task, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    this::backpressure
+                )
+            );
+        }
+        this.stripes = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Submit an Event, to be resolved by its Project.
+     * @param event Event.
+     * @return True if the Event was accepted, false if it was rejected
+     *  because the pipeline is full or closed.
+     */
+    public boolean submit(final Event event) {
+        final Project project = event.project();
+        boolean submitted;
+        try {
+            this.stripe(project).execute(() -> this.resolve(event));
+            this.accepted.incrementAndGet();
+            submitted = true;
+        } catch (final RejectedExecutionException ex) {
+            this.rejected.incrementAndGet();
+            LOG.warn(
+                "Event " + event.type() + " of Project "
+                + project.repoFullName() + " at " + project.provider()
+                + " was rejected: " + ex.getMessage()
+            );
+            submitted = false;
+        }
+        return submitted;
+    }
+
+    /**
+     * Number of Events waiting to be resolved, in all the stripes.
+     * @return Integer.
+     */
+    public int depth() {
+        int depth = 0;
+        for(final ThreadPoolExecutor stripe : this.stripes) {
+            depth = depth + stripe.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * Number of Events waiting to be resolved, per stripe.
+     * @return List of queue depths, one for each stripe.
+     */
+    public List<Integer> depths() {
+        final List<Integer> depths = new ArrayList<>();
+        for(final ThreadPoolExecutor stripe : this.stripes) {
+            depths.add(stripe.getQueue().size());
+        }
+        return depths;
+    }
+
+    /**
+     * Number of accepted Events, so far.
+     * @return Long.
+     */
+    public long accepted() {
+        return this.accepted.get();
+    }
+
+    /**
+     * Number of rejected Events, so far.
+     * @return Long.
+     */
+    public long rejected() {
+        return this.rejected.get();
+    }
+
+    /**
+     * Number of Events which failed to resolve, so far.
+     * @return Long.
+     */
+    public long failed() {
+        return this.failed.get();
+    }
+
+    /**
+     * Stop accepting Events and wait for the ones already accepted
+     * to be resolved.
+     */
+    @Override
+    public void close() {
+        for(final ThreadPoolExecutor stripe : this.stripes) {
+            stripe.shutdown();
+        }
+        try {
+            for(final ThreadPoolExecutor stripe : this.stripes) {
+                stripe.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            for(final ThreadPoolExecutor stripe : this.stripes) {
+                stripe.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Stripe of the given Project. The same Project always
+     * lands on the same stripe.
+     * @param project Project.
+     * @return Stripe.
+     */
+    private ThreadPoolExecutor stripe(final Project project) {
+        final String key = (
+            project.provider() + ":" + project.repoFullName()
+        ).toLowerCase(Locale.ROOT);
+        return this.stripes.get(
+            Math.floorMod(key.hashCode(), this.stripes.size())
+        );
+    }
+
+    /**
+     * Resolve the Event. A failure is logged and counted, it should
+     * not stop the stripe.
+     * @param event Event.
+     */
+    private void resolve(final Event event) {
+        try {
+            event.project().resolve(event);
+            //@checkstyle IllegalCatch (2 lines)
+        } catch (final RuntimeException ex) {
+            this.failed.incrementAndGet();
+            LOG.error(
+                "Problem while resolving Event " + event.type() + ".", ex
+            );
+        }
+    }
+
+    /**
+     * A stripe's queue is full: wait a little for room in it.
+     * @param task Task to enqueue.
+     * @param stripe Stripe.
+     * @throws RejectedExecutionException If the stripe is closed or
+     *  there is still no room after waiting.
+     */
+    private void backpressure(
+        final Runnable task,
+        final ThreadPoolExecutor stripe
+    ) {
+        if(stripe.isShutdown()) {
+            throw new RejectedExecutionException("pipeline is closed.");
+        }
+        try {
+            final boolean queued = stripe.getQueue().offer(
+                task, this.wait.toMillis(), TimeUnit.MILLISECONDS
+            );
+            if(!queued) {
+                throw new RejectedExecutionException(
+                    "queue is full (" + stripe.getQueue().size() + ")."
+                );
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted.", ex);
+        }
+    }
+}
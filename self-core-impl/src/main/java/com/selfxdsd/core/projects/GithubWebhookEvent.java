@@ -23,10 +23,9 @@
 package com.selfxdsd.core.projects;
 
 import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.TaskId;
 
-import javax.json.Json;
 import javax.json.JsonObject;
-import java.io.StringReader;
 
 /**
  * Webhook event coming from Github. This is the event which triggers
@@ -49,9 +48,24 @@ final class GithubWebhookEvent implements Event {
     private final String type;
 
     /**
-     * Event payload.
+     * Event payload, parsed lazily.
      */
-    private final JsonObject event;
+    private final WebhookPayload event;
+
+    /**
+     * Repo where the event happened, looked up once. Guarded by this.
+     */
+    private Repo repo;
+
+    /**
+     * Issue of the event, built once. Guarded by this.
+     */
+    private Issue issue;
+
+    /**
+     * Comment of the event, built once. Guarded by this.
+     */
+    private Comment comment;
 
     /**
      * Ctor.
@@ -66,9 +80,7 @@ final class GithubWebhookEvent implements Event {
     ) {
         this.project = project;
         this.type = type;
-        this.event  = Json.createReader(
-            new StringReader(payload)
-        ).readObject();
+        this.event = new WebhookPayload(payload);
     }
 
     @Override
@@ -109,25 +121,27 @@ final class GithubWebhookEvent implements Event {
     }
 
     @Override
-    public Issue issue() {
-        final JsonObject jsn;
-        if ("pull_request".equalsIgnoreCase(type)) {
-            jsn = this.event.getJsonObject("pull_request");
-        } else {
-            jsn = this.event.getJsonObject("issue");
+    public synchronized Issue issue() {
+        if(this.issue == null) {
+            final JsonObject jsn;
+            if ("pull_request".equalsIgnoreCase(type)) {
+                jsn = this.event.getJsonObject("pull_request");
+            } else {
+                jsn = this.event.getJsonObject("issue");
+            }
+            this.issue = this.repo().issues().received(jsn);
         }
-        final String repoFullName = project.repoFullName();
-        return this.project.projectManager().provider().repo(
-            repoFullName.split("/")[0],
-            repoFullName.split("/")[1]
-        ).issues().received(jsn);
+        return this.issue;
     }
 
     @Override
-    public Comment comment() {
-        return this.issue().comments().received(
-            this.event.getJsonObject("comment")
-        );
+    public synchronized Comment comment() {
+        if(this.comment == null) {
+            this.comment = this.issue().comments().received(
+                this.event.getJsonObject("comment")
+            );
+        }
+        return this.comment;
     }
 
     @Override
@@ -137,11 +151,7 @@ final class GithubWebhookEvent implements Event {
             final JsonObject latest = this.event.getJsonArray(
                 "commits"
             ).getJsonObject(0);
-            final String repoFullName = this.project.repoFullName();
-            commit = this.project.projectManager().provider().repo(
-                repoFullName.split("/")[0],
-                repoFullName.split("/")[1]
-            ).commits().getCommit(latest.getString("id"));
+            commit = this.repo().commits().received(latest);
         } else {
             commit = null;
         }
@@ -165,4 +175,52 @@ final class GithubWebhookEvent implements Event {
         return project;
     }
 
+    /**
+     * Repo where the event happened.
+     * @return Repo.
+     */
+    private synchronized Repo repo() {
+        if(this.repo == null) {
+            final String repoFullName = this.project.repoFullName();
+            this.repo = this.project.projectManager().provider().repo(
+                repoFullName.split("/")[0],
+                repoFullName.split("/")[1]
+            );
+        }
+        return this.repo;
+    }
+
+    /**
+     * Id of the Task of this event's Issue or Pull Request.
+     * @return TaskId or null, if the event is not about an Issue
+     *  or Pull Request.
+     */
+    TaskId taskId() {
+        final JsonObject jsn;
+        final boolean pullRequest;
+        if ("pull_request".equalsIgnoreCase(this.type)) {
+            jsn = this.event.getJsonObject("pull_request");
+            pullRequest = true;
+        } else if ("issues".equalsIgnoreCase(this.type)
+            || "issue_comment".equalsIgnoreCase(this.type)) {
+            jsn = this.event.getJsonObject("issue");
+            pullRequest = jsn != null && jsn.containsKey("pull_request");
+        } else {
+            jsn = null;
+            pullRequest = false;
+        }
+        final TaskId taskId;
+        if (jsn != null && jsn.containsKey("number")) {
+            taskId = new TaskId(
+                this.project.provider(),
+                this.project.repoFullName(),
+                String.valueOf(jsn.getInt("number")),
+                pullRequest
+            );
+        } else {
+            taskId = null;
+        }
+        return taskId;
+    }
+
 }
@@ -23,11 +23,11 @@
 package com.selfxdsd.core.projects;
 
 import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.TaskId;
 
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
-import java.io.StringReader;
 
 /**
  * Webhook event coming from GitLab. This is the event which triggers
@@ -50,9 +50,19 @@ final class GitlabWebhookEvent implements Event {
     private final String type;
 
     /**
-     * Event payload.
+     * Event payload, parsed lazily.
      */
-    private final JsonObject event;
+    private final WebhookPayload event;
+
+    /**
+     * Repo where the event happened, looked up once. Guarded by this.
+     */
+    private Repo repo;
+
+    /**
+     * Comment of the event, built once. Guarded by this.
+     */
+    private Comment comment;
 
     /**
      * Cached Issue. We need this until we will be able to "receive"
@@ -73,9 +83,7 @@ final class GitlabWebhookEvent implements Event {
     ) {
         this.project = project;
         this.type = type;
-        this.event  = Json.createReader(
-            new StringReader(payload)
-        ).readObject();
+        this.event = new WebhookPayload(payload);
     }
 
     @Override
@@ -117,7 +125,7 @@ final class GitlabWebhookEvent implements Event {
     }
 
     @Override
-    public Issue issue() {
+    public synchronized Issue issue() {
         if(this.issue == null) {
             final String iid;
             boolean mergeRequest = false;
@@ -152,17 +160,10 @@ final class GitlabWebhookEvent implements Event {
                 iid = null;
             }
             if (iid != null) {
-                final String repoFullName = this.project.repoFullName();
                 if (mergeRequest) {
-                    this.issue = this.project.projectManager().provider().repo(
-                        repoFullName.split("/")[0],
-                        repoFullName.split("/")[1]
-                    ).pullRequests().getById(iid);
+                    this.issue = this.repo().pullRequests().getById(iid);
                 } else {
-                    this.issue = this.project.projectManager().provider().repo(
-                        repoFullName.split("/")[0],
-                        repoFullName.split("/")[1]
-                    ).issues().getById(iid);
+                    this.issue = this.repo().issues().getById(iid);
                 }
             } else {
                 this.issue = null;
@@ -172,7 +173,7 @@ final class GitlabWebhookEvent implements Event {
     }
 
     @Override
-    public Comment comment() {
+    public synchronized Comment comment() {
         final JsonObject jsonComment;
         if("Note Hook".equalsIgnoreCase(this.type)) {
             final JsonObject attributes = this.event.getJsonObject(
@@ -201,13 +202,10 @@ final class GitlabWebhookEvent implements Event {
         } else {
             jsonComment = null;
         }
-        final Comment comment;
-        if(jsonComment != null) {
-            comment = this.issue().comments().received(jsonComment);
-        } else {
-            comment = null;
+        if(jsonComment != null && this.comment == null) {
+            this.comment = this.issue().comments().received(jsonComment);
         }
-        return comment;
+        return this.comment;
     }
 
     @Override
@@ -217,11 +215,7 @@ final class GitlabWebhookEvent implements Event {
             final JsonObject latest = this.event.getJsonArray(
                 "commits"
             ).getJsonObject(0);
-            final String repoFullName = this.project.repoFullName();
-            commit = this.project.projectManager().provider().repo(
-                repoFullName.split("/")[0],
-                repoFullName.split("/")[1]
-            ).commits().getCommit(latest.getString("id"));
+            commit = this.repo().commits().received(latest);
         } else {
             commit = null;
         }
@@ -240,6 +234,67 @@ final class GitlabWebhookEvent implements Event {
         return this.project;
     }
 
+    /**
+     * Repo where the event happened.
+     * @return Repo.
+     */
+    private synchronized Repo repo() {
+        if(this.repo == null) {
+            final String repoFullName = this.project.repoFullName();
+            this.repo = this.project.projectManager().provider().repo(
+                repoFullName.split("/")[0],
+                repoFullName.split("/")[1]
+            );
+        }
+        return this.repo;
+    }
+
+    /**
+     * Id of the Task of this event's Issue or Pull Request.
+     * @return TaskId or null, if the event is not about an Issue
+     *  or Pull Request.
+     */
+    TaskId taskId() {
+        final JsonObject attributes = this.event.getJsonObject(
+            "object_attributes"
+        );
+        final JsonObject jsn;
+        final boolean mergeRequest;
+        if ("Issue Hook".equalsIgnoreCase(this.type)
+            || "Merge Request Hook".equalsIgnoreCase(this.type)) {
+            jsn = attributes;
+            mergeRequest = "Merge Request Hook".equalsIgnoreCase(this.type);
+        } else if ("Note Hook".equalsIgnoreCase(this.type)
+            && attributes != null) {
+            final String noteableType = attributes.getString(
+                "noteable_type", ""
+            );
+            mergeRequest = "MergeRequest".equalsIgnoreCase(noteableType);
+            if (mergeRequest) {
+                jsn = this.event.getJsonObject("merge_request");
+            } else if ("Issue".equalsIgnoreCase(noteableType)) {
+                jsn = this.event.getJsonObject("issue");
+            } else {
+                jsn = null;
+            }
+        } else {
+            jsn = null;
+            mergeRequest = false;
+        }
+        final TaskId taskId;
+        if (jsn != null && jsn.containsKey("iid")) {
+            taskId = new TaskId(
+                this.project.provider(),
+                this.project.repoFullName(),
+                String.valueOf(jsn.getInt("iid")),
+                mergeRequest
+            );
+        } else {
+            taskId = null;
+        }
+        return taskId;
+    }
+
     /**
      * Checks if current issue payload has info about changing
      * labels. (adding, changing, removing).
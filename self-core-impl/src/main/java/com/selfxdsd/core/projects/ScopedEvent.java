@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.Deadlines;
+
+/**
+ * Event resolved within a unit of work. It is the original Event,
+ * but its Project reads from the unit's Storage. It brings the original
+ * Event's Deadlines too, if it has any.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class ScopedEvent implements Event, Deadlines.Carrier {
+
+    /**
+     * Original Event.
+     */
+    private final Event origin;
+
+    /**
+     * Project backed by the unit of work.
+     */
+    private final Project project;
+
+    /**
+     * Ctor.
+     * @param origin Original Event.
+     * @param project Project backed by the unit of work.
+     */
+    ScopedEvent(final Event origin, final Project project) {
+        this.origin = origin;
+        this.project = project;
+    }
+
+    @Override
+    public String type() {
+        return this.origin.type();
+    }
+
+    @Override
+    public Issue issue() {
+        return this.origin.issue();
+    }
+
+    @Override
+    public Comment comment() {
+        return this.origin.comment();
+    }
+
+    @Override
+    public Commit commit() {
+        return this.origin.commit();
+    }
+
+    @Override
+    public String repoNewName() {
+        return this.origin.repoNewName();
+    }
+
+    @Override
+    public Project project() {
+        return this.project;
+    }
+
+    @Override
+    public Deadlines deadlines() {
+        Deadlines deadlines = null;
+        if(this.origin instanceof Deadlines.Carrier) {
+            deadlines = ((Deadlines.Carrier) this.origin).deadlines();
+        }
+        return deadlines;
+    }
+}
@@ -25,8 +25,11 @@ package com.selfxdsd.core.projects;
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.exceptions.WalletAlreadyExistsException;
 import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.CachedStripe;
 import com.selfxdsd.core.Env;
-import com.stripe.Stripe;
+import com.selfxdsd.core.StripeApi;
+import com.selfxdsd.core.storage.UnitOfWork;
+import com.selfxdsd.core.tasks.DirtyTasks;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.param.CustomerCreateParams;
@@ -80,6 +83,19 @@ public final class StoredProject implements Project {
      */
     private final Storage storage;
 
+    /**
+     * Is this Project scoped to one unit of work (one Event being
+     * resolved)? If so, its Repo is built only once, so the Repo's JSON
+     * is read at most once per Event. Projects which are not scoped may
+     * be cached and live long, so they always build a new Repo.
+     */
+    private final boolean scoped;
+
+    /**
+     * The Repo, if this Project is scoped.
+     */
+    private Repo repo;
+
     /**
      * Constructor.
      * @param owner Owner of the project/repo.
@@ -95,12 +111,36 @@ public final class StoredProject implements Project {
         final String webHookToken,
         final ProjectManager projectManager,
         final Storage storage
+    ) {
+        this(
+            owner, repoFullName, webHookToken, projectManager, storage, false
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param owner Owner of the project/repo.
+     * @param repoFullName Repo full name.
+     * @param webHookToken Webhook token.
+     * @param projectManager Manager in charge.
+     * @param storage Storage of Self.
+     * @param scoped Is this Project scoped to one unit of work?
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    private StoredProject(
+        final User owner,
+        final String repoFullName,
+        final String webHookToken,
+        final ProjectManager projectManager,
+        final Storage storage,
+        final boolean scoped
     ) {
         this.owner = owner;
         this.repoFullName = repoFullName;
         this.webHookToken = webHookToken;
         this.projectManager = projectManager;
         this.storage = storage;
+        this.scoped = scoped;
     }
 
     @Override
@@ -134,11 +174,24 @@ public final class StoredProject implements Project {
     }
 
     @Override
-    public Repo repo() {
-        return this.owner.provider().repo(
-            this.repoFullName.substring(0, this.repoFullName.indexOf("/")),
-            this.repoFullName.substring(this.repoFullName.indexOf("/") + 1)
-        );
+    public synchronized Repo repo() {
+        final Repo built;
+        if(this.scoped && this.repo != null) {
+            built = this.repo;
+        } else {
+            built = this.owner.provider().repo(
+                this.repoFullName.substring(
+                    0, this.repoFullName.indexOf("/")
+                ),
+                this.repoFullName.substring(
+                    this.repoFullName.indexOf("/") + 1
+                )
+            );
+            if(this.scoped) {
+                this.repo = built;
+            }
+        }
+        return built;
     }
 
     @Override
@@ -164,39 +217,63 @@ public final class StoredProject implements Project {
 
     @Override
     public Language language() {
-        return new English();
+        return Languages.english();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The Event is resolved within a unit of work, so the same entities
+     * are not loaded from the Storage over and over again, and the Repo
+     * is built only once. If it is a webhook event about an Issue, the
+     * Issue's Task is marked as changed, for the sweeps.
+     */
     @Override
     public void resolve(final Event event) {
-        final String type = event.type();
-        switch (type) {
-            case Event.Type.ACTIVATE:
-                this.projectManager.newProject(event);
-                break;
-            case Event.Type.NEW_ISSUE:
-                this.projectManager.newIssue(event);
-                break;
-            case Event.Type.REOPENED_ISSUE:
-                this.projectManager.reopenedIssue(event);
-                break;
-            case Event.Type.UNASSIGNED_TASKS:
-                this.projectManager.unassignedTasks(event);
-                break;
-            case Event.Type.ASSIGNED_TASKS:
-                this.projectManager.assignedTasks(event);
-                break;
-            case Event.Type.NEW_COMMENT:
-                this.projectManager.comment(event);
-                break;
-            case Event.Type.REPO_RENAMED:
-                this.projectManager.renamedProject(event);
-                break;
-            case Event.Type.LABEL:
-                this.projectManager.issueLabelsChanged(event);
-                break;
-            default:
-                break;
+        WebhookEvents.touch(event, DirtyTasks.shared());
+        final UnitOfWork unit = new UnitOfWork(this.storage);
+        final Event scoped = new ScopedEvent(
+            event,
+            new StoredProject(
+                this.owner,
+                this.repoFullName,
+                this.webHookToken,
+                this.projectManager,
+                unit,
+                true
+            )
+        );
+        try {
+            switch (scoped.type()) {
+                case Event.Type.ACTIVATE:
+                    this.projectManager.newProject(scoped);
+                    break;
+                case Event.Type.NEW_ISSUE:
+                    this.projectManager.newIssue(scoped);
+                    break;
+                case Event.Type.REOPENED_ISSUE:
+                    this.projectManager.reopenedIssue(scoped);
+                    break;
+                case Event.Type.UNASSIGNED_TASKS:
+                    this.projectManager.unassignedTasks(scoped);
+                    break;
+                case Event.Type.ASSIGNED_TASKS:
+                    this.projectManager.assignedTasks(scoped);
+                    break;
+                case Event.Type.NEW_COMMENT:
+                    this.projectManager.comment(scoped);
+                    break;
+                case Event.Type.REPO_RENAMED:
+                    this.projectManager.renamedProject(scoped);
+                    break;
+                case Event.Type.LABEL:
+                    this.projectManager.issueLabelsChanged(scoped);
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            unit.close();
         }
     }
 
@@ -300,7 +377,6 @@ public final class StoredProject implements Project {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
             final Map<String, String> metadata = new HashMap<>();
             metadata.put("isCompany", String.valueOf(billingInfo.isCompany()));
@@ -318,7 +394,9 @@ public final class StoredProject implements Project {
             } else {
                 name = billingInfo.firstName() + " " + billingInfo.lastName();
             }
-            final Customer customer = Customer.create(
+            final Customer customer = new CachedStripe(
+                apiToken, new StripeApi(apiToken)
+            ).createCustomer(
                 CustomerCreateParams.builder()
                     .setName(name)
                     .setEmail(billingInfo.email())
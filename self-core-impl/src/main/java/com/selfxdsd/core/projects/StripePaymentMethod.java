@@ -25,7 +25,7 @@ package com.selfxdsd.core.projects;
 import com.selfxdsd.api.Wallet;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.Env;
-import com.stripe.Stripe;
+import com.selfxdsd.core.StripeApi;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentMethod;
 import com.stripe.param.PaymentMethodListParams;
@@ -74,14 +74,15 @@ public final class StripePaymentMethod extends StoredPaymentMethod {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
-            final Iterable<PaymentMethod> paymentMethods = PaymentMethod.list(
+            final Iterable<PaymentMethod> paymentMethods = new StripeApi(
+                apiToken
+            ).paymentMethods(
                 PaymentMethodListParams.builder()
                     .setCustomer(this.wallet().identifier())
                     .setType(PaymentMethodListParams.Type.CARD)
                     .build()
-            ).autoPagingIterable();
+            );
             for(final PaymentMethod method : paymentMethods) {
                 if(this.identifier().equalsIgnoreCase(method.getId())){
                     return Json.createReader(
@@ -122,10 +123,8 @@ public final class StripePaymentMethod extends StoredPaymentMethod {
                 );
             }
             try {
-                Stripe.apiKey = apiToken;
-                final PaymentMethod detached = PaymentMethod.retrieve(
-                    this.identifier()
-                ).detach();
+                final PaymentMethod detached = new StripeApi(apiToken)
+                    .detachPaymentMethod(this.identifier());
                 if(detached.getCustomer() == null) {
                     deletedFromStripe = true;
                 }
@@ -25,12 +25,13 @@ package com.selfxdsd.core.projects;
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.exceptions.WalletPaymentException;
 import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.CachedStripe;
 import com.selfxdsd.core.Env;
+import com.selfxdsd.core.StripeApi;
+import com.selfxdsd.core.StripeGateway;
 import com.selfxdsd.core.contracts.invoices.StoredInvoice;
 import com.selfxdsd.core.contracts.invoices.StoredPayment;
-import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
-import com.stripe.model.Customer;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.SetupIntent;
 import com.stripe.param.PaymentIntentCreateParams;
@@ -87,9 +88,9 @@ public final class StripeWallet implements Wallet {
     private final String identifier;
 
     /**
-     * Stripe API token.
+     * Stripe, used for payments.
      */
-    private final String stripeApiToken;
+    private final StripeGateway stripe;
 
     /**
      * Ctor.
@@ -107,13 +108,40 @@ public final class StripeWallet implements Wallet {
         final String identifier,
         final boolean active,
         final String stripeApiToken
+    ) {
+        this(
+            storage,
+            project,
+            limit,
+            identifier,
+            active,
+            new StripeApi(stripeApiToken)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param storage Self storage.
+     * @param project Project to which this wallet belongs/
+     * @param limit Cash limit we're allowed to use.
+     * @param identifier Wallet identifier from Stripe's side.
+     * @param active Is this wallet active or not?
+     * @param stripe Stripe, used for payments.
+     */
+    public StripeWallet(
+        final Storage storage,
+        final Project project,
+        final BigDecimal limit,
+        final String identifier,
+        final boolean active,
+        final StripeGateway stripe
     ) {
         this.storage = storage;
         this.project = project;
         this.identifier = identifier;
         this.limit = limit;
         this.active = active;
-        this.stripeApiToken = stripeApiToken;
+        this.stripe = stripe;
     }
 
     /**
@@ -167,8 +195,6 @@ public final class StripeWallet implements Wallet {
             invoice.totalAmount()
         );
 
-        ensureApiToken();
-
         try {
             final Contributor contributor = invoice.contract().contributor();
             final PayoutMethod payoutMethod = this.storage
@@ -229,8 +255,8 @@ public final class StripeWallet implements Wallet {
             } else {
                 netEarnings = grossEarnings.subtract(contributorComm);
             }
-            final PaymentIntent paymentIntent = PaymentIntent
-                .create(
+            final PaymentIntent paymentIntent = this.stripe
+                .createPaymentIntent(
                     (
                         (Supplier<PaymentIntentCreateParams>) () -> {
                             PaymentIntentCreateParams.Builder paymentParams = PaymentIntentCreateParams.builder()
@@ -256,7 +282,8 @@ public final class StripeWallet implements Wallet {
                             }
                             return paymentParams.build();
                         }
-                    ).get()
+                    ).get(),
+                    this.idempotencyKey(invoice)
                 );
 
             final String status = paymentIntent.getStatus();
@@ -265,7 +292,9 @@ public final class StripeWallet implements Wallet {
                 final LocalDateTime paymentDate = LocalDateTime
                     .ofEpochSecond(paymentIntent.getCreated(),
                         0, OffsetDateTime.now().getOffset());
-                final BigDecimal eurToRon = new XmlBnr().euroToRon();
+                final BigDecimal eurToRon = CachedBnr.shared().euroToRon(
+                    paymentDate.toLocalDate()
+                );
                 final Payment payment = this.storage.invoices()
                     .registerAsPaid(
                         new StoredInvoice(
@@ -296,7 +325,7 @@ public final class StripeWallet implements Wallet {
             } else {
                 LOG.error("[STRIPE] PaymentIntent status: " + status);
                 LOG.error("[STRIPE] Cancelling PaymentIntent...");
-                paymentIntent.cancel();
+                this.stripe.cancelPaymentIntent(paymentIntent);
                 LOG.error("[STRIPE] PaymentIntent successfully cancelled.");
                 throw new WalletPaymentException(
                     "Stripe payment intent status \"" + status + "\". "
@@ -337,18 +366,21 @@ public final class StripeWallet implements Wallet {
     }
 
     /**
-     * Ensure that Stripe API token is set.
+     * Idempotency key of the PaymentIntent for the given Invoice. It stays
+     * the same until a Payment (e.g. a failed one) is registered, so a
+     * repeated call (e.g. after a timeout) will not charge the Invoice
+     * twice, while a new attempt, after a failure, is a new PaymentIntent.
+     * @param invoice Invoice to pay.
+     * @return String key.
      */
-    private void ensureApiToken() {
-        if (this.stripeApiToken == null
-            || this.stripeApiToken.trim().isEmpty()) {
-            throw new IllegalStateException(
-                "[STRIPE_WALLET_PAY] Please specify the "
-                + Env.STRIPE_API_TOKEN
-                + " Environment Variable!"
-            );
+    private String idempotencyKey(final Invoice invoice) {
+        final StringBuilder key = new StringBuilder("self-invoice-")
+            .append(invoice.invoiceId());
+        final Payment latest = invoice.latest();
+        if(latest != null) {
+            key.append('-').append(latest.paymentTime());
         }
-        Stripe.apiKey = this.stripeApiToken;
+        return key.toString();
     }
 
     @Override
@@ -384,9 +416,8 @@ public final class StripeWallet implements Wallet {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
-            return SetupIntent.create(
+            return new StripeApi(apiToken).createSetupIntent(
                 SetupIntentCreateParams.builder()
                     .setCustomer(this.identifier)
                     .setUsage(SetupIntentCreateParams.Usage.OFF_SESSION)
@@ -424,10 +455,10 @@ public final class StripeWallet implements Wallet {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
             return new CustomerBillingInfo(
-                Customer.retrieve(this.identifier)
+                new CachedStripe(apiToken, new StripeApi(apiToken))
+                    .customer(this.identifier)
             );
         } catch (final StripeException ex) {
             throw new IllegalStateException(
@@ -465,12 +496,11 @@ public final class StripeWallet implements Wallet {
                 + " Environment Variable!"
             );
         }
-        Stripe.apiKey = apiToken;
         try {
             final boolean deleted;
-            final Customer removed = Customer.retrieve(this.identifier)
-                .delete();
-            if(removed.getDeleted()) {
+            if(new CachedStripe(apiToken, new StripeApi(apiToken))
+                .deleteCustomer(this.identifier)
+                .getDeleted()) {
                 deleted = this.storage.wallets().remove(this);
             } else {
                 deleted = false;
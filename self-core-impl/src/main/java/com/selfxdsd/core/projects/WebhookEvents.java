@@ -25,6 +25,8 @@ package com.selfxdsd.core.projects;
 import com.selfxdsd.api.Event;
 import com.selfxdsd.api.Project;
 import com.selfxdsd.api.Provider;
+import com.selfxdsd.core.tasks.DirtyTasks;
+import com.selfxdsd.core.tasks.TaskId;
 
 /**
  * Webhook events factory. This class is used by self-pm and self-todos,
@@ -42,7 +44,8 @@ public final class WebhookEvents {
     private WebhookEvents(){}
 
     /**
-     * Create the appropriate webhook event.
+     * Create the appropriate webhook event. Nothing is read from the
+     * payload yet.
      * @param project Project where the event took place.
      * @param type Type of the event.
      * @param payload Payload in JSON.
@@ -56,17 +59,9 @@ public final class WebhookEvents {
         final String provider = project.provider();
         final Event event;
         if(Provider.Names.GITHUB.equalsIgnoreCase(provider)) {
-            event = new GithubWebhookEvent(
-                project,
-                type,
-                payload
-            );
+            event = new GithubWebhookEvent(project, type, payload);
         } else if(Provider.Names.GITLAB.equalsIgnoreCase(provider)) {
-            event = new GitlabWebhookEvent(
-                project,
-                type,
-                payload
-            );
+            event = new GitlabWebhookEvent(project, type, payload);
         } else {
             throw new IllegalStateException(
                 "Provider " + provider + " not yet implemented. "
@@ -75,4 +70,37 @@ public final class WebhookEvents {
         }
         return event;
     }
+
+    /**
+     * Mark the Task of the given webhook event as changed, so the next
+     * sweep visits it. It is called when the event is resolved, so the
+     * Issue is read from the payload only for the events which are
+     * actually handled, and only once. Other events are ignored.
+     * @param event Event.
+     * @param dirty Tasks changed since the last sweep.
+     */
+    static void touch(final Event event, final DirtyTasks dirty) {
+        final TaskId taskId = WebhookEvents.taskId(event);
+        if(taskId != null) {
+            dirty.mark(taskId);
+        }
+    }
+
+    /**
+     * Id of the Task the given webhook event is about.
+     * @param event Event created by this factory.
+     * @return TaskId or null, if the event is not about an Issue or
+     *  Pull Request.
+     */
+    static TaskId taskId(final Event event) {
+        final TaskId taskId;
+        if(event instanceof GithubWebhookEvent) {
+            taskId = ((GithubWebhookEvent) event).taskId();
+        } else if(event instanceof GitlabWebhookEvent) {
+            taskId = ((GitlabWebhookEvent) event).taskId();
+        } else {
+            taskId = null;
+        }
+        return taskId;
+    }
 }
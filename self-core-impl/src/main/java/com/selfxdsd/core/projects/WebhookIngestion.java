@@ -0,0 +1,364 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.core.tasks.TaskId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Ingestion stage in front of {@link WebhookEvents}. It receives the
+ * webhooks delivered by Github/GitLab and passes the Events further
+ * (e.g. to an {@link EventPipeline}), except for:
+ * <ul>
+ *     <li>
+ *         Redeliveries: a webhook whose delivery id was seen recently
+ *         (header X-GitHub-Delivery or X-Gitlab-Event-UUID) is dropped.
+ *         A delivery id is only remembered if its Event was accepted
+ *         further, so a rejected webhook can be delivered again.
+ *     </li>
+ *     <li>
+ *         Label bursts: the label changes of the same Issue are held
+ *         for a short window and only the last one is passed further,
+ *         so the estimation is updated once, not for every label. Any
+ *         other Event of that Issue releases the held label change
+ *         first, so the Events of an Issue are passed further in the
+ *         order they came in.
+ *     </li>
+ * </ul>
+ * The Events are kept in order per Task: while an Event is passed further
+ * (which may wait for room in the {@link EventPipeline}), only the Events
+ * of the same Task wait for it, never the ones of other Tasks.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class WebhookIngestion implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        WebhookIngestion.class
+    );
+
+    /**
+     * Default window in which label changes are coalesced.
+     */
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(2);
+
+    /**
+     * Default number of delivery ids remembered.
+     */
+    private static final int DEFAULT_REMEMBERED = 10000;
+
+    /**
+     * Where the Events go further. It returns false if it rejects
+     * an Event (e.g. EventPipeline::submit).
+     */
+    private final Predicate<Event> next;
+
+    /**
+     * Window in which label changes are coalesced.
+     */
+    private final Duration window;
+
+    /**
+     * Recent delivery ids, the eldest are forgotten first.
+     */
+    private final Map<String, Boolean> deliveries;
+
+    /**
+     * Label changes being held, by Task.
+     */
+    private final Map<TaskId, Event> held;
+
+    /**
+     * Timer releasing the held label changes.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Lock guarding the deliveries, the held Events and the lanes.
+     */
+    private final Object lock;
+
+    /**
+     * Lanes keeping the Events of each Task in order, while they are
+     * passed further. Guarded by the lock.
+     */
+    private final Map<TaskId, Lane> lanes;
+
+    /**
+     * Ctor.
+     * @param next Where the Events go further. It returns false if it
+     *  rejects an Event (e.g. EventPipeline::submit).
+     */
+    public WebhookIngestion(final Predicate<Event> next) {
+        this(
+            next,
+            DEFAULT_WINDOW,
+            DEFAULT_REMEMBERED,
+            Executors.newSingleThreadScheduledExecutor(
+                work -> {
+                    final Thread thread = new Thread(work, "self-labels");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param next Where the Events go further. It returns false if it
+     *  rejects an Event.
+     * @param window Window in which label changes are coalesced.
+     * @param remembered Number of delivery ids remembered.
+     * @param timer Timer releasing the held label changes.
+     */
+    WebhookIngestion(
+        final Predicate<Event> next,
+        final Duration window,
+        final int remembered,
+        final ScheduledExecutorService timer
+    ) {
+        this.next = next;
+        this.window = window;
+        this.deliveries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<String, Boolean> eldest
+            ) {
+                return this.size() > remembered;
+            }
+        };
+        this.held = new HashMap<>();
+        this.timer = timer;
+        this.lock = new Object();
+        this.lanes = new HashMap<>();
+    }
+
+    /**
+     * Ingest a delivered webhook.
+     * @param project Project where the event took place.
+     * @param type Type of the event.
+     * @param payload Payload in JSON.
+     * @param delivery Delivery id, can be null if the provider did
+     *  not send one.
+     * @return HTTP status to answer the provider with: 202 Accepted,
+     *  200 OK if it is a redelivery, or 503 Service Unavailable if the
+     *  Event was rejected and the webhook should be delivered again later.
+     */
+    public int ingest(
+        final Project project,
+        final String type,
+        final String payload,
+        final String delivery
+    ) {
+        final boolean fresh;
+        synchronized (this.lock) {
+            fresh = delivery == null
+                || this.deliveries.put(delivery, Boolean.TRUE) == null;
+        }
+        final int status;
+        if(fresh) {
+            final Event event = WebhookEvents.create(project, type, payload);
+            final TaskId task = WebhookEvents.taskId(event);
+            final boolean accepted;
+            if(task == null) {
+                accepted = this.next.test(event);
+            } else if(Event.Type.LABEL.equals(event.type())) {
+                accepted = this.hold(task, event);
+            } else {
+                accepted = this.passAfterHeld(task, event);
+            }
+            if(accepted) {
+                status = HttpURLConnection.HTTP_ACCEPTED;
+            } else {
+                if(delivery != null) {
+                    synchronized (this.lock) {
+                        this.deliveries.remove(delivery);
+                    }
+                }
+                LOG.warn(
+                    "Webhook " + delivery + " (" + type + ") of Project "
+                    + project.repoFullName() + " was rejected. It should "
+                    + "be delivered again later."
+                );
+                status = HttpURLConnection.HTTP_UNAVAILABLE;
+            }
+        } else {
+            LOG.debug(
+                "Webhook " + delivery + " (" + type + ") of Project "
+                + project.repoFullName() + " was already delivered. "
+                + "Dropping it."
+            );
+            status = HttpURLConnection.HTTP_OK;
+        }
+        return status;
+    }
+
+    /**
+     * Release the held label changes and stop.
+     */
+    @Override
+    public void close() {
+        this.timer.shutdown();
+        try {
+            this.timer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hold a label change. The first change of a Task starts the window;
+     * the ones coming within it replace the held one.
+     * @param task Task.
+     * @param event Label change.
+     * @return True if it is held, false if the timer is stopped.
+     */
+    private boolean hold(final TaskId task, final Event event) {
+        boolean holding = true;
+        synchronized (this.lock) {
+            if(this.held.put(task, event) == null) {
+                try {
+                    this.timer.schedule(
+                        () -> this.release(task),
+                        this.window.toMillis(),
+                        TimeUnit.MILLISECONDS
+                    );
+                } catch (final RejectedExecutionException ex) {
+                    this.held.remove(task);
+                    holding = false;
+                }
+            } else {
+                LOG.debug("Coalescing label change of " + task + ".");
+            }
+        }
+        return holding;
+    }
+
+    /**
+     * Pass an Event of a Task further, after the label change which is
+     * held for the same Task, if any.
+     * @param task Task.
+     * @param event Event.
+     * @return True if the Event was accepted further.
+     */
+    private boolean passAfterHeld(final TaskId task, final Event event) {
+        final boolean accepted;
+        final Lane lane = this.enter(task);
+        try {
+            synchronized (lane) {
+                this.release(task);
+                accepted = this.next.test(event);
+            }
+        } finally {
+            this.leave(task, lane);
+        }
+        return accepted;
+    }
+
+    /**
+     * Pass the label change held for a Task further. If it is rejected,
+     * it is held for another window.
+     * @param task Task.
+     */
+    private void release(final TaskId task) {
+        final Lane lane = this.enter(task);
+        try {
+            synchronized (lane) {
+                final Event event;
+                synchronized (this.lock) {
+                    event = this.held.remove(task);
+                }
+                if(event != null && !this.next.test(event)
+                    && !this.hold(task, event)) {
+                    LOG.error(
+                        "Label change of " + task + " was rejected and the "
+                        + "ingestion is closed. Dropping it."
+                    );
+                }
+            }
+        } finally {
+            this.leave(task, lane);
+        }
+    }
+
+    /**
+     * Enter the lane of a Task.
+     * @param task Task.
+     * @return Lane, to be left after use.
+     */
+    private Lane enter(final TaskId task) {
+        synchronized (this.lock) {
+            final Lane lane = this.lanes.computeIfAbsent(
+                task, key -> new Lane()
+            );
+            lane.users = lane.users + 1;
+            return lane;
+        }
+    }
+
+    /**
+     * Leave the lane of a Task. The lane is forgotten when nobody
+     * uses it anymore.
+     * @param task Task.
+     * @param lane Lane.
+     */
+    private void leave(final TaskId task, final Lane lane) {
+        synchronized (this.lock) {
+            lane.users = lane.users - 1;
+            if(lane.users == 0) {
+                this.lanes.remove(task);
+            }
+        }
+    }
+
+    /**
+     * Lane of a Task. The Events of the Task are passed further one by
+     * one, while holding its monitor.
+     */
+    private static final class Lane {
+
+        /**
+         * Number of threads using this lane. Guarded by the lock.
+         */
+        private int users;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import java.io.StringReader;
+
+/**
+ * Payload of a webhook, read lazily. It is parsed once, the first time
+ * one of its fields is asked for. Webhook payloads are big and the
+ * ignored events need no field at all, so they are never parsed.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class WebhookPayload {
+
+    /**
+     * Raw payload.
+     */
+    private final String payload;
+
+    /**
+     * The parsed payload. Guarded by this.
+     */
+    private JsonObject json;
+
+    /**
+     * Ctor.
+     * @param payload Raw payload, a JSON object.
+     */
+    WebhookPayload(final String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Top-level object field.
+     * @param name Name of the field.
+     * @return JsonObject or null if it is missing or not an object.
+     */
+    JsonObject getJsonObject(final String name) {
+        final JsonValue value = this.json().get(name);
+        final JsonObject object;
+        if(value instanceof JsonObject) {
+            object = (JsonObject) value;
+        } else {
+            object = null;
+        }
+        return object;
+    }
+
+    /**
+     * Top-level array field.
+     * @param name Name of the field.
+     * @return JsonArray or null if it is missing or not an array.
+     */
+    JsonArray getJsonArray(final String name) {
+        final JsonValue value = this.json().get(name);
+        final JsonArray array;
+        if(value instanceof JsonArray) {
+            array = (JsonArray) value;
+        } else {
+            array = null;
+        }
+        return array;
+    }
+
+    /**
+     * Top-level string field.
+     * @param name Name of the field.
+     * @return String or null if it is missing or not a string.
+     */
+    String getString(final String name) {
+        final JsonValue value = this.json().get(name);
+        final String string;
+        if(value instanceof JsonString) {
+            string = ((JsonString) value).getString();
+        } else {
+            string = null;
+        }
+        return string;
+    }
+
+    /**
+     * The payload, parsed the first time it is asked for.
+     * @return JsonObject.
+     */
+    private synchronized JsonObject json() {
+        if(this.json == null) {
+            try (
+                final JsonReader reader = Json.createReader(
+                    new StringReader(this.payload)
+                )
+            ) {
+                this.json = reader.readObject();
+            }
+        }
+        return this.json;
+    }
+}
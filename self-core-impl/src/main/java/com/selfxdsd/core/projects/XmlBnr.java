@@ -23,24 +23,36 @@
 package com.selfxdsd.core.projects;
 
 import com.selfxdsd.api.Bnr;
+import com.selfxdsd.core.GlobalHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.StringReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
- * BNR gives us an XML response.
+ * BNR gives us an XML response. It is read with StAX and we stop reading
+ * as soon as we find the EUR rate.<br><br>
+ *
+ * The rates of a whole year are in a bigger XML, with one Cube per day;
+ * we read the EUR rate of every day from it.<br><br>
+ *
+ * Each call goes to BNR's API; use {@link CachedBnr} instead, which
+ * refreshes the rate once a day, in the background.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 0.0.51
@@ -66,6 +78,11 @@ public final class XmlBnr implements Bnr {
      */
     private final URI uri;
 
+    /**
+     * Start of the URI of a year's rates, the year and ".xml" follow.
+     */
+    private final String years;
+
     /**
      * Ctor. Uses BNR's real API by default.
      */
@@ -78,21 +95,24 @@ public final class XmlBnr implements Bnr {
      * @param uri API Uri.
      */
     XmlBnr(final URI uri) {
+        this(uri, "https://www.bnr.ro/files/xml/years/nbrfxrates");
+    }
+
+    /**
+     * Ctor.
+     * @param uri API Uri.
+     * @param years Start of the URI of a year's rates, the year and ".xml"
+     *  follow.
+     */
+    XmlBnr(final URI uri, final String years) {
         this.uri = uri;
+        this.years = years;
     }
 
     @Override
     public BigDecimal euroToRon() {
         try {
-            final HttpResponse<String> response = HttpClient.newHttpClient()
-                .send(
-                    HttpRequest.newBuilder()
-                        .uri(this.uri)
-                        .method("GET", HttpRequest.BodyPublishers.noBody())
-                        .build(),
-                    HttpResponse.BodyHandlers.ofString()
-                );
-            return readEurFromXml(response.body());
+            return this.rate().getValue();
         } catch (final Exception ex) {
             LOG.error(
                 "[BNR] Could not get EUR-RON exchange rate: ", ex
@@ -106,39 +126,175 @@ public final class XmlBnr implements Bnr {
     }
 
     /**
-     * Parse the response XML to get the EUR -> RON exchange rage.
-     * @param xml XML String.
-     * @return BigDecimal.
-     * @checkstyle LineLength (100 lines)
+     * Fetch the latest EUR-RON exchange rate and the date it was
+     * published for.
+     * @return Date and rate.
+     * @throws IllegalStateException If the rate cannot be fetched or read.
+     */
+    Map.Entry<LocalDate, BigDecimal> rate() {
+        try (InputStream xml = this.fetch(this.uri)) {
+            return XmlBnr.readEur(xml);
+        } catch (final IOException | XMLStreamException ex) {
+            throw new IllegalStateException(
+                "[BNR] Could not read EUR-RON from [" + this.uri + "]", ex
+            );
+        }
+    }
+
+    /**
+     * Fetch the EUR-RON exchange rates published in a year.
+     * @param year Year.
+     * @return Rates, by the date they were published for.
+     * @throws IllegalStateException If the rates cannot be fetched or read.
+     */
+    NavigableMap<LocalDate, BigDecimal> rates(final int year) {
+        final URI yearly = URI.create(this.years + year + ".xml");
+        try (InputStream xml = this.fetch(yearly)) {
+            return XmlBnr.readEurs(xml);
+        } catch (final IOException | XMLStreamException ex) {
+            throw new IllegalStateException(
+                "[BNR] Could not read EUR-RON from [" + yearly + "]", ex
+            );
+        }
+    }
+
+    /**
+     * Fetch an XML from BNR.
+     * @param xml URI of the XML.
+     * @return InputStream, to be closed after reading.
+     * @throws IOException If the XML cannot be fetched.
+     */
+    private InputStream fetch(final URI xml) throws IOException {
+        try {
+            return GlobalHttpClient
+                .instance(HttpClient.Version.HTTP_2)
+                .send(
+                    HttpRequest.newBuilder()
+                        .uri(xml)
+                        .method("GET", HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                    HttpResponse.BodyHandlers.ofInputStream()
+                ).body();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                "[BNR] Interrupted while reading EUR-RON.", ex
+            );
+        }
+    }
+
+    /**
+     * Read the EUR -> RON exchange rate from BNR's XML. We stop at the
+     * EUR Rate, the rest of the XML is not read.
+     * @param xml XML.
+     * @return Date and rate (rounded half-up, multiplied by 100).
+     * @throws XMLStreamException If the XML cannot be read.
      */
-    private BigDecimal readEurFromXml(final String xml) {
+    static Map.Entry<LocalDate, BigDecimal> readEur(final InputStream xml)
+        throws XMLStreamException {
+        final XMLStreamReader reader = XmlBnr.reader(xml);
         try {
-            final Document document = DocumentBuilderFactory
-                .newInstance()
-                .newDocumentBuilder()
-                .parse(new InputSource(new StringReader(xml)));
-            final NodeList rates = document
-                .getDocumentElement()
-                .getElementsByTagName("Rate");
-            for(int idx=0; idx<rates.getLength(); idx++) {
-                final Node rate = rates.item(idx);
-                final String name = rate.getAttributes()
-                    .getNamedItem("currency").getTextContent();
-                if("EUR".equalsIgnoreCase(name)) {
-                    final String text = rate.getTextContent();
-                    LOG.info("[BNR] Found EUR-RON exchange rate: " + text);
-                    LOG.info("[BNR] Rounding Half-Up.");
-                    return new BigDecimal(text)
-                        .setScale(2, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
+            LocalDate date = LocalDate.now();
+            while(reader.hasNext()) {
+                if(reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    final String name = reader.getLocalName();
+                    if("Cube".equals(name)) {
+                        final String published = reader.getAttributeValue(
+                            null, "date"
+                        );
+                        if(published != null) {
+                            date = LocalDate.parse(published);
+                        }
+                    } else if(XmlBnr.isEur(reader)) {
+                        final String text = reader.getElementText().trim();
+                        LOG.info(
+                            "[BNR] Found EUR-RON exchange rate: " + text
+                            + " (" + date + "). Rounding Half-Up."
+                        );
+                        return Map.entry(date, XmlBnr.rounded(text));
+                    }
                 }
             }
-            LOG.warn("[BNR] EUR-RON not found! Returning " + FALLBACK_EXCHANGE_RATE + " as default.");
-            return BigDecimal.valueOf(FALLBACK_EXCHANGE_RATE);
-        } catch (final Exception ex) {
-            LOG.error("[BNR] Exception while parsing XML: ", ex);
-            LOG.error("[BNR] Returning " + FALLBACK_EXCHANGE_RATE + " as default exchange rate.");
-            return BigDecimal.valueOf(FALLBACK_EXCHANGE_RATE);
+        } finally {
+            reader.close();
+        }
+        throw new IllegalStateException("[BNR] EUR-RON not found!");
+    }
+
+    /**
+     * Read the EUR -> RON exchange rates of every Cube (day) from BNR's
+     * XML with the rates of a year.
+     * @param xml XML.
+     * @return Rates (rounded half-up, multiplied by 100), by date.
+     * @throws XMLStreamException If the XML cannot be read.
+     */
+    static NavigableMap<LocalDate, BigDecimal> readEurs(
+        final InputStream xml
+    ) throws XMLStreamException {
+        final NavigableMap<LocalDate, BigDecimal> rates = new TreeMap<>();
+        final XMLStreamReader reader = XmlBnr.reader(xml);
+        try {
+            LocalDate date = null;
+            while(reader.hasNext()) {
+                if(reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    final String name = reader.getLocalName();
+                    if("Cube".equals(name)) {
+                        final String published = reader.getAttributeValue(
+                            null, "date"
+                        );
+                        if(published != null) {
+                            date = LocalDate.parse(published);
+                        }
+                    } else if(date != null && XmlBnr.isEur(reader)) {
+                        rates.put(
+                            date,
+                            XmlBnr.rounded(reader.getElementText().trim())
+                        );
+                    }
+                }
+            }
+        } finally {
+            reader.close();
         }
+        return rates;
+    }
+
+    /**
+     * StAX reader of BNR's XML, without DTDs or external entities.
+     * @param xml XML.
+     * @return XMLStreamReader.
+     * @throws XMLStreamException If the reader cannot be created.
+     */
+    private static XMLStreamReader reader(final InputStream xml)
+        throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(
+            XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false
+        );
+        return factory.createXMLStreamReader(xml);
+    }
+
+    /**
+     * Is the reader at the start of the EUR Rate element?
+     * @param reader Reader, at the start of an element.
+     * @return True or false.
+     */
+    private static boolean isEur(final XMLStreamReader reader) {
+        return "Rate".equals(reader.getLocalName())
+            && "EUR".equalsIgnoreCase(
+                reader.getAttributeValue(null, "currency")
+            );
+    }
+
+    /**
+     * A rate, as we keep it.
+     * @param text Rate, as published by BNR (e.g. 4.8788).
+     * @return Rate, rounded half-up and multiplied by 100.
+     */
+    private static BigDecimal rounded(final String text) {
+        return new BigDecimal(text)
+            .setScale(2, RoundingMode.HALF_UP)
+            .multiply(BigDecimal.valueOf(100));
     }
 }
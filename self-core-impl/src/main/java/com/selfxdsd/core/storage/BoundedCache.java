@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache, which also counts its hits
+ * and misses. Misses (null values) are not cached and values expire
+ * after a given time-to-live, so writes which don't pass through the
+ * cache are seen eventually. It is thread-safe, but values are loaded
+ * outside of the lock: a loaded value is not kept if the cache was
+ * invalidated in the meantime, since it might be stale already.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ * @param <K> Type of the keys.
+ * @param <V> Type of the values.
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * Default time-to-live of the values.
+     */
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Name of this cache (used for metrics).
+     */
+    private final String name;
+
+    /**
+     * Cached values.
+     */
+    private final Map<K, Loaded<V>> values;
+
+    /**
+     * Time-to-live of the values.
+     */
+    private final Duration ttl;
+
+    /**
+     * Current time.
+     */
+    private final Supplier<Instant> now;
+
+    /**
+     * Lock guarding the values and the generation.
+     */
+    private final Object lock;
+
+    /**
+     * Generation of the cache, increased by every invalidation.
+     */
+    private long generation;
+
+    /**
+     * Number of hits.
+     */
+    private final AtomicLong hits;
+
+    /**
+     * Number of misses.
+     */
+    private final AtomicLong misses;
+
+    /**
+     * Ctor.
+     * @param name Name of this cache.
+     * @param maxSize Max number of values kept in the cache.
+     */
+    BoundedCache(final String name, final int maxSize) {
+        this(name, maxSize, DEFAULT_TTL, Instant::now);
+    }
+
+    /**
+     * Ctor.
+     * @param name Name of this cache.
+     * @param maxSize Max number of values kept in the cache.
+     * @param ttl Time-to-live of the values.
+     * @param now Current time.
+     */
+    BoundedCache(
+        final String name,
+        final int maxSize,
+        final Duration ttl,
+        final Supplier<Instant> now
+    ) {
+        this.name = name;
+        this.values = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<K, Loaded<V>> eldest
+            ) {
+                return this.size() > maxSize;
+            }
+        };
+        this.ttl = ttl;
+        this.now = now;
+        this.lock = new Object();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Get the cached value or load it.
+     * @param key Key.
+     * @param loader Loads the value if it's not cached or expired.
+     * @return Value or null if the loader doesn't find it.
+     */
+    V get(final K key, final Supplier<V> loader) {
+        V value = null;
+        final long loading;
+        synchronized (this.lock) {
+            final Loaded<V> cached = this.values.get(key);
+            if(cached != null) {
+                if(cached.expired(this.now.get())) {
+                    this.values.remove(key);
+                } else {
+                    value = cached.value;
+                }
+            }
+            loading = this.generation;
+        }
+        if(value == null) {
+            this.misses.incrementAndGet();
+            value = loader.get();
+            if(value != null) {
+                synchronized (this.lock) {
+                    if(this.generation == loading) {
+                        this.values.put(
+                            key,
+                            new Loaded<>(
+                                value, this.now.get().plus(this.ttl)
+                            )
+                        );
+                    }
+                }
+            }
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Remove the value with the given key.
+     * @param key Key.
+     */
+    void invalidate(final K key) {
+        synchronized (this.lock) {
+            this.values.remove(key);
+            this.generation = this.generation + 1;
+        }
+    }
+
+    /**
+     * Remove all the values.
+     */
+    void invalidateAll() {
+        synchronized (this.lock) {
+            this.values.clear();
+            this.generation = this.generation + 1;
+        }
+    }
+
+    /**
+     * Number of cached values.
+     * @return Integer.
+     */
+    int size() {
+        synchronized (this.lock) {
+            return this.values.size();
+        }
+    }
+
+    /**
+     * Name of this cache.
+     * @return String.
+     */
+    String name() {
+        return this.name;
+    }
+
+    /**
+     * Number of hits.
+     * @return Long.
+     */
+    long hits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Number of misses.
+     * @return Long.
+     */
+    long misses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Hit rate, between 0 and 1.
+     * @return Double, 0 if the cache was never read.
+     */
+    double hitRate() {
+        final long hit = this.hits.get();
+        final long total = hit + this.misses.get();
+        final double rate;
+        if(total == 0) {
+            rate = 0;
+        } else {
+            rate = (double) hit / total;
+        }
+        return rate;
+    }
+
+    /**
+     * A loaded value and the moment it expires.
+     * @param <V> Type of the value.
+     */
+    private static final class Loaded<V> {
+
+        /**
+         * The value.
+         */
+        private final V value;
+
+        /**
+         * When it expires.
+         */
+        private final Instant expires;
+
+        /**
+         * Ctor.
+         * @param value The value.
+         * @param expires When it expires.
+         */
+        Loaded(final V value, final Instant expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+        /**
+         * Is this value expired?
+         * @param now Current time.
+         * @return True or false.
+         */
+        boolean expired(final Instant now) {
+            return !now.isBefore(this.expires);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Contracts;
+import com.selfxdsd.api.Contributor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Contracts read through a cache. The views (Contracts of a Project,
+ * of a Contributor) share the same cache, since a Contract's id tells
+ * whether it belongs to a view or not.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class CachedContracts implements Contracts {
+
+    /**
+     * Original Contracts.
+     */
+    private final Contracts origin;
+
+    /**
+     * Contracts, by id.
+     */
+    private final BoundedCache<String, Contract> cache;
+
+    /**
+     * Does a Contract id belong to these Contracts?
+     */
+    private final Predicate<Contract.Id> scope;
+
+    /**
+     * Ctor.
+     * @param origin Original Contracts.
+     * @param cache Contracts, by id.
+     */
+    CachedContracts(
+        final Contracts origin,
+        final BoundedCache<String, Contract> cache
+    ) {
+        this(origin, cache, id -> true);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Contracts.
+     * @param cache Contracts, by id.
+     * @param scope Does a Contract id belong to these Contracts?
+     */
+    CachedContracts(
+        final Contracts origin,
+        final BoundedCache<String, Contract> cache,
+        final Predicate<Contract.Id> scope
+    ) {
+        this.origin = origin;
+        this.cache = cache;
+        this.scope = scope;
+    }
+
+    @Override
+    public Contracts ofProject(
+        final String repoFullName,
+        final String repoProvider
+    ) {
+        return new CachedContracts(
+            this.origin.ofProject(repoFullName, repoProvider),
+            this.cache,
+            this.scope.and(
+                id -> id.getRepoFullName().equalsIgnoreCase(repoFullName)
+                    && id.getProvider().equalsIgnoreCase(repoProvider)
+            )
+        );
+    }
+
+    @Override
+    public Contracts ofContributor(final Contributor contributor) {
+        return new CachedContracts(
+            this.origin.ofContributor(contributor),
+            this.cache,
+            this.scope.and(
+                id -> id.getContributorUsername()
+                    .equalsIgnoreCase(contributor.username())
+                    && id.getProvider().equalsIgnoreCase(
+                        contributor.provider()
+                    )
+            )
+        );
+    }
+
+    @Override
+    public Contract addContract(
+        final String repoFullName,
+        final String contributorUsername,
+        final String provider,
+        final BigDecimal hourlyRate,
+        final String role
+    ) {
+        final Contract added = this.origin.addContract(
+            repoFullName, contributorUsername, provider, hourlyRate, role
+        );
+        this.cache.invalidate(
+            CachedContracts.key(
+                new Contract.Id(
+                    repoFullName, contributorUsername, provider, role
+                )
+            )
+        );
+        return added;
+    }
+
+    @Override
+    public void remove(final Contract contract) {
+        this.origin.remove(contract);
+        this.cache.invalidate(CachedContracts.key(contract.contractId()));
+    }
+
+    @Override
+    public Contract findById(final Contract.Id id) {
+        final Contract found;
+        if(this.scope.test(id)) {
+            found = this.cache.get(
+                CachedContracts.key(id),
+                () -> this.origin.findById(id)
+            );
+        } else {
+            found = this.origin.findById(id);
+        }
+        return found;
+    }
+
+    @Override
+    public Contract update(
+        final Contract contract,
+        final BigDecimal hourlyRate
+    ) {
+        final Contract updated = this.origin.update(contract, hourlyRate);
+        this.cache.invalidate(CachedContracts.key(contract.contractId()));
+        return updated;
+    }
+
+    @Override
+    public Contract markForRemoval(
+        final Contract contract,
+        final LocalDateTime time
+    ) {
+        final Contract marked = this.origin.markForRemoval(contract, time);
+        this.cache.invalidate(CachedContracts.key(contract.contractId()));
+        return marked;
+    }
+
+    @Override
+    public int count() {
+        return this.origin.count();
+    }
+
+    @Override
+    public Iterator<Contract> iterator() {
+        return this.origin.iterator();
+    }
+
+    /**
+     * Key of a Contract in the cache. Contract.Id's equals is
+     * case-insensitive, but its hashCode is not, so we use the
+     * lowercase String instead.
+     * @param id Contract id.
+     * @return String.
+     */
+    static String key(final Contract.Id id) {
+        return id.toString().toLowerCase();
+    }
+}
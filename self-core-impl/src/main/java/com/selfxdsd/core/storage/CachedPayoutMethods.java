@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contributor;
+import com.selfxdsd.api.PayoutMethod;
+import com.selfxdsd.api.PayoutMethods;
+
+import java.util.Iterator;
+
+/**
+ * PayoutMethods read through a cache: the PayoutMethods of
+ * each Contributor are cached.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class CachedPayoutMethods implements PayoutMethods {
+
+    /**
+     * Original PayoutMethods.
+     */
+    private final PayoutMethods origin;
+
+    /**
+     * PayoutMethods of each Contributor, by provider and username.
+     */
+    private final BoundedCache<String, PayoutMethods> cache;
+
+    /**
+     * Ctor.
+     * @param origin Original PayoutMethods.
+     * @param cache PayoutMethods of each Contributor.
+     */
+    CachedPayoutMethods(
+        final PayoutMethods origin,
+        final BoundedCache<String, PayoutMethods> cache
+    ) {
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public PayoutMethod register(
+        final Contributor contributor,
+        final String type,
+        final String identifier
+    ) {
+        final PayoutMethod registered = this.origin.register(
+            contributor, type, identifier
+        );
+        this.cache.invalidate(CachedPayoutMethods.key(contributor));
+        return registered;
+    }
+
+    @Override
+    public boolean remove(final PayoutMethod payoutMethod) {
+        final boolean removed = this.origin.remove(payoutMethod);
+        this.cache.invalidate(
+            CachedPayoutMethods.key(payoutMethod.contributor())
+        );
+        return removed;
+    }
+
+    @Override
+    public PayoutMethods ofContributor(final Contributor contributor) {
+        return this.cache.get(
+            CachedPayoutMethods.key(contributor),
+            () -> new CachedPayoutMethods(
+                this.origin.ofContributor(contributor),
+                this.cache
+            )
+        );
+    }
+
+    @Override
+    public PayoutMethod getByType(final String type) {
+        return this.origin.getByType(type);
+    }
+
+    @Override
+    public Iterator<PayoutMethod> iterator() {
+        return this.origin.iterator();
+    }
+
+    /**
+     * Key of a Contributor's PayoutMethods in the cache.
+     * @param contributor Contributor.
+     * @return String.
+     */
+    static String key(final Contributor contributor) {
+        return (contributor.provider() + ":" + contributor.username())
+            .toLowerCase();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.ProjectManagers;
+
+import java.util.Iterator;
+
+/**
+ * ProjectManagers read through a cache.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class CachedProjectManagers implements ProjectManagers {
+
+    /**
+     * Original ProjectManagers.
+     */
+    private final ProjectManagers origin;
+
+    /**
+     * PMs, by id.
+     */
+    private final BoundedCache<Integer, ProjectManager> cache;
+
+    /**
+     * Ctor.
+     * @param origin Original ProjectManagers.
+     * @param cache PMs, by id.
+     */
+    CachedProjectManagers(
+        final ProjectManagers origin,
+        final BoundedCache<Integer, ProjectManager> cache
+    ) {
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public ProjectManager getById(final int id) {
+        return this.cache.get(id, () -> this.origin.getById(id));
+    }
+
+    @Override
+    public ProjectManager getByUsername(
+        final String username,
+        final String provider
+    ) {
+        return this.origin.getByUsername(username, provider);
+    }
+
+    @Override
+    public ProjectManager pick(final String provider) {
+        return this.origin.pick(provider);
+    }
+
+    @Override
+    public ProjectManager register(
+        final String userId,
+        final String username,
+        final String provider,
+        final String accessToken,
+        final double projectPercentage,
+        final double contributorPercentage
+    ) {
+        final ProjectManager registered = this.origin.register(
+            userId,
+            username,
+            provider,
+            accessToken,
+            projectPercentage,
+            contributorPercentage
+        );
+        if(registered != null) {
+            this.cache.invalidate(registered.id());
+        }
+        return registered;
+    }
+
+    @Override
+    public Iterator<ProjectManager> iterator() {
+        return this.origin.iterator();
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.storage.JsonStorage;
+import com.selfxdsd.api.storage.Storage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage which caches the hot lookups of the original Storage:
+ * ProjectManagers by id, Projects by id, Contracts by id and the
+ * PayoutMethods of a Contributor. The caches are bounded (LRU) and
+ * each entry is invalidated when a mutation of it (register, rename,
+ * update, markForRemoval, remove) passes through this Storage.<br><br>
+ *
+ * The entities keep writing through the Storage which built them
+ * (e.g. StoredProject.rename, StoredContract.update), and other
+ * processes write to the database too, so those writes never pass
+ * through this Storage. This is why every entry expires after a short
+ * time-to-live (one minute by default): a cached entity may be stale
+ * for at most that long. Keep it short-lived (e.g. for the handling
+ * of a batch of webhooks) and don't rely on it for reads which have
+ * to be fresh.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachingStorage implements Storage {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(
+        CachingStorage.class
+    );
+
+    /**
+     * Default max number of entries in each cache.
+     */
+    private static final int DEFAULT_SIZE = 1000;
+
+    /**
+     * Original Storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Cached PMs.
+     */
+    private final BoundedCache<Integer, ProjectManager> managers;
+
+    /**
+     * Cached Projects.
+     */
+    private final BoundedCache<String, Project> projects;
+
+    /**
+     * Cached Contracts.
+     */
+    private final BoundedCache<String, Contract> contracts;
+
+    /**
+     * Cached PayoutMethods of Contributors.
+     */
+    private final BoundedCache<String, PayoutMethods> payoutMethods;
+
+    /**
+     * Ctor.
+     * @param origin Original Storage.
+     */
+    public CachingStorage(final Storage origin) {
+        this(origin, DEFAULT_SIZE);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Storage.
+     * @param size Max number of entries in each cache.
+     */
+    public CachingStorage(final Storage origin, final int size) {
+        this(origin, size, BoundedCache.DEFAULT_TTL);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Storage.
+     * @param size Max number of entries in each cache.
+     * @param ttl Time-to-live of each entry.
+     */
+    public CachingStorage(
+        final Storage origin,
+        final int size,
+        final Duration ttl
+    ) {
+        this.origin = origin;
+        this.managers = new BoundedCache<>(
+            "projectManagers", size, ttl, Instant::now
+        );
+        this.projects = new BoundedCache<>(
+            "projects", size, ttl, Instant::now
+        );
+        this.contracts = new BoundedCache<>(
+            "contracts", size, ttl, Instant::now
+        );
+        this.payoutMethods = new BoundedCache<>(
+            "payoutMethods", size, ttl, Instant::now
+        );
+    }
+
+    @Override
+    public Users users() {
+        return this.origin.users();
+    }
+
+    @Override
+    public ProjectManagers projectManagers() {
+        return new CachedProjectManagers(
+            this.origin.projectManagers(),
+            this.managers
+        );
+    }
+
+    @Override
+    public Projects projects() {
+        return new CachedProjects(
+            this.origin.projects(),
+            this.projects,
+            this.contracts
+        );
+    }
+
+    @Override
+    public Wallets wallets() {
+        return this.origin.wallets();
+    }
+
+    @Override
+    public Contracts contracts() {
+        return new CachedContracts(this.origin.contracts(), this.contracts);
+    }
+
+    @Override
+    public Invoices invoices() {
+        return this.origin.invoices();
+    }
+
+    @Override
+    public InvoicedTasks invoicedTasks() {
+        return this.origin.invoicedTasks();
+    }
+
+    @Override
+    public Contributors contributors() {
+        return this.origin.contributors();
+    }
+
+    @Override
+    public Tasks tasks() {
+        return this.origin.tasks();
+    }
+
+    @Override
+    public Resignations resignations() {
+        return this.origin.resignations();
+    }
+
+    @Override
+    public PayoutMethods payoutMethods() {
+        return new CachedPayoutMethods(
+            this.origin.payoutMethods(),
+            this.payoutMethods
+        );
+    }
+
+    @Override
+    public PaymentMethods paymentMethods() {
+        return this.origin.paymentMethods();
+    }
+
+    @Override
+    public PlatformInvoices platformInvoices() {
+        return this.origin.platformInvoices();
+    }
+
+    @Override
+    public ApiTokens apiTokens() {
+        return this.origin.apiTokens();
+    }
+
+    @Override
+    public Payments payments() {
+        return this.origin.payments();
+    }
+
+    @Override
+    public JsonStorage jsonStorage() {
+        return this.origin.jsonStorage();
+    }
+
+    /**
+     * Hit rate of each cache, between 0 and 1. Publish these with
+     * whatever metrics registry the application uses.
+     * @return Map of cache name to hit rate.
+     */
+    public Map<String, Double> hitRates() {
+        final Map<String, Double> rates = new LinkedHashMap<>();
+        for(final BoundedCache<?, ?> cache : this.caches()) {
+            rates.put(cache.name(), cache.hitRate());
+        }
+        return rates;
+    }
+
+    /**
+     * Close the original Storage. The hit rates are logged before
+     * closing.
+     * @throws Exception If the original Storage cannot be closed.
+     */
+    @Override
+    public void close() throws Exception {
+        for(final BoundedCache<?, ?> cache : this.caches()) {
+            LOG.debug(
+                "Cache {}: {} hits, {} misses, hit rate {}.",
+                cache.name(),
+                cache.hits(),
+                cache.misses(),
+                cache.hitRate()
+            );
+        }
+        this.origin.close();
+    }
+
+    /**
+     * All the caches.
+     * @return List of caches.
+     */
+    private List<BoundedCache<?, ?>> caches() {
+        return List.of(
+            this.managers,
+            this.projects,
+            this.contracts,
+            this.payoutMethods
+        );
+    }
+}
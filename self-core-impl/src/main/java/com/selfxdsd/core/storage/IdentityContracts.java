@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Contracts;
+import com.selfxdsd.api.Contributor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+/**
+ * Contracts within a {@link UnitOfWork}. Each Contract and each
+ * view (Contracts of a Project, of a Contributor), together with its
+ * Contracts, is loaded at most once. The Contracts are handed out as
+ * {@link UnitContract}, so their writes are seen by the unit as well.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class IdentityContracts implements Contracts {
+
+    /**
+     * Original Contracts.
+     */
+    private final Contracts origin;
+
+    /**
+     * Scope of these Contracts (all, of a project, of a contributor).
+     * Part of the keys, since a Contract found in all the Contracts might
+     * not be found in a view.
+     */
+    private final String scope;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Contracts.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityContracts(final Contracts origin, final IdentityMap map) {
+        this(origin, "contracts", map);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Contracts.
+     * @param scope Scope of these Contracts.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityContracts(
+        final Contracts origin,
+        final String scope,
+        final IdentityMap map
+    ) {
+        this.origin = origin;
+        this.scope = scope;
+        this.map = map;
+    }
+
+    @Override
+    public Contracts ofProject(
+        final String repoFullName,
+        final String repoProvider
+    ) {
+        final String view = this.scope + ":project:"
+            + repoProvider + ":" + repoFullName;
+        return this.map.load(
+            view,
+            () -> new IdentityContracts(
+                this.origin.ofProject(repoFullName, repoProvider),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Contracts ofContributor(final Contributor contributor) {
+        final String view = this.scope + ":contributor:"
+            + contributor.provider() + ":" + contributor.username();
+        return this.map.load(
+            view,
+            () -> new IdentityContracts(
+                this.origin.ofContributor(contributor),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Contract addContract(
+        final String repoFullName,
+        final String contributorUsername,
+        final String provider,
+        final BigDecimal hourlyRate,
+        final String role
+    ) {
+        this.map.clear();
+        return this.origin.addContract(
+            repoFullName, contributorUsername, provider, hourlyRate, role
+        );
+    }
+
+    @Override
+    public void remove(final Contract contract) {
+        this.map.clear();
+        this.origin.remove(contract);
+    }
+
+    @Override
+    public Contract findById(final Contract.Id id) {
+        return this.map.load(
+            this.scope + ":id:" + id,
+            () -> UnitContract.wrap(this.origin.findById(id), this.map)
+        );
+    }
+
+    @Override
+    public Contract update(
+        final Contract contract,
+        final BigDecimal hourlyRate
+    ) {
+        this.map.clear();
+        return UnitContract.wrap(
+            this.origin.update(contract, hourlyRate), this.map
+        );
+    }
+
+    @Override
+    public Contract markForRemoval(
+        final Contract contract,
+        final LocalDateTime time
+    ) {
+        this.map.clear();
+        return UnitContract.wrap(
+            this.origin.markForRemoval(contract, time), this.map
+        );
+    }
+
+    @Override
+    public int count() {
+        return this.origin.count();
+    }
+
+    @Override
+    public Iterator<Contract> iterator() {
+        return this.map.items(
+            this.scope,
+            this.origin,
+            contract -> UnitContract.wrap(contract, this.map)
+        );
+    }
+}
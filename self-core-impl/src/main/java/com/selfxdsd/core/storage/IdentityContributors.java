@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contributor;
+import com.selfxdsd.api.Contributors;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.api.storage.Paged;
+
+import java.util.Iterator;
+
+/**
+ * Contributors within a {@link UnitOfWork}. Each Contributor and the
+ * Contributors of each Project are loaded at most once. Elections are
+ * always delegated, since they depend on the current state of the Tasks.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class IdentityContributors implements Contributors {
+
+    /**
+     * Original Contributors.
+     */
+    private final Contributors origin;
+
+    /**
+     * Scope of these Contributors (all or of a Project).
+     */
+    private final String scope;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Contributors.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityContributors(final Contributors origin, final IdentityMap map) {
+        this(origin, "contributors", map);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Contributors.
+     * @param scope Scope of these Contributors.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityContributors(
+        final Contributors origin,
+        final String scope,
+        final IdentityMap map
+    ) {
+        this.origin = origin;
+        this.scope = scope;
+        this.map = map;
+    }
+
+    @Override
+    public Contributor register(final String username, final String provider) {
+        this.map.clear();
+        return this.origin.register(username, provider);
+    }
+
+    @Override
+    public Contributor getById(final String username, final String provider) {
+        return this.map.load(
+            this.scope + ":id:" + provider + ":" + username,
+            () -> this.origin.getById(username, provider)
+        );
+    }
+
+    @Override
+    public Contributors ofProject(
+        final String repoFullName,
+        final String repoProvider
+    ) {
+        final String view = this.scope + ":project:"
+            + repoProvider + ":" + repoFullName;
+        return this.map.load(
+            view,
+            () -> new IdentityContributors(
+                this.origin.ofProject(repoFullName, repoProvider),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Contributors ofProvider(final String provider) {
+        return this.origin.ofProvider(provider);
+    }
+
+    @Override
+    public Contributors page(final Paged.Page page) {
+        return this.origin.page(page);
+    }
+
+    @Override
+    public Contributor elect(final Task task) {
+        return this.origin.elect(task);
+    }
+
+    @Override
+    public Page current() {
+        return this.origin.current();
+    }
+
+    @Override
+    public int totalPages() {
+        return this.origin.totalPages();
+    }
+
+    @Override
+    public Iterator<Contributor> iterator() {
+        return this.map.items(this.scope, this.origin);
+    }
+}
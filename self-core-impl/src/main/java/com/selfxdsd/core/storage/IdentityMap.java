@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Identity map of the entities loaded within a {@link UnitOfWork}.
+ * Each entity is loaded from the Storage at most once, by its key.
+ * Misses (null) are not remembered.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class IdentityMap {
+
+    /**
+     * Loaded entities, by key.
+     */
+    private final Map<String, Object> entities = new ConcurrentHashMap<>();
+
+    /**
+     * Get the entity with the given key, loading it if it's
+     * not already in the map.
+     * @param key Key of the entity.
+     * @param loader Loads the entity from the Storage.
+     * @param <T> Type of the entity.
+     * @return Entity or null if the loader doesn't find it.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T load(final String key, final Supplier<T> loader) {
+        final String lower = key.toLowerCase();
+        T entity = (T) this.entities.get(lower);
+        if(entity == null) {
+            entity = loader.get();
+            if(entity != null) {
+                this.entities.put(lower, entity);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Iterate over the items of a view, reading them from the Storage only
+     * the first time.
+     * @param key Key of the view.
+     * @param origin Original view.
+     * @param <T> Type of the items.
+     * @return Iterator over the remembered items.
+     */
+    <T> Iterator<T> items(final String key, final Iterable<T> origin) {
+        return this.items(key, origin, UnaryOperator.identity());
+    }
+
+    /**
+     * Iterate over the items of a view, reading them from the Storage only
+     * the first time.
+     * @param key Key of the view.
+     * @param origin Original view.
+     * @param wrap Wraps each item (e.g. so its writes are seen by the unit).
+     * @param <T> Type of the items.
+     * @return Iterator over the remembered items.
+     */
+    <T> Iterator<T> items(
+        final String key,
+        final Iterable<T> origin,
+        final UnaryOperator<T> wrap
+    ) {
+        final List<T> items = this.load(
+            key + ":items",
+            () -> {
+                final List<T> read = new ArrayList<>();
+                for(final T item : origin) {
+                    read.add(wrap.apply(item));
+                }
+                return Collections.unmodifiableList(read);
+            }
+        );
+        return items.iterator();
+    }
+
+    /**
+     * Forget all the loaded entities. Called after each write, since
+     * we cannot tell which of the loaded entities are affected by it.
+     */
+    void clear() {
+        this.entities.clear();
+    }
+
+    /**
+     * How many entities are in the map?
+     * @return Integer.
+     */
+    int size() {
+        return this.entities.size();
+    }
+}
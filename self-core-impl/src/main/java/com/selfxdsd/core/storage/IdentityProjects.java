@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.storage.Paged;
+
+import java.util.Iterator;
+
+/**
+ * Projects within a {@link UnitOfWork}. Each Project is loaded at most once.
+ * The subsets (assignedTo, ownedBy, page) are not remembered, since a
+ * Project which is found in all the Projects might not be in the subset.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class IdentityProjects implements Projects {
+
+    /**
+     * Original Projects.
+     */
+    private final Projects origin;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Projects.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityProjects(final Projects origin, final IdentityMap map) {
+        this.origin = origin;
+        this.map = map;
+    }
+
+    @Override
+    public Project register(
+        final Repo repo,
+        final ProjectManager manager,
+        final String webHookToken
+    ) {
+        this.map.clear();
+        return this.origin.register(repo, manager, webHookToken);
+    }
+
+    @Override
+    public Projects assignedTo(final int projectManagerId) {
+        return this.origin.assignedTo(projectManagerId);
+    }
+
+    @Override
+    public Projects ownedBy(final User user) {
+        return this.origin.ownedBy(user);
+    }
+
+    @Override
+    public Project getProjectById(
+        final String repoFullName,
+        final String repoProvider
+    ) {
+        return this.map.load(
+            "projects:" + repoProvider + ":" + repoFullName,
+            () -> this.origin.getProjectById(repoFullName, repoProvider)
+        );
+    }
+
+    @Override
+    public Projects page(final Paged.Page page) {
+        return this.origin.page(page);
+    }
+
+    @Override
+    public void remove(final Project project) {
+        this.map.clear();
+        this.origin.remove(project);
+    }
+
+    @Override
+    public Project rename(final Project project, final String newName) {
+        this.map.clear();
+        return this.origin.rename(project, newName);
+    }
+
+    @Override
+    public Page current() {
+        return this.origin.current();
+    }
+
+    @Override
+    public int totalPages() {
+        return this.origin.totalPages();
+    }
+
+    @Override
+    public Iterator<Project> iterator() {
+        return this.map.items("projects", this.origin);
+    }
+}
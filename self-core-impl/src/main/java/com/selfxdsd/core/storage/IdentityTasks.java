@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Tasks within a {@link UnitOfWork}. Each Task and each view (Tasks of a
+ * Project, of a Contributor, of a Contract, unassigned), together with
+ * its Tasks, is loaded at most once. The Tasks are handed out as
+ * {@link UnitTask}, so their writes are seen by the unit as well.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class IdentityTasks implements Tasks {
+
+    /**
+     * Original Tasks.
+     */
+    private final Tasks origin;
+
+    /**
+     * Scope of these Tasks (all, of a project, of a contract etc).
+     */
+    private final String scope;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Tasks.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityTasks(final Tasks origin, final IdentityMap map) {
+        this(origin, "tasks", map);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Original Tasks.
+     * @param scope Scope of these Tasks.
+     * @param map Identity map of the unit of work.
+     */
+    IdentityTasks(
+        final Tasks origin,
+        final String scope,
+        final IdentityMap map
+    ) {
+        this.origin = origin;
+        this.scope = scope;
+        this.map = map;
+    }
+
+    @Override
+    public Task getById(
+        final String issueId,
+        final String repoFullName,
+        final String provider,
+        final boolean isPullRequest
+    ) {
+        return this.map.load(
+            this.scope + ":id:" + provider + ":" + repoFullName
+            + ":" + issueId + ":" + isPullRequest,
+            () -> UnitTask.wrap(
+                this.origin.getById(
+                    issueId, repoFullName, provider, isPullRequest
+                ),
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Task register(final Issue issue) {
+        this.map.clear();
+        return UnitTask.wrap(this.origin.register(issue), this.map);
+    }
+
+    @Override
+    public Task assign(
+        final Task task,
+        final Contract contract,
+        final int days
+    ) {
+        this.map.clear();
+        return UnitTask.wrap(
+            this.origin.assign(task, contract, days), this.map
+        );
+    }
+
+    @Override
+    public Task unassign(final Task task) {
+        this.map.clear();
+        return UnitTask.wrap(this.origin.unassign(task), this.map);
+    }
+
+    @Override
+    public List<Task> unassignAll(final List<Task> tasks) {
+        this.map.clear();
+        final List<Task> unassigned = new ArrayList<>();
+        for(final Task task : this.origin.unassignAll(tasks)) {
+            unassigned.add(UnitTask.wrap(task, this.map));
+        }
+        return unassigned;
+    }
+
+    @Override
+    public Task updateEstimation(final Task task, final int estimation) {
+        this.map.clear();
+        return UnitTask.wrap(
+            this.origin.updateEstimation(task, estimation), this.map
+        );
+    }
+
+    @Override
+    public Tasks ofProject(
+        final String repoFullName,
+        final String repoProvider
+    ) {
+        final String view = this.scope + ":project:"
+            + repoProvider + ":" + repoFullName;
+        return this.map.load(
+            view,
+            () -> new IdentityTasks(
+                this.origin.ofProject(repoFullName, repoProvider),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Tasks ofContributor(
+        final String username,
+        final String provider
+    ) {
+        final String view = this.scope + ":contributor:"
+            + provider + ":" + username;
+        return this.map.load(
+            view,
+            () -> new IdentityTasks(
+                this.origin.ofContributor(username, provider),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Tasks ofContract(final Contract.Id id) {
+        final String view = this.scope + ":contract:" + id;
+        return this.map.load(
+            view,
+            () -> new IdentityTasks(
+                this.origin.ofContract(id),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public Tasks unassigned() {
+        final String view = this.scope + ":unassigned";
+        return this.map.load(
+            view,
+            () -> new IdentityTasks(
+                this.origin.unassigned(),
+                view,
+                this.map
+            )
+        );
+    }
+
+    @Override
+    public boolean remove(final Task task) {
+        this.map.clear();
+        return this.origin.remove(task);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return this.map.items(
+            this.scope, this.origin, task -> UnitTask.wrap(task, this.map)
+        );
+    }
+}
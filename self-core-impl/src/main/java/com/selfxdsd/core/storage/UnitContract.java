@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Contract loaded within a {@link UnitOfWork}. Its writes (and the writes
+ * made through its Tasks and Invoices) still go to the Contract's own
+ * Storage, but afterwards the unit forgets everything it loaded.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class UnitContract implements Contract {
+
+    /**
+     * Original Contract.
+     */
+    private final Contract origin;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Contract.
+     * @param map Identity map of the unit of work.
+     */
+    UnitContract(final Contract origin, final IdentityMap map) {
+        this.origin = origin;
+        this.map = map;
+    }
+
+    /**
+     * Wrap a Contract, if there is one.
+     * @param contract Contract or null.
+     * @param map Identity map of the unit of work.
+     * @return UnitContract or null.
+     */
+    static Contract wrap(final Contract contract, final IdentityMap map) {
+        final Contract wrapped;
+        if(contract == null || contract instanceof UnitContract) {
+            wrapped = contract;
+        } else {
+            wrapped = new UnitContract(contract, map);
+        }
+        return wrapped;
+    }
+
+    @Override
+    public Id contractId() {
+        return this.origin.contractId();
+    }
+
+    @Override
+    public Project project() {
+        return this.origin.project();
+    }
+
+    @Override
+    public Contributor contributor() {
+        return this.origin.contributor();
+    }
+
+    @Override
+    public BigDecimal hourlyRate() {
+        return this.origin.hourlyRate();
+    }
+
+    @Override
+    public String role() {
+        return this.origin.role();
+    }
+
+    @Override
+    public Invoices invoices() {
+        return new UnitInvoices(this.origin.invoices(), this.map);
+    }
+
+    @Override
+    public Tasks tasks() {
+        return new IdentityTasks(
+            this.origin.tasks(),
+            "contract-tasks:" + this.origin.contractId(),
+            this.map
+        );
+    }
+
+    @Override
+    public BigDecimal value() {
+        return this.origin.value();
+    }
+
+    @Override
+    public BigDecimal revenue() {
+        return this.origin.revenue();
+    }
+
+    @Override
+    public LocalDateTime markedForRemoval() {
+        return this.origin.markedForRemoval();
+    }
+
+    @Override
+    public Contract update(final BigDecimal hourlyRate) {
+        final Contract updated = this.origin.update(hourlyRate);
+        this.map.clear();
+        return UnitContract.wrap(updated, this.map);
+    }
+
+    @Override
+    public Contract markForRemoval() {
+        final Contract marked = this.origin.markForRemoval();
+        this.map.clear();
+        return UnitContract.wrap(marked, this.map);
+    }
+
+    @Override
+    public Contract restore() {
+        final Contract restored = this.origin.restore();
+        this.map.clear();
+        return UnitContract.wrap(restored, this.map);
+    }
+
+    @Override
+    public void remove() {
+        this.origin.remove();
+        this.map.clear();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this.origin.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.origin.hashCode();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Invoices;
+import com.selfxdsd.api.Payment;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * Invoices within a {@link UnitOfWork}. After an Invoice is created or
+ * paid, the unit forgets everything it loaded.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class UnitInvoices implements Invoices {
+
+    /**
+     * Original Invoices.
+     */
+    private final Invoices origin;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Invoices.
+     * @param map Identity map of the unit of work.
+     */
+    UnitInvoices(final Invoices origin, final IdentityMap map) {
+        this.origin = origin;
+        this.map = map;
+    }
+
+    @Override
+    public Invoice getById(final int id) {
+        return this.origin.getById(id);
+    }
+
+    @Override
+    public Invoice createNewInvoice(final Contract.Id contractId) {
+        final Invoice created = this.origin.createNewInvoice(contractId);
+        this.map.clear();
+        return created;
+    }
+
+    @Override
+    public Invoice active() {
+        return this.origin.active();
+    }
+
+    @Override
+    public Invoices ofContract(final Contract.Id id) {
+        return new UnitInvoices(this.origin.ofContract(id), this.map);
+    }
+
+    @Override
+    public Payment registerAsPaid(
+        final Invoice invoice,
+        final BigDecimal contributorVat,
+        final BigDecimal eurToRon
+    ) {
+        final Payment payment = this.origin.registerAsPaid(
+            invoice, contributorVat, eurToRon
+        );
+        this.map.clear();
+        return payment;
+    }
+
+    @Override
+    public Iterator<Invoice> iterator() {
+        return this.origin.iterator();
+    }
+}
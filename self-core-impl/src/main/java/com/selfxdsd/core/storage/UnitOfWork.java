@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.storage.JsonStorage;
+import com.selfxdsd.api.storage.Storage;
+
+/**
+ * Unit of work over Self's Storage. It should live for as long
+ * as one Event is resolved: within it, the same ProjectManager, Project,
+ * Contract, Contributor or Task is loaded only once, no matter how many
+ * times it is asked for.<br><br>
+ *
+ * Writes go straight to the original Storage, since the Storage API
+ * returns the written entities. After each write, the unit forgets
+ * everything it loaded, so it never hands out stale entities.<br><br>
+ *
+ * The views (e.g. the Tasks of a Project) are also read only once, with
+ * their items. Tasks and Contracts are handed out wrapped, so the writes
+ * made through them (e.g. task.assign(...), task.resignations().register(...)
+ * or contract.invoices().createNewInvoice(...)) also make the unit forget
+ * what it loaded, even though they go to the Storage the entities were
+ * built with. Writes made outside the unit (e.g. by another process) are
+ * not seen, so keep it short-lived: one Event.<br><br>
+ *
+ * Closing the unit does NOT close the original Storage, which
+ * outlives it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class UnitOfWork implements Storage {
+
+    /**
+     * Original Storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Entities loaded within this unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Storage.
+     */
+    public UnitOfWork(final Storage origin) {
+        this.origin = origin;
+        this.map = new IdentityMap();
+    }
+
+    @Override
+    public Users users() {
+        return this.origin.users();
+    }
+
+    @Override
+    public ProjectManagers projectManagers() {
+        return new IdentityProjectManagers(
+            this.origin.projectManagers(),
+            this.map
+        );
+    }
+
+    @Override
+    public Projects projects() {
+        return new IdentityProjects(this.origin.projects(), this.map);
+    }
+
+    @Override
+    public Wallets wallets() {
+        return this.origin.wallets();
+    }
+
+    @Override
+    public Contracts contracts() {
+        return new IdentityContracts(this.origin.contracts(), this.map);
+    }
+
+    @Override
+    public Invoices invoices() {
+        return new UnitInvoices(this.origin.invoices(), this.map);
+    }
+
+    @Override
+    public InvoicedTasks invoicedTasks() {
+        return this.origin.invoicedTasks();
+    }
+
+    @Override
+    public Contributors contributors() {
+        return new IdentityContributors(
+            this.origin.contributors(),
+            this.map
+        );
+    }
+
+    @Override
+    public Tasks tasks() {
+        return new IdentityTasks(this.origin.tasks(), this.map);
+    }
+
+    @Override
+    public Resignations resignations() {
+        return new UnitResignations(this.origin.resignations(), this.map);
+    }
+
+    @Override
+    public PayoutMethods payoutMethods() {
+        return this.origin.payoutMethods();
+    }
+
+    @Override
+    public PaymentMethods paymentMethods() {
+        return this.origin.paymentMethods();
+    }
+
+    @Override
+    public PlatformInvoices platformInvoices() {
+        return this.origin.platformInvoices();
+    }
+
+    @Override
+    public ApiTokens apiTokens() {
+        return this.origin.apiTokens();
+    }
+
+    @Override
+    public Payments payments() {
+        return this.origin.payments();
+    }
+
+    @Override
+    public JsonStorage jsonStorage() {
+        return this.origin.jsonStorage();
+    }
+
+    /**
+     * How many entities were loaded (and are remembered) in this unit?
+     * @return Integer.
+     */
+    public int loaded() {
+        return this.map.size();
+    }
+
+    /**
+     * End the unit of work: forget everything that was loaded.
+     * The original Storage is NOT closed.
+     */
+    @Override
+    public void close() {
+        this.map.clear();
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Task loaded within a {@link UnitOfWork}. Its writes still go to the
+ * Task's own Storage, but afterwards the unit forgets everything it
+ * loaded, same as it does for writes made through the unit itself.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+final class UnitTask implements Task {
+
+    /**
+     * Original Task.
+     */
+    private final Task origin;
+
+    /**
+     * Identity map of the unit of work.
+     */
+    private final IdentityMap map;
+
+    /**
+     * Ctor.
+     * @param origin Original Task.
+     * @param map Identity map of the unit of work.
+     */
+    UnitTask(final Task origin, final IdentityMap map) {
+        this.origin = origin;
+        this.map = map;
+    }
+
+    /**
+     * Wrap a Task, if there is one.
+     * @param task Task or null.
+     * @param map Identity map of the unit of work.
+     * @return UnitTask or null.
+     */
+    static Task wrap(final Task task, final IdentityMap map) {
+        final Task wrapped;
+        if(task == null || task instanceof UnitTask) {
+            wrapped = task;
+        } else {
+            wrapped = new UnitTask(task, map);
+        }
+        return wrapped;
+    }
+
+    @Override
+    public String issueId() {
+        return this.origin.issueId();
+    }
+
+    @Override
+    public String role() {
+        return this.origin.role();
+    }
+
+    @Override
+    public Issue issue() {
+        return this.origin.issue();
+    }
+
+    @Override
+    public Project project() {
+        return this.origin.project();
+    }
+
+    @Override
+    public Contributor assignee() {
+        return this.origin.assignee();
+    }
+
+    @Override
+    public Contract contract() {
+        return UnitContract.wrap(this.origin.contract(), this.map);
+    }
+
+    @Override
+    public Task assign(final Contributor contributor) {
+        final Task assigned = this.origin.assign(contributor);
+        this.map.clear();
+        return UnitTask.wrap(assigned, this.map);
+    }
+
+    @Override
+    public Task unassign() {
+        final Task unassigned = this.origin.unassign();
+        this.map.clear();
+        return UnitTask.wrap(unassigned, this.map);
+    }
+
+    @Override
+    public Resignations resignations() {
+        return new UnitResignations(this.origin.resignations(), this.map);
+    }
+
+    @Override
+    public LocalDateTime assignmentDate() {
+        return this.origin.assignmentDate();
+    }
+
+    @Override
+    public LocalDateTime deadline() {
+        return this.origin.deadline();
+    }
+
+    @Override
+    public BigDecimal value() {
+        return this.origin.value();
+    }
+
+    @Override
+    public int estimation() {
+        return this.origin.estimation();
+    }
+
+    @Override
+    public Task updateEstimation(final int estimation) {
+        final Task updated = this.origin.updateEstimation(estimation);
+        this.map.clear();
+        return UnitTask.wrap(updated, this.map);
+    }
+
+    @Override
+    public boolean isPullRequest() {
+        return this.origin.isPullRequest();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this.origin.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.origin.hashCode();
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.tasks;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Task;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Deadlines and deadline reminders of the assigned Tasks, per Project,
+ * ordered by time. The assigned Tasks sweep only has to visit the Tasks
+ * whose alarm went off, instead of looking at every assigned Task.<br><br>
+ *
+ * Each assigned Task has two alarms: the reminder, at half the time
+ * between its assignment and its deadline, and the deadline itself
+ * (one minute after it, when it counts as missed).
+ * An alarm goes off only once. Cancelled or rescheduled alarms are not
+ * searched for in the queue; they are dropped when they come up.<br><br>
+ *
+ * The alarms are kept in memory, so a Project has to be primed (all its
+ * assigned Tasks scheduled) before its alarms can be trusted. Tasks can
+ * be assigned by another process too, so the sweeps of a primed Project
+ * schedule its assigned Tasks again, as read from Storage; the ones
+ * already scheduled are left as they are.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class Deadlines {
+
+    /**
+     * Alarms, per Project.
+     */
+    private final Map<String, Queue<Alarm>> alarms;
+
+    /**
+     * Scheduled deadline, per Task.
+     */
+    private final Map<TaskId, LocalDateTime> scheduled;
+
+    /**
+     * Primed Projects.
+     */
+    private final Set<String> primed;
+
+    /**
+     * Lock.
+     */
+    private final Object lock;
+
+    /**
+     * Ctor.
+     */
+    public Deadlines() {
+        this.alarms = new HashMap<>();
+        this.scheduled = new HashMap<>();
+        this.primed = new HashSet<>();
+        this.lock = new Object();
+    }
+
+    /**
+     * Schedule the alarms of an assigned Task. Nothing happens if its
+     * deadline is already scheduled. Alarms which are not after the given
+     * time are not scheduled anymore, the caller is handling them.
+     * @param task Id of the Task.
+     * @param assigned Assigned Task.
+     * @param after Time after which the alarms are scheduled.
+     */
+    public void schedule(
+        final TaskId task,
+        final Task assigned,
+        final LocalDateTime after
+    ) {
+        final LocalDateTime deadline = assigned.deadline();
+        final LocalDateTime assignment = assigned.assignmentDate();
+        if(deadline != null && assignment != null) {
+            final int time = Period.between(
+                assignment.toLocalDate(),
+                deadline.toLocalDate()
+            ).getDays();
+            final LocalDateTime reminder = deadline.toLocalDate()
+                .minusDays(time / 2)
+                .atStartOfDay();
+            synchronized (this.lock) {
+                final LocalDateTime previous = this.scheduled.put(
+                    task, deadline
+                );
+                if(!deadline.equals(previous)) {
+                    final Queue<Alarm> queue = this.alarms.computeIfAbsent(
+                        task.project(),
+                        project -> new PriorityQueue<>(
+                            Comparator.comparing(alarm -> alarm.time)
+                        )
+                    );
+                    if(reminder.isAfter(after)) {
+                        queue.add(new Alarm(task, reminder, deadline));
+                    }
+                    queue.add(
+                        new Alarm(task, deadline.plusMinutes(1), deadline)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel the alarms of a Task, because it was unassigned.
+     * @param task Id of the Task.
+     */
+    public void cancel(final TaskId task) {
+        synchronized (this.lock) {
+            this.scheduled.remove(task);
+        }
+    }
+
+    /**
+     * Tasks of a Project whose alarms went off until the given time. Each
+     * alarm is given only once.
+     * @param project Project.
+     * @param now Current time.
+     * @return Ids of the Tasks, in the order of their alarms.
+     */
+    public List<TaskId> due(final Project project, final LocalDateTime now) {
+        final Set<TaskId> due = new LinkedHashSet<>();
+        synchronized (this.lock) {
+            final Queue<Alarm> queue = this.alarms.get(
+                TaskId.project(project.provider(), project.repoFullName())
+            );
+            while(queue != null && !queue.isEmpty()
+                && !queue.peek().time.isAfter(now)) {
+                final Alarm alarm = queue.poll();
+                if(alarm.deadline.equals(this.scheduled.get(alarm.task))) {
+                    due.add(alarm.task);
+                }
+            }
+        }
+        return new ArrayList<>(due);
+    }
+
+    /**
+     * Were all the assigned Tasks of the Project scheduled?
+     * @param project Project.
+     * @return True or false.
+     */
+    public boolean primed(final Project project) {
+        synchronized (this.lock) {
+            return this.primed.contains(
+                TaskId.project(project.provider(), project.repoFullName())
+            );
+        }
+    }
+
+    /**
+     * All the assigned Tasks of the Project were scheduled.
+     * @param project Project.
+     */
+    public void prime(final Project project) {
+        synchronized (this.lock) {
+            this.primed.add(
+                TaskId.project(project.provider(), project.repoFullName())
+            );
+        }
+    }
+
+    /**
+     * An Event which brings the Deadlines kept by the sweeps. The sweeps
+     * outlive the PMs, which are read again from Storage, so the PMs use
+     * these Deadlines instead of their own.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.99
+     */
+    public interface Carrier {
+
+        /**
+         * Deadlines kept by the sweeps.
+         * @return Deadlines or null if there are none.
+         */
+        Deadlines deadlines();
+    }
+
+    /**
+     * An alarm of a Task.
+     */
+    private static final class Alarm {
+
+        /**
+         * Id of the Task.
+         */
+        private final TaskId task;
+
+        /**
+         * When does it go off?
+         */
+        private final LocalDateTime time;
+
+        /**
+         * Deadline for which it was scheduled. If the Task was cancelled
+         * or rescheduled since, the alarm is stale.
+         */
+        private final LocalDateTime deadline;
+
+        /**
+         * Ctor.
+         * @param task Id of the Task.
+         * @param time When does it go off?
+         * @param deadline Deadline for which it was scheduled.
+         */
+        Alarm(
+            final TaskId task,
+            final LocalDateTime time,
+            final LocalDateTime deadline
+        ) {
+            this.task = task;
+            this.time = time;
+            this.deadline = deadline;
+        }
+    }
+}
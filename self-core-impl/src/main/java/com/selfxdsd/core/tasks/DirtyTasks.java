@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.tasks;
+
+import com.selfxdsd.api.Project;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which Tasks changed since a sweep last visited them, so the
+ * sweeps don't have to fetch the Issue of every Task each time.<br><br>
+ *
+ * A Task is marked as changed when a webhook event about its Issue is
+ * resolved. The sweeps' own calls to the provider don't mark anything.
+ * Until a Project is primed (fully swept once), all its Tasks count as
+ * changed.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public interface DirtyTasks {
+
+    /**
+     * Mark a Task as changed.
+     * @param task Id of the Task.
+     */
+    void mark(final TaskId task);
+
+    /**
+     * A sweep visited the Task. Changes which came in after the visit
+     * started are kept.
+     * @param task Id of the Task.
+     * @param time Time when the visit started.
+     */
+    void visited(final TaskId task, final LocalDateTime time);
+
+    /**
+     * Tasks of a Project which changed since their last visit.
+     * @param project Project.
+     * @return Ids of the changed Tasks.
+     */
+    List<TaskId> changed(final Project project);
+
+    /**
+     * Was the Project fully swept at least once? If not, all its Tasks
+     * count as changed and the changed ones are not known.
+     * @param project Project.
+     * @return True or false.
+     */
+    boolean primed(final Project project);
+
+    /**
+     * The Project was fully swept.
+     * @param project Project.
+     * @param time Time when the full sweep started.
+     */
+    void prime(final Project project, final LocalDateTime time);
+
+    /**
+     * DirtyTasks shared by the webhook events and the PMs.
+     * @return DirtyTasks.
+     */
+    static DirtyTasks shared() {
+        return InMemory.SHARED;
+    }
+
+    /**
+     * No tracking: no Project is ever primed, so the sweeps visit every
+     * Task.
+     */
+    final class All implements DirtyTasks {
+
+        @Override
+        public void mark(final TaskId task) {
+            //nothing to track.
+        }
+
+        @Override
+        public void visited(final TaskId task, final LocalDateTime time) {
+            //nothing to track.
+        }
+
+        @Override
+        public List<TaskId> changed(final Project project) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean primed(final Project project) {
+            return false;
+        }
+
+        @Override
+        public void prime(final Project project, final LocalDateTime time) {
+            //nothing to track.
+        }
+    }
+
+    /**
+     * DirtyTasks kept in memory. The changes are bounded: once too many of
+     * them pile up (e.g. webhooks of Issues which are never swept), a new
+     * change is not kept anymore; instead, its Project is flagged for a
+     * full sweep and counts as not primed until a full sweep which started
+     * after the change is done. The other Projects are not affected.
+     */
+    final class InMemory implements DirtyTasks {
+
+        /**
+         * Default max number of changes kept.
+         */
+        private static final int DEFAULT_MAX = 100_000;
+
+        /**
+         * Instance shared within the JVM.
+         */
+        private static final DirtyTasks SHARED = new InMemory();
+
+        /**
+         * Time of the last change, per Task.
+         */
+        private final Map<TaskId, LocalDateTime> changes;
+
+        /**
+         * Primed Projects and the start of their last full sweep.
+         */
+        private final Map<String, LocalDateTime> primed;
+
+        /**
+         * Projects flagged for a full sweep and the time of the change
+         * which could not be kept.
+         */
+        private final Map<String, LocalDateTime> full;
+
+        /**
+         * Clock.
+         */
+        private final Supplier<LocalDateTime> now;
+
+        /**
+         * Max number of changes kept.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         */
+        public InMemory() {
+            this(LocalDateTime::now);
+        }
+
+        /**
+         * Ctor.
+         * @param now Clock, it should be the same as the sweeps' clock.
+         */
+        public InMemory(final Supplier<LocalDateTime> now) {
+            this(now, DEFAULT_MAX);
+        }
+
+        /**
+         * Ctor.
+         * @param now Clock, it should be the same as the sweeps' clock.
+         * @param max Max number of changes kept.
+         */
+        public InMemory(final Supplier<LocalDateTime> now, final int max) {
+            this.changes = new ConcurrentHashMap<>();
+            this.primed = new ConcurrentHashMap<>();
+            this.full = new ConcurrentHashMap<>();
+            this.now = now;
+            this.max = max;
+        }
+
+        @Override
+        public void mark(final TaskId task) {
+            final LocalDateTime time = this.now.get();
+            if(this.changes.size() >= this.max
+                && !this.changes.containsKey(task)) {
+                this.full.put(task.project(), time);
+            } else {
+                this.changes.put(task, time);
+            }
+        }
+
+        @Override
+        public void visited(final TaskId task, final LocalDateTime time) {
+            this.changes.computeIfPresent(
+                task,
+                (changed, when) -> {
+                    final LocalDateTime kept;
+                    if(when.isBefore(time)) {
+                        kept = null;
+                    } else {
+                        kept = when;
+                    }
+                    return kept;
+                }
+            );
+        }
+
+        @Override
+        public List<TaskId> changed(final Project project) {
+            final List<TaskId> changed = new ArrayList<>();
+            for(final TaskId task : this.changes.keySet()) {
+                if(task.of(project)) {
+                    changed.add(task);
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean primed(final Project project) {
+            final String key = TaskId.project(
+                project.provider(), project.repoFullName()
+            );
+            final LocalDateTime swept = this.primed.get(key);
+            final LocalDateTime flagged = this.full.get(key);
+            return swept != null
+                && (flagged == null || flagged.isBefore(swept));
+        }
+
+        @Override
+        public void prime(final Project project, final LocalDateTime time) {
+            final String key = TaskId.project(
+                project.provider(), project.repoFullName()
+            );
+            this.primed.put(key, time);
+            this.full.computeIfPresent(
+                key,
+                (flagged, when) -> {
+                    final LocalDateTime kept;
+                    if(when.isBefore(time)) {
+                        kept = null;
+                    } else {
+                        kept = when;
+                    }
+                    return kept;
+                }
+            );
+        }
+    }
+}
@@ -75,6 +75,13 @@ public final class StoredTask implements Task {
      */
     private final Storage storage;
 
+    /**
+     * The Issue, read only once for this Task. Within a unit of work the
+     * same Task instance is handed out, so its Issue is also read once
+     * per Event or sweep.
+     */
+    private Issue issue;
+
     /**
      * Constructor for an unassigned task.
      * @param project Project.
@@ -132,28 +139,31 @@ public final class StoredTask implements Task {
     }
 
     @Override
-    public Issue issue() {
-        final Project project = this.contract.project();
-        final String repoFullName = project.repoFullName();
-        final Issues issues;
-        if(this.isPullRequest) {
-            issues = project
-                .projectManager()
-                .provider()
-                .repo(
-                    repoFullName.substring(0, repoFullName.indexOf("/")),
-                    repoFullName.substring(repoFullName.indexOf("/") + 1)
-                ).pullRequests();
-        } else {
-            issues = project
-                .projectManager()
-                .provider()
-                .repo(
-                    repoFullName.substring(0, repoFullName.indexOf("/")),
-                    repoFullName.substring(repoFullName.indexOf("/") + 1)
-                ).issues();
+    public synchronized Issue issue() {
+        if(this.issue == null) {
+            final Project project = this.contract.project();
+            final String repoFullName = project.repoFullName();
+            final Issues issues;
+            if(this.isPullRequest) {
+                issues = project
+                    .projectManager()
+                    .provider()
+                    .repo(
+                        repoFullName.substring(0, repoFullName.indexOf("/")),
+                        repoFullName.substring(repoFullName.indexOf("/") + 1)
+                    ).pullRequests();
+            } else {
+                issues = project
+                    .projectManager()
+                    .provider()
+                    .repo(
+                        repoFullName.substring(0, repoFullName.indexOf("/")),
+                        repoFullName.substring(repoFullName.indexOf("/") + 1)
+                    ).issues();
+            }
+            this.issue = issues.getById(this.issueId);
         }
-        return issues.getById(this.issueId);
+        return this.issue;
     }
 
     @Override
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.tasks;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.api.Tasks;
+
+import java.util.Locale;
+
+/**
+ * Identifies a Task by its Issue, without loading it. Issues and Pull
+ * Requests are numbered separately on some providers, so the kind is
+ * part of the id.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class TaskId {
+
+    /**
+     * Provider name.
+     */
+    private final String provider;
+
+    /**
+     * Full name of the repo.
+     */
+    private final String repoFullName;
+
+    /**
+     * Issue ID.
+     */
+    private final String issueId;
+
+    /**
+     * Is it a Pull Request?
+     */
+    private final boolean pullRequest;
+
+    /**
+     * Ctor.
+     * @param project Project of the Task.
+     * @param task Task.
+     */
+    public TaskId(final Project project, final Task task) {
+        this(
+            project.provider(),
+            project.repoFullName(),
+            task.issueId(),
+            task.isPullRequest()
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param provider Provider name.
+     * @param repoFullName Full name of the repo.
+     * @param issueId Issue ID.
+     * @param pullRequest Is it a Pull Request?
+     */
+    public TaskId(
+        final String provider,
+        final String repoFullName,
+        final String issueId,
+        final boolean pullRequest
+    ) {
+        this.provider = provider;
+        this.repoFullName = repoFullName;
+        this.issueId = issueId;
+        this.pullRequest = pullRequest;
+    }
+
+    /**
+     * Is this the id of a Task from the given Project?
+     * @param project Project.
+     * @return True or false.
+     */
+    public boolean of(final Project project) {
+        return this.project().equals(
+            TaskId.project(project.provider(), project.repoFullName())
+        );
+    }
+
+    /**
+     * Key of this Task's Project.
+     * @return String.
+     */
+    String project() {
+        return TaskId.project(this.provider, this.repoFullName);
+    }
+
+    /**
+     * Key of a Project.
+     * @param provider Provider name.
+     * @param repoFullName Full name of the repo.
+     * @return String.
+     */
+    static String project(final String provider, final String repoFullName) {
+        return (provider + ":" + repoFullName).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Load the Task.
+     * @param tasks Tasks where to look.
+     * @return Task or null if it is not found.
+     */
+    public Task in(final Tasks tasks) {
+        return tasks.getById(
+            this.issueId,
+            this.repoFullName,
+            this.provider,
+            this.pullRequest
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof TaskId
+            && this.toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.toString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final String kind;
+        if(this.pullRequest) {
+            kind = "pr";
+        } else {
+            kind = "issue";
+        }
+        return (
+            this.provider + ":" + this.repoFullName + ":"
+            + kind + "#" + this.issueId
+        ).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link CachedStripe}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedStripeTestCase {
+
+    /**
+     * CachedStripe reads a Customer only once.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsCustomerOnce() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        final Customer customer = new Customer();
+        customer.setId("cus_123");
+        Mockito.when(origin.customer("cus_123")).thenReturn(customer);
+        final StripeGateway stripe = new CachedStripe(
+            "sk_test",
+            origin,
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, Instant::now)
+        );
+        MatcherAssert.assertThat(
+            stripe.customer("cus_123"),
+            Matchers.is(customer)
+        );
+        MatcherAssert.assertThat(
+            stripe.customer("cus_123"),
+            Matchers.is(customer)
+        );
+        Mockito.verify(origin, Mockito.times(1)).customer("cus_123");
+    }
+
+    /**
+     * CachedStripe reads an Account again after it expired.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsAccountAgainAfterItExpired() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        final Account account = new Account();
+        account.setId("acct_123");
+        Mockito.when(origin.account("acct_123")).thenReturn(account);
+        final AtomicReference<Instant> now = new AtomicReference<>(
+            Instant.now()
+        );
+        final StripeGateway stripe = new CachedStripe(
+            "sk_test",
+            origin,
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, now::get)
+        );
+        stripe.account("acct_123");
+        now.set(now.get().plusSeconds(30));
+        stripe.account("acct_123");
+        Mockito.verify(origin, Mockito.times(1)).account("acct_123");
+        now.set(now.get().plusSeconds(30));
+        stripe.account("acct_123");
+        Mockito.verify(origin, Mockito.times(2)).account("acct_123");
+    }
+
+    /**
+     * CachedStripe does not cache a new Account, since it is not active
+     * until the onboarding is done.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void doesNotCacheCreatedAccount() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        final Account created = new Account();
+        created.setId("acct_123");
+        final Account active = new Account();
+        active.setId("acct_123");
+        Mockito.when(
+            origin.createAccount(Mockito.any(AccountCreateParams.class))
+        ).thenReturn(created);
+        Mockito.when(origin.account("acct_123")).thenReturn(active);
+        final StripeGateway stripe = new CachedStripe(
+            "sk_test",
+            origin,
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, Instant::now)
+        );
+        MatcherAssert.assertThat(
+            stripe.createAccount(AccountCreateParams.builder().build()),
+            Matchers.is(created)
+        );
+        MatcherAssert.assertThat(
+            stripe.account("acct_123"),
+            Matchers.is(active)
+        );
+        Mockito.verify(origin, Mockito.times(1)).account("acct_123");
+    }
+
+    /**
+     * CachedStripe evicts the oldest objects when the cache is full.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void evictsOldestObjects() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        Mockito.when(origin.customer(Mockito.anyString()))
+            .thenReturn(new Customer());
+        final StripeGateway stripe = new CachedStripe(
+            "sk_test",
+            origin,
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, Instant::now)
+        );
+        stripe.customer("cus_1");
+        stripe.customer("cus_2");
+        stripe.customer("cus_3");
+        stripe.customer("cus_3");
+        stripe.customer("cus_1");
+        Mockito.verify(origin, Mockito.times(2)).customer("cus_1");
+        Mockito.verify(origin, Mockito.times(1)).customer("cus_3");
+    }
+
+    /**
+     * CachedStripe caches the created Customer and forgets it once it is
+     * deleted.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void forgetsDeletedCustomer() throws Exception {
+        final StripeGateway stripe = new CachedStripe(
+            "sk_test",
+            new InMemoryStripe(),
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, Instant::now)
+        );
+        final Customer created = stripe.createCustomer(
+            CustomerCreateParams.builder()
+                .setEmail("amihaiemil@gmail.com")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            stripe.customer(created.getId()),
+            Matchers.is(created)
+        );
+        stripe.deleteCustomer(created.getId());
+        try {
+            stripe.customer(created.getId());
+            Assert.fail("The deleted Customer should not be cached.");
+        } catch (final IllegalStateException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(),
+                Matchers.containsString(created.getId())
+            );
+        }
+    }
+
+    /**
+     * CachedStripe reads an invalidated Account again.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsInvalidatedAccountAgain() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        Mockito.when(origin.account("acct_123")).thenReturn(new Account());
+        final CachedStripe stripe = new CachedStripe(
+            "sk_test",
+            origin,
+            new CachedStripe.Cache(Duration.ofMinutes(1), 2, Instant::now)
+        );
+        stripe.account("acct_123");
+        stripe.invalidate("acct_123");
+        stripe.account("acct_123");
+        Mockito.verify(origin, Mockito.times(2)).account("acct_123");
+    }
+
+    /**
+     * CachedStripe does not share the objects read with another
+     * Stripe API key.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void doesNotShareObjectsBetweenKeys() throws Exception {
+        final StripeGateway origin = Mockito.mock(StripeGateway.class);
+        Mockito.when(origin.customer("cus_123")).thenReturn(new Customer());
+        final CachedStripe.Cache cache = new CachedStripe.Cache(
+            Duration.ofMinutes(1), 2, Instant::now
+        );
+        new CachedStripe("sk_test", origin, cache).customer("cus_123");
+        new CachedStripe("sk_live", origin, cache).customer("cus_123");
+        new CachedStripe("sk_test", origin, cache).customer("cus_123");
+        Mockito.verify(origin, Mockito.times(2)).customer("cus_123");
+    }
+}
@@ -23,6 +23,7 @@
 package com.selfxdsd.core;
 
 import com.selfxdsd.api.Invitation;
+import com.selfxdsd.api.Label;
 import com.selfxdsd.api.Labels;
 import com.selfxdsd.api.Repo;
 import org.hamcrest.MatcherAssert;
@@ -32,6 +33,9 @@ import org.mockito.Mockito;
 
 import javax.json.Json;
 import javax.json.JsonObject;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Unit tests for {@link CreateRepoLabels}.
@@ -90,11 +94,18 @@ public final class CreateRepoLabelsTestCase {
 
     /**
      * CreateRepoLabels can accept the original Invitation and create the
-     * labels in the Repo.
+     * labels which are missing from the Repo.
      */
     @Test
-    public void acceptsAndCreatesLabels() {
+    public void acceptsAndCreatesMissingLabels() {
+        final Label dev = Mockito.mock(Label.class);
+        Mockito.when(dev.name()).thenReturn("dev");
+        final Label bug = Mockito.mock(Label.class);
+        Mockito.when(bug.name()).thenReturn("bug");
         final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            List.of(dev, bug).iterator()
+        );
 
         final Repo repo = Mockito.mock(Repo.class);
         Mockito.when(repo.labels()).thenReturn(labels);
@@ -102,16 +113,59 @@ public final class CreateRepoLabelsTestCase {
         final Invitation origin = Mockito.mock(Invitation.class);
         Mockito.when(origin.repo()).thenReturn(repo);
 
-        final Invitation createRepoLabels = new CreateRepoLabels(origin);
+        final Invitation createRepoLabels = new CreateRepoLabels(
+            origin, Runnable::run
+        );
         createRepoLabels.accept();
 
         Mockito.verify(origin, Mockito.times(1)).accept();
         Mockito.verify(origin, Mockito.times(1)).repo();
         Mockito.verify(repo, Mockito.times(1)).labels();
+        Mockito.verify(labels, Mockito.times(1)).iterator();
+
+        for(final String estimation : CreateRepoLabels.ESTIMATIONS) {
+            Mockito.verify(labels, Mockito.times(1)).add(estimation);
+        }
+        for(final String role : CreateRepoLabels.ROLES) {
+            if("DEV".equals(role)) {
+                Mockito.verify(labels, Mockito.times(0)).add(role);
+            } else {
+                Mockito.verify(labels, Mockito.times(1)).add(role);
+            }
+        }
+    }
 
-        Mockito.verify(labels, Mockito.times(1))
-            .add(CreateRepoLabels.ESTIMATIONS);
-        Mockito.verify(labels, Mockito.times(1))
-            .add(CreateRepoLabels.ROLES);
+    /**
+     * CreateRepoLabels creates the labels at the same time.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void createsLabelsAtTheSameTime() throws Exception {
+        final int missing = CreateRepoLabels.ESTIMATIONS.length
+            + CreateRepoLabels.ROLES.length;
+        final CountDownLatch together = new CountDownLatch(missing);
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            List.<Label>of().iterator()
+        );
+        Mockito.when(labels.add(Mockito.anyString())).thenAnswer(
+            invocation -> {
+                together.countDown();
+                return together.await(5, TimeUnit.SECONDS);
+            }
+        );
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.when(repo.labels()).thenReturn(labels);
+        final Invitation origin = Mockito.mock(Invitation.class);
+        Mockito.when(origin.repo()).thenReturn(repo);
+
+        new CreateRepoLabels(origin).accept();
+
+        MatcherAssert.assertThat(
+            together.getCount(),
+            Matchers.equalTo(0L)
+        );
+        Mockito.verify(labels, Mockito.times(missing))
+            .add(Mockito.anyString());
     }
 }
@@ -22,16 +22,25 @@
  */
 package com.selfxdsd.core;
 
+import com.selfxdsd.api.CachedResource;
 import com.selfxdsd.api.Comment;
 import com.selfxdsd.api.Comments;
+import com.selfxdsd.api.storage.JsonStorage;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import javax.json.Json;
 import javax.json.JsonObject;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Unit tests for {@link DoNotRepeat}.
@@ -113,6 +122,157 @@ public final class DoNotRepeatTestCase {
         );
     }
 
+    /**
+     * DoNotRepeat lists the comments only once, to build its index in the
+     * JsonStorage. After that, it checks the index, even if it is another
+     * instance (e.g. while handling another Event).
+     */
+    @Test
+    public void listsCommentsOnlyOnce() {
+        final Comment newComment = this.mockComment("new comment");
+        final Comment received = this.mockComment("new comment");
+        final List<Comment> list = List.of(
+            this.mockComment("hello world"),
+            this.mockComment("hi")
+        );
+        final Comments origin = Mockito.mock(Comments.class);
+        Mockito.when(origin.iterator()).thenReturn(list.iterator());
+        Mockito.when(origin.post("new comment")).thenReturn(newComment);
+        Mockito.when(
+            origin.received(
+                Json.createObjectBuilder().add("body", "New Comment").build()
+            )
+        ).thenReturn(received);
+        final JsonStorage storage = new JsonStorage.InMemory();
+        final URI comments = URI.create(
+            "https://api.github.com/repos/john/test/issues/1/comments"
+        );
+        MatcherAssert.assertThat(
+            new DoNotRepeat(origin, comments, storage).post("new comment"),
+            Matchers.is(newComment)
+        );
+        MatcherAssert.assertThat(
+            new DoNotRepeat(origin, comments, storage).post("New Comment"),
+            Matchers.is(received)
+        );
+        new DoNotRepeat(origin, comments, storage).post("hello world");
+        Mockito.verify(origin, Mockito.times(1)).received(
+            Json.createObjectBuilder().add("body", "hello world").build()
+        );
+        Mockito.verify(origin, Mockito.times(1)).iterator();
+        Mockito.verify(origin, Mockito.times(1)).post(Mockito.anyString());
+    }
+
+    /**
+     * DoNotRepeat posts the comment, without listing the existing ones,
+     * if its index exists and the comment is not in it.
+     */
+    @Test
+    public void postsWithoutListingIfIndexed() {
+        final Comment first = this.mockComment("first");
+        final Comment second = this.mockComment("second");
+        final Comments origin = Mockito.mock(Comments.class);
+        Mockito.when(origin.iterator()).thenReturn(
+            List.<Comment>of().iterator()
+        );
+        Mockito.when(origin.post("first")).thenReturn(first);
+        Mockito.when(origin.post("second")).thenReturn(second);
+        final JsonStorage storage = new JsonStorage.InMemory();
+        final URI notes = URI.create(
+            "https://gitlab.com/api/v4/projects/john%2Ftest/issues/1/notes"
+        );
+        new DoNotRepeat(origin, notes, storage).post("first");
+        MatcherAssert.assertThat(
+            new DoNotRepeat(origin, notes, storage).post("second"),
+            Matchers.is(second)
+        );
+        Mockito.verify(origin, Mockito.times(1)).iterator();
+        Mockito.verify(origin, Mockito.times(2)).post(Mockito.anyString());
+        MatcherAssert.assertThat(
+            storage.getResource(URI.create(notes + "#posted"))
+                .asJsonObject()
+                .getJsonArray("hashes"),
+            Matchers.iterableWithSize(2)
+        );
+    }
+
+    /**
+     * DoNotRepeat lists the comments again once its index is older than
+     * the TTL, so a comment deleted on the Provider is posted again.
+     */
+    @Test
+    public void postsDeletedCommentAfterTtl() {
+        final Comment comment = this.mockComment("hello");
+        final Comments origin = Mockito.mock(Comments.class);
+        Mockito.when(origin.iterator()).thenReturn(
+            List.<Comment>of().iterator()
+        );
+        Mockito.when(origin.post("hello")).thenReturn(comment);
+        Mockito.when(
+            origin.received(Mockito.any(JsonObject.class))
+        ).thenReturn(comment);
+        final JsonStorage storage = new JsonStorage.InMemory();
+        final URI comments = URI.create("self:issues/1/comments");
+        final AtomicReference<Instant> now = new AtomicReference<>(
+            Instant.parse("2026-10-19T10:00:00Z")
+        );
+        final Duration ttl = Duration.ofHours(1);
+        new DoNotRepeat(origin, comments, storage, ttl, now::get)
+            .post("hello");
+        now.set(now.get().plus(Duration.ofMinutes(59)));
+        new DoNotRepeat(origin, comments, storage, ttl, now::get)
+            .post("hello");
+        Mockito.verify(origin, Mockito.times(1)).iterator();
+        Mockito.verify(origin, Mockito.times(1)).post("hello");
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+        new DoNotRepeat(origin, comments, storage, ttl, now::get)
+            .post("hello");
+        Mockito.verify(origin, Mockito.times(2)).iterator();
+        Mockito.verify(origin, Mockito.times(2)).post("hello");
+    }
+
+    /**
+     * DoNotRepeat stores only the hashes of the comments in its index,
+     * tagged with the ETag of the comments' listing.
+     */
+    @Test
+    public void keepsHashesAndListingEtag() {
+        final List<Comment> list = List.of(this.mockComment("hi"));
+        final Comments origin = Mockito.mock(Comments.class);
+        Mockito.when(origin.iterator()).thenReturn(list.iterator());
+        Mockito.when(origin.post("new")).thenReturn(this.mockComment("new"));
+        final JsonStorage storage = new JsonStorage.InMemory();
+        final URI comments = URI.create("self:issues/1/comments");
+        storage.storeResource(
+            comments,
+            new JsonResources.JsonResponse(
+                HttpURLConnection.HTTP_OK,
+                "[]",
+                Map.of("ETag", List.of("\"listing\""))
+            )
+        );
+        new DoNotRepeat(origin, comments, storage).post("new");
+        final CachedResource index = storage.getResource(
+            URI.create(comments + "#posted")
+        );
+        MatcherAssert.assertThat(
+            index.etag(),
+            Matchers.equalTo("\"listing\"")
+        );
+        MatcherAssert.assertThat(
+            index.asJsonObject().keySet(),
+            Matchers.containsInAnyOrder("built", "hashes")
+        );
+        MatcherAssert.assertThat(
+            index.asJsonObject().getJsonArray("hashes"),
+            Matchers.iterableWithSize(2)
+        );
+        MatcherAssert.assertThat(
+            index.body(),
+            Matchers.not(Matchers.containsString("hi"))
+        );
+    }
+
     /**
      * DoNotRepeat delegates comment receival to origin.
      */
@@ -143,6 +303,9 @@ public final class DoNotRepeatTestCase {
     public Comment mockComment(final String body) {
         final Comment comment = Mockito.mock(Comment.class);
         Mockito.when(comment.body()).thenReturn(body);
+        Mockito.when(comment.json()).thenReturn(
+            Json.createObjectBuilder().add("body", body).build()
+        );
         return comment;
     }
 }
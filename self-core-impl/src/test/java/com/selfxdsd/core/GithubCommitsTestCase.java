@@ -101,6 +101,96 @@ public final class GithubCommitsTestCase {
         );
     }
 
+    /**
+     * GithubCommits can return a Commit received in a push webhook, without
+     * fetching it. It is fetched, once, only for its JSON.
+     */
+    @Test
+    public void receivesPushedCommit() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder()
+                    .add("sha", "123")
+                    .add(
+                        "author",
+                        Json.createObjectBuilder()
+                            .add("login", "mihai")
+                    ).build()
+            )
+        );
+        final Commit received = new GithubCommits(
+            resources,
+            URI.create("http://localhost/repos/mihai/test/commits"),
+            Mockito.mock(Storage.class)
+        ).received(
+            Json.createObjectBuilder()
+                .add("id", "123")
+                .add(
+                    "author",
+                    Json.createObjectBuilder()
+                        .add("name", "Mihai")
+                        .add("username", "mihai")
+                ).build()
+        );
+        MatcherAssert.assertThat(received.shaRef(), Matchers.equalTo("123"));
+        MatcherAssert.assertThat(received.author(), Matchers.equalTo("mihai"));
+        MatcherAssert.assertThat(
+            received.comments(), Matchers.notNullValue()
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            received.json().getString("sha"), Matchers.equalTo("123")
+        );
+        MatcherAssert.assertThat(
+            received.json().getString("sha"), Matchers.equalTo("123")
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            resources.requests().first().getUri().toString(),
+            Matchers.equalTo("http://localhost/repos/mihai/test/commits/123")
+        );
+    }
+
+    /**
+     * A pushed Commit without the author's username is fetched for it.
+     */
+    @Test
+    public void fetchesPushedCommitAuthor() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder()
+                    .add("sha", "123")
+                    .add(
+                        "author",
+                        Json.createObjectBuilder()
+                            .add("login", "mihai")
+                    ).build()
+            )
+        );
+        final Commit received = new GithubCommits(
+            resources,
+            URI.create("http://localhost/repos/mihai/test/commits"),
+            Mockito.mock(Storage.class)
+        ).received(
+            Json.createObjectBuilder()
+                .add("id", "123")
+                .add(
+                    "author",
+                    Json.createObjectBuilder().add("name", "Mihai")
+                ).build()
+        );
+        MatcherAssert.assertThat(received.author(), Matchers.equalTo("mihai"));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
     /**
      * GithubCommit can return null if the commit is not found.
      */
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Comment;
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Label;
+import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.mock.MockJsonResources;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link GithubGraphqlIssue}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class GithubGraphqlIssueTestCase {
+
+    /**
+     * GithubGraphqlIssue reads its fields, role, labels and comments with
+     * one GraphQL query.
+     */
+    @Test
+    public void readsEverythingWithOneQuery() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                GithubGraphqlIssueTestCase.response()
+            )
+        );
+        final Issue issue = new GithubGraphqlIssue(
+            URI.create("https://api.github.com/repos/john/test/issues/5"),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(issue.issueId(), Matchers.equalTo("5"));
+        MatcherAssert.assertThat(
+            issue.repoFullName(), Matchers.equalTo("john/test")
+        );
+        MatcherAssert.assertThat(issue.author(), Matchers.equalTo("amihai"));
+        MatcherAssert.assertThat(issue.assignee(), Matchers.equalTo("vlad"));
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.FALSE));
+        MatcherAssert.assertThat(
+            issue.isPullRequest(), Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(
+            issue.role(), Matchers.equalTo(Contract.Roles.REV)
+        );
+        final List<String> labels = new ArrayList<>();
+        for(final Label label : issue.labels()) {
+            labels.add(label.name());
+        }
+        MatcherAssert.assertThat(
+            labels, Matchers.contains("bug", "REV")
+        );
+        final List<String> comments = new ArrayList<>();
+        for(final Comment comment : issue.comments()) {
+            comments.add(comment.author() + ": " + comment.body());
+        }
+        MatcherAssert.assertThat(
+            comments, Matchers.contains("ghost: First!", "vlad: On it.")
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        final MockJsonResources.MockRequest query = resources.requests()
+            .first();
+        MatcherAssert.assertThat(
+            query.getUri().toString(),
+            Matchers.equalTo("https://api.github.com/graphql")
+        );
+        MatcherAssert.assertThat(
+            query.getBody().asJsonObject().getJsonObject("variables"),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add("owner", "john")
+                    .add("name", "test")
+                    .add("number", 5)
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * GithubGraphqlIssue does not post a comment which is already among
+     * the queried comments.
+     */
+    @Test
+    public void doesNotRepeatQueriedComment() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                GithubGraphqlIssueTestCase.response()
+            )
+        );
+        final Comment posted = new GithubGraphqlIssue(
+            URI.create("https://api.github.com/repos/john/test/issues/5"),
+            Mockito.mock(Storage.class),
+            resources
+        ).comments().post("On it.");
+        MatcherAssert.assertThat(posted.commentId(), Matchers.equalTo("2"));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * GithubGraphqlIssue queries the Issue again after it changed.
+     */
+    @Test
+    public void queriesAgainAfterChange() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> {
+                final MockJsonResources.MockResource resource;
+                if(req.getUri().getPath().endsWith("/graphql")) {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        GithubGraphqlIssueTestCase.response()
+                    );
+                } else {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        JsonValue.EMPTY_JSON_OBJECT
+                    );
+                }
+                return resource;
+            }
+        );
+        final Issue issue = new GithubGraphqlIssue(
+            URI.create("https://api.github.com/repos/john/test/issues/5"),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.FALSE));
+        issue.close();
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.FALSE));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(3)
+        );
+        MatcherAssert.assertThat(
+            resources.requests().atIndex(1).getMethod(),
+            Matchers.equalTo("PATCH")
+        );
+    }
+
+    /**
+     * A received GithubGraphqlIssue reads its fields from the received
+     * JSON and only queries the labels and comments.
+     */
+    @Test
+    public void readsReceivedFieldsWithoutQuery() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                GithubGraphqlIssueTestCase.response()
+            )
+        );
+        final Issue issue = new GithubGraphqlIssue(
+            URI.create("https://api.github.com/repos/john/test/issues/5"),
+            Json.createObjectBuilder()
+                .add("number", 5)
+                .add("state", "closed")
+                .build(),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.TRUE));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            issue.labels(), Matchers.iterableWithSize(2)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * GraphQL response with Issue #5 of john/test.
+     * @return JsonObject.
+     */
+    private static JsonObject response() {
+        return Json.createObjectBuilder().add(
+            "data",
+            Json.createObjectBuilder().add(
+                "repository",
+                Json.createObjectBuilder().add(
+                    "issueOrPullRequest",
+                    Json.createObjectBuilder()
+                        .add("__typename", "Issue")
+                        .add("id", "I_5")
+                        .add("number", 5)
+                        .add("url", "https://github.com/john/test/issues/5")
+                        .add("state", "OPEN")
+                        .add("body", "Fix it")
+                        .add(
+                            "author",
+                            Json.createObjectBuilder().add("login", "amihai")
+                        )
+                        .add(
+                            "assignees",
+                            Json.createObjectBuilder().add(
+                                "nodes",
+                                Json.createArrayBuilder().add(
+                                    Json.createObjectBuilder()
+                                        .add("login", "vlad")
+                                )
+                            )
+                        )
+                        .add(
+                            "labels",
+                            Json.createObjectBuilder().add(
+                                "nodes",
+                                Json.createArrayBuilder()
+                                    .add(
+                                        Json.createObjectBuilder()
+                                            .add("name", "bug")
+                                    )
+                                    .add(
+                                        Json.createObjectBuilder()
+                                            .add("name", "REV")
+                                    )
+                            )
+                        )
+                        .add(
+                            "comments",
+                            Json.createObjectBuilder().add(
+                                "nodes",
+                                Json.createArrayBuilder()
+                                    .add(
+                                        Json.createObjectBuilder()
+                                            .add("databaseId", 1)
+                                            .add("author", JsonValue.NULL)
+                                            .add("body", "First!")
+                                    )
+                                    .add(
+                                        Json.createObjectBuilder()
+                                            .add("databaseId", 2)
+                                            .add(
+                                                "author",
+                                                Json.createObjectBuilder()
+                                                    .add("login", "vlad")
+                                            )
+                                            .add("body", "On it.")
+                                    )
+                            )
+                        )
+                )
+            )
+        ).build();
+    }
+}
@@ -33,6 +33,7 @@ import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for {@link GithubIssueLabels}.
@@ -69,6 +70,35 @@ public final class GithubIssueLabelsTestCase {
             Matchers.equalTo(uri));
     }
 
+    /**
+     * A GithubIssueLabels iterates over the labels embedded in the Issue's
+     * JSON, without calling the API.
+     */
+    @Test
+    public void iteratesOverEmbeddedLabels() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(200, JsonValue.NULL)
+        );
+        final URI uri = URI.create("https://api.github.com/repos/amihaiemil"
+            + "/docker-java-api/issues/123/labels");
+        final Iterable<Label> iterable = () -> new GithubIssueLabels(
+            uri,
+            resources,
+            () -> Json.createObjectBuilder()
+                .add("number", 123)
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "bug"))
+                        .add(Json.createObjectBuilder().add("name", "REV"))
+                ).build()
+        ).iterator();
+        MatcherAssert.assertThat(iterable, Matchers.iterableWithSize(2));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+    }
+
     /**
      * A GithubIssueLabels can add new label, first to the Repo
      * and then assign it to the Issue.
@@ -159,4 +189,29 @@ public final class GithubIssueLabelsTestCase {
             Matchers.equalTo(Json.createObjectBuilder().build())
         );
     }
+
+    /**
+     * A GithubIssueLabels tells when the labels changed, after adding or
+     * removing one.
+     */
+    @Test
+    public void notifiesWhenLabelsChange() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(200, JsonValue.NULL)
+        );
+        final AtomicInteger changes = new AtomicInteger();
+        final Labels labels = new GithubIssueLabels(
+            URI.create(
+                "https://api.github.com/repos/amihaiemil"
+                + "/docker-java-api/issues/123/labels"
+            ),
+            resources,
+            () -> JsonValue.EMPTY_JSON_OBJECT,
+            changes::incrementAndGet
+        );
+        labels.add("bug");
+        MatcherAssert.assertThat(changes.get(), Matchers.equalTo(1));
+        labels.remove("bug");
+        MatcherAssert.assertThat(changes.get(), Matchers.equalTo(2));
+    }
 }
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Labels;
+import com.selfxdsd.core.mock.MockJsonResources;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link GithubIssueMutations}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class GithubIssueMutationsTestCase {
+
+    /**
+     * GithubIssueMutations reads the ids with one query and sends the
+     * assignment, the labels and the comment with one mutation. The label
+     * missing from the repository is added with the REST API.
+     */
+    @Test
+    public void sendsAllMutationsTogether() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> {
+                final MockJsonResources.MockResource resource;
+                if(req.getBody().asJsonObject().getString("query")
+                    .startsWith("query")) {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        GithubIssueMutationsTestCase.ids()
+                    );
+                } else {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        Json.createObjectBuilder().add(
+                            "data", Json.createObjectBuilder()
+                        ).build()
+                    );
+                }
+                return resource;
+            }
+        );
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.add("new")).thenReturn(Boolean.TRUE);
+        final AtomicInteger applied = new AtomicInteger();
+        final boolean result = new GithubIssueMutations(
+            new GithubGraphql(
+                URI.create("https://api.github.com/repos/john/test"),
+                resources
+            ),
+            "john",
+            "test",
+            () -> "I_5",
+            labels,
+            applied::incrementAndGet
+        ).assign("vlad").label("@vlad", "new").comment("Assigned!").apply();
+        MatcherAssert.assertThat(result, Matchers.is(Boolean.TRUE));
+        MatcherAssert.assertThat(applied.get(), Matchers.is(1));
+        Mockito.verify(labels, Mockito.times(1)).add("new");
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(2)
+        );
+        final JsonObject mutation = resources.requests().last().getBody()
+            .asJsonObject();
+        MatcherAssert.assertThat(
+            mutation.getString("query"),
+            Matchers.allOf(
+                Matchers.startsWith("mutation("),
+                Matchers.containsString("addAssigneesToAssignable"),
+                Matchers.containsString("addLabelsToLabelable"),
+                Matchers.containsString("addComment")
+            )
+        );
+        MatcherAssert.assertThat(
+            mutation.getJsonObject("variables"),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add("subject", "I_5")
+                    .add("assignees", Json.createArrayBuilder().add("U_1"))
+                    .add("labels", Json.createArrayBuilder().add("L_1"))
+                    .add("c0", "Assigned!")
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * GithubIssueMutations only sends the comment, without reading any
+     * ids, if there is nothing else to change.
+     */
+    @Test
+    public void sendsOnlyComment() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder().add(
+                    "data", Json.createObjectBuilder()
+                ).build()
+            )
+        );
+        final boolean result = new GithubIssueMutations(
+            new GithubGraphql(
+                URI.create("https://api.github.com/repos/john/test"),
+                resources
+            ),
+            "john",
+            "test",
+            () -> "I_5",
+            Mockito.mock(Labels.class),
+            () -> { }
+        ).comment("Hello").apply();
+        MatcherAssert.assertThat(result, Matchers.is(Boolean.TRUE));
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * GithubIssueMutations is not applied if the mutation returns errors.
+     */
+    @Test
+    public void failsOnErrors() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder()
+                    .add("data", JsonValue.NULL)
+                    .add(
+                        "errors",
+                        Json.createArrayBuilder().add(
+                            Json.createObjectBuilder()
+                                .add("message", "Not allowed")
+                        )
+                    ).build()
+            )
+        );
+        final boolean result = new GithubIssueMutations(
+            new GithubGraphql(
+                URI.create("https://api.github.com/repos/john/test"),
+                resources
+            ),
+            "john",
+            "test",
+            () -> "I_5",
+            Mockito.mock(Labels.class),
+            () -> { }
+        ).comment("Hello").apply();
+        MatcherAssert.assertThat(result, Matchers.is(Boolean.FALSE));
+    }
+
+    /**
+     * Response of the ids query: user vlad and label @vlad exist.
+     * @return JsonObject.
+     */
+    private static JsonObject ids() {
+        return Json.createObjectBuilder().add(
+            "data",
+            Json.createObjectBuilder()
+                .add(
+                    "repository",
+                    Json.createObjectBuilder().add(
+                        "labels",
+                        Json.createObjectBuilder().add(
+                            "nodes",
+                            Json.createArrayBuilder().add(
+                                Json.createObjectBuilder()
+                                    .add("id", "L_1")
+                                    .add("name", "@Vlad")
+                            )
+                        )
+                    )
+                )
+                .add("u0", Json.createObjectBuilder().add("id", "U_1"))
+        ).build();
+    }
+}
@@ -32,6 +32,7 @@ import org.mockito.Mockito;
 
 import javax.json.Json;
 import javax.json.JsonObject;
+import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
 
@@ -211,6 +212,43 @@ public final class GithubIssueTestCase {
         );
     }
 
+    /**
+     * A GithubIssue reads its role and estimation from the labels in its
+     * JSON, without calling the API.
+     */
+    @Test
+    public void readsRoleAndEstimationFromJson() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createArrayBuilder().build()
+            )
+        );
+        final Issue issue = new GithubIssue(
+            URI.create("http://localhost/issues/1"),
+            () -> Json.createObjectBuilder()
+                .add("number", 1)
+                .add("html_url", "http://localhost/issues/1")
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "rev"))
+                        .add(Json.createObjectBuilder().add("name", "90 min"))
+                ).build(),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(
+            issue.role(), Matchers.equalTo(Contract.Roles.REV)
+        );
+        MatcherAssert.assertThat(
+            issue.estimation().minutes(), Matchers.equalTo(90)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+    }
+
     /**
      * A new user can be assigned ok (receives CREATED).
      */
@@ -623,4 +661,207 @@ public final class GithubIssueTestCase {
             Matchers.is(Boolean.FALSE)
         );
     }
+
+    /**
+     * GithubIssue.assignAndLabel(...) sends one PATCH with the current
+     * assignees and labels, plus the new ones.
+     */
+    @Test
+    public void assignsAndLabelsWithOnePatch() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder().build()
+            )
+        );
+        final GithubIssue issue = new GithubIssue(
+            URI.create("http://localhost/issues/1"),
+            () -> Json.createObjectBuilder()
+                .add(
+                    "assignees",
+                    Json.createArrayBuilder().add(
+                        Json.createObjectBuilder().add("login", "mihai")
+                    )
+                )
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "bug"))
+                        .add(Json.createObjectBuilder().add("name", "@george"))
+                )
+                .build(),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(
+            issue.assignAndLabel("george", "@george"),
+            Matchers.is(LabeledAssignment.DONE)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        final MockJsonResources.MockRequest patch = resources
+            .requests()
+            .first();
+        MatcherAssert.assertThat(
+            patch.getMethod(),
+            Matchers.equalTo("PATCH")
+        );
+        MatcherAssert.assertThat(
+            patch.getUri().toString(),
+            Matchers.equalTo("http://localhost/issues/1")
+        );
+        MatcherAssert.assertThat(
+            patch.getBody(),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add(
+                        "assignees",
+                        Json.createArrayBuilder().add("mihai").add("george")
+                    )
+                    .add(
+                        "labels",
+                        Json.createArrayBuilder().add("bug").add("@george")
+                    )
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * GithubIssue.unassignAndUnlabel(...) sends one PATCH with the current
+     * assignees and labels, minus the given ones.
+     */
+    @Test
+    public void unassignsAndUnlabelsWithOnePatch() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder().build()
+            )
+        );
+        final GithubIssue issue = new GithubIssue(
+            URI.create("http://localhost/issues/1"),
+            () -> Json.createObjectBuilder()
+                .add(
+                    "assignees",
+                    Json.createArrayBuilder().add(
+                        Json.createObjectBuilder().add("login", "george")
+                    )
+                )
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "bug"))
+                        .add(Json.createObjectBuilder().add("name", "@george"))
+                )
+                .build(),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(
+            issue.unassignAndUnlabel("george", "@george"),
+            Matchers.is(LabeledAssignment.DONE)
+        );
+        MatcherAssert.assertThat(
+            resources.requests().first().getBody(),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add("assignees", Json.createArrayBuilder())
+                    .add("labels", Json.createArrayBuilder().add("bug"))
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * GithubIssue.assignAndLabel(...) sends nothing if the Issue's JSON has
+     * no assignees and labels, or if the PATCH fails.
+     */
+    @Test
+    public void doesNothingWithoutAssigneesAndLabels() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_FORBIDDEN,
+                Json.createObjectBuilder().build()
+            )
+        );
+        MatcherAssert.assertThat(
+            new GithubIssue(
+                URI.create("http://localhost/issues/1"),
+                () -> JsonObject.EMPTY_JSON_OBJECT,
+                Mockito.mock(Storage.class),
+                resources
+            ).assignAndLabel("george", "@george"),
+            Matchers.is(LabeledAssignment.NOTHING)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(0)
+        );
+        MatcherAssert.assertThat(
+            new GithubIssue(
+                URI.create("http://localhost/issues/1"),
+                () -> Json.createObjectBuilder()
+                    .add("assignees", Json.createArrayBuilder())
+                    .add("labels", Json.createArrayBuilder())
+                    .build(),
+                Mockito.mock(Storage.class),
+                resources
+            ).assignAndLabel("george", "@george"),
+            Matchers.is(LabeledAssignment.NOTHING)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * After a label is added, GithubIssue reads its labels from the API,
+     * not from its stale JSON.
+     */
+    @Test
+    public void readsLabelsFromApiAfterChange() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> {
+                final MockJsonResources.MockResource resource;
+                if("GET".equals(req.getMethod())) {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        Json.createArrayBuilder()
+                            .add(Json.createObjectBuilder().add("name", "DEV"))
+                            .add(Json.createObjectBuilder().add("name", "QA"))
+                            .build()
+                    );
+                } else {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK, JsonValue.NULL
+                    );
+                }
+                return resource;
+            }
+        );
+        final GithubIssue issue = new GithubIssue(
+            URI.create("http://localhost/issues/1"),
+            () -> Json.createObjectBuilder()
+                .add("number", 1)
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "DEV"))
+                ).build(),
+            Mockito.mock(Storage.class),
+            resources
+        );
+        MatcherAssert.assertThat(
+            issue.attributes().hasLabel("QA"), Matchers.is(false)
+        );
+        issue.labels().add("QA");
+        MatcherAssert.assertThat(
+            issue.attributes().hasLabel("QA"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            resources.requests().atIndex(2).getMethod(),
+            Matchers.equalTo("GET")
+        );
+    }
 }
@@ -32,8 +32,10 @@ import org.mockito.Mockito;
 
 import javax.json.Json;
 import javax.json.JsonObject;
+import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.List;
 
 import static org.mockito.Mockito.mock;
 
@@ -68,6 +70,40 @@ public final class GithubIssuesTestCase {
         MatcherAssert.assertThat(issue.json(), Matchers.equalTo(json));
     }
 
+    /**
+     * GithubIssues returns GraphQL-backed Issues, if configured so.
+     * @checkstyle LineLength (10 lines)
+     */
+    @Test
+    public void returnsGraphqlIssues(){
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                JsonValue.EMPTY_JSON_OBJECT
+            )
+        );
+        final Issues issues = new GithubIssues(
+            resources,
+            URI.create(
+                "https://api.github.com/repos/amihaiemil/docker-java-api/issues"
+            ),
+            mock(Repo.class),
+            mock(Storage.class),
+            true
+        );
+        final Issue received = issues.received(
+            Json.createObjectBuilder()
+                .add("number", 3)
+                .build()
+        );
+        MatcherAssert.assertThat(received.issueId(), Matchers.equalTo("3"));
+        final Issue found = issues.getById("4");
+        MatcherAssert.assertThat(found, Matchers.notNullValue());
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+    }
+
     /**
      * GithubIssues.open(...) works if the received response is 201 CREATED.
      */
@@ -578,4 +614,206 @@ public final class GithubIssuesTestCase {
             found, Matchers.emptyIterable()
         );
     }
+
+    /**
+     * GithubIssues.prefetch(...) fetches the Issues and Pull Requests with
+     * one GraphQL query and gives them without further requests.
+     */
+    @Test
+    public void prefetchesIssuesWithGraphql() {
+        final User user = Mockito.mock(User.class);
+        Mockito.when(user.username()).thenReturn("amihaiemil");
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder().add(
+                    "data",
+                    Json.createObjectBuilder().add(
+                        "repository",
+                        Json.createObjectBuilder()
+                            .add(
+                                "i1",
+                                Json.createObjectBuilder()
+                                    .add("__typename", "Issue")
+                                    .add("number", 1)
+                                    .add(
+                                        "url",
+                                        "https://github.com/amihaiemil"
+                                        + "/repo/issues/1"
+                                    )
+                                    .add("state", "CLOSED")
+                                    .add("body", "Issue body")
+                                    .add(
+                                        "author",
+                                        Json.createObjectBuilder()
+                                            .add("login", "john")
+                                    )
+                                    .add(
+                                        "assignees",
+                                        Json.createObjectBuilder().add(
+                                            "nodes",
+                                            Json.createArrayBuilder().add(
+                                                Json.createObjectBuilder()
+                                                    .add("login", "mihai")
+                                            )
+                                        )
+                                    )
+                                    .add(
+                                        "labels",
+                                        Json.createObjectBuilder().add(
+                                            "nodes",
+                                            Json.createArrayBuilder().add(
+                                                Json.createObjectBuilder()
+                                                    .add("name", "bug")
+                                                    .add("color", "d73a4a")
+                                            )
+                                        )
+                                    )
+                            )
+                            .add(
+                                "i2",
+                                Json.createObjectBuilder()
+                                    .add("__typename", "PullRequest")
+                                    .add("number", 2)
+                                    .add(
+                                        "url",
+                                        "https://github.com/amihaiemil"
+                                        + "/repo/pull/2"
+                                    )
+                                    .add("state", "OPEN")
+                                    .add("body", "")
+                                    .add("author", JsonValue.NULL)
+                                    .add(
+                                        "assignees",
+                                        Json.createObjectBuilder().add(
+                                            "nodes",
+                                            Json.createArrayBuilder()
+                                        )
+                                    )
+                                    .add(
+                                        "labels",
+                                        Json.createObjectBuilder().add(
+                                            "nodes",
+                                            Json.createArrayBuilder()
+                                        )
+                                    )
+                            )
+                            .add("i3", JsonValue.NULL)
+                    )
+                ).build()
+            )
+        );
+        final Issues prefetched = new Github(
+            user,
+            Mockito.mock(Storage.class),
+            resources
+        ).repo("amihaiemil", "repo")
+            .issues()
+            .prefetch(List.of("1", "2", "3"));
+        final Issue issue = prefetched.getById("1");
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.TRUE));
+        MatcherAssert.assertThat(issue.assignee(), Matchers.equalTo("mihai"));
+        MatcherAssert.assertThat(issue.author(), Matchers.equalTo("john"));
+        MatcherAssert.assertThat(
+            issue.repoFullName(), Matchers.equalTo("amihaiemil/repo")
+        );
+        MatcherAssert.assertThat(
+            issue.json().getJsonArray("assignees").getJsonObject(0)
+                .getString("login"),
+            Matchers.equalTo("mihai")
+        );
+        MatcherAssert.assertThat(
+            issue.labels().iterator().next().name(),
+            Matchers.equalTo("bug")
+        );
+        final Issue pullRequest = prefetched.getById("2");
+        MatcherAssert.assertThat(
+            pullRequest.isClosed(), Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(
+            pullRequest.isPullRequest(), Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            pullRequest.assignee(), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            pullRequest.labels(), Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            prefetched.getById("3"), Matchers.notNullValue()
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        final MockJsonResources.MockRequest query = resources.requests()
+            .first();
+        MatcherAssert.assertThat(
+            query.getMethod(), Matchers.equalTo("POST")
+        );
+        MatcherAssert.assertThat(
+            query.getUri().toString(),
+            Matchers.equalTo("https://api.github.com/graphql")
+        );
+        MatcherAssert.assertThat(
+            query.getBody().asJsonObject().getString("query"),
+            Matchers.allOf(
+                Matchers.containsString("i1: issueOrPullRequest(number: 1)"),
+                Matchers.containsString("i3: issueOrPullRequest(number: 3)")
+            )
+        );
+        MatcherAssert.assertThat(
+            query.getBody().asJsonObject().getJsonObject("variables"),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add("owner", "amihaiemil")
+                    .add("name", "repo")
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * GithubIssues.prefetch(...) gives the Issues one by one if the GraphQL
+     * query fails.
+     */
+    @Test
+    public void prefetchFallsBackToSingleIssues() {
+        final User user = Mockito.mock(User.class);
+        Mockito.when(user.username()).thenReturn("amihaiemil");
+        final MockJsonResources resources = new MockJsonResources(
+            req -> {
+                final MockJsonResources.MockResource resource;
+                if("POST".equals(req.getMethod())) {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_BAD_GATEWAY,
+                        JsonValue.NULL
+                    );
+                } else {
+                    resource = new MockJsonResources.MockResource(
+                        HttpURLConnection.HTTP_OK,
+                        Json.createObjectBuilder()
+                            .add("number", 1)
+                            .add("state", "open")
+                            .build()
+                    );
+                }
+                return resource;
+            }
+        );
+        final Issue issue = new Github(
+            user,
+            Mockito.mock(Storage.class),
+            resources
+        ).repo("amihaiemil", "repo")
+            .issues()
+            .prefetch(List.of("1"))
+            .getById("1");
+        MatcherAssert.assertThat(issue.isClosed(), Matchers.is(Boolean.FALSE));
+        MatcherAssert.assertThat(
+            resources.requests().last().getUri().toString(),
+            Matchers.equalTo(
+                "https://api.github.com/repos/amihaiemil/repo/issues/1"
+            )
+        );
+    }
 }
@@ -34,6 +34,7 @@ import javax.json.Json;
 import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.List;
 
 /**
  * Unit tests for {@link GitlabCommits}.
@@ -242,4 +243,49 @@ public final class GitlabCommitsTestCase {
         commits.latest();
     }
 
+    /**
+     * GitlabCommits can return a Commit received in a push webhook, without
+     * fetching it. The author is matched by name against the Collaborators.
+     */
+    @Test
+    public void receivesPushedCommit() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                JsonValue.EMPTY_JSON_OBJECT
+            )
+        );
+        final Collaborator mihai = Mockito.mock(Collaborator.class);
+        Mockito.when(mihai.name()).thenReturn("Mihai A");
+        Mockito.when(mihai.username()).thenReturn("amihaiemil");
+        final Collaborators collaborators = Mockito.mock(Collaborators.class);
+        Mockito.when(collaborators.iterator()).thenReturn(
+            List.of(mihai).iterator()
+        );
+        final Commit received = new GitlabCommits(
+            resources,
+            URI.create("https://gitlab.com/api/v4/projects/1/commits"),
+            collaborators,
+            Mockito.mock(Storage.class)
+        ).received(
+            Json.createObjectBuilder()
+                .add("id", "sha123")
+                .add(
+                    "author",
+                    Json.createObjectBuilder()
+                        .add("name", "Mihai A")
+                        .add("email", "amihaiemil@gmail.com")
+                ).build()
+        );
+        MatcherAssert.assertThat(
+            received.shaRef(), Matchers.equalTo("sha123")
+        );
+        MatcherAssert.assertThat(
+            received.author(), Matchers.equalTo("amihaiemil")
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.emptyIterable()
+        );
+    }
+
 }
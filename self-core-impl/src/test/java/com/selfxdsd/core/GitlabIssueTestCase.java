@@ -573,6 +573,121 @@ public final class GitlabIssueTestCase {
         );
     }
 
+    /**
+     * GitlabIssue.assignAndLabel(...) assigns the user and adds the label
+     * with one PUT.
+     */
+    @Test
+    public void assignsAndLabelsWithOnePut() {
+        final MockJsonResources resources = new MockJsonResources((req) -> {
+            final JsonValue body;
+            if (req.getUri().toString()
+                .endsWith("search?scope=users&search=john")) {
+                body = Json
+                    .createArrayBuilder()
+                    .add(Json.createObjectBuilder()
+                        .add("id", 1)
+                        .add("username", "john")
+                        .build())
+                    .build();
+            } else {
+                body = JsonValue.NULL;
+            }
+            return new MockJsonResources.MockResource(200, body);
+        });
+        final int done = new GitlabIssue(
+            URI.create("https://gitlab.com/api/v4/projects"
+                + "/john%2Ftest/issues/1"),
+            JsonObject.EMPTY_JSON_OBJECT,
+            Mockito.mock(Storage.class),
+            resources
+        ).assignAndLabel("john", "@john");
+        MatcherAssert.assertThat(done, Matchers.is(LabeledAssignment.DONE));
+        final MockJsonResources.MockRequests requests = resources.requests();
+        MatcherAssert.assertThat(requests, Matchers.iterableWithSize(2));
+        MatcherAssert.assertThat(requests.last().getMethod(), Matchers
+            .equalTo("PUT"));
+        MatcherAssert.assertThat(requests.last().getUri().toString(),
+            Matchers.equalTo("https://gitlab.com/api/v4/projects"
+                + "/john%2Ftest/issues/1"));
+        MatcherAssert.assertThat(requests.last().getBody(), Matchers
+            .equalTo(Json.createObjectBuilder()
+                .add("assignee_ids", Json.createArrayBuilder().add(1))
+                .add("add_labels", "@john")
+                .build()));
+    }
+
+    /**
+     * GitlabIssue.assignAndLabel(...) does nothing if the user is
+     * not found, without editing the Issue.
+     */
+    @Test
+    public void doesNotAssignAndLabelUnknownUser() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createArrayBuilder().build()
+            )
+        );
+        final int done = new GitlabIssue(
+            URI.create("https://gitlab.com/api/v4/projects"
+                + "/john%2Ftest/issues/1"),
+            JsonObject.EMPTY_JSON_OBJECT,
+            Mockito.mock(Storage.class),
+            resources
+        ).assignAndLabel("john", "@john");
+        MatcherAssert.assertThat(
+            done, Matchers.is(LabeledAssignment.NOTHING)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * GitlabIssue.unassignAndUnlabel(...) removes the assignees and the
+     * label with one PUT.
+     */
+    @Test
+    public void unassignsAndUnlabelsWithOnePut() {
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createObjectBuilder().build()
+            )
+        );
+        final URI uri = URI.create(
+            "https://gitlab.com/api/v4/projects"
+            + "/john%2Ftest/issues/1"
+        );
+        final int done = new GitlabIssue(
+            uri,
+            JsonObject.EMPTY_JSON_OBJECT,
+            Mockito.mock(Storage.class),
+            resources
+        ).unassignAndUnlabel("amihaiemil", "@amihaiemil");
+        MatcherAssert.assertThat(done, Matchers.is(LabeledAssignment.DONE));
+        final MockJsonResources.MockRequest req = resources.requests().first();
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            req.getUri(), Matchers.equalTo(uri)
+        );
+        MatcherAssert.assertThat(
+            req.getMethod(), Matchers.equalTo("PUT")
+        );
+        MatcherAssert.assertThat(
+            req.getBody(),
+            Matchers.equalTo(
+                Json.createObjectBuilder()
+                    .add("assignee_ids", "")
+                    .add("remove_labels", "@amihaiemil")
+                    .build()
+            )
+        );
+    }
+
     /**
      * GitlabIssue can return its state flag.
      */
@@ -35,6 +35,7 @@ import javax.json.JsonObject;
 import javax.json.JsonValue;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.List;
 
 /**
  * Unit tests for {@link GitlabIssues}.
@@ -613,4 +614,54 @@ public final class GitlabIssuesTestCase {
             Matchers.instanceOf(FoundIssues.class)
         ));
     }
+
+    /**
+     * GitlabIssues.prefetch(...) lists the Issues filtered by their iids
+     * and gives them without further requests.
+     */
+    @Test
+    public void prefetchesIssuesByIids() {
+        final User user = Mockito.mock(User.class);
+        Mockito.when(user.username()).thenReturn("amihaiemil");
+        final MockJsonResources resources = new MockJsonResources(
+            req -> new MockJsonResources.MockResource(
+                HttpURLConnection.HTTP_OK,
+                Json.createArrayBuilder()
+                    .add(
+                        Json.createObjectBuilder()
+                            .add("iid", 1)
+                            .add("state", "closed")
+                    )
+                    .add(
+                        Json.createObjectBuilder()
+                            .add("iid", 2)
+                            .add("state", "opened")
+                    )
+                    .build()
+            )
+        );
+        final Issues prefetched = new Gitlab(
+            user,
+            Mockito.mock(Storage.class),
+            resources
+        ).repo("amihaiemil", "repo")
+            .issues()
+            .prefetch(List.of("1", "2"));
+        MatcherAssert.assertThat(
+            prefetched.getById("1").isClosed(), Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            prefetched.getById("2").isClosed(), Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(
+            resources.requests(), Matchers.iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            resources.requests().first().getUri().toString(),
+            Matchers.equalTo(
+                "https://gitlab.com/api/v4/projects/amihaiemil%2Frepo/issues"
+                + "?per_page=100&iids%5B%5D=1&iids%5B%5D=2"
+            )
+        );
+    }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.stripe.model.Account;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.param.AccountCreateParams;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link InMemoryStripe}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class InMemoryStripeTestCase {
+
+    /**
+     * InMemoryStripe can create, fetch and delete a Customer.
+     */
+    @Test
+    public void createsFetchesAndDeletesCustomers() {
+        final InMemoryStripe stripe = new InMemoryStripe();
+        final Customer created = stripe.createCustomer(
+            CustomerCreateParams.builder()
+                .setName("Mihai Andronache")
+                .setEmail("amihaiemil@gmail.com")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            created.getId(),
+            Matchers.startsWith("cus_")
+        );
+        MatcherAssert.assertThat(
+            stripe.customer(created.getId()).getEmail(),
+            Matchers.equalTo("amihaiemil@gmail.com")
+        );
+        MatcherAssert.assertThat(
+            stripe.deleteCustomer(created.getId()).getDeleted(),
+            Matchers.is(Boolean.TRUE)
+        );
+    }
+
+    /**
+     * InMemoryStripe complains if the Customer is missing.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void complainsOnMissingCustomer() {
+        new InMemoryStripe().customer("cus_missing");
+    }
+
+    /**
+     * Payments made through InMemoryStripe succeed.
+     */
+    @Test
+    public void paymentsSucceed() {
+        final PaymentIntent payment = new InMemoryStripe()
+            .createPaymentIntent(
+                PaymentIntentCreateParams.builder()
+                    .setCurrency("eur")
+                    .setAmount(100L)
+                    .setCustomer("cus_123")
+                    .build(),
+                "self-invoice-1"
+            );
+        MatcherAssert.assertThat(
+            payment.getStatus(),
+            Matchers.equalTo("succeeded")
+        );
+        MatcherAssert.assertThat(
+            payment.getAmount(),
+            Matchers.equalTo(100L)
+        );
+        MatcherAssert.assertThat(
+            payment.getCreated(),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * InMemoryStripe makes only one payment per idempotency key.
+     */
+    @Test
+    public void paysOncePerIdempotencyKey() {
+        final InMemoryStripe stripe = new InMemoryStripe();
+        final PaymentIntentCreateParams params = PaymentIntentCreateParams
+            .builder()
+            .setCurrency("eur")
+            .setAmount(100L)
+            .setCustomer("cus_123")
+            .build();
+        final PaymentIntent first = stripe.createPaymentIntent(
+            params, "self-invoice-1"
+        );
+        MatcherAssert.assertThat(
+            stripe.createPaymentIntent(params, "self-invoice-1").getId(),
+            Matchers.equalTo(first.getId())
+        );
+        MatcherAssert.assertThat(
+            stripe.createPaymentIntent(params, "self-invoice-2").getId(),
+            Matchers.not(Matchers.equalTo(first.getId()))
+        );
+    }
+
+    /**
+     * Accounts created through InMemoryStripe can receive payments.
+     */
+    @Test
+    public void accountsCanReceivePayments() {
+        final InMemoryStripe stripe = new InMemoryStripe();
+        final Account account = stripe.account(
+            stripe.createAccount(
+                AccountCreateParams.builder()
+                    .setEmail("amihaiemil@gmail.com")
+                    .setCountry("RO")
+                    .setType(AccountCreateParams.Type.EXPRESS)
+                    .build()
+            ).getId()
+        );
+        MatcherAssert.assertThat(
+            account.getCapabilities().getTransfers(),
+            Matchers.equalTo("active")
+        );
+        MatcherAssert.assertThat(
+            account.getCapabilities().getCardPayments(),
+            Matchers.equalTo("active")
+        );
+    }
+}
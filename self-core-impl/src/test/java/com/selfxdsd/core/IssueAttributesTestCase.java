@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Label;
+import com.selfxdsd.api.Labels;
+import com.selfxdsd.api.storage.Storage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.json.Json;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Unit tests for {@link IssueAttributes}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IssueAttributesTestCase {
+
+    /**
+     * IssueAttributes reads everything from the labels.
+     */
+    @Test
+    public void readsAttributesFromLabels() {
+        final IssueAttributes attributes = new IssueAttributes(
+            this.labels("bug", " qa ", "@mihai", "45 m", "no-task", "DEV"),
+            false
+        );
+        MatcherAssert.assertThat(
+            attributes.role(), Matchers.equalTo(Contract.Roles.QA)
+        );
+        MatcherAssert.assertThat(
+            attributes.estimation().minutes(), Matchers.equalTo(45)
+        );
+        MatcherAssert.assertThat(attributes.noTask(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            attributes.contributors(), Matchers.contains("mihai")
+        );
+        MatcherAssert.assertThat(
+            attributes.hasLabel("Bug"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            attributes.hasLabel("enhancement"), Matchers.is(false)
+        );
+    }
+
+    /**
+     * IssueAttributes has defaults for Issues and Pull Requests without
+     * role or estimation labels.
+     */
+    @Test
+    public void returnsDefaults() {
+        final IssueAttributes issue = new IssueAttributes(
+            this.labels("bug"), false
+        );
+        MatcherAssert.assertThat(
+            issue.role(), Matchers.equalTo(Contract.Roles.DEV)
+        );
+        MatcherAssert.assertThat(
+            issue.estimation().minutes(), Matchers.equalTo(60)
+        );
+        final IssueAttributes pull = new IssueAttributes(
+            this.labels(), true
+        );
+        MatcherAssert.assertThat(
+            pull.role(), Matchers.equalTo(Contract.Roles.REV)
+        );
+        MatcherAssert.assertThat(
+            pull.estimation().minutes(), Matchers.equalTo(30)
+        );
+    }
+
+    /**
+     * IssueAttributes keeps the estimation between 15 and 360 minutes.
+     */
+    @Test
+    public void keepsEstimationWithinLimits() {
+        MatcherAssert.assertThat(
+            new IssueAttributes(this.labels("5 min"), false)
+                .estimation().minutes(),
+            Matchers.equalTo(15)
+        );
+        MatcherAssert.assertThat(
+            new IssueAttributes(this.labels("30 min", "500 minutes"), false)
+                .estimation().minutes(),
+            Matchers.equalTo(360)
+        );
+    }
+
+    /**
+     * IssueAttributes reads the Issue's labels only once.
+     */
+    @Test
+    public void readsIssueLabelsOnce() {
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            this.labels("REV", "60 min").iterator()
+        );
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.labels()).thenReturn(labels);
+        final IssueAttributes attributes = new IssueAttributes(issue);
+        attributes.role();
+        attributes.estimation();
+        Mockito.verify(labels, Mockito.times(1)).iterator();
+    }
+
+    /**
+     * The memoized IssueAttributes are built once, when first needed,
+     * and shared by the role and the estimation.
+     */
+    @Test
+    public void sharesOneSnapshot() {
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            this.labels("REV", "90 min").iterator()
+        );
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.labels()).thenReturn(labels);
+        final Supplier<IssueAttributes> attributes = IssueAttributes
+            .memoized(issue);
+        Mockito.verify(issue, Mockito.never()).labels();
+        MatcherAssert.assertThat(
+            new LabelsRole(attributes).asString(),
+            Matchers.equalTo(Contract.Roles.REV)
+        );
+        MatcherAssert.assertThat(
+            new LabelsEstimation(attributes).minutes(),
+            Matchers.equalTo(90)
+        );
+        MatcherAssert.assertThat(
+            attributes.get(), Matchers.sameInstance(attributes.get())
+        );
+        Mockito.verify(labels, Mockito.times(1)).iterator();
+    }
+
+    /**
+     * The memoized IssueAttributes are read again after a reset.
+     */
+    @Test
+    public void readsLabelsAgainAfterReset() {
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            this.labels("DEV").iterator(),
+            this.labels("DEV", "no-task").iterator()
+        );
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.labels()).thenReturn(labels);
+        final IssueAttributes.Memoized attributes = IssueAttributes
+            .memoized(issue);
+        MatcherAssert.assertThat(
+            attributes.get().noTask(), Matchers.is(false)
+        );
+        attributes.reset();
+        MatcherAssert.assertThat(
+            attributes.get().noTask(), Matchers.is(true)
+        );
+        Mockito.verify(labels, Mockito.times(2)).iterator();
+    }
+
+    /**
+     * IssueAttributes.of(...) uses the Issue's own snapshot, if it has one.
+     */
+    @Test
+    public void usesSnapshotOfSource() {
+        final Issue issue = new GithubIssue(
+            URI.create("http://localhost/issues/1"),
+            () -> Json.createObjectBuilder()
+                .add("number", 1)
+                .add(
+                    "labels",
+                    Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "QA"))
+                ).build(),
+            Mockito.mock(Storage.class),
+            Mockito.mock(JsonResources.class)
+        );
+        final IssueAttributes attributes = IssueAttributes.of(issue);
+        MatcherAssert.assertThat(
+            attributes.hasLabel("qa"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            IssueAttributes.of(issue), Matchers.sameInstance(attributes)
+        );
+    }
+
+    /**
+     * IssueAttributes.of(...) reads the labels of any other Issue.
+     */
+    @Test
+    public void readsLabelsOfOtherIssues() {
+        final Labels labels = Mockito.mock(Labels.class);
+        Mockito.when(labels.iterator()).thenReturn(
+            this.labels("@john").iterator()
+        );
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.labels()).thenReturn(labels);
+        MatcherAssert.assertThat(
+            IssueAttributes.of(issue).contributors(),
+            Matchers.contains("john")
+        );
+    }
+
+    /**
+     * Mock some labels.
+     * @param names Names of the labels.
+     * @return List of Label.
+     */
+    private List<Label> labels(final String... names) {
+        final List<Label> labels = new ArrayList<>();
+        for(final String name : names) {
+            final Label label = Mockito.mock(Label.class);
+            Mockito.when(label.name()).thenReturn(name);
+            labels.add(label);
+        }
+        return labels;
+    }
+}
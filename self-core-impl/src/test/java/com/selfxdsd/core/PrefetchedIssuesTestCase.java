@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Issues;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link PrefetchedIssues}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class PrefetchedIssuesTestCase {
+
+    /**
+     * PrefetchedIssues gives a fetched Issue without asking the original.
+     */
+    @Test
+    public void givesFetchedIssue() {
+        final Issues original = Mockito.mock(Issues.class);
+        final Issue issue = Mockito.mock(Issue.class);
+        final Issues prefetched = new PrefetchedIssues(
+            original, Map.of("1", issue)
+        );
+        MatcherAssert.assertThat(
+            prefetched.getById("1"), Matchers.is(issue)
+        );
+        Mockito.verify(original, Mockito.never()).getById("1");
+    }
+
+    /**
+     * PrefetchedIssues asks the original for an Issue which wasn't fetched.
+     */
+    @Test
+    public void asksOriginalForMissingIssue() {
+        final Issues original = Mockito.mock(Issues.class);
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(original.getById("2")).thenReturn(issue);
+        final Issues prefetched = new PrefetchedIssues(
+            original, Map.of("1", Mockito.mock(Issue.class))
+        );
+        MatcherAssert.assertThat(
+            prefetched.getById("2"), Matchers.is(issue)
+        );
+    }
+
+    /**
+     * PrefetchedIssues can be iterated over the fetched Issues.
+     */
+    @Test
+    public void iteratesFetchedIssues() {
+        final Issues prefetched = new PrefetchedIssues(
+            Mockito.mock(Issues.class),
+            Map.of("1", Mockito.mock(Issue.class))
+        );
+        MatcherAssert.assertThat(prefetched, Matchers.iterableWithSize(1));
+    }
+
+    /**
+     * PrefetchedIssues delegates another prefetch to the original.
+     */
+    @Test
+    public void delegatesPrefetch() {
+        final Issues original = Mockito.mock(Issues.class);
+        final Issues other = Mockito.mock(Issues.class);
+        Mockito.when(original.prefetch(List.of("3"))).thenReturn(other);
+        MatcherAssert.assertThat(
+            new PrefetchedIssues(original, Map.of()).prefetch(List.of("3")),
+            Matchers.is(other)
+        );
+    }
+}
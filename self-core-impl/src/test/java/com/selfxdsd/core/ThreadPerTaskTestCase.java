@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ThreadPerTask}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class ThreadPerTaskTestCase {
+
+    /**
+     * ThreadPerTask runs each task in a new, named, daemon thread.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void runsTasksInNewDaemonThreads() throws Exception {
+        final ThreadPerTask executor = new ThreadPerTask("test");
+        final CompletableFuture<Thread> first = new CompletableFuture<>();
+        final CompletableFuture<Thread> second = new CompletableFuture<>();
+        executor.execute(() -> first.complete(Thread.currentThread()));
+        executor.execute(() -> second.complete(Thread.currentThread()));
+        MatcherAssert.assertThat(
+            first.get(5, TimeUnit.SECONDS).getName(),
+            Matchers.equalTo("test-1")
+        );
+        MatcherAssert.assertThat(
+            second.get(5, TimeUnit.SECONDS).getName(),
+            Matchers.equalTo("test-2")
+        );
+        MatcherAssert.assertThat(
+            first.get().isDaemon(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            first.get(),
+            Matchers.not(Matchers.sameInstance(Thread.currentThread()))
+        );
+    }
+}
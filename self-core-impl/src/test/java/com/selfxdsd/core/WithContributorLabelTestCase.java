@@ -111,6 +111,104 @@ public final class WithContributorLabelTestCase {
         Mockito.verify(labels, Mockito.times(0)).remove(Mockito.anyString());
     }
 
+    /**
+     * WithContributorLabel assigns and labels with one call, if the
+     * decorated Issue can do it.
+     */
+    @Test
+    public void assignsAndLabelsInOneCall() {
+        final Labels labels = Mockito.mock(Labels.class);
+        final Issue decorated = Mockito.mock(
+            Issue.class,
+            Mockito.withSettings().extraInterfaces(LabeledAssignment.class)
+        );
+        Mockito.when(decorated.labels()).thenReturn(labels);
+        Mockito.when(
+            ((LabeledAssignment) decorated).assignAndLabel("mihai", "@mihai")
+        ).thenReturn(LabeledAssignment.DONE);
+        final Issue withLabel = new WithContributorLabel(decorated);
+        MatcherAssert.assertThat(
+            withLabel.assign("mihai"),
+            Matchers.is(true)
+        );
+        Mockito.verify(decorated, Mockito.times(0)).assign("mihai");
+        Mockito.verify(labels, Mockito.times(0)).add(Mockito.anyString());
+    }
+
+    /**
+     * WithContributorLabel assigns and then labels, if the combined
+     * call fails.
+     */
+    @Test
+    public void fallsBackIfCombinedAssignmentFails() {
+        final Labels labels = Mockito.mock(Labels.class);
+        final Issue decorated = Mockito.mock(
+            Issue.class,
+            Mockito.withSettings().extraInterfaces(LabeledAssignment.class)
+        );
+        Mockito.when(decorated.labels()).thenReturn(labels);
+        Mockito.when(
+            ((LabeledAssignment) decorated).assignAndLabel("mihai", "@mihai")
+        ).thenReturn(LabeledAssignment.NOTHING);
+        Mockito.when(decorated.assign("mihai")).thenReturn(true);
+        final Issue withLabel = new WithContributorLabel(decorated);
+        MatcherAssert.assertThat(
+            withLabel.assign("mihai"),
+            Matchers.is(true)
+        );
+        Mockito.verify(decorated, Mockito.times(1)).assign("mihai");
+        Mockito.verify(labels, Mockito.times(1)).add("@mihai");
+    }
+
+    /**
+     * WithContributorLabel only adds the label, if the combined call
+     * assigned the user but did not label the Issue.
+     */
+    @Test
+    public void onlyLabelsIfCombinedCallAssigned() {
+        final Labels labels = Mockito.mock(Labels.class);
+        final Issue decorated = Mockito.mock(
+            Issue.class,
+            Mockito.withSettings().extraInterfaces(LabeledAssignment.class)
+        );
+        Mockito.when(decorated.labels()).thenReturn(labels);
+        Mockito.when(
+            ((LabeledAssignment) decorated).assignAndLabel("mihai", "@mihai")
+        ).thenReturn(LabeledAssignment.ASSIGNMENT);
+        final Issue withLabel = new WithContributorLabel(decorated);
+        MatcherAssert.assertThat(
+            withLabel.assign("mihai"),
+            Matchers.is(true)
+        );
+        Mockito.verify(decorated, Mockito.times(0)).assign("mihai");
+        Mockito.verify(labels, Mockito.times(1)).add("@mihai");
+    }
+
+    /**
+     * WithContributorLabel unassigns and removes the label with one call,
+     * if the decorated Issue can do it.
+     */
+    @Test
+    public void unassignsAndUnlabelsInOneCall() {
+        final Labels labels = Mockito.mock(Labels.class);
+        final Issue decorated = Mockito.mock(
+            Issue.class,
+            Mockito.withSettings().extraInterfaces(LabeledAssignment.class)
+        );
+        Mockito.when(decorated.labels()).thenReturn(labels);
+        Mockito.when(
+            ((LabeledAssignment) decorated)
+                .unassignAndUnlabel("mihai", "@mihai")
+        ).thenReturn(LabeledAssignment.DONE);
+        final Issue withLabel = new WithContributorLabel(decorated);
+        MatcherAssert.assertThat(
+            withLabel.unassign("mihai"),
+            Matchers.is(true)
+        );
+        Mockito.verify(decorated, Mockito.times(0)).unassign("mihai");
+        Mockito.verify(labels, Mockito.times(0)).remove(Mockito.anyString());
+    }
+
     /**
      * Delegates the issueId to the decorated object.
      */
@@ -13,6 +13,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 import java.math.BigDecimal;
@@ -541,6 +542,134 @@ public final class StoredInvoiceTestCase {
         );
     }
 
+    /**
+     * StoredInvoice.registerAll(...) registers all the Tasks with one
+     * call to the Storage.
+     */
+    @Test
+    public void registersAllTasksInOneBatch() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        final Contributor assignee = Mockito.mock(Contributor.class);
+        Mockito.when(assignee.username()).thenReturn("mihai");
+        final List<Task> tasks = new ArrayList<>();
+        for(int idx = 0; idx < 3; ++idx) {
+            final Task task = Mockito.mock(Task.class);
+            Mockito.when(task.project()).thenReturn(project);
+            Mockito.when(task.assignee()).thenReturn(assignee);
+            Mockito.when(task.role()).thenReturn(Contract.Roles.DEV);
+            tasks.add(task);
+        }
+        final Contract contract = Mockito.mock(Contract.class);
+        Mockito.when(contract.contractId()).thenReturn(
+            new Contract.Id(
+                "john/test",
+                "mihai",
+                Provider.Names.GITHUB,
+                Contract.Roles.DEV
+            )
+        );
+        final Storage storage = Mockito.mock(Storage.class);
+        final Invoice invoice = new StoredInvoice(
+            1,
+            contract,
+            LocalDateTime.now(),
+            null,
+            "mihai",
+            "vlad",
+            "RO",
+            "RO",
+            BigDecimal.valueOf(487),
+            storage
+        );
+        final List<InvoicedTask> registered = new ArrayList<>();
+        final InvoicedTasks invoicedTasks = Mockito.mock(InvoicedTasks.class);
+        Mockito
+            .when(
+                invoicedTasks.registerAll(
+                    Mockito.eq(invoice),
+                    Mockito.eq(tasks),
+                    Mockito.any(),
+                    Mockito.any()
+                )
+            )
+            .thenReturn(registered);
+        Mockito.when(storage.invoicedTasks()).thenReturn(invoicedTasks);
+
+        MatcherAssert.assertThat(
+            invoice.registerAll(
+                tasks,
+                task -> BigDecimal.valueOf(50),
+                task -> BigDecimal.valueOf(30)
+            ),
+            Matchers.is(registered)
+        );
+        Mockito.verify(storage, Mockito.times(1)).invoicedTasks();
+        Mockito.verify(invoicedTasks, Mockito.never()).register(
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()
+        );
+    }
+
+    /**
+     * StoredInvoice.registerAll(...) registers nothing if one of the
+     * Tasks is from another Contract.
+     */
+    @Test
+    public void registerAllRejectsForeignTask() {
+        final Contract contract = Mockito.mock(Contract.class);
+        Mockito.when(contract.contractId()).thenReturn(
+            new Contract.Id(
+                "john/test",
+                "mihai",
+                Provider.Names.GITHUB,
+                Contract.Roles.DEV
+            )
+        );
+        final Storage storage = Mockito.mock(Storage.class);
+        final Invoice invoice = new StoredInvoice(
+            1,
+            contract,
+            LocalDateTime.now(),
+            null,
+            "mihai",
+            "vlad",
+            "RO",
+            "RO",
+            BigDecimal.valueOf(487),
+            storage
+        );
+        final Contributor assignee = Mockito.mock(Contributor.class);
+        Mockito.when(assignee.username()).thenReturn("mihai");
+        final Project own = Mockito.mock(Project.class);
+        Mockito.when(own.repoFullName()).thenReturn("john/test");
+        Mockito.when(own.provider()).thenReturn(Provider.Names.GITHUB);
+        final Task first = Mockito.mock(Task.class);
+        Mockito.when(first.project()).thenReturn(own);
+        Mockito.when(first.assignee()).thenReturn(assignee);
+        Mockito.when(first.role()).thenReturn(Contract.Roles.DEV);
+        final Project other = Mockito.mock(Project.class);
+        Mockito.when(other.repoFullName()).thenReturn("john/other");
+        Mockito.when(other.provider()).thenReturn(Provider.Names.GITHUB);
+        final Task second = Mockito.mock(Task.class);
+        Mockito.when(second.project()).thenReturn(other);
+        Mockito.when(second.assignee()).thenReturn(assignee);
+        Mockito.when(second.role()).thenReturn(Contract.Roles.DEV);
+        final List<Task> tasks = new ArrayList<>();
+        tasks.add(first);
+        tasks.add(second);
+        try {
+            invoice.registerAll(
+                tasks,
+                task -> BigDecimal.valueOf(50),
+                task -> BigDecimal.valueOf(30)
+            );
+            Assert.fail("IllegalArgumentException was expected.");
+        } catch (final IllegalArgumentException ex) {
+            Mockito.verify(storage, Mockito.never()).invoicedTasks();
+        }
+    }
+
     /**
      * Can compare two StoredInvoice objects.
      */
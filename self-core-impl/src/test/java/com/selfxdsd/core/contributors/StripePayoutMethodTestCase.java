@@ -241,6 +241,37 @@ public final class StripePayoutMethodTestCase {
         );
     }
 
+    /**
+     * The StripePayoutMethod checks whether it can receive payments on the
+     * up-to-date Account, not on the one used for the BillingInfo, which
+     * may be cached.
+     */
+    @Test
+    public void canReceivePaymentsReadsUpToDateAccount() {
+        final PayoutMethod payout = new StripePayoutMethod(
+            Mockito.mock(Contributor.class),
+            "payoutMethodId123456",
+            Mockito.mock(Storage.class),
+            () -> {
+                final Account account = new Account();
+                final Account.Capabilities caps = new Account.Capabilities();
+                caps.setTransfers("active");
+                caps.setCardPayments("active");
+                account.setCapabilities(caps);
+                return account;
+            },
+            () -> {
+                throw new IllegalStateException(
+                    "Cached Account should not be read."
+                );
+            }
+        );
+        MatcherAssert.assertThat(
+            payout.canReceivePayments(),
+            Matchers.is(Boolean.TRUE)
+        );
+    }
+
     /**
      * StoredContributor.remove() should throw an ISE
      * if the Stripe API token is not set.
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.pm.Conversation;
+import com.selfxdsd.api.pm.Step;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link CommandDispatch}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CommandDispatchTestCase {
+
+    /**
+     * CommandDispatch starts the Conversation registered for the
+     * Event's type, without asking the others.
+     */
+    @Test
+    public void dispatchesByType() {
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.type()).thenReturn(Event.Type.STATUS);
+        final Step status = Mockito.mock(Step.class);
+        final Conversation hello = Mockito.mock(Conversation.class);
+        final Conversation statuses = Mockito.mock(Conversation.class);
+        Mockito.when(statuses.start(event)).thenReturn(status);
+        final Conversation fallback = Mockito.mock(Conversation.class);
+        MatcherAssert.assertThat(
+            new CommandDispatch(fallback)
+                .with(Event.Type.HELLO, hello)
+                .with(Event.Type.STATUS, statuses)
+                .start(event),
+            Matchers.is(status)
+        );
+        Mockito.verify(hello, Mockito.never()).start(event);
+        Mockito.verify(fallback, Mockito.never()).start(event);
+    }
+
+    /**
+     * CommandDispatch starts the fallback Conversation if nothing
+     * is registered for the Event's type.
+     */
+    @Test
+    public void fallsBackForUnknownType() {
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.type()).thenReturn(Event.Type.CONFUSED);
+        final Step confused = Mockito.mock(Step.class);
+        final Conversation fallback = Mockito.mock(Conversation.class);
+        Mockito.when(fallback.start(event)).thenReturn(confused);
+        MatcherAssert.assertThat(
+            new CommandDispatch(fallback)
+                .with(Event.Type.HELLO, Mockito.mock(Conversation.class))
+                .start(event),
+            Matchers.is(confused)
+        );
+    }
+
+    /**
+     * Registering a Conversation does not change the original
+     * CommandDispatch.
+     */
+    @Test
+    public void registeringIsImmutable() {
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.type()).thenReturn(Event.Type.HELLO);
+        final Conversation fallback = Mockito.mock(Conversation.class);
+        final CommandDispatch original = new CommandDispatch(fallback);
+        original.with(Event.Type.HELLO, Mockito.mock(Conversation.class));
+        original.start(event);
+        Mockito.verify(fallback, Mockito.times(1)).start(event);
+    }
+}
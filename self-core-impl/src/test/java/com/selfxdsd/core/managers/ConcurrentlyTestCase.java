@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.pm.Step;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for {@link Concurrently}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class ConcurrentlyTestCase {
+
+    /**
+     * Concurrently performs all the Steps and then the next one.
+     */
+    @Test
+    public void performsStepsThenNext() {
+        final Event event = Mockito.mock(Event.class);
+        final Step first = Mockito.mock(Step.class);
+        final Step second = Mockito.mock(Step.class);
+        final Step next = Mockito.mock(Step.class);
+        new Concurrently(next, Runnable::run, first, second).perform(event);
+        Mockito.verify(first, Mockito.times(1)).perform(event);
+        Mockito.verify(second, Mockito.times(1)).perform(event);
+        Mockito.verify(next, Mockito.times(1)).perform(event);
+    }
+
+    /**
+     * Concurrently performs the Steps at the same time: each of them
+     * waits for the other one to start.
+     */
+    @Test
+    public void performsStepsAtTheSameTime() {
+        final CountDownLatch together = new CountDownLatch(2);
+        final AtomicBoolean met = new AtomicBoolean(true);
+        final Step step = event -> {
+            together.countDown();
+            try {
+                if(!together.await(5, TimeUnit.SECONDS)) {
+                    met.set(false);
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                met.set(false);
+            }
+        };
+        final Step next = Mockito.mock(Step.class);
+        final Event event = Mockito.mock(Event.class);
+        new Concurrently(next, step, step).perform(event);
+        MatcherAssert.assertThat(met.get(), Matchers.is(true));
+        Mockito.verify(next, Mockito.times(1)).perform(event);
+    }
+
+    /**
+     * Concurrently throws the exception of a failed Step, after all the
+     * Steps finished, and does not perform the next Step.
+     */
+    @Test
+    public void doesNotMoveOnIfStepFails() {
+        final Step failing = event -> {
+            throw new IllegalStateException("Unknown Provider: [test].");
+        };
+        final Step other = Mockito.mock(Step.class);
+        final Step next = Mockito.mock(Step.class);
+        final Event event = Mockito.mock(Event.class);
+        try {
+            new Concurrently(next, failing, other).perform(event);
+            MatcherAssert.assertThat("ISE was expected.", false);
+        } catch (final IllegalStateException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(),
+                Matchers.equalTo("Unknown Provider: [test].")
+            );
+        }
+        Mockito.verify(other, Mockito.times(1)).perform(event);
+        Mockito.verify(next, Mockito.times(0)).perform(event);
+    }
+}
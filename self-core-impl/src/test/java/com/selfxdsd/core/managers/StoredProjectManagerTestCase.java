@@ -27,6 +27,9 @@ import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.Github;
 import com.selfxdsd.core.mock.InMemory;
 import com.selfxdsd.core.projects.English;
+import com.selfxdsd.core.tasks.Deadlines;
+import com.selfxdsd.core.tasks.DirtyTasks;
+import com.selfxdsd.core.tasks.TaskId;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -38,6 +41,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -117,6 +122,30 @@ public final class StoredProjectManagerTestCase {
         );
     }
 
+    /**
+     * StoredProjectManager builds its Provider once. A PM read again from
+     * the Storage (e.g. with a new access token) builds its own.
+     */
+    @Test
+    public void reusesProvider() {
+        final Storage storage = Mockito.mock(Storage.class);
+        final ProjectManager manager = new StoredProjectManager(
+            1, "123", "zoeself", Provider.Names.GITHUB, "123token",
+            8, 5, storage
+        );
+        final Provider first = manager.provider();
+        MatcherAssert.assertThat(
+            manager.provider(), Matchers.sameInstance(first)
+        );
+        MatcherAssert.assertThat(
+            new StoredProjectManager(
+                1, "123", "zoeself", Provider.Names.GITHUB, "456token",
+                8, 5, storage
+            ).provider(),
+            Matchers.not(Matchers.sameInstance(first))
+        );
+    }
+
     /**
      * StoredProjectManager returns its commission project percentage.
      */
@@ -1521,7 +1550,8 @@ public final class StoredProjectManagerTestCase {
             "123token",
             8,
             5,
-            Mockito.mock(Storage.class)
+            Mockito.mock(Storage.class),
+            LocalDateTime::now
         );
         manager.assignedTasks(event);
         Mockito.verify(project, Mockito.never()).language();
@@ -1554,7 +1584,8 @@ public final class StoredProjectManagerTestCase {
             "123token",
             8,
             5,
-            Mockito.mock(Storage.class)
+            Mockito.mock(Storage.class),
+            LocalDateTime::now
         );
         manager.assignedTasks(event);
         Mockito.verify(project, Mockito.never()).language();
@@ -1567,9 +1598,11 @@ public final class StoredProjectManagerTestCase {
 
     /**
      * PM can handle the "assignedTasks" Event when there is an
-     * assigned Task whose corresponding Issue is closed.
+     * assigned Task whose corresponding Issue is closed. The Task should
+     * be registered on the active Invoice in a batch.
      */
     @Test
+    @SuppressWarnings("unchecked")
     public void handlesAssignedTasksEventClosedIssue() {
         final List<Task> mocks = new ArrayList<>();
         final Task task = Mockito.mock(Task.class);
@@ -1588,10 +1621,10 @@ public final class StoredProjectManagerTestCase {
         final InvoicedTask invoiced = Mockito.mock(InvoicedTask.class);
         final Invoice active = Mockito.mock(Invoice.class);
         Mockito.when(
-            active.register(
-                task, BigDecimal.valueOf(80), BigDecimal.valueOf(50)
+            active.registerAll(
+                Mockito.eq(List.of(task)), Mockito.any(), Mockito.any()
             )
-        ).thenReturn(invoiced);
+        ).thenReturn(List.of(invoiced));
         final Invoices invoices = Mockito.mock(Invoices.class);
         Mockito.when(invoices.active()).thenReturn(active);
         final Contract contract = Mockito.mock(Contract.class);
@@ -1628,15 +1661,34 @@ public final class StoredProjectManagerTestCase {
             "123token",
             8,
             5,
-            storage
+            storage,
+            LocalDateTime::now
         );
         manager.assignedTasks(event);
         Mockito.verify(project, Mockito.times(1)).language();
         Mockito.verify(task, Mockito.times(1)).contract();
         Mockito.verify(contract, Mockito.times(1)).invoices();
         Mockito.verify(invoices, Mockito.times(1)).active();
-        Mockito.verify(active, Mockito.times(1))
-            .register(task, BigDecimal.valueOf(80), BigDecimal.valueOf(50));
+        final ArgumentCaptor<Function> projectCommission = ArgumentCaptor
+            .forClass(Function.class);
+        final ArgumentCaptor<Function> contributorCommission = ArgumentCaptor
+            .forClass(Function.class);
+        Mockito.verify(active, Mockito.times(1)).registerAll(
+            Mockito.eq(List.of(task)),
+            projectCommission.capture(),
+            contributorCommission.capture()
+        );
+        Mockito.verify(active, Mockito.never()).register(
+            Mockito.any(), Mockito.any(), Mockito.any()
+        );
+        MatcherAssert.assertThat(
+            projectCommission.getValue().apply(task),
+            Matchers.equalTo(BigDecimal.valueOf(80))
+        );
+        MatcherAssert.assertThat(
+            contributorCommission.getValue().apply(task),
+            Matchers.equalTo(BigDecimal.valueOf(50))
+        );
         Mockito.verify(comments, Mockito.times(1)).post(Mockito.anyString());
     }
 
@@ -1748,7 +1800,8 @@ public final class StoredProjectManagerTestCase {
             now
         );
         manager.assignedTasks(event);
-        Mockito.verify(task, Mockito.times(1)).unassign();
+        Mockito.verify(tasks, Mockito.times(1)).unassignAll(List.of(task));
+        Mockito.verify(task, Mockito.never()).unassign();
         Mockito.verify(task.resignations(), Mockito.times(1))
             .register(task, Resignations.Reason.DEADLINE);
         Mockito.verify(comments, Mockito.times(1))
@@ -1759,6 +1812,224 @@ public final class StoredProjectManagerTestCase {
                 + "I will assign it to someone else soon.");
     }
 
+    /**
+     * PM visits all the assigned Tasks of a Project once, to prime it.
+     * Afterwards, it only visits the Tasks which changed since the last
+     * sweep or whose deadline or reminder is due.
+     */
+    @Test
+    public void assignedTasksVisitsOnlyChangedOrDueTasks() {
+        final AtomicReference<LocalDateTime> now = new AtomicReference<>(
+            LocalDateTime.of(2021, 3, 10, 12, 0)
+        );
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.language()).thenReturn(new English());
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final Contributor assignee = Mockito.mock(Contributor.class);
+        Mockito.when(assignee.username()).thenReturn("mihai");
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.isClosed()).thenReturn(Boolean.FALSE);
+        final Comments comments = Mockito.mock(Comments.class);
+        Mockito.when(issue.comments()).thenReturn(comments);
+        final Tasks tasks = Mockito.mock(Tasks.class);
+        final List<Task> all = new ArrayList<>();
+        for(int idx = 1; idx <= 3; ++idx) {
+            final Task task = Mockito.mock(Task.class);
+            Mockito.when(task.issueId()).thenReturn(String.valueOf(idx));
+            Mockito.when(task.assignee()).thenReturn(assignee);
+            Mockito.when(task.issue()).thenReturn(issue);
+            Mockito.when(task.assignmentDate()).thenReturn(
+                now.get().minusDays(1)
+            );
+            Mockito.when(task.deadline()).thenReturn(now.get().plusDays(9));
+            Mockito.when(
+                tasks.getById(
+                    String.valueOf(idx), "john/test",
+                    Provider.Names.GITHUB, false
+                )
+            ).thenReturn(task);
+            all.add(task);
+        }
+        Mockito.when(tasks.iterator()).thenAnswer(inv -> all.iterator());
+        Mockito.when(project.tasks()).thenReturn(tasks);
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.project()).thenReturn(project);
+
+        final DirtyTasks dirty = new DirtyTasks.InMemory(now::get);
+        final ProjectManager manager = new StoredProjectManager(
+            1,
+            "123",
+            "zoeself",
+            Provider.Names.GITHUB,
+            "123token",
+            8,
+            5,
+            Mockito.mock(Storage.class),
+            now::get,
+            dirty,
+            new Deadlines()
+        );
+        manager.assignedTasks(event);
+        for(final Task task : all) {
+            Mockito.verify(task, Mockito.times(1)).issue();
+        }
+
+        now.set(now.get().plusHours(1));
+        dirty.mark(
+            new TaskId(Provider.Names.GITHUB, "john/test", "2", false)
+        );
+        manager.assignedTasks(event);
+        Mockito.verify(all.get(0), Mockito.times(1)).issue();
+        Mockito.verify(all.get(1), Mockito.times(2)).issue();
+        Mockito.verify(all.get(2), Mockito.times(1)).issue();
+        Mockito.verify(comments, Mockito.never()).post(Mockito.anyString());
+
+        now.set(LocalDateTime.of(2021, 3, 14, 1, 0));
+        manager.assignedTasks(event);
+        manager.assignedTasks(event);
+        Mockito.verify(all.get(0), Mockito.times(2)).issue();
+        Mockito.verify(all.get(1), Mockito.times(3)).issue();
+        Mockito.verify(all.get(2), Mockito.times(2)).issue();
+        Mockito.verify(comments, Mockito.times(3)).post(Mockito.anyString());
+    }
+
+    /**
+     * PM schedules the Tasks assigned by another process, as read from
+     * Storage, when sweeping a primed Project. It uses the Deadlines
+     * brought by the sweep Event, not its own.
+     */
+    @Test
+    public void assignedTasksSchedulesTasksAssignedElsewhere() {
+        final AtomicReference<LocalDateTime> now = new AtomicReference<>(
+            LocalDateTime.of(2021, 3, 10, 12, 0)
+        );
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.language()).thenReturn(new English());
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final Contributor assignee = Mockito.mock(Contributor.class);
+        Mockito.when(assignee.username()).thenReturn("mihai");
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.isClosed()).thenReturn(Boolean.FALSE);
+        final Comments comments = Mockito.mock(Comments.class);
+        Mockito.when(issue.comments()).thenReturn(comments);
+        final List<Task> all = new ArrayList<>();
+        final Tasks tasks = Mockito.mock(Tasks.class);
+        Mockito.when(tasks.iterator()).thenAnswer(inv -> all.iterator());
+        Mockito.when(project.tasks()).thenReturn(tasks);
+        final Task first = Mockito.mock(Task.class);
+        Mockito.when(first.issueId()).thenReturn("1");
+        Mockito.when(first.assignee()).thenReturn(assignee);
+        Mockito.when(first.issue()).thenReturn(issue);
+        Mockito.when(first.assignmentDate()).thenReturn(
+            now.get().minusDays(1)
+        );
+        Mockito.when(first.deadline()).thenReturn(now.get().plusDays(9));
+        all.add(first);
+        final Deadlines swept = new Deadlines();
+        final Deadlines own = new Deadlines();
+        final Event event = new SweepEvent(
+            Event.Type.ASSIGNED_TASKS, project, swept
+        );
+        final ProjectManager manager = new StoredProjectManager(
+            1,
+            "123",
+            "zoeself",
+            Provider.Names.GITHUB,
+            "123token",
+            8,
+            5,
+            Mockito.mock(Storage.class),
+            now::get,
+            new DirtyTasks.InMemory(now::get),
+            own
+        );
+        manager.assignedTasks(event);
+        MatcherAssert.assertThat(swept.primed(project), Matchers.is(true));
+        MatcherAssert.assertThat(own.primed(project), Matchers.is(false));
+
+        final Task second = Mockito.mock(Task.class);
+        Mockito.when(second.issueId()).thenReturn("2");
+        Mockito.when(second.assignee()).thenReturn(assignee);
+        Mockito.when(second.issue()).thenReturn(issue);
+        Mockito.when(second.assignmentDate()).thenReturn(
+            now.get().minusDays(6)
+        );
+        Mockito.when(second.deadline()).thenReturn(now.get().plusDays(4));
+        all.add(second);
+        now.set(now.get().plusHours(1));
+        manager.assignedTasks(event);
+        Mockito.verify(first, Mockito.times(1)).issue();
+        Mockito.verify(second, Mockito.times(1)).issue();
+        Mockito.verify(comments, Mockito.times(1)).post(Mockito.anyString());
+        Mockito.verify(tasks, Mockito.never()).getById(
+            Mockito.anyString(), Mockito.anyString(),
+            Mockito.anyString(), Mockito.anyBoolean()
+        );
+    }
+
+    /**
+     * PM fetches the Issues of the assigned Tasks in bulk, instead of
+     * fetching each Task's Issue separately.
+     */
+    @Test
+    public void assignedTasksPrefetchesIssues() {
+        final LocalDateTime now = LocalDateTime.of(2021, 3, 10, 12, 0);
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.language()).thenReturn(new English());
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.isClosed()).thenReturn(Boolean.FALSE);
+        final Issues prefetched = Mockito.mock(Issues.class);
+        Mockito.when(prefetched.getById("1")).thenReturn(issue);
+        final Issues issues = Mockito.mock(Issues.class);
+        Mockito.when(issues.prefetch(List.of("1"))).thenReturn(prefetched);
+        final Issues pullRequests = Mockito.mock(Issues.class);
+        Mockito.when(pullRequests.prefetch(List.of()))
+            .thenReturn(pullRequests);
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.when(repo.issues()).thenReturn(issues);
+        Mockito.when(repo.pullRequests()).thenReturn(pullRequests);
+        final Provider provider = Mockito.mock(Provider.class);
+        Mockito.when(provider.repo("john", "test")).thenReturn(repo);
+        final ProjectManager pm = Mockito.mock(ProjectManager.class);
+        Mockito.when(pm.provider()).thenReturn(provider);
+        Mockito.when(project.projectManager()).thenReturn(pm);
+
+        final Task task = Mockito.mock(Task.class);
+        Mockito.when(task.issueId()).thenReturn("1");
+        Mockito.when(task.assignee()).thenReturn(
+            Mockito.mock(Contributor.class)
+        );
+        Mockito.when(task.assignmentDate()).thenReturn(now.minusDays(1));
+        Mockito.when(task.deadline()).thenReturn(now.plusDays(9));
+        final Tasks tasks = Mockito.mock(Tasks.class);
+        Mockito.when(tasks.iterator()).thenAnswer(
+            inv -> List.of(task).iterator()
+        );
+        Mockito.when(project.tasks()).thenReturn(tasks);
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.project()).thenReturn(project);
+
+        final ProjectManager manager = new StoredProjectManager(
+            1,
+            "123",
+            "zoeself",
+            Provider.Names.GITHUB,
+            "123token",
+            8,
+            5,
+            Mockito.mock(Storage.class),
+            () -> now
+        );
+        manager.assignedTasks(event);
+        Mockito.verify(task, Mockito.never()).issue();
+        Mockito.verify(prefetched, Mockito.times(1)).getById("1");
+        Mockito.verify(issue, Mockito.times(1)).isClosed();
+    }
+
     /**
      * StoredProjectManager can rename a Project.
      */
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.ProjectManagers;
+import com.selfxdsd.api.Projects;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link SweepScheduler}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class SweepSchedulerTestCase {
+
+    /**
+     * SweepScheduler sweeps all the Projects, taking them from the PMs
+     * in turns.
+     */
+    @Test
+    public void sweepsProjectsInTurns() {
+        final List<String> swept = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final ProjectManagers managers = this.managers(
+            this.manager(
+                1,
+                this.project("a1", swept, null),
+                this.project("a2", swept, null),
+                this.project("a3", swept, null)
+            ),
+            this.manager(2, this.project("b1", swept, null))
+        );
+        final SweepScheduler scheduler = new SweepScheduler(
+            managers, Duration.ofMinutes(10), 1, 1, LocalDateTime::now
+        );
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(4));
+        MatcherAssert.assertThat(scheduler.pending(), Matchers.is(0));
+        MatcherAssert.assertThat(
+            swept,
+            Matchers.contains(
+                "a1:unassigned", "a1:assigned",
+                "b1:unassigned", "b1:assigned",
+                "a2:unassigned", "a2:assigned",
+                "a3:unassigned", "a3:assigned"
+            )
+        );
+    }
+
+    /**
+     * SweepScheduler stops starting Projects once the cycle's budget is
+     * spent. The Projects left are swept in the next cycles, before the
+     * queues are filled again.
+     */
+    @Test
+    public void keepsLeftoversForNextCycle() {
+        final AtomicReference<LocalDateTime> clock = new AtomicReference<>(
+            LocalDateTime.of(2021, 1, 1, 10, 0)
+        );
+        final List<String> swept = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final ProjectManagers managers = this.managers(
+            this.manager(
+                1,
+                this.project("a1", swept, clock),
+                this.project("a2", swept, clock)
+            ),
+            this.manager(2, this.project("b1", swept, clock))
+        );
+        final SweepScheduler scheduler = new SweepScheduler(
+            managers, Duration.ofMinutes(30), 1, 1, clock::get
+        );
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        MatcherAssert.assertThat(scheduler.pending(), Matchers.is(2));
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        MatcherAssert.assertThat(scheduler.pending(), Matchers.is(1));
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        MatcherAssert.assertThat(
+            "PM 2 was done with its Projects, it should get a new round.",
+            scheduler.pending(),
+            Matchers.is(1)
+        );
+        MatcherAssert.assertThat(
+            swept,
+            Matchers.contains(
+                "a1:unassigned", "a1:assigned",
+                "b1:unassigned", "b1:assigned",
+                "a2:unassigned", "a2:assigned"
+            )
+        );
+    }
+
+    /**
+     * SweepScheduler starts nothing if the budget is zero.
+     */
+    @Test
+    public void sweepsNothingWithoutBudget() {
+        final List<String> swept = new ArrayList<>();
+        final ProjectManagers managers = this.managers(
+            this.manager(1, this.project("a1", swept, null))
+        );
+        final SweepScheduler scheduler = new SweepScheduler(
+            managers, Duration.ZERO, 1, 1, LocalDateTime::now
+        );
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(0));
+        MatcherAssert.assertThat(scheduler.pending(), Matchers.is(1));
+        MatcherAssert.assertThat(swept, Matchers.emptyIterable());
+    }
+
+    /**
+     * SweepScheduler reloads the Projects at each cycle: the leftovers are
+     * replaced by their fresh copies and the ones which are not assigned
+     * to the PM anymore are dropped.
+     */
+    @Test
+    public void reloadsProjectsEachCycle() {
+        final AtomicReference<LocalDateTime> clock = new AtomicReference<>(
+            LocalDateTime.of(2021, 1, 1, 10, 0)
+        );
+        final List<String> swept = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project stale = this.project("a3", swept, clock);
+        final AtomicReference<List<Project>> assigned = new AtomicReference<>(
+            List.of(
+                this.project("a1", swept, clock),
+                this.project("a2", swept, clock),
+                stale
+            )
+        );
+        final Projects projects = Mockito.mock(Projects.class);
+        Mockito.when(projects.iterator()).thenAnswer(
+            inv -> assigned.get().iterator()
+        );
+        final ProjectManager first = Mockito.mock(ProjectManager.class);
+        Mockito.when(first.id()).thenReturn(1);
+        Mockito.when(first.projects()).thenReturn(projects);
+        final SweepScheduler scheduler = new SweepScheduler(
+            this.managers(
+                first, this.manager(2, this.project("b1", swept, clock))
+            ),
+            Duration.ofMinutes(30), 1, 1, clock::get
+        );
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        final Project fresh = this.project("a3", swept, clock);
+        assigned.set(List.of(this.project("a1", swept, clock), fresh));
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        MatcherAssert.assertThat(scheduler.pending(), Matchers.is(1));
+        MatcherAssert.assertThat(scheduler.cycle(), Matchers.is(1));
+        MatcherAssert.assertThat(
+            swept,
+            Matchers.contains(
+                "a1:unassigned", "a1:assigned",
+                "b1:unassigned", "b1:assigned",
+                "a3:unassigned", "a3:assigned"
+            )
+        );
+        Mockito.verify(stale, Mockito.never())
+            .resolve(Mockito.any(Event.class));
+        Mockito.verify(fresh, Mockito.times(2))
+            .resolve(Mockito.any(Event.class));
+    }
+
+    /**
+     * SweepScheduler doesn't wait forever for a hung Project: once the
+     * cycle's budget is spent twice, the Project is cancelled.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void cancelsHungProject() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Project hung = Mockito.mock(Project.class);
+        Mockito.when(hung.repoFullName()).thenReturn("hung");
+        Mockito.doAnswer(
+            inv -> {
+                try {
+                    Thread.sleep(60_000L);
+                } catch (final InterruptedException ex) {
+                    interrupted.countDown();
+                }
+                return null;
+            }
+        ).when(hung).resolve(Mockito.any(Event.class));
+        final SweepScheduler scheduler = new SweepScheduler(
+            this.managers(this.manager(1, hung)),
+            Duration.ofMillis(200), 1, 1, LocalDateTime::now
+        );
+        final long start = System.currentTimeMillis();
+        scheduler.cycle();
+        MatcherAssert.assertThat(
+            System.currentTimeMillis() - start,
+            Matchers.lessThan(10_000L)
+        );
+        MatcherAssert.assertThat(
+            interrupted.await(5, TimeUnit.SECONDS), Matchers.is(true)
+        );
+    }
+
+    /**
+     * Mock ProjectManagers.
+     * @param all The PMs.
+     * @return ProjectManagers.
+     */
+    private ProjectManagers managers(final ProjectManager... all) {
+        final ProjectManagers managers = Mockito.mock(ProjectManagers.class);
+        Mockito.when(managers.iterator()).thenAnswer(
+            inv -> List.of(all).iterator()
+        );
+        return managers;
+    }
+
+    /**
+     * Mock a ProjectManager.
+     * @param id PM id.
+     * @param assigned Its Projects.
+     * @return ProjectManager.
+     */
+    private ProjectManager manager(final int id, final Project... assigned) {
+        final Projects projects = Mockito.mock(Projects.class);
+        Mockito.when(projects.iterator()).thenAnswer(
+            inv -> List.of(assigned).iterator()
+        );
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        Mockito.when(manager.id()).thenReturn(id);
+        Mockito.when(manager.projects()).thenReturn(projects);
+        return manager;
+    }
+
+    /**
+     * Mock a Project which records the sweeps it gets.
+     * @param name Name of the Project.
+     * @param swept Where to record the sweeps.
+     * @param clock Clock moved one hour ahead by each sweep, if not null.
+     * @return Project.
+     */
+    private Project project(
+        final String name,
+        final List<String> swept,
+        final AtomicReference<LocalDateTime> clock
+    ) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn(name);
+        Mockito.doAnswer(
+            inv -> {
+                final Event event = (Event) inv.getArguments()[0];
+                swept.add(name + ":" + event.type());
+                if(clock != null
+                    && Event.Type.ASSIGNED_TASKS.equals(event.type())) {
+                    clock.updateAndGet(time -> time.plusHours(1));
+                }
+                return null;
+            }
+        ).when(project).resolve(Mockito.any(Event.class));
+        return project;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.managers;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link Sweep}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class SweepTestCase {
+
+    /**
+     * Sweep handles all the items and returns the failed ones, without
+     * stopping at the first failure.
+     */
+    @Test
+    public void collectsFailures() {
+        final List<String> handled = new ArrayList<>();
+        final List<String> reported = new ArrayList<>();
+        final Sweep sweep = new Sweep(-1, 2, Runnable::run);
+        final List<String> failed = sweep.run(
+            List.of("1", "2", "3", "4"),
+            item -> item,
+            item -> {
+                handled.add(item);
+                if("2".equals(item) || "4".equals(item)) {
+                    throw new IllegalStateException("Failed " + item);
+                }
+            },
+            (item, ex) -> reported.add(ex.getMessage())
+        );
+        MatcherAssert.assertThat(
+            handled, Matchers.contains("1", "2", "3", "4")
+        );
+        MatcherAssert.assertThat(failed, Matchers.contains("2", "4"));
+        MatcherAssert.assertThat(
+            reported, Matchers.contains("Failed 2", "Failed 4")
+        );
+    }
+
+    /**
+     * Sweep handles the items with the same key in order, even if the
+     * others are handled in parallel.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void keepsOrderPerKey() throws Exception {
+        final ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> items = new ArrayList<>();
+            for(int idx = 0; idx < 50; ++idx) {
+                items.add("a" + idx);
+                items.add("b" + idx);
+            }
+            final List<String> handled = Collections.synchronizedList(
+                new ArrayList<>()
+            );
+            new Sweep(-2, 4, threads).run(
+                items,
+                item -> item.substring(0, 1),
+                handled::add,
+                (item, ex) -> { }
+            );
+            MatcherAssert.assertThat(handled, Matchers.hasSize(100));
+            final List<String> first = new ArrayList<>();
+            for(final String item : handled) {
+                if(item.startsWith("a")) {
+                    first.add(item);
+                }
+            }
+            for(int idx = 0; idx < 50; ++idx) {
+                MatcherAssert.assertThat(
+                    first.get(idx), Matchers.equalTo("a" + idx)
+                );
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Sweep never has more items in progress than the cap of its PM.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void capsItemsInProgress() throws Exception {
+        final ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            final List<String> items = new ArrayList<>();
+            for(int idx = 0; idx < 40; ++idx) {
+                items.add(String.valueOf(idx));
+            }
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger max = new AtomicInteger();
+            new Sweep(-3, 3, threads).run(
+                items,
+                item -> item,
+                item -> {
+                    max.accumulateAndGet(
+                        running.incrementAndGet(), Math::max
+                    );
+                    try {
+                        Thread.sleep(5);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                },
+                (item, ex) -> { }
+            );
+            MatcherAssert.assertThat(max.get(), Matchers.lessThanOrEqualTo(3));
+            MatcherAssert.assertThat(max.get(), Matchers.greaterThan(0));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.exceptions.WalletPaymentException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link BatchPayments}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class BatchPaymentsTestCase {
+
+    /**
+     * BatchPayments pays the Invoices of all the Projects.
+     */
+    @Test
+    public void paysInvoicesOfAllProjects() {
+        final Project first = Mockito.mock(Project.class);
+        final Wallet firstWallet = this.mockWallet(first);
+        final Project second = Mockito.mock(Project.class);
+        final Wallet secondWallet = this.mockWallet(second);
+        final Invoice one = this.mockInvoice(1, first);
+        final Invoice two = this.mockInvoice(2, first);
+        final Invoice three = this.mockInvoice(2 + 1, second);
+        final Payment successful = this.mockPayment(
+            Payment.Status.SUCCESSFUL
+        );
+        Mockito.when(firstWallet.pay(Mockito.any(Invoice.class)))
+            .thenReturn(successful);
+        Mockito.when(secondWallet.pay(Mockito.any(Invoice.class)))
+            .thenReturn(successful);
+
+        final BatchPayments.Summary summary = new BatchPayments(2).pay(
+            List.of(one, two, three)
+        );
+
+        MatcherAssert.assertThat(summary.successful(), Matchers.is(2 + 1));
+        MatcherAssert.assertThat(summary.failed(), Matchers.is(0));
+        MatcherAssert.assertThat(summary.errored(), Matchers.is(0));
+        Mockito.verify(firstWallet, Mockito.times(1)).pay(one);
+        Mockito.verify(firstWallet, Mockito.times(1)).pay(two);
+        Mockito.verify(secondWallet, Mockito.times(1)).pay(three);
+    }
+
+    /**
+     * BatchPayments pays the Invoices of the same Project one after the
+     * other, even if it has more threads.
+     */
+    @Test
+    public void paysInvoicesOfSameProjectSerially() {
+        final Project project = Mockito.mock(Project.class);
+        final Wallet wallet = this.mockWallet(project);
+        final Payment successful = this.mockPayment(
+            Payment.Status.SUCCESSFUL
+        );
+        final AtomicInteger paying = new AtomicInteger();
+        final AtomicInteger maximum = new AtomicInteger();
+        Mockito.when(wallet.pay(Mockito.any(Invoice.class))).thenAnswer(
+            invocation -> {
+                maximum.accumulateAndGet(paying.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                paying.decrementAndGet();
+                return successful;
+            }
+        );
+
+        final BatchPayments.Summary summary = new BatchPayments(4).pay(
+            List.of(
+                this.mockInvoice(1, project),
+                this.mockInvoice(2, project),
+                this.mockInvoice(2 + 1, project),
+                this.mockInvoice(2 + 2, project)
+            )
+        );
+
+        MatcherAssert.assertThat(summary.successful(), Matchers.is(2 + 2));
+        MatcherAssert.assertThat(maximum.get(), Matchers.is(1));
+    }
+
+    /**
+     * BatchPayments counts the failed and the errored payments and moves
+     * on with the rest of the Invoices.
+     */
+    @Test
+    public void countsFailedAndErroredPayments() {
+        final Project project = Mockito.mock(Project.class);
+        final Wallet wallet = this.mockWallet(project);
+        final Invoice declined = this.mockInvoice(1, project);
+        final Payments payments = Mockito.mock(Payments.class);
+        final Payment failed = this.mockPayment(Payment.Status.FAILED);
+        Mockito.when(
+            payments.register(
+                Mockito.any(Invoice.class),
+                Mockito.anyString(),
+                Mockito.any(LocalDateTime.class),
+                Mockito.any(BigDecimal.class),
+                Mockito.anyString(),
+                Mockito.anyString()
+            )
+        ).thenReturn(failed);
+        Mockito.when(declined.payments()).thenReturn(payments);
+        Mockito.when(wallet.pay(declined)).thenThrow(
+            new WalletPaymentException("Card declined.")
+        );
+        final Invoice paid = this.mockInvoice(2, project);
+        Mockito.when(paid.isPaid()).thenReturn(true);
+        final Invoice due = this.mockInvoice(2 + 1, project);
+        Mockito.when(wallet.pay(due)).thenReturn(
+            this.mockPayment(Payment.Status.SUCCESSFUL)
+        );
+
+        final BatchPayments.Summary summary = new BatchPayments().pay(
+            List.of(declined, paid, due)
+        );
+
+        MatcherAssert.assertThat(summary.successful(), Matchers.is(1));
+        MatcherAssert.assertThat(summary.failed(), Matchers.is(1));
+        MatcherAssert.assertThat(summary.errored(), Matchers.is(1));
+        Mockito.verify(wallet, Mockito.never()).pay(paid);
+        Mockito.verify(wallet, Mockito.times(1)).pay(due);
+    }
+
+    /**
+     * BatchPayments can pay an empty batch.
+     */
+    @Test
+    public void paysEmptyBatch() {
+        final BatchPayments.Summary summary = new BatchPayments().pay(
+            List.of()
+        );
+        MatcherAssert.assertThat(summary.successful(), Matchers.is(0));
+        MatcherAssert.assertThat(summary.interrupted(), Matchers.is(false));
+        MatcherAssert.assertThat(
+            summary.toString(),
+            Matchers.startsWith("0 Invoices in ")
+        );
+    }
+
+    /**
+     * BatchPayments marks the Summary as interrupted and pays no other
+     * Invoice if the waiting thread is interrupted.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void marksInterruptedBatch() throws Exception {
+        final Project project = Mockito.mock(Project.class);
+        final Wallet wallet = this.mockWallet(project);
+        final Payment successful = this.mockPayment(
+            Payment.Status.SUCCESSFUL
+        );
+        Mockito.when(wallet.pay(Mockito.any(Invoice.class))).thenAnswer(
+            invocation -> {
+                while(!Thread.currentThread().isInterrupted()) {
+                    Thread.onSpinWait();
+                }
+                return successful;
+            }
+        );
+        final Invoice first = this.mockInvoice(1, project);
+        final Invoice second = this.mockInvoice(2, project);
+
+        Thread.currentThread().interrupt();
+        final BatchPayments.Summary summary = new BatchPayments(1).pay(
+            List.of(first, second)
+        );
+
+        MatcherAssert.assertThat(Thread.interrupted(), Matchers.is(true));
+        MatcherAssert.assertThat(summary.interrupted(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            summary.toString(),
+            Matchers.endsWith("Interrupted before paying all Invoices.")
+        );
+        Thread.sleep(100);
+        Mockito.verify(wallet, Mockito.never()).pay(second);
+    }
+
+    /**
+     * Mock the Wallet of a Project.
+     * @param project Project.
+     * @return Wallet.
+     */
+    private Wallet mockWallet(final Project project) {
+        final Wallet wallet = Mockito.mock(Wallet.class);
+        Mockito.when(wallet.project()).thenReturn(project);
+        Mockito.when(wallet.cash()).thenReturn(BigDecimal.valueOf(1000 * 100));
+        Mockito.when(project.wallet()).thenReturn(wallet);
+        return wallet;
+    }
+
+    /**
+     * Mock a due Invoice of a Project.
+     * @param id Invoice ID.
+     * @param project Project.
+     * @return Invoice.
+     */
+    private Invoice mockInvoice(final int id, final Project project) {
+        final Contract contract = Mockito.mock(Contract.class);
+        Mockito.when(contract.project()).thenReturn(project);
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(id);
+        Mockito.when(invoice.contract()).thenReturn(contract);
+        Mockito.when(invoice.isPaid()).thenReturn(false);
+        Mockito.when(invoice.totalAmount())
+            .thenReturn(BigDecimal.valueOf(200 * 100));
+        return invoice;
+    }
+
+    /**
+     * Mock a Payment.
+     * @param status Status of the Payment.
+     * @return Payment.
+     */
+    private Payment mockPayment(final String status) {
+        final Payment payment = Mockito.mock(Payment.class);
+        Mockito.when(payment.status()).thenReturn(status);
+        return payment;
+    }
+}
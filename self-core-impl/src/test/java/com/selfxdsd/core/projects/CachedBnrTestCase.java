@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link CachedBnr}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedBnrTestCase {
+
+    /**
+     * CachedBnr reads the rate right away and schedules the next refresh
+     * after BNR publishes the rate, at 13:15 in Romania.
+     */
+    @Test
+    public void refreshesAfterBnrPublishes() {
+        final ScheduledExecutorService timer = Mockito.mock(
+            ScheduledExecutorService.class
+        );
+        final CachedBnr bnr = new CachedBnr(
+            () -> Map.entry(LocalDate.now(), BigDecimal.valueOf(492)),
+            year -> Map.of(),
+            timer,
+            CachedBnrTestCase.romania(10, 0)
+        );
+        Mockito.verify(timer, Mockito.times(1)).execute(
+            Mockito.any(Runnable.class)
+        );
+        Mockito.verify(timer, Mockito.times(1)).schedule(
+            Mockito.any(Runnable.class),
+            Mockito.eq(Duration.ofHours(3).plusMinutes(15).toMillis()),
+            Mockito.eq(TimeUnit.MILLISECONDS)
+        );
+        bnr.close();
+        Mockito.verify(timer, Mockito.times(1)).shutdownNow();
+    }
+
+    /**
+     * CachedBnr schedules the next refresh for the next day, if BNR
+     * already published the rate of today.
+     */
+    @Test
+    public void refreshesNextDayAfterBnrPublished() {
+        final ScheduledExecutorService timer = Mockito.mock(
+            ScheduledExecutorService.class
+        );
+        new CachedBnr(
+            () -> Map.entry(LocalDate.now(), BigDecimal.valueOf(492)),
+            year -> Map.of(),
+            timer,
+            CachedBnrTestCase.romania(14, 0)
+        );
+        Mockito.verify(timer, Mockito.times(1)).schedule(
+            Mockito.any(Runnable.class),
+            Mockito.eq(Duration.ofHours(23).plusMinutes(15).toMillis()),
+            Mockito.eq(TimeUnit.MILLISECONDS)
+        );
+    }
+
+    /**
+     * CachedBnr reads the rate right away, blocking, if it is needed
+     * before the first refresh.
+     */
+    @Test
+    public void readsRateBeforeRefresh() {
+        final AtomicInteger fetches = new AtomicInteger();
+        final CachedBnr bnr = new CachedBnr(
+            () -> {
+                fetches.incrementAndGet();
+                return Map.entry(LocalDate.now(), BigDecimal.valueOf(492));
+            },
+            year -> Map.of(),
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(),
+            Matchers.equalTo(BigDecimal.valueOf(492))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.now()),
+            Matchers.equalTo(BigDecimal.valueOf(492))
+        );
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * CachedBnr returns the fallback rate if it cannot read the rate before
+     * the first refresh. It tries only once, then waits for the refreshes.
+     */
+    @Test
+    public void returnsFallbackIfRateCannotBeRead() {
+        final AtomicInteger fetches = new AtomicInteger();
+        final CachedBnr bnr = new CachedBnr(
+            () -> {
+                fetches.incrementAndGet();
+                throw new IllegalStateException("BNR is down.");
+            },
+            year -> Map.of(),
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(),
+            Matchers.equalTo(BigDecimal.valueOf(XmlBnr.FALLBACK_EXCHANGE_RATE))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.now()),
+            Matchers.equalTo(BigDecimal.valueOf(XmlBnr.FALLBACK_EXCHANGE_RATE))
+        );
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * CachedBnr keeps the rates by date and gives the one valid at a
+     * given date.
+     */
+    @Test
+    public void returnsRateValidAtDate() {
+        final AtomicReference<Map.Entry<LocalDate, BigDecimal>> latest =
+            new AtomicReference<>(
+                Map.entry(LocalDate.of(2021, 3, 5), BigDecimal.valueOf(488))
+            );
+        final CachedBnr bnr = new CachedBnr(
+            latest::get,
+            year -> Map.of(),
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        bnr.refresh();
+        latest.set(
+            Map.entry(LocalDate.of(2021, 3, 8), BigDecimal.valueOf(489))
+        );
+        bnr.refresh();
+        MatcherAssert.assertThat(
+            bnr.euroToRon(),
+            Matchers.equalTo(BigDecimal.valueOf(489))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.of(2021, 3, 7)),
+            Matchers.equalTo(BigDecimal.valueOf(488))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.of(2021, 3, 8)),
+            Matchers.equalTo(BigDecimal.valueOf(489))
+        );
+    }
+
+    /**
+     * CachedBnr reads the rates of the year (and of the year before, if
+     * needed) for a date before the rates it has, only once.
+     */
+    @Test
+    public void readsYearlyRatesForOlderDates() {
+        final AtomicInteger reads = new AtomicInteger();
+        final CachedBnr bnr = new CachedBnr(
+            () -> Map.entry(LocalDate.of(2021, 3, 5), BigDecimal.valueOf(488)),
+            year -> {
+                reads.incrementAndGet();
+                final Map<LocalDate, BigDecimal> rates;
+                if(year == 2021) {
+                    rates = Map.of(
+                        LocalDate.of(2021, 1, 4), BigDecimal.valueOf(487)
+                    );
+                } else {
+                    rates = Map.of(
+                        LocalDate.of(2020, 12, 31), BigDecimal.valueOf(486)
+                    );
+                }
+                return rates;
+            },
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        bnr.refresh();
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.of(2021, 2, 1)),
+            Matchers.equalTo(BigDecimal.valueOf(487))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.of(2021, 1, 1)),
+            Matchers.equalTo(BigDecimal.valueOf(486))
+        );
+        MatcherAssert.assertThat(
+            bnr.euroToRon(LocalDate.of(2021, 1, 2)),
+            Matchers.equalTo(BigDecimal.valueOf(486))
+        );
+        MatcherAssert.assertThat(reads.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * CachedBnr complains if the rate of a date before the rates it has
+     * cannot be found.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void complainsIfRateOfDateIsNotKnown() {
+        final CachedBnr bnr = new CachedBnr(
+            () -> Map.entry(LocalDate.of(2021, 3, 5), BigDecimal.valueOf(488)),
+            year -> {
+                throw new IllegalStateException("BNR is down.");
+            },
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        bnr.refresh();
+        bnr.euroToRon(LocalDate.of(2020, 6, 1));
+    }
+
+    /**
+     * CachedBnr keeps the rates it has if a refresh fails.
+     */
+    @Test
+    public void keepsRatesIfRefreshFails() {
+        final AtomicReference<Map.Entry<LocalDate, BigDecimal>> latest =
+            new AtomicReference<>(
+                Map.entry(LocalDate.of(2021, 3, 5), BigDecimal.valueOf(488))
+            );
+        final CachedBnr bnr = new CachedBnr(
+            () -> {
+                final Map.Entry<LocalDate, BigDecimal> rate = latest.get();
+                if(rate == null) {
+                    throw new IllegalStateException("BNR is down.");
+                }
+                return rate;
+            },
+            year -> Map.of(),
+            Mockito.mock(ScheduledExecutorService.class),
+            Clock.systemDefaultZone()
+        );
+        bnr.refresh();
+        latest.set(null);
+        bnr.refresh();
+        MatcherAssert.assertThat(
+            bnr.euroToRon(),
+            Matchers.equalTo(BigDecimal.valueOf(488))
+        );
+    }
+
+    /**
+     * Clock fixed on 2021-03-05, at the given time in Romania.
+     * @param hour Hour.
+     * @param minute Minute.
+     * @return Clock.
+     */
+    private static Clock romania(final int hour, final int minute) {
+        final ZoneId romania = ZoneId.of("Europe/Bucharest");
+        return Clock.fixed(
+            ZonedDateTime.of(
+                LocalDate.of(2021, 3, 5).atTime(hour, minute), romania
+            ).toInstant(),
+            romania
+        );
+    }
+}
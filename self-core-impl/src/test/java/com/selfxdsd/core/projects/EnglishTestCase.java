@@ -67,6 +67,27 @@ public final class EnglishTestCase {
         );
     }
 
+    /**
+     * English categorizes commands with keywords which overlap
+     * or are written next to other words.
+     */
+    @Test
+    public void categorizesOverlappingKeywords() {
+        final Language english = new English();
+        MatcherAssert.assertThat(
+            english.categorize("@zoeself I quit!"),
+            Matchers.equalTo("resign")
+        );
+        MatcherAssert.assertThat(
+            english.categorize("@zoeself status?"),
+            Matchers.equalTo("status")
+        );
+        MatcherAssert.assertThat(
+            english.categorize("@zoeself show me the commands"),
+            Matchers.equalTo("commands")
+        );
+    }
+
     /**
      * English can return a known reply.
      */
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link EventPipeline}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class EventPipelineTestCase {
+
+    /**
+     * EventPipeline resolves the Events of a Project in the order
+     * they were submitted.
+     */
+    @Test
+    public void resolvesEventsInOrder() {
+        final List<String> resolved = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject("mihai/test", resolved, null);
+        final EventPipeline pipeline = new EventPipeline(
+            2, 10, Duration.ofMillis(100)
+        );
+        for(int idx = 0; idx < 5; ++idx) {
+            MatcherAssert.assertThat(
+                pipeline.submit(this.mockEvent(project, "type" + idx)),
+                Matchers.is(Boolean.TRUE)
+            );
+        }
+        pipeline.close();
+        MatcherAssert.assertThat(
+            resolved,
+            Matchers.contains(
+                "mihai/test:type0",
+                "mihai/test:type1",
+                "mihai/test:type2",
+                "mihai/test:type3",
+                "mihai/test:type4"
+            )
+        );
+        MatcherAssert.assertThat(pipeline.accepted(), Matchers.is(5L));
+        MatcherAssert.assertThat(pipeline.depth(), Matchers.is(0));
+    }
+
+    /**
+     * EventPipeline rejects an Event if the Project's queue is full,
+     * and reports the queue's depth.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void rejectsEventWhenFull() throws Exception {
+        final List<String> resolved = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Project project = this.mockProject("mihai/test", resolved, gate);
+        final EventPipeline pipeline = new EventPipeline(
+            1, 2, Duration.ofMillis(10)
+        );
+        pipeline.submit(this.mockEvent(project, "first"));
+        final long until = System.currentTimeMillis() + 5000;
+        while(pipeline.depth() > 0 && System.currentTimeMillis() < until) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        MatcherAssert.assertThat(
+            pipeline.submit(this.mockEvent(project, "second")),
+            Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            pipeline.submit(this.mockEvent(project, "third")),
+            Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            pipeline.submit(this.mockEvent(project, "fourth")),
+            Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(pipeline.depth(), Matchers.is(2));
+        MatcherAssert.assertThat(pipeline.depths(), Matchers.contains(2));
+        MatcherAssert.assertThat(pipeline.rejected(), Matchers.is(1L));
+        gate.countDown();
+        pipeline.close();
+        MatcherAssert.assertThat(
+            resolved,
+            Matchers.contains(
+                "mihai/test:first",
+                "mihai/test:second",
+                "mihai/test:third"
+            )
+        );
+    }
+
+    /**
+     * EventPipeline keeps going if an Event fails to resolve.
+     */
+    @Test
+    public void countsFailedEvents() {
+        final List<String> resolved = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject("mihai/test", resolved, null);
+        final Project failing = Mockito.mock(Project.class);
+        Mockito.when(failing.provider()).thenReturn("github");
+        Mockito.when(failing.repoFullName()).thenReturn("mihai/test");
+        Mockito.doThrow(new IllegalStateException("Failed!"))
+            .when(failing).resolve(Mockito.any(Event.class));
+        final EventPipeline pipeline = new EventPipeline(
+            1, 10, Duration.ofMillis(100)
+        );
+        pipeline.submit(this.mockEvent(failing, "failing"));
+        pipeline.submit(this.mockEvent(project, "next"));
+        pipeline.close();
+        MatcherAssert.assertThat(pipeline.failed(), Matchers.is(1L));
+        MatcherAssert.assertThat(
+            resolved, Matchers.contains("mihai/test:next")
+        );
+    }
+
+    /**
+     * EventPipeline rejects the Events submitted after it was closed.
+     */
+    @Test
+    public void rejectsEventsAfterClose() {
+        final Project project = this.mockProject(
+            "mihai/test", new ArrayList<>(), null
+        );
+        final EventPipeline pipeline = new EventPipeline();
+        pipeline.close();
+        MatcherAssert.assertThat(
+            pipeline.submit(this.mockEvent(project, "late")),
+            Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(pipeline.rejected(), Matchers.is(1L));
+    }
+
+    /**
+     * Mock a Project which records the Events it resolves.
+     * @param repo Repo full name.
+     * @param resolved Resolved Events.
+     * @param gate Gate to wait for before resolving, can be null.
+     * @return Project.
+     */
+    private Project mockProject(
+        final String repo,
+        final List<String> resolved,
+        final CountDownLatch gate
+    ) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn("github");
+        Mockito.when(project.repoFullName()).thenReturn(repo);
+        Mockito.doAnswer(
+            invocation -> {
+                if(gate != null) {
+                    gate.await();
+                }
+                final Event event = (Event) invocation.getArguments()[0];
+                resolved.add(repo + ":" + event.type());
+                return null;
+            }
+        ).when(project).resolve(Mockito.any(Event.class));
+        return project;
+    }
+
+    /**
+     * Mock an Event.
+     * @param project Project.
+     * @param type Type.
+     * @return Event.
+     */
+    private Event mockEvent(final Project project, final String type) {
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.project()).thenReturn(project);
+        Mockito.when(event.type()).thenReturn(type);
+        return event;
+    }
+}
@@ -23,6 +23,8 @@
 package com.selfxdsd.core.projects;
 
 import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.DirtyTasks;
+import com.selfxdsd.core.tasks.TaskId;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -292,6 +294,42 @@ public final class GithubWebhookEventTestCase {
         );
     }
 
+    /**
+     * GithubWebhookEvent builds the Issue only once, looking up
+     * the Repo only once.
+     */
+    @Test
+    public void buildsIssueOnce() {
+        final Issue issue = Mockito.mock(Issue.class);
+        final JsonObject json = Json.createObjectBuilder()
+            .add("number", 1).build();
+        final JsonObject payload = Json.createObjectBuilder()
+            .add("action", "opened")
+            .add("issue", json)
+            .build();
+        final Issues issues = Mockito.mock(Issues.class);
+        Mockito.when(issues.received(json)).thenReturn(issue);
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.when(repo.issues()).thenReturn(issues);
+        final Provider provider = Mockito.mock(Provider.class);
+        Mockito.when(provider.repo("mihai", "test")).thenReturn(repo);
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        Mockito.when(manager.provider()).thenReturn(provider);
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn("mihai/test");
+        Mockito.when(project.projectManager()).thenReturn(manager);
+
+        final Event event = new GithubWebhookEvent(
+            project,
+            "issues",
+            payload.toString()
+        );
+        MatcherAssert.assertThat(event.issue(), Matchers.is(issue));
+        MatcherAssert.assertThat(event.issue(), Matchers.is(issue));
+        Mockito.verify(provider, Mockito.times(1)).repo("mihai", "test");
+        Mockito.verify(issues, Mockito.times(1)).received(json);
+    }
+
     /**
      * GithubWebhookEvent can return its Issue.
      */
@@ -385,7 +423,10 @@ public final class GithubWebhookEventTestCase {
     public void returnsCommitForPush() {
         final Commit commit = Mockito.mock(Commit.class);
         final Commits commits = Mockito.mock(Commits.class);
-        Mockito.when(commits.getCommit("sha123")).thenReturn(commit);
+        final JsonObject pushed = Json.createObjectBuilder()
+            .add("id", "sha123")
+            .build();
+        Mockito.when(commits.received(pushed)).thenReturn(commit);
 
         final Repo repo = Mockito.mock(Repo.class);
         Mockito.when(repo.commits()).thenReturn(commits);
@@ -407,11 +448,7 @@ public final class GithubWebhookEventTestCase {
                     .add(
                         "commits",
                         Json.createArrayBuilder()
-                            .add(
-                                Json.createObjectBuilder()
-                                    .add("id", "sha123")
-                                    .build()
-                            )
+                            .add(pushed)
                     ).build().toString()
             ).commit(),
             Matchers.is(commit)
@@ -450,4 +487,51 @@ public final class GithubWebhookEventTestCase {
             Matchers.equalTo(Event.Type.NEW_COMMENT)
         );
     }
+
+    /**
+     * GithubWebhookEvent marks the Task of a commented Pull Request
+     * as changed.
+     */
+    @Test
+    public void touchesCommentedPullRequest() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final GithubWebhookEvent event = new GithubWebhookEvent(
+            project,
+            "issue_comment",
+            Json.createObjectBuilder()
+                .add("action", "created")
+                .add(
+                    "issue",
+                    Json.createObjectBuilder()
+                        .add("number", 3)
+                        .add("pull_request", Json.createObjectBuilder())
+                )
+                .build()
+                .toString()
+        );
+        final DirtyTasks dirty = Mockito.mock(DirtyTasks.class);
+        WebhookEvents.touch(event, dirty);
+        Mockito.verify(dirty, Mockito.times(1)).mark(
+            new TaskId(Provider.Names.GITHUB, "john/test", "3", true)
+        );
+    }
+
+    /**
+     * GithubWebhookEvent marks nothing if the event is not about an Issue.
+     */
+    @Test
+    public void touchesNothingOnPush() {
+        final GithubWebhookEvent event = new GithubWebhookEvent(
+            Mockito.mock(Project.class),
+            "push",
+            "{}"
+        );
+        final DirtyTasks dirty = Mockito.mock(DirtyTasks.class);
+        WebhookEvents.touch(event, dirty);
+        Mockito.verify(dirty, Mockito.never()).mark(
+            Mockito.any(TaskId.class)
+        );
+    }
 }
@@ -23,6 +23,8 @@
 package com.selfxdsd.core.projects;
 
 import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.DirtyTasks;
+import com.selfxdsd.core.tasks.TaskId;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -811,7 +813,10 @@ public final class GitlabWebhookEventTestCase {
     public void returnsCommitIfPushHook() {
         final Commit commit = Mockito.mock(Commit.class);
         final Commits commits = Mockito.mock(Commits.class);
-        Mockito.when(commits.getCommit("sha123")).thenReturn(commit);
+        final JsonObject pushed = Json.createObjectBuilder()
+            .add("id", "sha123")
+            .build();
+        Mockito.when(commits.received(pushed)).thenReturn(commit);
 
         final Repo repo = Mockito.mock(Repo.class);
         Mockito.when(repo.commits()).thenReturn(commits);
@@ -833,11 +838,7 @@ public final class GitlabWebhookEventTestCase {
                     .add(
                         "commits",
                         Json.createArrayBuilder()
-                            .add(
-                                Json.createObjectBuilder()
-                                    .add("id", "sha123")
-                                    .build()
-                            )
+                            .add(pushed)
                     ).build().toString()
             ).commit(),
             Matchers.is(commit)
@@ -861,4 +862,60 @@ public final class GitlabWebhookEventTestCase {
         );
     }
 
+    /**
+     * GitlabWebhookEvent marks the Task of a closed Issue as changed.
+     */
+    @Test
+    public void touchesClosedIssue() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITLAB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final GitlabWebhookEvent event = new GitlabWebhookEvent(
+            project,
+            "Issue Hook",
+            Json.createObjectBuilder()
+                .add(
+                    "object_attributes",
+                    Json.createObjectBuilder()
+                        .add("iid", 5)
+                        .add("action", "close")
+                )
+                .build()
+                .toString()
+        );
+        final DirtyTasks dirty = Mockito.mock(DirtyTasks.class);
+        WebhookEvents.touch(event, dirty);
+        Mockito.verify(dirty, Mockito.times(1)).mark(
+            new TaskId(Provider.Names.GITLAB, "john/test", "5", false)
+        );
+    }
+
+    /**
+     * GitlabWebhookEvent marks the Task of a commented Merge Request
+     * as changed.
+     */
+    @Test
+    public void touchesCommentedMergeRequest() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITLAB);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final GitlabWebhookEvent event = new GitlabWebhookEvent(
+            project,
+            "Note Hook",
+            Json.createObjectBuilder()
+                .add(
+                    "object_attributes",
+                    Json.createObjectBuilder()
+                        .add("noteable_type", "MergeRequest")
+                )
+                .add("merge_request", Json.createObjectBuilder().add("iid", 7))
+                .build()
+                .toString()
+        );
+        final DirtyTasks dirty = Mockito.mock(DirtyTasks.class);
+        WebhookEvents.touch(event, dirty);
+        Mockito.verify(dirty, Mockito.times(1)).mark(
+            new TaskId(Provider.Names.GITLAB, "john/test", "7", true)
+        );
+    }
 }
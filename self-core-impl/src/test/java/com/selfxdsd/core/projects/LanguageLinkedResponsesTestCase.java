@@ -50,6 +50,18 @@ public final class LanguageLinkedResponsesTestCase {
         );
     }
 
+    /**
+     * Language reads a linked reply only once.
+     */
+    @Test
+    public void readsLinkedReplyOnce() {
+        final Language english = new English();
+        MatcherAssert.assertThat(
+            english.reply("commands.comment"),
+            Matchers.sameInstance(english.reply("commands.comment"))
+        );
+    }
+
     /**
      * Language can follow a resource linked from responses properties entry
      * value but returns null if the file resource is not found.
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.core.tasks.Deadlines;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link ScopedEvent}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class ScopedEventTestCase {
+
+    /**
+     * ScopedEvent returns the given Project instead of the original one.
+     */
+    @Test
+    public void returnsScopedProject() {
+        final Project scoped = Mockito.mock(Project.class);
+        final Event origin = Mockito.mock(Event.class);
+        Mockito.when(origin.project())
+            .thenReturn(Mockito.mock(Project.class));
+        final Event event = new ScopedEvent(origin, scoped);
+        MatcherAssert.assertThat(event.project(), Matchers.is(scoped));
+    }
+
+    /**
+     * ScopedEvent delegates everything else to the original Event.
+     */
+    @Test
+    public void delegatesToOrigin() {
+        final Issue issue = Mockito.mock(Issue.class);
+        final Comment comment = Mockito.mock(Comment.class);
+        final Commit commit = Mockito.mock(Commit.class);
+        final Event origin = Mockito.mock(Event.class);
+        Mockito.when(origin.type()).thenReturn(Event.Type.NEW_COMMENT);
+        Mockito.when(origin.issue()).thenReturn(issue);
+        Mockito.when(origin.comment()).thenReturn(comment);
+        Mockito.when(origin.commit()).thenReturn(commit);
+        Mockito.when(origin.repoNewName()).thenReturn("renamed");
+        final Event event = new ScopedEvent(
+            origin, Mockito.mock(Project.class)
+        );
+        MatcherAssert.assertThat(
+            event.type(), Matchers.equalTo(Event.Type.NEW_COMMENT)
+        );
+        MatcherAssert.assertThat(event.issue(), Matchers.is(issue));
+        MatcherAssert.assertThat(event.comment(), Matchers.is(comment));
+        MatcherAssert.assertThat(event.commit(), Matchers.is(commit));
+        MatcherAssert.assertThat(
+            event.repoNewName(), Matchers.equalTo("renamed")
+        );
+    }
+
+    /**
+     * ScopedEvent brings the Deadlines of the original Event, if it has
+     * any.
+     */
+    @Test
+    public void bringsDeadlinesOfOrigin() {
+        final Deadlines deadlines = new Deadlines();
+        final Event carrier = Mockito.mock(
+            Event.class,
+            Mockito.withSettings().extraInterfaces(Deadlines.Carrier.class)
+        );
+        Mockito.when(((Deadlines.Carrier) carrier).deadlines())
+            .thenReturn(deadlines);
+        MatcherAssert.assertThat(
+            new ScopedEvent(carrier, Mockito.mock(Project.class))
+                .deadlines(),
+            Matchers.is(deadlines)
+        );
+        MatcherAssert.assertThat(
+            new ScopedEvent(
+                Mockito.mock(Event.class), Mockito.mock(Project.class)
+            ).deadlines(),
+            Matchers.nullValue()
+        );
+    }
+}
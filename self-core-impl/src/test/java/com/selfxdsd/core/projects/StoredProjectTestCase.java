@@ -24,9 +24,11 @@ package com.selfxdsd.core.projects;
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.exceptions.WalletAlreadyExistsException;
 import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.storage.UnitOfWork;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
@@ -526,6 +528,102 @@ public final class StoredProjectTestCase {
         Mockito.verify(all, Mockito.times(1)).rename(project, "newName");
     }
 
+    /**
+     * StoredProject resolves the Event within a unit of work.
+     */
+    @Test
+    public void resolvesEventWithinUnitOfWork() {
+        final Storage storage = Mockito.mock(Storage.class);
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        final Project project = new StoredProject(
+            Mockito.mock(User.class),
+            "john/test",
+            "wh123token",
+            manager,
+            storage
+        );
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.type()).thenReturn(Event.Type.NEW_ISSUE);
+
+        project.resolve(event);
+
+        final ArgumentCaptor<Event> resolved = ArgumentCaptor.forClass(
+            Event.class
+        );
+        Mockito.verify(manager, Mockito.times(1)).newIssue(resolved.capture());
+        MatcherAssert.assertThat(
+            resolved.getValue().type(),
+            Matchers.equalTo(Event.Type.NEW_ISSUE)
+        );
+        MatcherAssert.assertThat(
+            resolved.getValue().project().repoFullName(),
+            Matchers.equalTo("john/test")
+        );
+        MatcherAssert.assertThat(
+            resolved.getValue().project().storage(),
+            Matchers.instanceOf(UnitOfWork.class)
+        );
+    }
+
+    /**
+     * The Project of a resolved Event builds its Repo only once.
+     */
+    @Test
+    public void buildsRepoOnceWhileResolving() {
+        final Repo repo = Mockito.mock(Repo.class);
+        final Provider prov = Mockito.mock(Provider.class);
+        Mockito.when(prov.name()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(prov.repo("john", "test")).thenReturn(repo);
+        final User owner = Mockito.mock(User.class);
+        Mockito.when(owner.provider()).thenReturn(prov);
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        final Project project = new StoredProject(
+            owner,
+            "john/test",
+            "wh123token",
+            manager,
+            Mockito.mock(Storage.class)
+        );
+        final Event event = Mockito.mock(Event.class);
+        Mockito.when(event.type()).thenReturn(Event.Type.ACTIVATE);
+
+        project.resolve(event);
+
+        final ArgumentCaptor<Event> resolved = ArgumentCaptor.forClass(
+            Event.class
+        );
+        Mockito.verify(manager, Mockito.times(1))
+            .newProject(resolved.capture());
+        final Project scoped = resolved.getValue().project();
+        MatcherAssert.assertThat(scoped.repo(), Matchers.is(repo));
+        MatcherAssert.assertThat(scoped.repo(), Matchers.is(repo));
+        Mockito.verify(prov, Mockito.times(1)).repo("john", "test");
+    }
+
+    /**
+     * A StoredProject which is not scoped to an Event builds its Repo
+     * every time, since it might be cached and live long.
+     */
+    @Test
+    public void buildsRepoEveryTimeIfNotScoped() {
+        final Repo repo = Mockito.mock(Repo.class);
+        final Provider prov = Mockito.mock(Provider.class);
+        Mockito.when(prov.name()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(prov.repo("john", "test")).thenReturn(repo);
+        final User owner = Mockito.mock(User.class);
+        Mockito.when(owner.provider()).thenReturn(prov);
+        final Project project = new StoredProject(
+            owner,
+            "john/test",
+            "wh123token",
+            Mockito.mock(ProjectManager.class),
+            Mockito.mock(Storage.class)
+        );
+        project.repo();
+        project.repo();
+        Mockito.verify(prov, Mockito.times(2)).repo("john", "test");
+    }
+
     /**
      * Mock a Repo for test.
      *
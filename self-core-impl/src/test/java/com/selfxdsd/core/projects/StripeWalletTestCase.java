@@ -26,6 +26,7 @@ import com.selfxdsd.api.*;
 import com.selfxdsd.api.exceptions.WalletPaymentException;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.Env;
+import com.selfxdsd.core.InMemoryStripe;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -33,6 +34,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -361,4 +363,87 @@ public final class StripeWalletTestCase {
         );
         Mockito.verify(fake, Mockito.times(1)).remove();
     }
+
+    /**
+     * StripeWallet pays the Invoice through the given StripeGateway.
+     */
+    @Test
+    public void paysInvoiceThroughGateway() {
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(1);
+        Mockito.when(invoice.createdAt()).thenReturn(LocalDateTime.now());
+        Mockito.when(invoice.totalAmount())
+            .thenReturn(BigDecimal.valueOf((108 + 1) * 100));
+        Mockito.when(invoice.projectCommission())
+            .thenReturn(BigDecimal.valueOf(100));
+        Mockito.when(invoice.contributorCommission())
+            .thenReturn(BigDecimal.valueOf(20));
+        Mockito.when(invoice.amount())
+            .thenReturn(BigDecimal.valueOf(108 * 100));
+
+        final Project project = Mockito.mock(Project.class);
+        final BillingInfo projectInfo = Mockito.mock(BillingInfo.class);
+        Mockito.when(projectInfo.country()).thenReturn("BG");
+        Mockito.when(project.billingInfo()).thenReturn(projectInfo);
+        final Contract contract = Mockito.mock(Contract.class);
+        Mockito.when(contract.project()).thenReturn(project);
+        final Contributor contributor = Mockito.mock(Contributor.class);
+        Mockito.when(contract.contributor()).thenReturn(contributor);
+        Mockito.when(invoice.contract()).thenReturn(contract);
+
+        final Storage storage = Mockito.mock(Storage.class);
+        final PayoutMethods allPayoutMethods = Mockito
+            .mock(PayoutMethods.class);
+        final PayoutMethods payoutsOfContrib = Mockito
+            .mock(PayoutMethods.class);
+        final BillingInfo billingInfo = Mockito.mock(BillingInfo.class);
+        Mockito.when(billingInfo.country()).thenReturn("RO");
+        final PayoutMethod payoutMethod = Mockito.mock(PayoutMethod.class);
+        Mockito.when(payoutMethod.billingInfo()).thenReturn(billingInfo);
+        Mockito.when(payoutMethod.canReceivePayments()).thenReturn(true);
+        Mockito.when(payoutMethod.identifier()).thenReturn("acct_123");
+        Mockito.when(storage.payoutMethods()).thenReturn(allPayoutMethods);
+        Mockito.when(allPayoutMethods.ofContributor(contributor))
+            .thenReturn(payoutsOfContrib);
+        Mockito.when(
+            payoutsOfContrib.getByType(PayoutMethod.Type.STRIPE)
+        ).thenReturn(payoutMethod);
+
+        final Invoices invoices = Mockito.mock(Invoices.class);
+        Mockito.when(storage.invoices()).thenReturn(invoices);
+        final Wallets allWallets = Mockito.mock(Wallets.class);
+        final Wallets ofProject = Mockito.mock(Wallets.class);
+        Mockito.when(storage.wallets()).thenReturn(allWallets);
+        Mockito.when(allWallets.ofProject(project)).thenReturn(ofProject);
+
+        final Wallet stripe = new StripeWallet(
+            storage,
+            project,
+            BigDecimal.valueOf(1000 * 100),
+            "cus_123",
+            Boolean.TRUE,
+            new InMemoryStripe()
+        );
+        final PaymentMethods allPaymentMethods = Mockito
+            .mock(PaymentMethods.class);
+        final PaymentMethods ofWallet = Mockito.mock(PaymentMethods.class);
+        final PaymentMethod card = Mockito.mock(PaymentMethod.class);
+        Mockito.when(card.identifier()).thenReturn("pm_123");
+        Mockito.when(storage.paymentMethods()).thenReturn(allPaymentMethods);
+        Mockito.when(allPaymentMethods.ofWallet(stripe)).thenReturn(ofWallet);
+        Mockito.when(ofWallet.active()).thenReturn(card);
+
+        stripe.pay(invoice);
+
+        Mockito.verify(invoices, Mockito.times(1)).registerAsPaid(
+            Mockito.any(Invoice.class),
+            Mockito.any(BigDecimal.class),
+            Mockito.any(BigDecimal.class)
+        );
+        Mockito.verify(ofProject, Mockito.times(1)).updateCash(
+            stripe,
+            BigDecimal.valueOf(1000 * 100)
+                .subtract(BigDecimal.valueOf((108 + 1) * 100))
+        );
+    }
 }
@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import com.selfxdsd.api.Event;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Provider;
+import com.selfxdsd.core.tasks.TaskId;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link WebhookIngestion}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class WebhookIngestionTestCase {
+
+    /**
+     * WebhookIngestion drops a webhook which was already delivered.
+     */
+    @Test
+    public void dropsRedeliveries() {
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(passed::add);
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-1"),
+            Matchers.equalTo(HttpURLConnection.HTTP_ACCEPTED)
+        );
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-1"),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-2"),
+            Matchers.equalTo(HttpURLConnection.HTTP_ACCEPTED)
+        );
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(2));
+    }
+
+    /**
+     * WebhookIngestion forgets the eldest delivery ids.
+     */
+    @Test
+    public void forgetsEldestDeliveries() {
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(
+            passed::add,
+            Duration.ofMillis(100),
+            2,
+            Executors.newSingleThreadScheduledExecutor()
+        );
+        ingestion.ingest(project, "push", "{}", "delivery-1");
+        ingestion.ingest(project, "push", "{}", "delivery-2");
+        ingestion.ingest(project, "push", "{}", "delivery-3");
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-1"),
+            Matchers.equalTo(HttpURLConnection.HTTP_ACCEPTED)
+        );
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-3"),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(4));
+    }
+
+    /**
+     * WebhookIngestion never drops webhooks without a delivery id.
+     */
+    @Test
+    public void acceptsWebhooksWithoutDeliveryId() {
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(passed::add);
+        ingestion.ingest(project, "push", "{}", null);
+        ingestion.ingest(project, "push", "{}", null);
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(2));
+    }
+
+    /**
+     * WebhookIngestion passes the last of a burst of label changes
+     * for the same Issue, but passes the other events right away.
+     */
+    @Test
+    public void coalescesLabelBursts() {
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(
+            passed::add,
+            Duration.ofSeconds(1),
+            100,
+            Executors.newSingleThreadScheduledExecutor()
+        );
+        ingestion.ingest(project, "issues", this.labeled(1, "labeled"), "1");
+        ingestion.ingest(project, "issues", this.labeled(1, "unlabeled"), "2");
+        ingestion.ingest(project, "issues", this.labeled(2, "labeled"), "3");
+        ingestion.ingest(project, "issues", this.labeled(1, "labeled"), "4");
+        ingestion.ingest(project, "issues", this.labeled(3, "opened"), "5");
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(1));
+        MatcherAssert.assertThat(
+            passed.get(0).type(), Matchers.equalTo(Event.Type.NEW_ISSUE)
+        );
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(3));
+        final List<TaskId> labeled = new ArrayList<>();
+        for(final Event event : passed.subList(1, 3)) {
+            MatcherAssert.assertThat(
+                event.type(), Matchers.equalTo(Event.Type.LABEL)
+            );
+            labeled.add(WebhookEvents.taskId(event));
+        }
+        MatcherAssert.assertThat(
+            labeled,
+            Matchers.containsInAnyOrder(
+                new TaskId("github", "mihai/test", "1", false),
+                new TaskId("github", "mihai/test", "2", false)
+            )
+        );
+    }
+
+    /**
+     * WebhookIngestion answers with 503 if the Event is rejected further
+     * and accepts the same delivery again later.
+     */
+    @Test
+    public void rejectsWebhookIfEventIsRejected() {
+        final AtomicBoolean full = new AtomicBoolean(true);
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(
+            event -> !full.get() && passed.add(event)
+        );
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-1"),
+            Matchers.equalTo(HttpURLConnection.HTTP_UNAVAILABLE)
+        );
+        full.set(false);
+        MatcherAssert.assertThat(
+            ingestion.ingest(project, "push", "{}", "delivery-1"),
+            Matchers.equalTo(HttpURLConnection.HTTP_ACCEPTED)
+        );
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(1));
+    }
+
+    /**
+     * WebhookIngestion passes the held label change of an Issue before
+     * any other Event of the same Issue.
+     */
+    @Test
+    public void keepsOrderOfIssueEvents() {
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(
+            passed::add,
+            Duration.ofMinutes(1),
+            100,
+            Executors.newSingleThreadScheduledExecutor()
+        );
+        ingestion.ingest(project, "issues", this.labeled(1, "labeled"), "1");
+        ingestion.ingest(project, "issues", this.labeled(1, "closed"), "2");
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(2));
+        MatcherAssert.assertThat(
+            passed.get(0).type(), Matchers.equalTo(Event.Type.LABEL)
+        );
+        MatcherAssert.assertThat(
+            passed.get(1).type(),
+            Matchers.not(Matchers.equalTo(Event.Type.LABEL))
+        );
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(2));
+    }
+
+    /**
+     * WebhookIngestion does not keep the Events of a Task waiting, while
+     * the Event of another Task is still being passed further.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void doesNotBlockOtherTasks() throws Exception {
+        final TaskId first = new TaskId("github", "mihai/test", "1", false);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch room = new CountDownLatch(1);
+        final List<Event> passed = Collections.synchronizedList(
+            new ArrayList<>()
+        );
+        final Project project = this.mockProject();
+        final WebhookIngestion ingestion = new WebhookIngestion(
+            event -> {
+                if(first.equals(WebhookEvents.taskId(event))) {
+                    entered.countDown();
+                    try {
+                        room.await();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return passed.add(event);
+            }
+        );
+        final Thread waiting = new Thread(
+            () -> ingestion.ingest(
+                project, "issues", this.labeled(1, "closed"), "1"
+            )
+        );
+        waiting.start();
+        MatcherAssert.assertThat(
+            entered.await(1, TimeUnit.MINUTES), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            ingestion.ingest(
+                project, "issues", this.labeled(2, "closed"), "2"
+            ),
+            Matchers.equalTo(HttpURLConnection.HTTP_ACCEPTED)
+        );
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(1));
+        room.countDown();
+        waiting.join();
+        ingestion.close();
+        MatcherAssert.assertThat(passed, Matchers.iterableWithSize(2));
+    }
+
+    /**
+     * Mock a Github Project.
+     * @return Project.
+     */
+    private Project mockProject() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn("mihai/test");
+        return project;
+    }
+
+    /**
+     * Payload of an "issues" event.
+     * @param number Issue number.
+     * @param action Action.
+     * @return Payload.
+     */
+    private String labeled(final int number, final String action) {
+        return "{\"action\": \"" + action + "\", "
+            + "\"issue\": {\"number\": " + number + "}}";
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.projects;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Unit tests for {@link WebhookPayload}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class WebhookPayloadTestCase {
+
+    /**
+     * WebhookPayload reads a top-level string, next to objects
+     * and arrays.
+     */
+    @Test
+    public void readsString() {
+        final WebhookPayload payload = new WebhookPayload(
+            "{\"issue\": {\"number\": 1, \"labels\": [{\"name\": \"bug\"}]},"
+            + " \"commits\": [[1, 2], {\"id\": \"abc\"}],"
+            + " \"action\": \"opened\"}"
+        );
+        MatcherAssert.assertThat(
+            payload.getString("action"), Matchers.equalTo("opened")
+        );
+    }
+
+    /**
+     * WebhookPayload reads top-level objects and arrays.
+     */
+    @Test
+    public void readsObjectsAndArrays() {
+        final WebhookPayload payload = new WebhookPayload(
+            "{\"action\": \"created\", \"issue\": {\"number\": 1},"
+            + " \"commits\": [{\"id\": \"abc\"}]}"
+        );
+        MatcherAssert.assertThat(
+            payload.getJsonObject("issue"),
+            Matchers.equalTo(
+                Json.createObjectBuilder().add("number", 1).build()
+            )
+        );
+        MatcherAssert.assertThat(
+            payload.getJsonArray("commits").getJsonObject(0)
+                .getString("id"),
+            Matchers.equalTo("abc")
+        );
+    }
+
+    /**
+     * WebhookPayload returns null for missing fields or fields of
+     * another type.
+     */
+    @Test
+    public void returnsNullForMissingFields() {
+        final WebhookPayload payload = new WebhookPayload(
+            "{\"action\": \"created\", \"issue\": {\"number\": 1}}"
+        );
+        MatcherAssert.assertThat(
+            payload.getJsonObject("comment"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            payload.getJsonArray("issue"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            payload.getString("issue"), Matchers.nullValue()
+        );
+    }
+
+    /**
+     * WebhookPayload parses the payload only once, for all the fields.
+     */
+    @Test
+    public void parsesOnce() {
+        final WebhookPayload payload = new WebhookPayload(
+            "{\"issue\": {\"number\": 1}, \"action\": \"opened\"}"
+        );
+        final JsonObject issue = payload.getJsonObject("issue");
+        MatcherAssert.assertThat(
+            payload.getString("action"), Matchers.equalTo("opened")
+        );
+        MatcherAssert.assertThat(
+            payload.getJsonObject("issue"), Matchers.sameInstance(issue)
+        );
+    }
+
+    /**
+     * WebhookPayload does not parse anything until a field is asked for.
+     */
+    @Test
+    public void parsesNothingUntilAsked() {
+        final WebhookPayload payload = new WebhookPayload("not json");
+        MatcherAssert.assertThat(payload, Matchers.notNullValue());
+    }
+}
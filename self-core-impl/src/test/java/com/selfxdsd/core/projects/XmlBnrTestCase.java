@@ -26,8 +26,12 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Tests for {@link XmlBnr}.
@@ -61,4 +65,90 @@ public final class XmlBnrTestCase {
         );
     }
 
+    /**
+     * XmlBnr can read the EUR-RON exchange rate and its date from
+     * BNR's XML.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsEurAndDateFromXml() throws Exception {
+        final Map.Entry<LocalDate, BigDecimal> rate = XmlBnr.readEur(
+            new ByteArrayInputStream(
+                XmlBnrTestCase.xml("EUR").getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        MatcherAssert.assertThat(
+            rate.getKey(),
+            Matchers.equalTo(LocalDate.of(2021, 3, 5))
+        );
+        MatcherAssert.assertThat(
+            rate.getValue(),
+            Matchers.comparesEqualTo(BigDecimal.valueOf(488))
+        );
+    }
+
+    /**
+     * XmlBnr complains if there is no EUR rate in the XML.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void complainsIfEurIsMissing() throws Exception {
+        XmlBnr.readEur(
+            new ByteArrayInputStream(
+                XmlBnrTestCase.xml("GBP").getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    /**
+     * XmlBnr can read the EUR-RON exchange rates of every day from BNR's
+     * XML with the rates of a year.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsEurOfEveryDayFromYearlyXml() throws Exception {
+        final String xml = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<DataSet xmlns=\"http://www.bnr.ro/xsd\">"
+            + "<Header><Publisher>National Bank of Romania</Publisher>"
+            + "</Header><Body><OrigCurrency>RON</OrigCurrency>"
+            + "<Cube date=\"2021-01-04\">"
+            + "<Rate currency=\"EUR\">4.8725</Rate>"
+            + "<Rate currency=\"USD\">3.9664</Rate></Cube>"
+            + "<Cube date=\"2021-01-05\">"
+            + "<Rate currency=\"EUR\">4.8721</Rate></Cube>"
+            + "<Cube date=\"2021-01-06\">"
+            + "<Rate currency=\"USD\">3.9512</Rate></Cube>"
+            + "</Body></DataSet>";
+        final Map<LocalDate, BigDecimal> rates = XmlBnr.readEurs(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))
+        );
+        MatcherAssert.assertThat(rates.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            rates.get(LocalDate.of(2021, 1, 4)),
+            Matchers.comparesEqualTo(BigDecimal.valueOf(487))
+        );
+        MatcherAssert.assertThat(
+            rates.get(LocalDate.of(2021, 1, 5)),
+            Matchers.comparesEqualTo(BigDecimal.valueOf(487))
+        );
+    }
+
+    /**
+     * An XML like BNR's.
+     * @param currency Currency of the second rate.
+     * @return XML String.
+     */
+    private static String xml(final String currency) {
+        return "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<DataSet xmlns=\"http://www.bnr.ro/xsd\">"
+            + "<Header><Publisher>National Bank of Romania</Publisher>"
+            + "<PublishingDate>2021-03-05</PublishingDate></Header>"
+            + "<Body><Subject>Reference rates</Subject>"
+            + "<OrigCurrency>RON</OrigCurrency>"
+            + "<Cube date=\"2021-03-05\">"
+            + "<Rate currency=\"AED\">1.1204</Rate>"
+            + "<Rate currency=\"" + currency + "\">4.8788</Rate>"
+            + "<Rate currency=\"USD\">4.1153</Rate>"
+            + "</Cube></Body></DataSet>";
+    }
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link BoundedCache}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class BoundedCacheTestCase {
+
+    /**
+     * BoundedCache loads a value once and counts the hits and misses.
+     */
+    @Test
+    public void countsHitsAndMisses() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(
+            "test", 10
+        );
+        MatcherAssert.assertThat(cache.hitRate(), Matchers.equalTo(0.0));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "value"), Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "other"), Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "other"), Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            cache.get("b", () -> null), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(cache.hitRate(), Matchers.equalTo(0.5));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(cache.name(), Matchers.equalTo("test"));
+    }
+
+    /**
+     * BoundedCache evicts the least recently used value when it's full.
+     */
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(
+            "test", 2
+        );
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "not loaded");
+        cache.get("c", () -> "c");
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "reloaded"), Matchers.equalTo("a")
+        );
+        MatcherAssert.assertThat(
+            cache.get("b", () -> "reloaded"), Matchers.equalTo("reloaded")
+        );
+    }
+
+    /**
+     * BoundedCache can invalidate one or all values.
+     */
+    @Test
+    public void invalidates() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(
+            "test", 10
+        );
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.invalidate("a");
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "reloaded"), Matchers.equalTo("reloaded")
+        );
+        cache.invalidateAll();
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+
+    /**
+     * BoundedCache reloads a value after its time-to-live.
+     */
+    @Test
+    public void expiresValues() {
+        final AtomicReference<Instant> now = new AtomicReference<>(
+            Instant.parse("2026-10-19T10:00:00Z")
+        );
+        final BoundedCache<String, String> cache = new BoundedCache<>(
+            "test", 10, Duration.ofMinutes(1), now::get
+        );
+        cache.get("a", () -> "a");
+        now.set(Instant.parse("2026-10-19T10:00:59Z"));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "reloaded"), Matchers.equalTo("a")
+        );
+        now.set(Instant.parse("2026-10-19T10:01:00Z"));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "reloaded"), Matchers.equalTo("reloaded")
+        );
+    }
+
+    /**
+     * BoundedCache does not keep a value which was loaded while the
+     * cache was being invalidated, since it might be stale.
+     */
+    @Test
+    public void skipsValueLoadedDuringInvalidation() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(
+            "test", 10
+        );
+        MatcherAssert.assertThat(
+            cache.get(
+                "a",
+                () -> {
+                    cache.invalidate("a");
+                    return "stale";
+                }
+            ),
+            Matchers.equalTo("stale")
+        );
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+        MatcherAssert.assertThat(
+            cache.get("a", () -> "fresh"), Matchers.equalTo("fresh")
+        );
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Contracts;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Unit tests for {@link CachedContracts}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedContractsTestCase {
+
+    /**
+     * CachedContracts shares the cache with the Contracts of a Project.
+     */
+    @Test
+    public void sharesCacheWithProjectContracts() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contract contract = Mockito.mock(Contract.class);
+        final Contracts all = Mockito.mock(Contracts.class);
+        Mockito.when(all.findById(id)).thenReturn(contract);
+        Mockito.when(all.ofProject("john/test", "github"))
+            .thenReturn(Mockito.mock(Contracts.class));
+        final Contracts contracts = new CachedContracts(
+            all, new BoundedCache<>("contracts", 10)
+        );
+        MatcherAssert.assertThat(
+            contracts.findById(id), Matchers.is(contract)
+        );
+        MatcherAssert.assertThat(
+            contracts.ofProject("john/test", "github").findById(id),
+            Matchers.is(contract)
+        );
+        Mockito.verify(all, Mockito.times(1)).findById(id);
+    }
+
+    /**
+     * The Contracts of a Project do not use the cache for Contracts
+     * of other Projects.
+     */
+    @Test
+    public void viewDoesNotFindOtherProjectContracts() {
+        final Contract.Id id = new Contract.Id(
+            "john/other", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contracts all = Mockito.mock(Contracts.class);
+        Mockito.when(all.findById(id))
+            .thenReturn(Mockito.mock(Contract.class));
+        final Contracts ofProject = Mockito.mock(Contracts.class);
+        Mockito.when(all.ofProject("john/test", "github"))
+            .thenReturn(ofProject);
+        final Contracts contracts = new CachedContracts(
+            all, new BoundedCache<>("contracts", 10)
+        );
+        contracts.findById(id);
+        MatcherAssert.assertThat(
+            contracts.ofProject("john/test", "github").findById(id),
+            Matchers.nullValue()
+        );
+        Mockito.verify(ofProject, Mockito.times(1)).findById(id);
+    }
+
+    /**
+     * CachedContracts invalidates a Contract when it is updated or marked
+     * for removal.
+     */
+    @Test
+    public void invalidatesOnMutations() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contract contract = Mockito.mock(Contract.class);
+        Mockito.when(contract.contractId()).thenReturn(id);
+        final Contracts all = Mockito.mock(Contracts.class);
+        Mockito.when(all.findById(id)).thenReturn(contract);
+        final BoundedCache<String, Contract> cache = new BoundedCache<>(
+            "contracts", 10
+        );
+        final Contracts contracts = new CachedContracts(all, cache);
+        contracts.findById(id);
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+        contracts.update(contract, BigDecimal.TEN);
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+        contracts.findById(id);
+        final LocalDateTime now = LocalDateTime.now();
+        contracts.markForRemoval(contract, now);
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+        contracts.findById(id);
+        contracts.remove(contract);
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+        Mockito.verify(all, Mockito.times(3)).findById(id);
+        Mockito.verify(all, Mockito.times(1)).markForRemoval(contract, now);
+        Mockito.verify(all, Mockito.times(1)).remove(contract);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contributor;
+import com.selfxdsd.api.PayoutMethod;
+import com.selfxdsd.api.PayoutMethods;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link CachedPayoutMethods}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedPayoutMethodsTestCase {
+
+    /**
+     * CachedPayoutMethods caches the PayoutMethods of a Contributor
+     * until one is registered.
+     */
+    @Test
+    public void cachesUntilRegister() {
+        final Contributor mihai = Mockito.mock(Contributor.class);
+        Mockito.when(mihai.username()).thenReturn("mihai");
+        Mockito.when(mihai.provider()).thenReturn("github");
+        final PayoutMethods all = Mockito.mock(PayoutMethods.class);
+        Mockito.when(all.ofContributor(mihai))
+            .thenReturn(Mockito.mock(PayoutMethods.class));
+        final PayoutMethods methods = new CachedPayoutMethods(
+            all, new BoundedCache<>("payoutMethods", 10)
+        );
+        final PayoutMethods first = methods.ofContributor(mihai);
+        MatcherAssert.assertThat(
+            methods.ofContributor(mihai), Matchers.is(first)
+        );
+        Mockito.verify(all, Mockito.times(1)).ofContributor(mihai);
+        methods.register(mihai, "stripe", "acct_123");
+        methods.ofContributor(mihai);
+        Mockito.verify(all, Mockito.times(2)).ofContributor(mihai);
+    }
+
+    /**
+     * Removing a PayoutMethod through the Contributor's PayoutMethods
+     * invalidates them.
+     */
+    @Test
+    public void invalidatesOnRemove() {
+        final Contributor mihai = Mockito.mock(Contributor.class);
+        Mockito.when(mihai.username()).thenReturn("mihai");
+        Mockito.when(mihai.provider()).thenReturn("github");
+        final PayoutMethod method = Mockito.mock(PayoutMethod.class);
+        Mockito.when(method.contributor()).thenReturn(mihai);
+        final PayoutMethods ofMihai = Mockito.mock(PayoutMethods.class);
+        Mockito.when(ofMihai.remove(method)).thenReturn(true);
+        final PayoutMethods all = Mockito.mock(PayoutMethods.class);
+        Mockito.when(all.ofContributor(mihai)).thenReturn(ofMihai);
+        final BoundedCache<String, PayoutMethods> cache = new BoundedCache<>(
+            "payoutMethods", 10
+        );
+        final PayoutMethods methods = new CachedPayoutMethods(all, cache);
+        MatcherAssert.assertThat(
+            methods.ofContributor(mihai).remove(method),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.ProjectManagers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link CachedProjectManagers}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedProjectManagersTestCase {
+
+    /**
+     * CachedProjectManagers does not cache the PMs which are not found.
+     */
+    @Test
+    public void doesNotCacheMissing() {
+        final ProjectManagers all = Mockito.mock(ProjectManagers.class);
+        final ProjectManagers managers = new CachedProjectManagers(
+            all, new BoundedCache<>("projectManagers", 10)
+        );
+        MatcherAssert.assertThat(managers.getById(1), Matchers.nullValue());
+        MatcherAssert.assertThat(managers.getById(1), Matchers.nullValue());
+        Mockito.verify(all, Mockito.times(2)).getById(1);
+    }
+
+    /**
+     * Registering a PM invalidates any cached PM with the same id.
+     */
+    @Test
+    public void registerInvalidates() {
+        final ProjectManager registered = Mockito.mock(ProjectManager.class);
+        Mockito.when(registered.id()).thenReturn(1);
+        final ProjectManagers all = Mockito.mock(ProjectManagers.class);
+        Mockito.when(
+            all.register("123", "zoeself", "github", "token", 6.5, 4.5)
+        ).thenReturn(registered);
+        final BoundedCache<Integer, ProjectManager> cache =
+            new BoundedCache<>("projectManagers", 10);
+        cache.get(1, () -> Mockito.mock(ProjectManager.class));
+        final ProjectManagers managers = new CachedProjectManagers(
+            all, cache
+        );
+        MatcherAssert.assertThat(
+            managers.register("123", "zoeself", "github", "token", 6.5, 4.5),
+            Matchers.is(registered)
+        );
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Projects;
+import com.selfxdsd.api.Repo;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link CachedProjects}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachedProjectsTestCase {
+
+    /**
+     * Removing a Project invalidates it and all the cached Contracts.
+     */
+    @Test
+    public void removeInvalidatesProjectAndContracts() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        Mockito.when(project.provider()).thenReturn("github");
+        final Projects all = Mockito.mock(Projects.class);
+        Mockito.when(all.getProjectById("john/test", "github"))
+            .thenReturn(project);
+        final BoundedCache<String, Project> cache = new BoundedCache<>(
+            "projects", 10
+        );
+        final BoundedCache<String, Contract> contracts = new BoundedCache<>(
+            "contracts", 10
+        );
+        contracts.get("contract", () -> Mockito.mock(Contract.class));
+        final Projects projects = new CachedProjects(all, cache, contracts);
+        MatcherAssert.assertThat(
+            projects.getProjectById("john/test", "github"),
+            Matchers.is(project)
+        );
+        projects.remove(project);
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+        MatcherAssert.assertThat(contracts.size(), Matchers.equalTo(0));
+        Mockito.verify(all, Mockito.times(1)).remove(project);
+    }
+
+    /**
+     * Registering a Project invalidates any previously cached one
+     * with the same id.
+     */
+    @Test
+    public void registerInvalidatesProject() {
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.when(repo.fullName()).thenReturn("john/test");
+        Mockito.when(repo.provider()).thenReturn("github");
+        final BoundedCache<String, Project> cache = new BoundedCache<>(
+            "projects", 10
+        );
+        cache.get(
+            CachedProjects.key("john/test", "github"),
+            () -> Mockito.mock(Project.class)
+        );
+        final Projects projects = new CachedProjects(
+            Mockito.mock(Projects.class),
+            cache,
+            new BoundedCache<>("contracts", 10)
+        );
+        projects.register(repo, null, "token");
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+}
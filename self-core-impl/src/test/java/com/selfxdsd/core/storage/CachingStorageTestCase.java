@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.storage.Storage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+
+/**
+ * Unit tests for {@link CachingStorage}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class CachingStorageTestCase {
+
+    /**
+     * CachingStorage caches the ProjectManagers across calls.
+     */
+    @Test
+    public void cachesProjectManagers() {
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        final ProjectManagers all = Mockito.mock(ProjectManagers.class);
+        Mockito.when(all.getById(1)).thenReturn(manager);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.projectManagers()).thenReturn(all);
+        final Storage storage = new CachingStorage(origin);
+        MatcherAssert.assertThat(
+            storage.projectManagers().getById(1), Matchers.is(manager)
+        );
+        MatcherAssert.assertThat(
+            storage.projectManagers().getById(1), Matchers.is(manager)
+        );
+        Mockito.verify(all, Mockito.times(1)).getById(1);
+    }
+
+    /**
+     * CachingStorage caches the Projects and invalidates them on rename.
+     */
+    @Test
+    public void invalidatesProjectOnRename() {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        Mockito.when(project.provider()).thenReturn("github");
+        final Projects all = Mockito.mock(Projects.class);
+        Mockito.when(all.getProjectById("john/test", "github"))
+            .thenReturn(project);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.projects()).thenReturn(all);
+        final Storage storage = new CachingStorage(origin);
+        storage.projects().getProjectById("john/test", "github");
+        storage.projects().getProjectById("John/Test", "Github");
+        Mockito.verify(all, Mockito.times(1))
+            .getProjectById("john/test", "github");
+        storage.projects().rename(project, "renamed");
+        storage.projects().getProjectById("john/test", "github");
+        Mockito.verify(all, Mockito.times(2))
+            .getProjectById("john/test", "github");
+    }
+
+    /**
+     * CachingStorage reports the hit rate of each cache.
+     */
+    @Test
+    public void reportsHitRates() {
+        final ProjectManagers all = Mockito.mock(ProjectManagers.class);
+        Mockito.when(all.getById(1))
+            .thenReturn(Mockito.mock(ProjectManager.class));
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.projectManagers()).thenReturn(all);
+        final CachingStorage storage = new CachingStorage(origin);
+        for(int idx = 0; idx < 4; ++idx) {
+            storage.projectManagers().getById(1);
+        }
+        final Map<String, Double> rates = storage.hitRates();
+        MatcherAssert.assertThat(
+            rates.get("projectManagers"), Matchers.equalTo(0.75)
+        );
+        MatcherAssert.assertThat(
+            rates.get("projects"), Matchers.equalTo(0.0)
+        );
+        MatcherAssert.assertThat(
+            rates.keySet(),
+            Matchers.contains(
+                "projectManagers", "projects", "contracts", "payoutMethods"
+            )
+        );
+    }
+
+    /**
+     * CachingStorage closes the original Storage.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void closesOrigin() throws Exception {
+        final Storage origin = Mockito.mock(Storage.class);
+        new CachingStorage(origin).close();
+        Mockito.verify(origin, Mockito.times(1)).close();
+    }
+
+    /**
+     * CachingStorage delegates what it doesn't cache.
+     */
+    @Test
+    public void delegatesOthers() {
+        final Tasks tasks = Mockito.mock(Tasks.class);
+        final Contributors contributors = Mockito.mock(Contributors.class);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.tasks()).thenReturn(tasks);
+        Mockito.when(origin.contributors()).thenReturn(contributors);
+        final Storage storage = new CachingStorage(origin);
+        MatcherAssert.assertThat(storage.tasks(), Matchers.is(tasks));
+        MatcherAssert.assertThat(
+            storage.contributors(), Matchers.is(contributors)
+        );
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Contracts;
+import com.selfxdsd.api.Contributor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+
+/**
+ * Unit tests for {@link IdentityContracts}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityContractsTestCase {
+
+    /**
+     * IdentityContracts finds a Contract only once.
+     */
+    @Test
+    public void findsContractOnlyOnce() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contract contract = Mockito.mock(Contract.class);
+        final Contracts origin = Mockito.mock(Contracts.class);
+        Mockito.when(origin.findById(id)).thenReturn(contract);
+        final Contracts contracts = new IdentityContracts(
+            origin, new IdentityMap()
+        );
+        MatcherAssert.assertThat(
+            contracts.findById(id), Matchers.is(contract)
+        );
+        MatcherAssert.assertThat(
+            contracts.findById(
+                new Contract.Id(
+                    "john/test", "mihai", "github", Contract.Roles.DEV
+                )
+            ),
+            Matchers.is(contract)
+        );
+        Mockito.verify(origin, Mockito.times(1)).findById(id);
+    }
+
+    /**
+     * The Contracts of a Contributor are remembered separately from
+     * all the Contracts.
+     */
+    @Test
+    public void remembersViewsSeparately() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contributor mihai = Mockito.mock(Contributor.class);
+        Mockito.when(mihai.username()).thenReturn("mihai");
+        Mockito.when(mihai.provider()).thenReturn("github");
+        final Contracts ofMihai = Mockito.mock(Contracts.class);
+        final Contracts origin = Mockito.mock(Contracts.class);
+        Mockito.when(origin.ofContributor(mihai)).thenReturn(ofMihai);
+        Mockito.when(origin.findById(id))
+            .thenReturn(Mockito.mock(Contract.class));
+        final IdentityMap map = new IdentityMap();
+        final Contracts contracts = new IdentityContracts(origin, map);
+        contracts.findById(id);
+        MatcherAssert.assertThat(
+            contracts.ofContributor(mihai).findById(id),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            contracts.ofContributor(mihai),
+            Matchers.is(contracts.ofContributor(mihai))
+        );
+        Mockito.verify(origin, Mockito.times(1)).ofContributor(mihai);
+        Mockito.verify(ofMihai, Mockito.times(1)).findById(id);
+    }
+
+    /**
+     * IdentityContracts forgets everything after an update.
+     */
+    @Test
+    public void forgetsAfterUpdate() {
+        final Contract contract = Mockito.mock(Contract.class);
+        final Contracts origin = Mockito.mock(Contracts.class);
+        Mockito.when(origin.findById(Mockito.any(Contract.Id.class)))
+            .thenReturn(contract);
+        final IdentityMap map = new IdentityMap();
+        final Contracts contracts = new IdentityContracts(origin, map);
+        contracts.findById(
+            new Contract.Id("john/test", "mihai", "github", "DEV")
+        );
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        contracts.update(contract, BigDecimal.TEN);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(origin, Mockito.times(1))
+            .update(contract, BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Contributor;
+import com.selfxdsd.api.Contributors;
+import com.selfxdsd.api.Task;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link IdentityContributors}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityContributorsTestCase {
+
+    /**
+     * IdentityContributors loads a Contributor only once.
+     */
+    @Test
+    public void loadsContributorOnlyOnce() {
+        final Contributor mihai = Mockito.mock(Contributor.class);
+        final Contributors origin = Mockito.mock(Contributors.class);
+        Mockito.when(origin.getById("mihai", "github")).thenReturn(mihai);
+        final Contributors contributors = new IdentityContributors(
+            origin, new IdentityMap()
+        );
+        MatcherAssert.assertThat(
+            contributors.getById("mihai", "github"), Matchers.is(mihai)
+        );
+        MatcherAssert.assertThat(
+            contributors.getById("Mihai", "github"), Matchers.is(mihai)
+        );
+        Mockito.verify(origin, Mockito.times(1)).getById("mihai", "github");
+    }
+
+    /**
+     * IdentityContributors always delegates the election.
+     */
+    @Test
+    public void delegatesElection() {
+        final Task task = Mockito.mock(Task.class);
+        final Contributor elected = Mockito.mock(Contributor.class);
+        final Contributors ofProject = Mockito.mock(Contributors.class);
+        Mockito.when(ofProject.elect(task)).thenReturn(elected);
+        final Contributors origin = Mockito.mock(Contributors.class);
+        Mockito.when(origin.ofProject("john/test", "github"))
+            .thenReturn(ofProject);
+        final Contributors contributors = new IdentityContributors(
+            origin, new IdentityMap()
+        );
+        MatcherAssert.assertThat(
+            contributors.ofProject("john/test", "github").elect(task),
+            Matchers.is(elected)
+        );
+        contributors.ofProject("john/test", "github").elect(task);
+        Mockito.verify(origin, Mockito.times(1))
+            .ofProject("john/test", "github");
+        Mockito.verify(ofProject, Mockito.times(2)).elect(task);
+    }
+}
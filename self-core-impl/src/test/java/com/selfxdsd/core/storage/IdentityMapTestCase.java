@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link IdentityMap}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityMapTestCase {
+
+    /**
+     * IdentityMap loads an entity only once.
+     */
+    @Test
+    public void loadsOnlyOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final IdentityMap map = new IdentityMap();
+        final Object entity = new Object();
+        MatcherAssert.assertThat(
+            map.load("projects:1", () -> {
+                calls.incrementAndGet();
+                return entity;
+            }),
+            Matchers.is(entity)
+        );
+        MatcherAssert.assertThat(
+            map.load("PROJECTS:1", () -> {
+                calls.incrementAndGet();
+                return new Object();
+            }),
+            Matchers.is(entity)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+    }
+
+    /**
+     * IdentityMap does not remember misses.
+     */
+    @Test
+    public void doesNotRememberMisses() {
+        final AtomicInteger calls = new AtomicInteger();
+        final IdentityMap map = new IdentityMap();
+        for(int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                map.load("projects:1", () -> {
+                    calls.incrementAndGet();
+                    return null;
+                }),
+                Matchers.nullValue()
+            );
+        }
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+    }
+
+    /**
+     * IdentityMap forgets everything when cleared.
+     */
+    @Test
+    public void forgetsWhenCleared() {
+        final IdentityMap map = new IdentityMap();
+        map.load("projects:1", Object::new);
+        map.load("tasks:1", Object::new);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(2));
+        map.clear();
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.ProjectManagers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link IdentityProjectManagers}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityProjectManagersTestCase {
+
+    /**
+     * IdentityProjectManagers loads a PM by id only once.
+     */
+    @Test
+    public void loadsByIdOnlyOnce() {
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        final ProjectManagers origin = Mockito.mock(ProjectManagers.class);
+        Mockito.when(origin.getById(1)).thenReturn(manager);
+        final ProjectManagers managers = new IdentityProjectManagers(
+            origin, new IdentityMap()
+        );
+        MatcherAssert.assertThat(managers.getById(1), Matchers.is(manager));
+        MatcherAssert.assertThat(managers.getById(1), Matchers.is(manager));
+        MatcherAssert.assertThat(managers.getById(2), Matchers.nullValue());
+        Mockito.verify(origin, Mockito.times(1)).getById(1);
+    }
+
+    /**
+     * IdentityProjectManagers always delegates the pick, since it might
+     * return a different PM every time.
+     */
+    @Test
+    public void delegatesPick() {
+        final ProjectManagers origin = Mockito.mock(ProjectManagers.class);
+        final ProjectManagers managers = new IdentityProjectManagers(
+            origin, new IdentityMap()
+        );
+        managers.pick("github");
+        managers.pick("github");
+        Mockito.verify(origin, Mockito.times(2)).pick("github");
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Projects;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link IdentityProjects}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityProjectsTestCase {
+
+    /**
+     * IdentityProjects does not remember the Projects of a PM, since
+     * they are only a subset.
+     */
+    @Test
+    public void delegatesAssignedTo() {
+        final Projects assigned = Mockito.mock(Projects.class);
+        final Projects origin = Mockito.mock(Projects.class);
+        Mockito.when(origin.assignedTo(1)).thenReturn(assigned);
+        final Projects projects = new IdentityProjects(
+            origin, new IdentityMap()
+        );
+        MatcherAssert.assertThat(
+            projects.assignedTo(1), Matchers.is(assigned)
+        );
+        projects.assignedTo(1);
+        Mockito.verify(origin, Mockito.times(2)).assignedTo(1);
+    }
+
+    /**
+     * IdentityProjects forgets everything after renaming a Project.
+     */
+    @Test
+    public void forgetsAfterRename() {
+        final Project project = Mockito.mock(Project.class);
+        final Projects origin = Mockito.mock(Projects.class);
+        Mockito.when(origin.getProjectById("john/test", "github"))
+            .thenReturn(project);
+        final IdentityMap map = new IdentityMap();
+        final Projects projects = new IdentityProjects(origin, map);
+        projects.getProjectById("john/test", "github");
+        projects.getProjectById("john/test", "github");
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        projects.rename(project, "renamed");
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(origin, Mockito.times(1))
+            .getProjectById("john/test", "github");
+        Mockito.verify(origin, Mockito.times(1)).rename(project, "renamed");
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.api.Tasks;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+/**
+ * Unit tests for {@link IdentityTasks}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class IdentityTasksTestCase {
+
+    /**
+     * IdentityTasks loads the Tasks of a Project and their unassigned
+     * Tasks only once.
+     */
+    @Test
+    public void loadsViewsOnlyOnce() {
+        final Tasks unassigned = Mockito.mock(Tasks.class);
+        final Tasks ofProject = Mockito.mock(Tasks.class);
+        Mockito.when(ofProject.unassigned()).thenReturn(unassigned);
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.ofProject("john/test", "github"))
+            .thenReturn(ofProject);
+        final Tasks tasks = new IdentityTasks(origin, new IdentityMap());
+        final Tasks first = tasks.ofProject("john/test", "github")
+            .unassigned();
+        final Tasks second = tasks.ofProject("john/test", "github")
+            .unassigned();
+        MatcherAssert.assertThat(first, Matchers.is(second));
+        Mockito.verify(origin, Mockito.times(1))
+            .ofProject("john/test", "github");
+        Mockito.verify(ofProject, Mockito.times(1)).unassigned();
+    }
+
+    /**
+     * IdentityTasks reads the Tasks of a view only once, no matter how
+     * many times it is iterated.
+     */
+    @Test
+    public void readsViewItemsOnlyOnce() {
+        final Task task = Mockito.mock(Task.class);
+        final Tasks ofProject = Mockito.mock(Tasks.class);
+        Mockito.when(ofProject.iterator())
+            .thenReturn(List.of(task).iterator());
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.ofProject("john/test", "github"))
+            .thenReturn(ofProject);
+        final Tasks tasks = new IdentityTasks(origin, new IdentityMap());
+        MatcherAssert.assertThat(
+            tasks.ofProject("john/test", "github"),
+            Matchers.contains(task)
+        );
+        MatcherAssert.assertThat(
+            tasks.ofProject("john/test", "github"),
+            Matchers.contains(task)
+        );
+        Mockito.verify(ofProject, Mockito.times(1)).iterator();
+    }
+
+    /**
+     * A Task loaded through IdentityTasks makes the unit forget everything
+     * after its estimation is updated.
+     */
+    @Test
+    public void forgetsAfterWriteThroughTask() {
+        final Task task = Mockito.mock(Task.class);
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.getById("1", "john/test", "github", true))
+            .thenReturn(task);
+        final IdentityMap map = new IdentityMap();
+        final Task loaded = new IdentityTasks(origin, map)
+            .getById("1", "john/test", "github", true);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        loaded.updateEstimation(2 + 2 + 2);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(task, Mockito.times(1)).updateEstimation(2 + 2 + 2);
+    }
+
+    /**
+     * IdentityTasks loads a Task only once.
+     */
+    @Test
+    public void loadsTaskOnlyOnce() {
+        final Task task = Mockito.mock(Task.class);
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.getById("1", "john/test", "github", true))
+            .thenReturn(task);
+        final Tasks tasks = new IdentityTasks(origin, new IdentityMap());
+        MatcherAssert.assertThat(
+            tasks.getById("1", "john/test", "github", true),
+            Matchers.is(task)
+        );
+        MatcherAssert.assertThat(
+            tasks.getById("1", "john/test", "github", true),
+            Matchers.is(task)
+        );
+        MatcherAssert.assertThat(
+            tasks.getById("1", "john/test", "github", false),
+            Matchers.nullValue()
+        );
+        Mockito.verify(origin, Mockito.times(1))
+            .getById("1", "john/test", "github", true);
+    }
+
+    /**
+     * IdentityTasks forgets everything after registering a Task.
+     */
+    @Test
+    public void forgetsAfterRegister() {
+        final Issue issue = Mockito.mock(Issue.class);
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.unassigned())
+            .thenReturn(Mockito.mock(Tasks.class));
+        final IdentityMap map = new IdentityMap();
+        final Tasks tasks = new IdentityTasks(origin, map);
+        tasks.unassigned();
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        tasks.register(issue);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(origin, Mockito.times(1)).register(issue);
+    }
+
+    /**
+     * IdentityTasks forgets everything after unassigning more Tasks and
+     * sends the whole batch to the origin at once.
+     */
+    @Test
+    public void forgetsAfterUnassignAll() {
+        final List<Task> batch = List.of(
+            Mockito.mock(Task.class),
+            Mockito.mock(Task.class)
+        );
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.unassigned())
+            .thenReturn(Mockito.mock(Tasks.class));
+        final IdentityMap map = new IdentityMap();
+        final Tasks tasks = new IdentityTasks(origin, map);
+        tasks.unassigned();
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        tasks.unassignAll(batch);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(origin, Mockito.times(1)).unassignAll(batch);
+        Mockito.verify(origin, Mockito.never()).unassign(Mockito.any());
+    }
+
+    /**
+     * The Tasks unassigned through IdentityTasks make the unit forget
+     * everything after they are written to.
+     */
+    @Test
+    public void wrapsUnassignedTasks() {
+        final Task task = Mockito.mock(Task.class);
+        final Task unassigned = Mockito.mock(Task.class);
+        final Tasks origin = Mockito.mock(Tasks.class);
+        Mockito.when(origin.unassignAll(List.of(task)))
+            .thenReturn(List.of(unassigned));
+        Mockito.when(origin.unassigned())
+            .thenReturn(Mockito.mock(Tasks.class));
+        final IdentityMap map = new IdentityMap();
+        final Tasks tasks = new IdentityTasks(origin, map);
+        final List<Task> result = tasks.unassignAll(List.of(task));
+        MatcherAssert.assertThat(result, Matchers.iterableWithSize(1));
+        tasks.unassigned();
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        result.get(0).updateEstimation(2 + 2 + 2);
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(0));
+        Mockito.verify(unassigned, Mockito.times(1))
+            .updateEstimation(2 + 2 + 2);
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.storage;
+
+import com.selfxdsd.api.*;
+import com.selfxdsd.api.storage.JsonStorage;
+import com.selfxdsd.api.storage.Storage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link UnitOfWork}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class UnitOfWorkTestCase {
+
+    /**
+     * UnitOfWork loads a Project only once.
+     */
+    @Test
+    public void loadsProjectOnlyOnce() {
+        final Project project = Mockito.mock(Project.class);
+        final Projects all = Mockito.mock(Projects.class);
+        Mockito.when(all.getProjectById("john/test", "github"))
+            .thenReturn(project);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.projects()).thenReturn(all);
+        final Storage unit = new UnitOfWork(origin);
+        for(int idx = 0; idx < 5; ++idx) {
+            MatcherAssert.assertThat(
+                unit.projects().getProjectById("john/test", "github"),
+                Matchers.is(project)
+            );
+        }
+        Mockito.verify(all, Mockito.times(1))
+            .getProjectById("john/test", "github");
+    }
+
+    /**
+     * UnitOfWork loads the Contracts of a Project and a Contract
+     * only once.
+     */
+    @Test
+    public void loadsProjectContractsOnlyOnce() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Contract contract = Mockito.mock(Contract.class);
+        final Contracts ofProject = Mockito.mock(Contracts.class);
+        Mockito.when(ofProject.findById(id)).thenReturn(contract);
+        final Contracts all = Mockito.mock(Contracts.class);
+        Mockito.when(all.ofProject("john/test", "github"))
+            .thenReturn(ofProject);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.contracts()).thenReturn(all);
+        final Storage unit = new UnitOfWork(origin);
+        for(int idx = 0; idx < 5; ++idx) {
+            MatcherAssert.assertThat(
+                unit.contracts().ofProject("john/test", "github")
+                    .findById(id),
+                Matchers.is(contract)
+            );
+        }
+        Mockito.verify(all, Mockito.times(1))
+            .ofProject("john/test", "github");
+        Mockito.verify(ofProject, Mockito.times(1)).findById(id);
+    }
+
+    /**
+     * UnitOfWork forgets what it loaded after a write.
+     */
+    @Test
+    public void forgetsAfterWrite() {
+        final Task task = Mockito.mock(Task.class);
+        final Tasks all = Mockito.mock(Tasks.class);
+        Mockito.when(all.getById("1", "john/test", "github", false))
+            .thenReturn(task);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.tasks()).thenReturn(all);
+        final UnitOfWork unit = new UnitOfWork(origin);
+        unit.tasks().getById("1", "john/test", "github", false);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(1));
+        unit.tasks().unassign(task);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(0));
+        unit.tasks().getById("1", "john/test", "github", false);
+        Mockito.verify(all, Mockito.times(2))
+            .getById("1", "john/test", "github", false);
+        Mockito.verify(all, Mockito.times(1)).unassign(task);
+    }
+
+    /**
+     * UnitOfWork delegates the entities which are not in
+     * the identity map.
+     */
+    @Test
+    public void delegatesOtherEntities() {
+        final Wallets wallets = Mockito.mock(Wallets.class);
+        final Payments payments = Mockito.mock(Payments.class);
+        final JsonStorage json = Mockito.mock(JsonStorage.class);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.wallets()).thenReturn(wallets);
+        Mockito.when(origin.payments()).thenReturn(payments);
+        Mockito.when(origin.jsonStorage()).thenReturn(json);
+        final Storage unit = new UnitOfWork(origin);
+        MatcherAssert.assertThat(unit.wallets(), Matchers.is(wallets));
+        MatcherAssert.assertThat(unit.payments(), Matchers.is(payments));
+        MatcherAssert.assertThat(unit.jsonStorage(), Matchers.is(json));
+    }
+
+    /**
+     * UnitOfWork forgets everything after a write made through one of the
+     * Tasks it loaded.
+     */
+    @Test
+    public void forgetsAfterWriteThroughTask() {
+        final Contributor mihai = Mockito.mock(Contributor.class);
+        final Task task = Mockito.mock(Task.class);
+        final Tasks all = Mockito.mock(Tasks.class);
+        Mockito.when(all.getById("1", "john/test", "github", false))
+            .thenReturn(task);
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.tasks()).thenReturn(all);
+        final UnitOfWork unit = new UnitOfWork(origin);
+        final Task loaded = unit.tasks().getById(
+            "1", "john/test", "github", false
+        );
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(1));
+        loaded.assign(mihai);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(0));
+        Mockito.verify(task, Mockito.times(1)).assign(mihai);
+    }
+
+    /**
+     * UnitOfWork forgets everything after an Invoice is created.
+     */
+    @Test
+    public void forgetsAfterInvoiceCreated() {
+        final Contract.Id id = new Contract.Id(
+            "john/test", "mihai", "github", Contract.Roles.DEV
+        );
+        final Invoices invoices = Mockito.mock(Invoices.class);
+        final Contracts contracts = Mockito.mock(Contracts.class);
+        Mockito.when(contracts.findById(id))
+            .thenReturn(Mockito.mock(Contract.class));
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.invoices()).thenReturn(invoices);
+        Mockito.when(origin.contracts()).thenReturn(contracts);
+        final UnitOfWork unit = new UnitOfWork(origin);
+        unit.contracts().findById(id);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(1));
+        unit.invoices().createNewInvoice(id);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(0));
+        Mockito.verify(invoices, Mockito.times(1)).createNewInvoice(id);
+    }
+
+    /**
+     * Closing the UnitOfWork forgets everything, but does not close
+     * the original Storage.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void closeDoesNotCloseOrigin() throws Exception {
+        final ProjectManagers all = Mockito.mock(ProjectManagers.class);
+        Mockito.when(all.getById(1))
+            .thenReturn(Mockito.mock(ProjectManager.class));
+        final Storage origin = Mockito.mock(Storage.class);
+        Mockito.when(origin.projectManagers()).thenReturn(all);
+        final UnitOfWork unit = new UnitOfWork(origin);
+        unit.projectManagers().getById(1);
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(1));
+        unit.close();
+        MatcherAssert.assertThat(unit.loaded(), Matchers.equalTo(0));
+        Mockito.verify(origin, Mockito.never()).close();
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.tasks;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Provider;
+import com.selfxdsd.api.Task;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unit tests for {@link Deadlines}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class DeadlinesTestCase {
+
+    /**
+     * The reminder and the deadline of a Task go off once each, in time.
+     */
+    @Test
+    public void givesReminderAndDeadlineOnce() {
+        final Deadlines deadlines = new Deadlines();
+        final Project project = this.project("john/test");
+        final TaskId task = new TaskId(
+            Provider.Names.GITHUB, "john/test", "1", false
+        );
+        deadlines.schedule(
+            task,
+            this.task(
+                LocalDateTime.of(2021, 3, 1, 12, 0),
+                LocalDateTime.of(2021, 3, 11, 12, 0)
+            ),
+            LocalDateTime.of(2021, 3, 1, 12, 0)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 5, 23, 59)),
+            Matchers.emptyIterableOf(TaskId.class)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 6, 0, 0)),
+            Matchers.contains(task)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 6, 1, 0)),
+            Matchers.emptyIterableOf(TaskId.class)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 11, 12, 1)),
+            Matchers.contains(task)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 4, 1, 0, 0)),
+            Matchers.emptyIterableOf(TaskId.class)
+        );
+    }
+
+    /**
+     * A cancelled Task's alarms don't go off.
+     */
+    @Test
+    public void cancelledTaskIsNotDue() {
+        final Deadlines deadlines = new Deadlines();
+        final TaskId task = new TaskId(
+            Provider.Names.GITHUB, "john/test", "1", false
+        );
+        deadlines.schedule(
+            task,
+            this.task(
+                LocalDateTime.of(2021, 3, 1, 12, 0),
+                LocalDateTime.of(2021, 3, 11, 12, 0)
+            ),
+            LocalDateTime.of(2021, 3, 1, 12, 0)
+        );
+        deadlines.cancel(task);
+        MatcherAssert.assertThat(
+            deadlines.due(
+                this.project("john/test"),
+                LocalDateTime.of(2021, 4, 1, 0, 0)
+            ),
+            Matchers.emptyIterableOf(TaskId.class)
+        );
+    }
+
+    /**
+     * A Task rescheduled with a new deadline only goes off for the new one.
+     * The reminder which is already past is not scheduled.
+     */
+    @Test
+    public void rescheduledTaskIsDueForNewDeadline() {
+        final Deadlines deadlines = new Deadlines();
+        final Project project = this.project("john/test");
+        final TaskId task = new TaskId(
+            Provider.Names.GITHUB, "john/test", "1", false
+        );
+        final LocalDateTime assigned = LocalDateTime.of(2021, 3, 1, 12, 0);
+        deadlines.schedule(
+            task,
+            this.task(assigned, LocalDateTime.of(2021, 3, 3, 12, 0)),
+            assigned
+        );
+        deadlines.schedule(
+            task,
+            this.task(assigned, LocalDateTime.of(2021, 3, 11, 12, 0)),
+            LocalDateTime.of(2021, 3, 7, 12, 0)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 10, 0, 0)),
+            Matchers.emptyIterableOf(TaskId.class)
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(project, LocalDateTime.of(2021, 3, 12, 0, 0)),
+            Matchers.contains(task)
+        );
+    }
+
+    /**
+     * Only the alarms of the given Project go off.
+     */
+    @Test
+    public void givesOnlyTasksOfProject() {
+        final Deadlines deadlines = new Deadlines();
+        final Task assigned = this.task(
+            LocalDateTime.of(2021, 3, 1, 12, 0),
+            LocalDateTime.of(2021, 3, 11, 12, 0)
+        );
+        final TaskId task = new TaskId(
+            Provider.Names.GITHUB, "john/test", "1", false
+        );
+        deadlines.schedule(task, assigned, assigned.assignmentDate());
+        deadlines.schedule(
+            new TaskId(Provider.Names.GITHUB, "john/other", "1", false),
+            assigned,
+            assigned.assignmentDate()
+        );
+        MatcherAssert.assertThat(
+            deadlines.due(
+                this.project("john/test"),
+                LocalDateTime.of(2021, 4, 1, 0, 0)
+            ),
+            Matchers.contains(task)
+        );
+    }
+
+    /**
+     * A Project is primed once all its assigned Tasks were scheduled.
+     */
+    @Test
+    public void primesProject() {
+        final Deadlines deadlines = new Deadlines();
+        final Project project = this.project("john/test");
+        MatcherAssert.assertThat(
+            deadlines.primed(project), Matchers.is(Boolean.FALSE)
+        );
+        deadlines.prime(project);
+        MatcherAssert.assertThat(
+            deadlines.primed(project), Matchers.is(Boolean.TRUE)
+        );
+    }
+
+    /**
+     * Mock a Github Project.
+     * @param repoFullName Full name of the repo.
+     * @return Project.
+     */
+    private Project project(final String repoFullName) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(project.repoFullName()).thenReturn(repoFullName);
+        return project;
+    }
+
+    /**
+     * Mock an assigned Task.
+     * @param assignment Assignment date.
+     * @param deadline Deadline.
+     * @return Task.
+     */
+    private Task task(
+        final LocalDateTime assignment,
+        final LocalDateTime deadline
+    ) {
+        final Task task = Mockito.mock(Task.class);
+        Mockito.when(task.assignmentDate()).thenReturn(assignment);
+        Mockito.when(task.deadline()).thenReturn(deadline);
+        return task;
+    }
+}
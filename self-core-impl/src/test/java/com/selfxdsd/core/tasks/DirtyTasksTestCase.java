@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.core.tasks;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Provider;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link DirtyTasks}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.99
+ */
+public final class DirtyTasksTestCase {
+
+    /**
+     * A marked Task is changed until it is visited.
+     */
+    @Test
+    public void marksTaskAsChangedUntilVisited() {
+        final AtomicReference<LocalDateTime> clock = new AtomicReference<>(
+            LocalDateTime.of(2021, 1, 1, 10, 0)
+        );
+        final DirtyTasks dirty = new DirtyTasks.InMemory(clock::get);
+        final Project project = this.project(Provider.Names.GITHUB);
+        dirty.mark(
+            new TaskId(Provider.Names.GITHUB, "John/Test", "1", false)
+        );
+        MatcherAssert.assertThat(
+            dirty.changed(project),
+            Matchers.contains(
+                new TaskId(Provider.Names.GITHUB, "john/test", "1", false)
+            )
+        );
+        dirty.visited(
+            new TaskId(Provider.Names.GITHUB, "john/test", "1", false),
+            clock.get().plusMinutes(1)
+        );
+        MatcherAssert.assertThat(
+            dirty.changed(project), Matchers.emptyIterableOf(TaskId.class)
+        );
+    }
+
+    /**
+     * A change which came in while the Task was being visited is not lost.
+     */
+    @Test
+    public void keepsChangeDuringVisit() {
+        final AtomicReference<LocalDateTime> clock = new AtomicReference<>(
+            LocalDateTime.of(2021, 1, 1, 10, 0)
+        );
+        final DirtyTasks dirty = new DirtyTasks.InMemory(clock::get);
+        final TaskId task = new TaskId(
+            Provider.Names.GITHUB, "john/test", "1", false
+        );
+        final LocalDateTime start = clock.get();
+        clock.set(start.plusSeconds(1));
+        dirty.mark(task);
+        dirty.visited(task, start);
+        MatcherAssert.assertThat(
+            dirty.changed(this.project(Provider.Names.GITHUB)),
+            Matchers.contains(task)
+        );
+    }
+
+    /**
+     * The changed Tasks of other Projects are not given.
+     */
+    @Test
+    public void givesOnlyChangesOfProject() {
+        final DirtyTasks dirty = new DirtyTasks.InMemory();
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/test", "1", false));
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/other", "2", false));
+        dirty.mark(new TaskId(Provider.Names.GITLAB, "john/test", "3", false));
+        MatcherAssert.assertThat(
+            dirty.changed(this.project(Provider.Names.GITHUB)),
+            Matchers.contains(
+                new TaskId(Provider.Names.GITHUB, "john/test", "1", false)
+            )
+        );
+    }
+
+    /**
+     * A Project is primed once it was fully swept.
+     */
+    @Test
+    public void primesProject() {
+        final DirtyTasks dirty = new DirtyTasks.InMemory();
+        final Project project = this.project(Provider.Names.GITHUB);
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.FALSE)
+        );
+        dirty.prime(project, LocalDateTime.now());
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            dirty.primed(this.project(Provider.Names.GITLAB)),
+            Matchers.is(Boolean.FALSE)
+        );
+    }
+
+    /**
+     * DirtyTasks.InMemory flags the Project for a full sweep when too many
+     * changes pile up, instead of keeping the new change. The flag is
+     * dropped by a full sweep which started after the change.
+     */
+    @Test
+    public void flagsFullSweepWhenFull() {
+        final AtomicReference<LocalDateTime> clock = new AtomicReference<>(
+            LocalDateTime.of(2021, 1, 1, 10, 0)
+        );
+        final DirtyTasks dirty = new DirtyTasks.InMemory(clock::get, 2);
+        final Project project = this.project(Provider.Names.GITHUB);
+        final Project other = Mockito.mock(Project.class);
+        Mockito.when(other.provider()).thenReturn(Provider.Names.GITHUB);
+        Mockito.when(other.repoFullName()).thenReturn("john/other");
+        dirty.prime(project, clock.get());
+        dirty.prime(other, clock.get());
+        clock.set(clock.get().plusMinutes(1));
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/test", "1", false));
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/test", "2", false));
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/test", "2", false));
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.TRUE)
+        );
+        final LocalDateTime start = clock.get();
+        clock.set(start.plusMinutes(1));
+        dirty.mark(new TaskId(Provider.Names.GITHUB, "john/test", "3", false));
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.FALSE)
+        );
+        MatcherAssert.assertThat(
+            dirty.primed(other), Matchers.is(Boolean.TRUE)
+        );
+        MatcherAssert.assertThat(
+            dirty.changed(project),
+            Matchers.containsInAnyOrder(
+                new TaskId(Provider.Names.GITHUB, "john/test", "1", false),
+                new TaskId(Provider.Names.GITHUB, "john/test", "2", false)
+            )
+        );
+        dirty.prime(project, start);
+        MatcherAssert.assertThat(
+            "A full sweep which started before the change is not enough.",
+            dirty.primed(project),
+            Matchers.is(Boolean.FALSE)
+        );
+        dirty.prime(project, clock.get().plusSeconds(1));
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.TRUE)
+        );
+    }
+
+    /**
+     * DirtyTasks.All never primes a Project, so every Task is visited.
+     */
+    @Test
+    public void allNeverPrimesProject() {
+        final DirtyTasks dirty = new DirtyTasks.All();
+        final Project project = this.project(Provider.Names.GITHUB);
+        dirty.prime(project, LocalDateTime.now());
+        MatcherAssert.assertThat(
+            dirty.primed(project), Matchers.is(Boolean.FALSE)
+        );
+    }
+
+    /**
+     * Mock a Project john/test.
+     * @param provider Provider name.
+     * @return Project.
+     */
+    private Project project(final String provider) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.provider()).thenReturn(provider);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        return project;
+    }
+}
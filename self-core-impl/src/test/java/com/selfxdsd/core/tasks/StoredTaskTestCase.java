@@ -149,6 +149,38 @@ public final class StoredTaskTestCase {
         MatcherAssert.assertThat(task.issue(), Matchers.is(issue));
     }
 
+    /**
+     * StoredTask reads its Issue only once.
+     */
+    @Test
+    public void readsIssueOnce() {
+        final Issue issue = Mockito.mock(Issue.class);
+        final Issues all = Mockito.mock(Issues.class);
+        Mockito.when(all.getById("123")).thenReturn(issue);
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.when(repo.issues()).thenReturn(all);
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn("john/test");
+        final Provider provider = Mockito.mock(Provider.class);
+        Mockito.when(provider.repo("john", "test")).thenReturn(repo);
+        final ProjectManager manager = Mockito.mock(ProjectManager.class);
+        Mockito.when(manager.provider()).thenReturn(provider);
+        Mockito.when(project.projectManager()).thenReturn(manager);
+
+        final Task task = new StoredTask(
+            project,
+            "123",
+            Contract.Roles.DEV,
+            60,
+            false,
+            Mockito.mock(Storage.class)
+        );
+        MatcherAssert.assertThat(task.issue(), Matchers.is(issue));
+        MatcherAssert.assertThat(task.issue(), Matchers.is(issue));
+        Mockito.verify(all, Mockito.times(1)).getById("123");
+        Mockito.verify(provider, Mockito.times(1)).repo("john", "test");
+    }
+
     /**
      * StoredTask can return its Issue from the Pull Requests API, if
      * it IS a Pull Request.